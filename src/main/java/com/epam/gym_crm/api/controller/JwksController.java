@@ -0,0 +1,40 @@
+package com.epam.gym_crm.api.controller;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.epam.gym_crm.security.JwtSigningKeys;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "JWKS", description = "Public keys for verifying access tokens.")
+@RestController
+public class JwksController {
+
+	// Consumers cache the set and refetch when they meet an unknown kid.
+	private static final long CACHE_MAX_AGE_MINUTES = 5;
+
+	private final JwtSigningKeys jwtSigningKeys;
+
+	public JwksController(JwtSigningKeys jwtSigningKeys) {
+		this.jwtSigningKeys = jwtSigningKeys;
+	}
+
+	@Operation(
+		summary = "Get token verification keys",
+		description = "Returns the ES256 public keys as a JWK Set. Empty when tokens are signed with HS256."
+	)
+	@ApiResponse(responseCode = "200", description = "JWK Set returned successfully")
+	@GetMapping(value = "/.well-known/jwks.json", produces = "application/json")
+	public ResponseEntity<Map<String, Object>> getJwks() {
+		return ResponseEntity.ok().cacheControl(CacheControl.maxAge(CACHE_MAX_AGE_MINUTES, TimeUnit.MINUTES).cachePublic())
+				.body(jwtSigningKeys.toJwks());
+	}
+}
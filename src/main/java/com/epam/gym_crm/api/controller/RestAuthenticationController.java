@@ -72,4 +72,14 @@ public class RestAuthenticationController {
 		logger.info("Logout successful.");
 		return ResponseEntity.ok("Logout successful");
 	}
+
+	@Operation(summary = "Logout from all devices", description = "Revokes every token issued to the current user so far.")
+	@ApiResponse(responseCode = "200", description = "Logout from all devices successful", content = @Content(schema = @Schema(implementation = String.class)))
+	@PostMapping("/logout-all")
+	public ResponseEntity<String> logoutAllDevices() {
+		authenticationService.logoutAllDevices();
+
+		logger.info("Logout from all devices successful.");
+		return ResponseEntity.ok("Logout from all devices successful");
+	}
 }
@@ -18,6 +18,7 @@ import com.epam.gym_crm.api.dto.request.trainee.TraineeCreateRequest;
 import com.epam.gym_crm.api.dto.request.trainee.TraineeTrainingListRequest;
 import com.epam.gym_crm.api.dto.request.trainee.TraineeUpdateRequest;
 import com.epam.gym_crm.api.dto.request.trainee.TraineeUpdateTrainersRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TraineeProfileResponse;
 import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoResponse;
 import com.epam.gym_crm.api.dto.response.TrainerInfoResponse;
@@ -66,7 +67,7 @@ public class RestTraineeController {
 
 	@Operation(
 		summary = "Get unassigned trainers for a trainee",
-		description = "Retrieves a list of trainers who are not assigned to the specified trainee."
+		description = "Retrieves active trainers who are not assigned to the specified trainee, ordered by username. Without 'limit' or 'cursor' the whole list is returned; otherwise it is paged and the X-Next-Cursor response header is passed back as 'cursor' to fetch the next page."
 	)
 	@ApiResponse(responseCode = "200", description = "List of unassigned trainers returned successfully",
 		content = @Content(schema = @Schema(implementation = List.class)))
@@ -74,14 +75,24 @@ public class RestTraineeController {
 	@GetMapping("/{username}/unassigned-trainers")
 	public ResponseEntity<List<TrainerInfoResponse>> getUnassignedTrainersForTrainee(
 			@Parameter(description = "Username of the trainee", required = true)
-			@PathVariable("username") String traineeUsername) {
+			@PathVariable("username") String traineeUsername,
+			@Parameter(description = "X-Next-Cursor value from the previous page")
+			@RequestParam(required = false) String cursor,
+			@Parameter(description = "Page size, 1-200 (default 50)")
+			@RequestParam(required = false) Integer limit) {
 		logger.info("Request to get unassigned trainers for trainee: {}", traineeUsername);
-		return ResponseEntity.ok(trainerService.getUnassignedTrainersForTrainee(traineeUsername));
+		CursorPage<TrainerInfoResponse> page = trainerService.getUnassignedTrainersForTrainee(traineeUsername, cursor,
+				limit);
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.getNextCursor() != null) {
+			response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+		}
+		return response.body(page.getItems());
 	}
 
 	@Operation(
 		summary = "Get a trainee's training list",
-		description = "Retrieves a list of trainings for a trainee, with optional filtering by date, trainer, and training type."
+		description = "Retrieves a list of trainings for a trainee, with optional filtering by date, trainer, and training type. Results are newest first. Without 'limit' or 'cursor' the whole list is returned; otherwise it is paged and the X-Next-Cursor response header is passed back as 'cursor' to fetch the next page."
 	)
 	@ApiResponse(responseCode = "200", description = "Trainee training list returned successfully",
 		content = @Content(schema = @Schema(implementation = List.class)))
@@ -93,7 +104,12 @@ public class RestTraineeController {
 			@Parameter(hidden = true)
 			@Valid TraineeTrainingListRequest request) {
 		logger.info("Request to get trainings for trainee: {} with filters", username);
-		return ResponseEntity.ok(trainingService.getTraineeTrainingsList(username, request));
+		CursorPage<TraineeTrainingInfoResponse> page = trainingService.getTraineeTrainingsList(username, request);
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.getNextCursor() != null) {
+			response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+		}
+		return response.body(page.getItems());
 	}
 
 	@Operation(
@@ -17,6 +17,7 @@ import com.epam.gym_crm.api.dto.request.UserActivationRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerCreateRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerTrainingListRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerUpdateRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TrainerProfileResponse;
 import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoResponse;
 import com.epam.gym_crm.api.dto.response.UserRegistrationResponse;
@@ -60,7 +61,7 @@ public class RestTrainerController {
 
 	@Operation(
 		summary = "Get a trainer's training list",
-		description = "Retrieves a list of trainings for a trainer, with optional filtering by date and trainee name."
+		description = "Retrieves a list of trainings for a trainer, with optional filtering by date and trainee name. Results are newest first. Without 'limit' or 'cursor' the whole list is returned; otherwise it is paged and the X-Next-Cursor response header is passed back as 'cursor' to fetch the next page."
 	)
 	@ApiResponse(responseCode = "200", description = "Trainer training list returned successfully",
 		content = @Content(schema = @Schema(implementation = List.class)))
@@ -72,7 +73,12 @@ public class RestTrainerController {
 			@Parameter(hidden = true)
 			@Valid TrainerTrainingListRequest request) {
 		logger.info("Request to get trainings for trainer: {} with filters", username);
-		return ResponseEntity.ok(trainingService.getTrainerTrainingsList(username, request));
+		CursorPage<TrainerTrainingInfoResponse> page = trainingService.getTrainerTrainingsList(username, request);
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.getNextCursor() != null) {
+			response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+		}
+		return response.body(page.getItems());
 	}
 
 	@Operation(
@@ -13,8 +13,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpHeaders;
 
+import com.epam.gym_crm.api.dto.request.training.TrainingBatchCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingUpdateRequest;
+import com.epam.gym_crm.api.dto.response.TrainingBatchResponse;
 import com.epam.gym_crm.api.dto.response.TrainingResponse;
 import com.epam.gym_crm.domain.exception.BaseException;
 import com.epam.gym_crm.domain.exception.ErrorMessage;
@@ -68,6 +70,22 @@ public class RestTrainingController {
 		return ResponseEntity.status(HttpStatus.CREATED).body("Training created successfully.");
 	}
 
+	@Operation(
+		summary = "Create trainings in bulk",
+		description = "Creates up to app.training-batch.max-items trainings in one request. Each item is validated on its own; "
+				+ "the response reports CREATED with the new ID or REJECTED with the reason for every item, in request order."
+	)
+	@ApiResponse(responseCode = "200", description = "Batch processed; see the per-item results",
+		content = @Content(schema = @Schema(implementation = TrainingBatchResponse.class)))
+	@ApiResponse(responseCode = "400", description = "Bad Request - Empty batch or too many items")
+	@PostMapping("/batch")
+	public ResponseEntity<TrainingBatchResponse> createTrainings(
+			@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Trainings to create", required = true)
+			@RequestBody @Valid TrainingBatchCreateRequest request,@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+		logger.info("Request to create {} trainings in one batch", request.getTrainings().size());
+		return ResponseEntity.ok(trainingService.createTrainings(request,token));
+	}
+
 	@Operation(
 		summary = "Update an existing training",
 		description = "Updates the details of a training session. The URL ID must match the ID in the request body."
@@ -4,15 +4,20 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.epam.gym_crm.db.entity.TrainingType;
 import com.epam.gym_crm.domain.service.ITrainingTypeService;
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -33,14 +38,38 @@ public class RestTrainingTypeController {
 
 	@Operation(
 		summary = "Get all training types",
-		description = "Retrieves a list of all available training types."
+		description = "Retrieves a list of all available training types. The response carries an ETag; send it back in If-None-Match to get 304 while the list is unchanged."
 	)
 	@ApiResponse(responseCode = "200", description = "Training types retrieved successfully",
 		content = @Content(schema = @Schema(implementation = List.class)))
+	@ApiResponse(responseCode = "304", description = "Training types unchanged since the given ETag")
 	@GetMapping(produces = "application/json")
-	public ResponseEntity<List<TrainingType>> getTrainingTypes() {
+	public ResponseEntity<byte[]> getTrainingTypes(
+			@Parameter(hidden = true)
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 		logger.info("Request received to get all training types.");
-		return ResponseEntity.ok(trainingTypeService.getTrainingTypes());
+		TrainingTypeRegistry.Catalog catalog = trainingTypeService.getTrainingTypes();
+		if (matchesETag(ifNoneMatch, catalog.etag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.etag()).build();
+		}
+		// Gövde registry'de bir kez serileştirilir; her istekte aynı byte dizisi yazılır.
+		return ResponseEntity.ok().eTag(catalog.etag()).contentType(MediaType.APPLICATION_JSON).body(catalog.json());
+	}
+
+	private static boolean matchesETag(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 }
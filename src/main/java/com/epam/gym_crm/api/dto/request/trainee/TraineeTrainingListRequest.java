@@ -4,6 +4,8 @@ import java.time.LocalDate;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,4 +24,10 @@ public class TraineeTrainingListRequest {
     private String trainerName; 
 
     private String trainingTypeName;
+
+    private String cursor;
+
+    @Min(1)
+    @Max(200)
+    private Integer limit;
 }
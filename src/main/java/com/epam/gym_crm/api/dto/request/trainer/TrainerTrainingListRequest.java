@@ -4,6 +4,8 @@ import java.time.LocalDate;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,5 +22,11 @@ public class TrainerTrainingListRequest {
     private LocalDate toDate;
 
     private String traineeName;
+
+    private String cursor;
+
+    @Min(1)
+    @Max(200)
+    private Integer limit;
     
 }
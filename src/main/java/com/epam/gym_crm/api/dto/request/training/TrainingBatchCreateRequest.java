@@ -0,0 +1,18 @@
+package com.epam.gym_crm.api.dto.request.training;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingBatchCreateRequest {
+
+	// Items are validated one by one in the service so that a bad item only rejects itself.
+	@NotEmpty(message = "Trainings cannot be empty for batch creation")
+	private List<TrainingCreateRequest> trainings;
+}
@@ -0,0 +1,39 @@
+package com.epam.gym_crm.api.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    // List endpoints keep a plain JSON array body and hand the cursor back in this header.
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private List<T> items;
+    private String nextCursor; // null on the last page
+
+    // Callers fetch one row more than this to learn whether another page follows.
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    // null (unpaged) when the caller sent neither a limit nor a cursor, so clients
+    // that predate paging still receive the whole list.
+    public static Integer pageSizeOrUnpaged(Integer requested, String cursor) {
+        if (requested == null && cursor == null) {
+            return null;
+        }
+        return pageSize(requested);
+    }
+}
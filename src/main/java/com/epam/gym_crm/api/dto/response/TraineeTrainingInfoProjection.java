@@ -3,6 +3,7 @@ package com.epam.gym_crm.api.dto.response;
 import java.time.LocalDate;
 
 public interface TraineeTrainingInfoProjection {
+    Long getTrainingId();
     String getTrainingName();
     LocalDate getTrainingDate();
     String getTrainingType();
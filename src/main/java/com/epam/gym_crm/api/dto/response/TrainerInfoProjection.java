@@ -0,0 +1,8 @@
+package com.epam.gym_crm.api.dto.response;
+
+public interface TrainerInfoProjection {
+    String getUsername();
+    String getFirstName();
+    String getLastName();
+    String getSpecialization();
+}
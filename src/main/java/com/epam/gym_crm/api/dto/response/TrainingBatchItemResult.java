@@ -0,0 +1,28 @@
+package com.epam.gym_crm.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingBatchItemResult {
+
+	public enum Status {
+		CREATED, REJECTED
+	}
+
+	private int index; // position in the request's trainings list
+	private Status status;
+	private Long trainingId; // null when rejected
+	private String error; // null when created
+
+	public static TrainingBatchItemResult created(int index, Long trainingId) {
+		return new TrainingBatchItemResult(index, Status.CREATED, trainingId, null);
+	}
+
+	public static TrainingBatchItemResult rejected(int index, String error) {
+		return new TrainingBatchItemResult(index, Status.REJECTED, null, error);
+	}
+}
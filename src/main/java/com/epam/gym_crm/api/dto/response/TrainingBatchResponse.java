@@ -0,0 +1,17 @@
+package com.epam.gym_crm.api.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingBatchResponse {
+
+	private int created;
+	private int rejected;
+	private List<TrainingBatchItemResult> results; // one per request item, in request order
+}
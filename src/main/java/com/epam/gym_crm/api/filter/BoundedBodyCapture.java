@@ -0,0 +1,58 @@
+package com.epam.gym_crm.api.filter;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Keeps the first {@code limit} bytes of a body as it streams past and counts
+ * the rest, so logging never holds more than {@code limit} bytes per body.
+ */
+class BoundedBodyCapture {
+
+	private final int limit;
+	private byte[] buffer = new byte[0];
+	private int captured;
+	private long total;
+
+	BoundedBodyCapture(int limit) {
+		this.limit = Math.max(0, limit);
+	}
+
+	void write(int b) {
+		total++;
+		if (captured < limit) {
+			ensureCapacity(captured + 1);
+			buffer[captured++] = (byte) b;
+		}
+	}
+
+	void write(byte[] bytes, int offset, int length) {
+		total += length;
+		int toCopy = Math.min(length, limit - captured);
+		if (toCopy > 0) {
+			ensureCapacity(captured + toCopy);
+			System.arraycopy(bytes, offset, buffer, captured, toCopy);
+			captured += toCopy;
+		}
+	}
+
+	long total() {
+		return total;
+	}
+
+	boolean isTruncated() {
+		return total > captured;
+	}
+
+	String asText(Charset charset) {
+		return new String(buffer, 0, captured, charset);
+	}
+
+	// Grows on demand, so a small body never allocates the full limit.
+	private void ensureCapacity(int required) {
+		if (required > buffer.length) {
+			int grown = Math.max(required, Math.min(limit, Math.max(256, buffer.length * 2)));
+			buffer = Arrays.copyOf(buffer, grown);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.epam.gym_crm.api.filter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Copies the first bytes of the request body as the application reads it.
+ * Nothing is read ahead, so the body is captured only if it is consumed.
+ */
+class BoundedCaptureRequestWrapper extends HttpServletRequestWrapper {
+
+	private final BoundedBodyCapture capture;
+	private ServletInputStream inputStream;
+	private BufferedReader reader;
+
+	BoundedCaptureRequestWrapper(HttpServletRequest request, int limit) {
+		super(request);
+		this.capture = new BoundedBodyCapture(limit);
+	}
+
+	@Override
+	public ServletInputStream getInputStream() throws IOException {
+		if (inputStream == null) {
+			inputStream = new CapturingInputStream(super.getInputStream());
+		}
+		return inputStream;
+	}
+
+	@Override
+	public BufferedReader getReader() throws IOException {
+		if (reader == null) {
+			reader = new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+		}
+		return reader;
+	}
+
+	BoundedBodyCapture getCapture() {
+		return capture;
+	}
+
+	Charset charset() {
+		String encoding = getCharacterEncoding();
+		return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+	}
+
+	private class CapturingInputStream extends ServletInputStream {
+
+		private final ServletInputStream delegate;
+
+		private CapturingInputStream(ServletInputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = delegate.read();
+			if (b != -1) {
+				capture.write(b);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			int count = delegate.read(bytes, offset, length);
+			if (count > 0) {
+				capture.write(bytes, offset, count);
+			}
+			return count;
+		}
+
+		@Override
+		public boolean isFinished() {
+			return delegate.isFinished();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setReadListener(ReadListener readListener) {
+			delegate.setReadListener(readListener);
+		}
+	}
+}
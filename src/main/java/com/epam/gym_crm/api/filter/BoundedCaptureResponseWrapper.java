@@ -0,0 +1,129 @@
+package com.epam.gym_crm.api.filter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Writes straight through to the client and copies the first bytes aside for
+ * logging. Whether to capture at all is decided on the first write, once the
+ * content type is known.
+ */
+class BoundedCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+	private final BoundedBodyCapture capture;
+	private final Predicate<String> skipContentType;
+	private ServletOutputStream outputStream;
+	private PrintWriter writer;
+	private Boolean capturing;
+
+	BoundedCaptureResponseWrapper(HttpServletResponse response, int limit, Predicate<String> skipContentType) {
+		super(response);
+		this.capture = new BoundedBodyCapture(limit);
+		this.skipContentType = skipContentType;
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (outputStream == null) {
+			outputStream = new TeeOutputStream(super.getOutputStream());
+		}
+		return outputStream;
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (writer == null) {
+			writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset()));
+		}
+		return writer;
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (writer != null) {
+			writer.flush();
+		}
+		super.flushBuffer();
+	}
+
+	// Our writer buffers in its encoder; push the remainder out before the request ends.
+	void flushWriter() {
+		if (writer != null) {
+			writer.flush();
+		}
+	}
+
+	BoundedBodyCapture getCapture() {
+		return capture;
+	}
+
+	boolean isCapturing() {
+		return Boolean.TRUE.equals(capturing);
+	}
+
+	Charset charset() {
+		String encoding = getCharacterEncoding();
+		return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+	}
+
+	private boolean shouldCapture() {
+		if (capturing == null) {
+			capturing = !skipContentType.test(getContentType());
+		}
+		return capturing;
+	}
+
+	private class TeeOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+
+		private TeeOutputStream(ServletOutputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			delegate.write(b);
+			if (shouldCapture()) {
+				capture.write(b);
+			}
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			delegate.write(bytes, offset, length);
+			if (shouldCapture()) {
+				capture.write(bytes, offset, length);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+	}
+}
@@ -3,16 +3,23 @@ package com.epam.gym_crm.api.filter;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.UUID;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
+import com.epam.gym_crm.config.RequestLoggingConfig;
+import com.epam.gym_crm.monitoring.tracing.TraceIdGenerator;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,20 +29,133 @@ import jakarta.servlet.http.HttpServletResponse;
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
-    private static final String TRANSACTION_ID_KEY = "transactionId";
+    private static final Pattern LINE_BREAKS = Pattern.compile("[\r\n\t]+");
+    private static final Pattern INBOUND_TRANSACTION_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final RequestLoggingConfig config;
+    private final TraceIdGenerator traceIdGenerator;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RequestLoggingFilter(RequestLoggingConfig config, TraceIdGenerator traceIdGenerator) {
+        this.config = config;
+        this.traceIdGenerator = traceIdGenerator;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
+
+        String transactionId = resolveTransactionId(request);
+        MDC.put(TraceIdGenerator.MDC_KEY, transactionId);
+        response.setHeader(TraceIdGenerator.HEADER_NAME, transactionId);
+        try {
+            if (config.getMode() == RequestLoggingConfig.Mode.FULL) {
+                doFilterFull(request, response, filterChain);
+            } else {
+                doFilterBounded(request, response, filterChain);
+            }
+        } finally {
+            MDC.remove(TraceIdGenerator.MDC_KEY);
+        }
+    }
+
+    // Çağıran servis bir id gönderdiyse iz onunla devam eder; geçersizse yenisi üretilir.
+    private String resolveTransactionId(HttpServletRequest request) {
+        String inbound = request.getHeader(TraceIdGenerator.HEADER_NAME);
+        if (inbound != null && INBOUND_TRANSACTION_ID.matcher(inbound).matches()) {
+            return inbound;
+        }
+        return traceIdGenerator.nextId();
+    }
+
+    // ------ Bounded mode: tee at most N bytes, response streams straight to the client ------
+
+    private void doFilterBounded(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long startTime = System.currentTimeMillis();
+
+        if (isSkippedPath(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                logger.info("<-- {} {} {} | Took: {}ms | Body: [Skipped]", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), System.currentTimeMillis() - startTime);
+            }
+            return;
+        }
+
+        int limit = isSampled() ? config.getSampledMaxBodyBytes() : config.getMaxBodyBytes();
+        boolean captureRequest = !isSkippedContentType(request.getContentType());
+        BoundedCaptureRequestWrapper requestWrapper = captureRequest
+                ? new BoundedCaptureRequestWrapper(request, limit)
+                : null;
+        BoundedCaptureResponseWrapper responseWrapper = new BoundedCaptureResponseWrapper(response, limit,
+                this::isSkippedContentType);
+
+        try {
+            filterChain.doFilter(requestWrapper != null ? requestWrapper : request, responseWrapper);
+            responseWrapper.flushWriter();
+        } finally {
+            long duration = System.currentTimeMillis() - startTime;
+
+            // Gövde ancak uygulama okuduktan sonra elimizde olur; bu yüzden istek de burada loglanır.
+            logger.info("--> {} {} | Body: {}", request.getMethod(), request.getRequestURI(),
+                    requestWrapper != null ? describe(requestWrapper.getCapture(), requestWrapper.charset())
+                            : "[Skipped]");
+            logger.info("<-- {} | Took: {}ms | Body: {}", responseWrapper.getStatus(), duration,
+                    responseWrapper.isCapturing()
+                            ? describe(responseWrapper.getCapture(), responseWrapper.charset())
+                            : "[Skipped]");
+        }
+    }
+
+    private String describe(BoundedBodyCapture capture, Charset charset) {
+        if (capture.total() == 0) {
+            return "[No Body]";
+        }
+        String body = LINE_BREAKS.matcher(capture.asText(charset)).replaceAll("");
+        return capture.isTruncated() ? body + "... [truncated, " + capture.total() + " bytes]" : body;
+    }
+
+    private boolean isSkippedPath(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String pattern : config.getSkipPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSkippedContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        List<String> skipContentTypes = config.getSkipContentTypes();
+        for (String prefix : skipContentTypes) {
+            if (contentType.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSampled() {
+        double rate = config.getFullBodySampleRate();
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    // ------ Full mode: previous behaviour, whole bodies buffered and copied back ------
+
+    private void doFilterFull(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
         ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
         ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
 
-        String transactionId = UUID.randomUUID().toString().substring(0, 8); 
-        MDC.put(TRANSACTION_ID_KEY, transactionId);
-
         long startTime = System.currentTimeMillis();
-        
+
         // Gelen isteği logla
         logRequest(requestWrapper);
 
@@ -43,18 +163,16 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             filterChain.doFilter(requestWrapper, responseWrapper);
         } finally {
             long duration = System.currentTimeMillis() - startTime;
-            
+
             // Giden yanıtı logla
             logResponse(responseWrapper, duration);
-            
+
             responseWrapper.copyBodyToResponse();
-            
-            MDC.remove(TRANSACTION_ID_KEY);
         }
     }
 
     private void logRequest(ContentCachingRequestWrapper request) {
-    	
+
         String requestBody = getBody(request.getContentAsByteArray(), request.getCharacterEncoding());
         logger.info("--> {} {} | Body: {}",
                 request.getMethod(),
@@ -80,4 +198,4 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             return "[Unsupported Encoding]";
         }
     }
-}
\ No newline at end of file
+}
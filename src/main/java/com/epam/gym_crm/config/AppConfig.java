@@ -1,8 +1,13 @@
 package com.epam.gym_crm.config;
 
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.epam.gym_crm.monitoring.query.QueryCountingDataSource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -26,4 +31,20 @@ public class AppConfig {
 		return mapper;
 	}
 
+	// Wraps the pool so Hibernate and JdbcTemplate statements are both counted per request.
+	// Not registered with app.query-count.enabled=false, so the pool is then left unproxied.
+	@Bean
+	@ConditionalOnProperty(prefix = "app.query-count", name = "enabled", havingValue = "true", matchIfMissing = true)
+	public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+					return new QueryCountingDataSource(dataSource);
+				}
+				return bean;
+			}
+		};
+	}
+
 }
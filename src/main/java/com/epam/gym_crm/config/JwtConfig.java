@@ -1,5 +1,8 @@
 package com.epam.gym_crm.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -15,4 +18,34 @@ public class JwtConfig {
 	private String secret;
 	private long expirationMs;
 	private long blacklistRetentionHours;
+	private int blacklistBloomExpectedInsertions = 100000;
+	private boolean verifiedCacheEnabled;
+	private long verifiedCacheMaxSize = 10000;
+	private boolean statelessAuthorization;
+	// Bounds how long a bump made on another node can go unnoticed when events are not shared; versions are reloaded after this.
+	private long securityVersionCacheSeconds = 30;
+	private RevocationStrategy revocationStrategy = RevocationStrategy.WATERMARK;
+	private SigningAlgorithm signingAlgorithm = SigningAlgorithm.HS256;
+	private String activeKeyId;
+	private List<SigningKey> signingKeys = new ArrayList<>();
+	// Keeps HS256 tokens issued before a switch to ES256 valid until they expire.
+	private boolean acceptHmacTokens = true;
+
+	public enum RevocationStrategy {
+		BLACKLIST, WATERMARK
+	}
+
+	public enum SigningAlgorithm {
+		HS256, ES256
+	}
+
+	@Getter
+	@Setter
+	public static class SigningKey {
+		private String id;
+		// PKCS#8, PEM or base64; only needed for the active key.
+		private String privateKey;
+		// X.509 SubjectPublicKeyInfo, PEM or base64.
+		private String publicKey;
+	}
 }
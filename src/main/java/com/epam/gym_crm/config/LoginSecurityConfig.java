@@ -14,4 +14,13 @@ public class LoginSecurityConfig {
 
 	private int maxAttempts;
 	private long lockoutDurationMinutes;
+	private int windowBuckets = 10;
+	private int maxTrackedUsers = 10000;
+	private int sketchDepth = 4;
+	private int sketchWidth = 4096;
+	// Soft throttle for users counted only in the sketch; kept well above
+	// maxAttempts because sketch estimates over-count on collisions
+	private int sketchThrottleAttempts = 50;
+	// Usernames monitored by the failed-login top-K (/actuator/loginhotspots)
+	private int heavyHitterCapacity = 100;
 }
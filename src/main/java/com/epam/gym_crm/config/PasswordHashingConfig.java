@@ -0,0 +1,26 @@
+package com.epam.gym_crm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+@Getter
+@Setter
+public class PasswordHashingConfig {
+
+	private int poolSize = Runtime.getRuntime().availableProcessors();
+	private int queueCapacity = 50;
+
+	// BCrypt cost shared by all nodes, never below 10. Calibration instead picks
+	// the cost whose hash time on this node is closest to targetLatencyMs, within
+	// [minStrength, maxStrength]; use it to size the cost, then pin strength.
+	private boolean calibrationEnabled = false;
+	private long targetLatencyMs = 50;
+	private int minStrength = 10;
+	private int maxStrength = 14;
+	private int strength = 10;
+}
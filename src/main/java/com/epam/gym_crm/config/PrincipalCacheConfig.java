@@ -0,0 +1,18 @@
+package com.epam.gym_crm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.principal-cache")
+@Getter
+@Setter
+public class PrincipalCacheConfig {
+
+	private boolean enabled;
+	private long ttlSeconds = 30;
+	private long maxSize = 10000;
+}
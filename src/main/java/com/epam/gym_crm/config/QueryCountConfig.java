@@ -0,0 +1,20 @@
+package com.epam.gym_crm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.query-count")
+@Getter
+@Setter
+public class QueryCountConfig {
+
+	private boolean enabled = true;
+	// Adds X-Query-Count to every response; meant for non-prod profiles only.
+	private boolean exposeHeader = false;
+	// Requests issuing more statements than this are logged as likely N+1s.
+	private int warnThreshold = 20;
+}
@@ -0,0 +1,36 @@
+package com.epam.gym_crm.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+
+	private boolean enabled = true;
+	// Buckets untouched for this long are dropped; maxClients caps the total.
+	private long idleEvictionMinutes = 10;
+	private long maxClients = 100000;
+	// Checked in declaration order; the first group matching the request applies.
+	private Map<String, RouteGroup> groups = new LinkedHashMap<>();
+
+	@Getter
+	@Setter
+	public static class RouteGroup {
+		private List<String> paths = new ArrayList<>();
+		// Empty means every method.
+		private List<String> methods = new ArrayList<>();
+		private int capacity = 20;
+		private double refillPerSecond = 5;
+	}
+}
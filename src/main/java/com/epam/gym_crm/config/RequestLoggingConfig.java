@@ -0,0 +1,32 @@
+package com.epam.gym_crm.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.request-logging")
+@Getter
+@Setter
+public class RequestLoggingConfig {
+
+	// full: buffer whole bodies (previous behaviour); bounded: tee at most maxBodyBytes while streaming
+	private Mode mode = Mode.BOUNDED;
+	private int maxBodyBytes = 1024;
+	// Fraction of requests whose bodies are captured up to sampledMaxBodyBytes instead.
+	private double fullBodySampleRate = 0.0;
+	private int sampledMaxBodyBytes = 1024 * 1024;
+	private List<String> skipPaths = new ArrayList<>(List.of("/actuator/**", "/swagger-ui/**", "/v3/api-docs/**"));
+	// Prefix match against the Content-Type, e.g. "image/".
+	private List<String> skipContentTypes = new ArrayList<>(
+			List.of("multipart/", "image/", "application/octet-stream"));
+
+	public enum Mode {
+		FULL, BOUNDED
+	}
+}
@@ -0,0 +1,18 @@
+package com.epam.gym_crm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.schema-migration")
+@Getter
+@Setter
+public class SchemaMigrationConfig {
+
+	private boolean enabled = true;
+	// Scripts named V<version>__<description>.sql, applied once each in version order.
+	private String locations = "classpath*:db/migration/V*__*.sql";
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -19,9 +20,14 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.domain.service.impl.UserDetailsServiceImpl;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.BCryptCostCalibrator;
+import com.epam.gym_crm.security.BoundedBCryptPasswordEncoder;
 import com.epam.gym_crm.security.JwtAuthenticationEntryPoint;
 import com.epam.gym_crm.security.JwtAuthenticationFilter;
+import com.epam.gym_crm.security.RateLimitFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -30,12 +36,22 @@ public class SecurityConfig {
 	private final JwtAuthenticationEntryPoint authenticationEntryPoint;
 	private final JwtAuthenticationFilter authenticationFilter;
 	private final UserDetailsServiceImpl userDetailsService;
+	private final PasswordHashingConfig passwordHashingConfig;
+	private final AppMetrics appMetrics;
+	private final BCryptCostCalibrator bCryptCostCalibrator;
+	private final RateLimitFilter rateLimitFilter;
 
 	public SecurityConfig(JwtAuthenticationEntryPoint authenticationEntryPoint,
-			JwtAuthenticationFilter authenticationFilter, UserDetailsServiceImpl userDetailsService) {
+			JwtAuthenticationFilter authenticationFilter, UserDetailsServiceImpl userDetailsService,
+			PasswordHashingConfig passwordHashingConfig, AppMetrics appMetrics,
+			BCryptCostCalibrator bCryptCostCalibrator, RateLimitFilter rateLimitFilter) {
 		this.authenticationEntryPoint = authenticationEntryPoint;
 		this.authenticationFilter = authenticationFilter;
 		this.userDetailsService = userDetailsService;
+		this.passwordHashingConfig = passwordHashingConfig;
+		this.appMetrics = appMetrics;
+		this.bCryptCostCalibrator = bCryptCostCalibrator;
+		this.rateLimitFilter = rateLimitFilter;
 	}
 
 	@Bean
@@ -54,7 +70,7 @@ public class SecurityConfig {
 
 	@Bean
 	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new BoundedBCryptPasswordEncoder(bCryptCostCalibrator.getStrength(), passwordHashingConfig, appMetrics);
 	}
 
 	@Bean
@@ -63,6 +79,7 @@ public class SecurityConfig {
 		configuration.setAllowedOrigins(List.of("*"));
 		configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD"));
 		configuration.setAllowedHeaders(List.of("*"));
+		configuration.setExposedHeaders(List.of(CursorPage.NEXT_CURSOR_HEADER));
 		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
 		source.registerCorsConfiguration("/**", configuration);
 		return source;
@@ -74,8 +91,14 @@ public class SecurityConfig {
 				.authorizeHttpRequests(auth -> auth
 						// Public endpoints for authentication login and Trainee,Trainer profile creation
 						.requestMatchers("/api/auth/login", "/api/trainees", "/api/trainers").permitAll()
+						// Token verification keys for downstream services
+						.requestMatchers("/.well-known/jwks.json").permitAll()
 						// Swagger UI and API docs endpoints
 						.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+						// Reloading the training type catalog needs a logged-in caller
+						.requestMatchers(HttpMethod.POST, "/actuator/trainingtypes").authenticated()
+						// Failed-login usernames must not be readable anonymously
+						.requestMatchers("/actuator/loginhotspots", "/actuator/loginhotspots/**").authenticated()
 						// Expose actuator endpoints without authentication (Not sure about this one)
 						.requestMatchers("/actuator/**").permitAll() 
 						// All other requests must be authenticated
@@ -84,7 +107,9 @@ public class SecurityConfig {
 				.exceptionHandling(ex -> ex.authenticationEntryPoint(authenticationEntryPoint))
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authenticationProvider(authenticationProvider())
-				.addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class);
+				.addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class)
+				// After the JWT filter so authenticated callers are limited by username
+				.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 				
 		return httpSecurity.build();
 	}
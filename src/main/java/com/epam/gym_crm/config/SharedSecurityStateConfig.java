@@ -0,0 +1,21 @@
+package com.epam.gym_crm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.security.shared-state")
+@Getter
+@Setter
+public class SharedSecurityStateConfig {
+
+	private String backend = "local";
+	private long pollIntervalMs = 1000;
+	private int pollBatchSize = 500;
+	// How long a missing event id is waited for before the poller moves past it.
+	private long gapTimeoutMs = 30000;
+	private long retentionMinutes = 120;
+}
@@ -0,0 +1,18 @@
+package com.epam.gym_crm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.trainer-directory")
+@Getter
+@Setter
+public class TrainerDirectoryConfig {
+
+	private boolean enabled = true;
+	// Full reload from the database; picks up trainer changes committed on other instances. 0 or less loads once at startup only.
+	private long rebuildIntervalSeconds = 300;
+}
@@ -0,0 +1,18 @@
+package com.epam.gym_crm.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.training-batch")
+@Getter
+@Setter
+public class TrainingBatchConfig {
+
+	// Larger requests are rejected as a whole; usernames of one request go into a single IN list each.
+	private int maxItems = 10000;
+	private int jdbcBatchSize = 500;
+}
@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.epam.gym_crm.db.entity.TrainingType;
 import com.epam.gym_crm.db.repository.TrainingTypeRepository;
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
 
 @Component
 public class TrainingTypeDataLoader implements CommandLineRunner {
@@ -19,9 +20,12 @@ public class TrainingTypeDataLoader implements CommandLineRunner {
     private static final Logger logger = LoggerFactory.getLogger(TrainingTypeDataLoader.class);
 
     private final TrainingTypeRepository trainingTypeRepository;
+    private final TrainingTypeRegistry trainingTypeRegistry;
 
-    public TrainingTypeDataLoader(TrainingTypeRepository trainingTypeRepository) {
+    public TrainingTypeDataLoader(TrainingTypeRepository trainingTypeRepository,
+            TrainingTypeRegistry trainingTypeRegistry) {
         this.trainingTypeRepository = trainingTypeRepository;
+        this.trainingTypeRegistry = trainingTypeRegistry;
     }
 
     @Override
@@ -47,5 +51,6 @@ public class TrainingTypeDataLoader implements CommandLineRunner {
         } else {
             logger.info("TrainingType data already exists. Skipping initialization.");
         }
+        trainingTypeRegistry.reload();
     }
 }
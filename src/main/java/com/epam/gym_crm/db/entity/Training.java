@@ -7,8 +7,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -20,14 +22,21 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "training")
+@Table(name = "training", indexes = {
+		@Index(name = "idx_training_trainee_date_id", columnList = "trainee_id, training_date DESC, id DESC"),
+		@Index(name = "idx_training_trainer_date_id", columnList = "trainer_id, training_date DESC, id DESC") })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Training {
+
+	// Each nextval of training_seq reserves this many ids (hi - size + 1 .. hi); shared with TrainingRepositoryImpl.
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_seq")
+	@SequenceGenerator(name = "training_seq", sequenceName = "training_seq", allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 	@NotBlank(message = "Training name cannot be blank")
 	@Size(min = 3, max = 100, message = "Training name must be between 3 and 100 characters")
@@ -0,0 +1,125 @@
+package com.epam.gym_crm.db.migration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.gym_crm.config.SchemaMigrationConfig;
+
+/**
+ * Applies versioned SQL scripts that depend on tables Hibernate creates
+ * ({@code ddl-auto: update}), which is why they cannot live in schema.sql: that
+ * runs before the entity tables exist on a fresh database. Runs once all
+ * singletons, including the EntityManagerFactory, are initialised and before
+ * the web server starts. Each script runs in its own transaction under a
+ * Postgres advisory lock, so parallel instances apply it exactly once;
+ * applied versions are recorded in {@code schema_migration}.
+ */
+@Component
+public class SchemaMigrator implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+	private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+	private static final long ADVISORY_LOCK_KEY = 0x67796d5f6d6967L; // "gym_mig"
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final SchemaMigrationConfig config;
+
+	public SchemaMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			SchemaMigrationConfig config) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.config = config;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (config.isEnabled()) {
+			migrate();
+		}
+	}
+
+	public void migrate() {
+		List<Migration> migrations = findMigrations();
+		Set<Integer> applied = new HashSet<>(
+				jdbcTemplate.queryForList("SELECT version FROM schema_migration", Integer.class));
+
+		for (Migration migration : migrations) {
+			if (!applied.contains(migration.version())) {
+				transactionTemplate.executeWithoutResult(status -> apply(migration));
+			}
+		}
+	}
+
+	private void apply(Migration migration) {
+		jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ADVISORY_LOCK_KEY);
+		// Another instance may have applied it while we waited for the lock.
+		Integer done = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migration WHERE version = ?",
+				Integer.class, migration.version());
+		if (done != null && done > 0) {
+			return;
+		}
+
+		logger.info("Applying schema migration V{} ({}).", migration.version(), migration.description());
+		long start = System.currentTimeMillis();
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.script(), StandardCharsets.UTF_8));
+			return null;
+		});
+		jdbcTemplate.update("INSERT INTO schema_migration (version, description, applied_at) VALUES (?, ?, ?)",
+				migration.version(), migration.description(), Timestamp.from(Instant.now()));
+		logger.info("Schema migration V{} applied in {}ms.", migration.version(), System.currentTimeMillis() - start);
+	}
+
+	private List<Migration> findMigrations() {
+		Resource[] resources;
+		try {
+			resources = new PathMatchingResourcePatternResolver().getResources(config.getLocations());
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not list schema migrations at " + config.getLocations(), e);
+		}
+
+		List<Migration> migrations = new ArrayList<>();
+		Set<Integer> versions = new HashSet<>();
+		for (Resource resource : resources) {
+			Matcher matcher = SCRIPT_NAME.matcher(String.valueOf(resource.getFilename()));
+			if (!matcher.matches()) {
+				logger.warn("Ignoring schema migration with unexpected name '{}'.", resource.getFilename());
+				continue;
+			}
+			int version = Integer.parseInt(matcher.group(1));
+			if (!versions.add(version)) {
+				throw new IllegalStateException("Duplicate schema migration version V" + version);
+			}
+			migrations.add(new Migration(version, matcher.group(2).replace('_', ' '), resource));
+		}
+		migrations.sort(Comparator.comparingInt(Migration::version));
+		return migrations;
+	}
+
+	private record Migration(int version, String description, Resource script) {
+	}
+}
@@ -2,6 +2,7 @@ package com.epam.gym_crm.db.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,8 @@ import com.epam.gym_crm.db.entity.Trainee;
 @Repository
 public interface TraineeRepository extends JpaRepository<Trainee, Long> {
 	Optional<Trainee> findByUserUsername(String username);
+
+	// Profile read path: user, trainers and their users/specializations in one statement instead of 1 + 2N lazy loads.
+	@EntityGraph(attributePaths = { "user", "trainers", "trainers.user", "trainers.specialization" })
+	Optional<Trainee> findProfileByUserUsername(String username);
 }
@@ -1,16 +1,56 @@
 package com.epam.gym_crm.db.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.epam.gym_crm.api.dto.response.TrainerInfoProjection;
 import com.epam.gym_crm.db.entity.Trainer;
 
 @Repository
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
 	Optional<Trainer> findByUserUsername(String username);
 
+	// Profile read path: user, specialization, trainees and their users in one statement instead of 1 + 2N lazy loads.
+	@EntityGraph(attributePaths = { "user", "specialization", "trainees", "trainees.user" })
+	Optional<Trainer> findProfileByUserUsername(String username);
+
+	@EntityGraph(attributePaths = { "user", "specialization" })
 	List<Trainer> findByUserIsActive(boolean isActive);
+
+	@Query(value = "SELECT trainer_id FROM trainee_trainer WHERE trainee_id = :traineeId", nativeQuery = true)
+	Set<Long> findAssignedTrainerIds(@Param("traineeId") Long traineeId);
+
+	@EntityGraph(attributePaths = { "user", "specialization" })
+	List<Trainer> findByIdIn(Collection<Long> ids);
+
+	// Active trainers not yet assigned to the trainee, ordered by username and read past
+	// :afterUsername ('' for the first page), so each page costs the same however many trainers exist.
+	@Query(value = """
+            SELECT
+                u.username AS username,
+                u.first_name AS firstName,
+                u.last_name AS lastName,
+                tt.training_type_name AS specialization
+            FROM trainer tr
+            JOIN "user" u ON u.id = tr.user_id
+            JOIN training_type tt ON tt.id = tr.training_type_id
+            WHERE u.is_active = true
+              AND u.username > :afterUsername
+              AND NOT EXISTS (
+                SELECT 1 FROM trainee_trainer tt2
+                WHERE tt2.trainer_id = tr.id AND tt2.trainee_id = :traineeId
+              )
+            ORDER BY u.username
+            LIMIT :limit
+        """, nativeQuery = true)
+	List<TrainerInfoProjection> findUnassignedActiveTrainers(@Param("traineeId") Long traineeId,
+			@Param("afterUsername") String afterUsername, @Param("limit") int limit);
 }
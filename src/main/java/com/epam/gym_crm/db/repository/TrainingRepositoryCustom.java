@@ -0,0 +1,43 @@
+package com.epam.gym_crm.db.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoProjection;
+import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoProjection;
+
+public interface TrainingRepositoryCustom {
+
+	record UserRow(Long id, String username, String firstName, String lastName, boolean active) {
+	}
+
+	record TraineeTrainerPair(Long traineeId, Long trainerId) {
+	}
+
+	record NewTrainingRow(Long id, Long traineeId, Long trainerId, Long trainingTypeId, String trainingName,
+			LocalDate trainingDate, Integer trainingDuration) {
+	}
+
+	List<TraineeTrainingInfoProjection> findTraineeTrainingsByCriteria(String traineeUsername, LocalDate fromDate,
+			LocalDate toDate, String trainerName, String trainingTypeName, LocalDate cursorDate, Long cursorId,
+			Integer limit);
+
+	List<TrainerTrainingInfoProjection> findTrainerTrainingsByCriteria(String trainerUsername, LocalDate fromDate,
+			LocalDate toDate, String traineeName, LocalDate cursorDate, Long cursorId, Integer limit);
+
+	// Set-based lookups and JDBC batch writes for POST /api/trainings/batch.
+
+	List<UserRow> findTrainersByUsernames(Collection<String> usernames);
+
+	List<UserRow> findTraineesByUsernames(Collection<String> usernames);
+
+	Set<TraineeTrainerPair> findTraineeTrainerPairs(Collection<Long> traineeIds);
+
+	List<Long> allocateTrainingIds(int count);
+
+	void insertTrainings(List<NewTrainingRow> rows, int batchSize);
+
+	void insertTraineeTrainerPairs(Collection<TraineeTrainerPair> pairs, int batchSize);
+}
@@ -0,0 +1,299 @@
+package com.epam.gym_crm.db.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoProjection;
+import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoProjection;
+import com.epam.gym_crm.db.entity.Training;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Training history queries built per request, so only the filters that were
+ * actually given reach the planner. The previous single native query carried
+ * every filter as {@code (:x IS NULL OR ...)}, which forces one generic plan
+ * that can use no index for any of them. Each query is driven by the username
+ * equality (unique btree on {@code "user".username}) and the
+ * {@code (trainee_id|trainer_id, training_date, id)} indexes; name filters,
+ * {@code lower(column) LIKE lower(:pattern)}, are checked on that user's rows.
+ *
+ * The batch methods back POST /api/trainings/batch: one IN query per entity
+ * kind, ids reserved from training_seq in blocks of
+ * {@link Training#ID_ALLOCATION_SIZE} (the same pooled scheme Hibernate uses,
+ * so both can hand out ids side by side), and plain JDBC batch inserts.
+ */
+public class TrainingRepositoryImpl implements TrainingRepositoryCustom {
+
+	private static final String TRAINEE_TRAININGS = """
+			SELECT
+			    t.id AS training_id,
+			    t.training_name AS training_name,
+			    t.training_date AS training_date,
+			    tt.training_type_name AS training_type,
+			    t.training_duration AS training_duration,
+			    (u_trainer.first_name || ' ' || u_trainer.last_name) AS trainer_name
+			FROM training t
+			JOIN trainee ts ON ts.id = t.trainee_id
+			JOIN "user" u_trainee ON u_trainee.id = ts.user_id
+			JOIN trainer tr ON tr.id = t.trainer_id
+			JOIN "user" u_trainer ON u_trainer.id = tr.user_id
+			JOIN training_type tt ON tt.id = t.training_type_id
+			WHERE u_trainee.username = :username""";
+
+	private static final String TRAINER_TRAININGS = """
+			SELECT
+			    t.id AS training_id,
+			    t.training_name AS training_name,
+			    t.training_date AS training_date,
+			    tt.training_type_name AS training_type,
+			    t.training_duration AS training_duration,
+			    (u_trainee.first_name || ' ' || u_trainee.last_name) AS trainee_name
+			FROM training t
+			JOIN trainer tr ON tr.id = t.trainer_id
+			JOIN "user" u_trainer ON u_trainer.id = tr.user_id
+			JOIN trainee ts ON ts.id = t.trainee_id
+			JOIN "user" u_trainee ON u_trainee.id = ts.user_id
+			JOIN training_type tt ON tt.id = t.training_type_id
+			WHERE u_trainer.username = :username""";
+
+	private static final String TRAINERS_BY_USERNAMES = """
+			SELECT tr.id, u.username, u.first_name, u.last_name, u.is_active
+			FROM trainer tr
+			JOIN "user" u ON u.id = tr.user_id
+			WHERE u.username IN (:usernames)""";
+
+	private static final String TRAINEES_BY_USERNAMES = """
+			SELECT ts.id, u.username, u.first_name, u.last_name, u.is_active
+			FROM trainee ts
+			JOIN "user" u ON u.id = ts.user_id
+			WHERE u.username IN (:usernames)""";
+
+	private static final String INSERT_TRAINING = "INSERT INTO training (id, training_name, training_date, "
+			+ "training_duration, trainee_id, trainer_id, training_type_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+	// A concurrent single create may have added the same pair in the meantime.
+	private static final String INSERT_TRAINEE_TRAINER = "INSERT INTO trainee_trainer (trainee_id, trainer_id) "
+			+ "VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+	static final String TRAINER_NAME_FILTER = "(lower(u_trainer.first_name) LIKE lower(:trainerName) "
+			+ "OR lower(u_trainer.last_name) LIKE lower(:trainerName))";
+	static final String TRAINEE_NAME_FILTER = "(lower(u_trainee.first_name) LIKE lower(:traineeName) "
+			+ "OR lower(u_trainee.last_name) LIKE lower(:traineeName))";
+	static final String TRAINING_TYPE_FILTER = "lower(tt.training_type_name) LIKE lower(:trainingTypeName)";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public TrainingRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public List<TraineeTrainingInfoProjection> findTraineeTrainingsByCriteria(String traineeUsername,
+			LocalDate fromDate, LocalDate toDate, String trainerName, String trainingTypeName, LocalDate cursorDate,
+			Long cursorId, Integer limit) {
+		HistoryQuery query = traineeTrainingsQuery(traineeUsername, fromDate, toDate, trainerName, trainingTypeName,
+				cursorDate, cursorId, limit);
+		return jdbcTemplate.query(query.sql(), query.params(),
+				(rs, rowNum) -> new TraineeTrainingRow(rs.getLong("training_id"), rs.getString("training_name"),
+						rs.getObject("training_date", LocalDate.class), rs.getString("training_type"),
+						rs.getObject("training_duration", Integer.class), rs.getString("trainer_name")));
+	}
+
+	@Override
+	public List<TrainerTrainingInfoProjection> findTrainerTrainingsByCriteria(String trainerUsername,
+			LocalDate fromDate, LocalDate toDate, String traineeName, LocalDate cursorDate, Long cursorId,
+			Integer limit) {
+		HistoryQuery query = trainerTrainingsQuery(trainerUsername, fromDate, toDate, traineeName, cursorDate,
+				cursorId, limit);
+		return jdbcTemplate.query(query.sql(), query.params(),
+				(rs, rowNum) -> new TrainerTrainingRow(rs.getLong("training_id"), rs.getString("training_name"),
+						rs.getObject("training_date", LocalDate.class), rs.getString("training_type"),
+						rs.getObject("training_duration", Integer.class), rs.getString("trainee_name")));
+	}
+
+	@Override
+	public List<UserRow> findTrainersByUsernames(Collection<String> usernames) {
+		return findUsers(TRAINERS_BY_USERNAMES, usernames);
+	}
+
+	@Override
+	public List<UserRow> findTraineesByUsernames(Collection<String> usernames) {
+		return findUsers(TRAINEES_BY_USERNAMES, usernames);
+	}
+
+	private List<UserRow> findUsers(String sql, Collection<String> usernames) {
+		if (usernames.isEmpty()) {
+			return List.of();
+		}
+		return jdbcTemplate.query(sql, new MapSqlParameterSource("usernames", usernames),
+				(rs, rowNum) -> new UserRow(rs.getLong("id"), rs.getString("username"), rs.getString("first_name"),
+						rs.getString("last_name"), rs.getBoolean("is_active")));
+	}
+
+	@Override
+	public Set<TraineeTrainerPair> findTraineeTrainerPairs(Collection<Long> traineeIds) {
+		if (traineeIds.isEmpty()) {
+			return Set.of();
+		}
+		return new HashSet<>(jdbcTemplate.query(
+				"SELECT trainee_id, trainer_id FROM trainee_trainer WHERE trainee_id IN (:traineeIds)",
+				new MapSqlParameterSource("traineeIds", traineeIds),
+				(rs, rowNum) -> new TraineeTrainerPair(rs.getLong("trainee_id"), rs.getLong("trainer_id"))));
+	}
+
+	@Override
+	public List<Long> allocateTrainingIds(int count) {
+		List<Long> ids = new ArrayList<>(Math.max(count, 0));
+		while (ids.size() < count) {
+			int missing = count - ids.size();
+			int blocks = (missing + Training.ID_ALLOCATION_SIZE - 1) / Training.ID_ALLOCATION_SIZE;
+			List<Long> highValues = jdbcTemplate.queryForList(
+					"SELECT nextval('training_seq') FROM generate_series(1, :blocks)",
+					new MapSqlParameterSource("blocks", blocks), Long.class);
+			expandIdBlocks(highValues, count, ids);
+		}
+		return ids;
+	}
+
+	// Each sequence value is the highest id of its block, as with Hibernate's pooled optimizer. The first
+	// value of a fresh sequence (1) yields a short block, so the caller loops until it has enough ids.
+	static void expandIdBlocks(List<Long> highValues, int count, List<Long> ids) {
+		for (Long high : highValues) {
+			long low = Math.max(1, high - Training.ID_ALLOCATION_SIZE + 1);
+			for (long id = low; id <= high && ids.size() < count; id++) {
+				ids.add(id);
+			}
+		}
+	}
+
+	@Override
+	public void insertTrainings(List<NewTrainingRow> rows, int batchSize) {
+		jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_TRAINING, rows, batchSize, (ps, row) -> {
+			ps.setLong(1, row.id());
+			ps.setString(2, row.trainingName());
+			ps.setObject(3, row.trainingDate());
+			ps.setInt(4, row.trainingDuration());
+			ps.setLong(5, row.traineeId());
+			ps.setLong(6, row.trainerId());
+			ps.setLong(7, row.trainingTypeId());
+		});
+	}
+
+	@Override
+	public void insertTraineeTrainerPairs(Collection<TraineeTrainerPair> pairs, int batchSize) {
+		jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_TRAINEE_TRAINER, pairs, batchSize, (ps, pair) -> {
+			ps.setLong(1, pair.traineeId());
+			ps.setLong(2, pair.trainerId());
+		});
+	}
+
+	static HistoryQuery traineeTrainingsQuery(String traineeUsername, LocalDate fromDate, LocalDate toDate,
+			String trainerName, String trainingTypeName, LocalDate cursorDate, Long cursorId, Integer limit) {
+		HistoryQuery query = new HistoryQuery(TRAINEE_TRAININGS, traineeUsername);
+		query.dateRange(fromDate, toDate);
+		if (hasText(trainerName)) {
+			query.where(TRAINER_NAME_FILTER, "trainerName", contains(trainerName));
+		}
+		if (hasText(trainingTypeName)) {
+			query.where(TRAINING_TYPE_FILTER, "trainingTypeName", contains(trainingTypeName));
+		}
+		return query.page(cursorDate, cursorId, limit);
+	}
+
+	static HistoryQuery trainerTrainingsQuery(String trainerUsername, LocalDate fromDate, LocalDate toDate,
+			String traineeName, LocalDate cursorDate, Long cursorId, Integer limit) {
+		HistoryQuery query = new HistoryQuery(TRAINER_TRAININGS, trainerUsername);
+		query.dateRange(fromDate, toDate);
+		if (hasText(traineeName)) {
+			query.where(TRAINEE_NAME_FILTER, "traineeName", contains(traineeName));
+		}
+		return query.page(cursorDate, cursorId, limit);
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isBlank();
+	}
+
+	// User input is matched literally; % and _ are escaped with LIKE's default escape character.
+	static String contains(String value) {
+		return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+	}
+
+	static final class HistoryQuery {
+
+		private final StringBuilder sql;
+		private final MapSqlParameterSource params = new MapSqlParameterSource();
+
+		HistoryQuery(String select, String username) {
+			this.sql = new StringBuilder(select);
+			params.addValue("username", username);
+		}
+
+		void dateRange(LocalDate fromDate, LocalDate toDate) {
+			if (fromDate != null) {
+				where("t.training_date >= :fromDate", "fromDate", fromDate);
+			}
+			if (toDate != null) {
+				where("t.training_date <= :toDate", "toDate", toDate);
+			}
+		}
+
+		void where(String predicate, String name, Object value) {
+			sql.append("\n  AND ").append(predicate);
+			params.addValue(name, value);
+		}
+
+		// A null limit returns every matching row.
+		HistoryQuery page(LocalDate cursorDate, Long cursorId, Integer limit) {
+			if (cursorDate != null && cursorId != null) {
+				sql.append("\n  AND (t.training_date, t.id) < (:cursorDate, :cursorId)");
+				params.addValue("cursorDate", cursorDate);
+				params.addValue("cursorId", cursorId);
+			}
+			sql.append("\nORDER BY t.training_date DESC, t.id DESC");
+			if (limit != null) {
+				sql.append("\nLIMIT :limit");
+				params.addValue("limit", limit);
+			}
+			return this;
+		}
+
+		String sql() {
+			return sql.toString();
+		}
+
+		MapSqlParameterSource params() {
+			return params;
+		}
+	}
+
+	@Getter
+	@AllArgsConstructor
+	static final class TraineeTrainingRow implements TraineeTrainingInfoProjection {
+		private final Long trainingId;
+		private final String trainingName;
+		private final LocalDate trainingDate;
+		private final String trainingType;
+		private final Integer trainingDuration;
+		private final String trainerName;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	static final class TrainerTrainingRow implements TrainerTrainingInfoProjection {
+		private final Long trainingId;
+		private final String trainingName;
+		private final LocalDate trainingDate;
+		private final String trainingType;
+		private final Integer trainingDuration;
+		private final String traineeName;
+	}
+}
@@ -14,7 +14,8 @@ public enum MessageType {
 	VALIDATION_ERROR("1003", "Validation failed."),
 	INVALID_ARGUMENT("1002", "Invalid parameter provided."),
 	DUPLICATE_USERNAME("1004", "Username already exists."),
-	ASSOCIATION_ERROR("1005", "Related resource not found or invalid.");
+	ASSOCIATION_ERROR("1005", "Related resource not found or invalid."),
+	SERVICE_UNAVAILABLE("1015", "Service temporarily unavailable.");
 	private String code;
 	private String message;
 
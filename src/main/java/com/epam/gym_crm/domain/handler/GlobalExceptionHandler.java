@@ -65,6 +65,10 @@ public class GlobalExceptionHandler {
 			status = HttpStatus.CONFLICT;
 			break;
 
+		case SERVICE_UNAVAILABLE:
+			status = HttpStatus.SERVICE_UNAVAILABLE;
+			break;
+
 		case GENERAL_EXCEPTION:
 		default:
 			status = HttpStatus.INTERNAL_SERVER_ERROR;
@@ -13,6 +13,8 @@ public interface IAuthenticationService {
 	void changePassword(ChangePasswordRequest request);
 
 	void logout(String token);
+
+	void logoutAllDevices();
 	
 	UserCreationResult prepareUserWithCredentials(String firstName, String lastName);
 	
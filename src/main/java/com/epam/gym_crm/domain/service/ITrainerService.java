@@ -5,6 +5,7 @@ import java.util.List;
 import com.epam.gym_crm.api.dto.request.UserActivationRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerCreateRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerUpdateRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TrainerInfoResponse;
 import com.epam.gym_crm.api.dto.response.TrainerProfileResponse;
 import com.epam.gym_crm.api.dto.response.UserRegistrationResponse;
@@ -17,7 +18,7 @@ public interface ITrainerService {
 
 	List<TrainerProfileResponse> getAllTrainers();
 	
-	List<TrainerInfoResponse> getUnassignedTrainersForTrainee(String traineeUsername);
+	CursorPage<TrainerInfoResponse> getUnassignedTrainersForTrainee(String traineeUsername, String cursor, Integer limit);
 
 	UserRegistrationResponse createTrainer(TrainerCreateRequest request);
 
@@ -4,10 +4,13 @@ import java.util.List;
 
 import com.epam.gym_crm.api.dto.request.trainee.TraineeTrainingListRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerTrainingListRequest;
+import com.epam.gym_crm.api.dto.request.training.TrainingBatchCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingUpdateRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoResponse;
 import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoResponse;
+import com.epam.gym_crm.api.dto.response.TrainingBatchResponse;
 import com.epam.gym_crm.api.dto.response.TrainingResponse;
 
 public interface ITrainingService {
@@ -16,12 +19,14 @@ public interface ITrainingService {
 
 	List<TrainingResponse> getAllTrainings();
     
-    List<TraineeTrainingInfoResponse> getTraineeTrainingsList(String username,TraineeTrainingListRequest request);
+    CursorPage<TraineeTrainingInfoResponse> getTraineeTrainingsList(String username,TraineeTrainingListRequest request);
 
-    List<TrainerTrainingInfoResponse> getTrainerTrainingsList(String username,TrainerTrainingListRequest request);
+    CursorPage<TrainerTrainingInfoResponse> getTrainerTrainingsList(String username,TrainerTrainingListRequest request);
     
     TrainingResponse createTraining(TrainingCreateRequest request,String token);
 
+    TrainingBatchResponse createTrainings(TrainingBatchCreateRequest request,String token);
+
     TrainingResponse updateTraining(TrainingUpdateRequest request,String token);
 	
 	void deleteTrainingById(Long id,String token);
@@ -1,9 +1,7 @@
 package com.epam.gym_crm.domain.service;
 
-import java.util.List;
-
-import com.epam.gym_crm.db.entity.TrainingType;
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
 
 public interface ITrainingTypeService {
-	List<TrainingType> getTrainingTypes();
+	TrainingTypeRegistry.Catalog getTrainingTypes();
 }
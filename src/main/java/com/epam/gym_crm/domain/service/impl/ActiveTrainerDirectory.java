@@ -0,0 +1,262 @@
+package com.epam.gym_crm.domain.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.gym_crm.api.dto.response.TrainerInfoResponse;
+import com.epam.gym_crm.config.TrainerDirectoryConfig;
+import com.epam.gym_crm.db.entity.Trainer;
+import com.epam.gym_crm.db.repository.TrainerRepository;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSortedMap;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Immutable snapshot of the active trainers, indexed by username (sorted, so
+ * it can be paged) and by specialization. Readers take the current snapshot
+ * from a volatile field without locking. Trainer mutations are applied after
+ * their transaction commits by copying the snapshot, changing one entry and
+ * swapping the copy in; a periodic full rebuild catches changes made by other
+ * instances.
+ *
+ * Until the first rebuild succeeds (or when disabled) {@link #isReady()} is
+ * false and callers use the database instead.
+ */
+@Component
+public class ActiveTrainerDirectory {
+
+	private static final Logger logger = LoggerFactory.getLogger(ActiveTrainerDirectory.class);
+
+	private static final int MAX_REBUILD_ATTEMPTS = 3;
+	private static final long INITIAL_LOAD_RETRY_MILLIS = 1_000;
+	private static final long MAX_INITIAL_LOAD_RETRY_MILLIS = 60_000;
+
+	public record Entry(Long id, String username, String firstName, String lastName, String specialization) {
+
+		static Entry of(Trainer trainer) {
+			return new Entry(trainer.getId(), trainer.getUser().getUsername(), trainer.getUser().getFirstName(),
+					trainer.getUser().getLastName(),
+					trainer.getSpecialization() != null ? trainer.getSpecialization().getTrainingTypeName() : null);
+		}
+
+		public TrainerInfoResponse toInfoResponse() {
+			return new TrainerInfoResponse(username, firstName, lastName, specialization);
+		}
+	}
+
+	private record Snapshot(long version, ImmutableSortedMap<String, Entry> byUsername,
+			ImmutableListMultimap<String, Entry> bySpecialization) {
+
+		static final Snapshot EMPTY = new Snapshot(0, ImmutableSortedMap.of(), ImmutableListMultimap.of());
+
+		static Snapshot of(long version, Map<String, Entry> entries) {
+			ImmutableListMultimap.Builder<String, Entry> bySpecialization = ImmutableListMultimap.builder();
+			ImmutableSortedMap<String, Entry> byUsername = ImmutableSortedMap.copyOf(entries);
+			for (Entry entry : byUsername.values()) {
+				if (entry.specialization() != null) {
+					bySpecialization.put(specializationKey(entry.specialization()), entry);
+				}
+			}
+			return new Snapshot(version, byUsername, bySpecialization.build());
+		}
+	}
+
+	private final TrainerRepository trainerRepository;
+	private final TrainerDirectoryConfig config;
+	private final Object writeLock = new Object();
+	private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "trainer-directory-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+	private volatile boolean ready;
+	private volatile long lastRebuildMillis;
+
+	public ActiveTrainerDirectory(TrainerRepository trainerRepository, TrainerDirectoryConfig config,
+			AppMetrics appMetrics) {
+		this.trainerRepository = trainerRepository;
+		this.config = config;
+		appMetrics.registerTrainerDirectory(this);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!config.isEnabled()) {
+			logger.info("ActiveTrainerDirectory disabled; trainer lookups go to the database.");
+			return;
+		}
+		if (config.getRebuildIntervalSeconds() <= 0) {
+			logger.info("ActiveTrainerDirectory periodic rebuild disabled; only local changes refresh the snapshot.");
+			rebuilder.execute(() -> loadUntilReady(INITIAL_LOAD_RETRY_MILLIS));
+			return;
+		}
+		rebuilder.scheduleWithFixedDelay(this::rebuildSafely, 0, config.getRebuildIntervalSeconds(), TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		rebuilder.shutdownNow();
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	public Optional<Entry> find(String username) {
+		return username != null ? Optional.ofNullable(snapshot.byUsername().get(username)) : Optional.empty();
+	}
+
+	public List<Entry> findBySpecialization(String specialization) {
+		return specialization != null ? snapshot.bySpecialization().get(specializationKey(specialization)) : List.of();
+	}
+
+	/**
+	 * Up to {@code max} trainers ordered by username, starting after
+	 * {@code afterUsername} and skipping the given trainer ids.
+	 */
+	public List<Entry> page(String afterUsername, Set<Long> excludedIds, int max) {
+		List<Entry> page = new ArrayList<>(Math.min(max, 64));
+		for (Entry entry : snapshot.byUsername().tailMap(afterUsername, false).values()) {
+			if (page.size() == max) {
+				break;
+			}
+			if (!excludedIds.contains(entry.id())) {
+				page.add(entry);
+			}
+		}
+		return page;
+	}
+
+	/**
+	 * Records the trainer's current state; it reaches readers once the
+	 * surrounding transaction commits. Inactive trainers are removed.
+	 */
+	public void trainerChanged(Trainer trainer) {
+		if (!config.isEnabled()) {
+			return;
+		}
+		String username = trainer.getUser().getUsername();
+		Entry entry = trainer.getUser().isActive() ? Entry.of(trainer) : null;
+		afterCommit(() -> apply(username, entry));
+	}
+
+	public void trainerRemoved(String username) {
+		if (!config.isEnabled()) {
+			return;
+		}
+		afterCommit(() -> apply(username, null));
+	}
+
+	public long getVersion() {
+		return snapshot.version();
+	}
+
+	public int size() {
+		return snapshot.byUsername().size();
+	}
+
+	// Seconds since the last full rebuild; changes made on other instances can be this old.
+	public double getAgeSeconds() {
+		long rebuiltAt = lastRebuildMillis;
+		return rebuiltAt == 0 ? 0 : (System.currentTimeMillis() - rebuiltAt) / 1000.0;
+	}
+
+	// Reloads every active trainer; runs on startup and every rebuild-interval-seconds.
+	public void rebuild() {
+		for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+			long startVersion = snapshot.version();
+			Map<String, Entry> entries = new TreeMap<>();
+			for (Trainer trainer : trainerRepository.findByUserIsActive(true)) {
+				entries.put(trainer.getUser().getUsername(), Entry.of(trainer));
+			}
+
+			synchronized (writeLock) {
+				// Bir commit okuma sırasında uygulandıysa eski sonuç onu ezmesin; yeniden oku.
+				if (snapshot.version() == startVersion || attempt == MAX_REBUILD_ATTEMPTS) {
+					snapshot = Snapshot.of(snapshot.version() + 1, entries);
+					lastRebuildMillis = System.currentTimeMillis();
+					ready = true;
+					logger.debug("Active trainer directory rebuilt: {} trainers, version {}.", entries.size(),
+							snapshot.version());
+					return;
+				}
+			}
+		}
+	}
+
+	private void rebuildSafely() {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			logger.error("Rebuilding the active trainer directory failed; will retry.", e);
+		}
+	}
+
+	// Without a periodic rebuild nothing else reloads the directory, so the startup load backs off until it succeeds.
+	private void loadUntilReady(long retryMillis) {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			if (rebuilder.isShutdown()) {
+				return;
+			}
+			logger.error("Loading the active trainer directory failed; retrying in {} ms.", retryMillis, e);
+			long nextRetryMillis = Math.min(retryMillis * 2, MAX_INITIAL_LOAD_RETRY_MILLIS);
+			rebuilder.schedule(() -> loadUntilReady(nextRetryMillis), retryMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void apply(String username, Entry entry) {
+		synchronized (writeLock) {
+			Snapshot current = snapshot;
+			if (entry == null && !current.byUsername().containsKey(username)) {
+				return;
+			}
+			Map<String, Entry> entries = new TreeMap<>(current.byUsername());
+			if (entry != null) {
+				entries.put(username, entry);
+			} else {
+				entries.remove(username);
+			}
+			snapshot = Snapshot.of(current.version() + 1, entries);
+		}
+		logger.debug("Active trainer directory updated for '{}'.", username);
+	}
+
+	private static void afterCommit(Runnable change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					change.run();
+				}
+			});
+		} else {
+			change.run();
+		}
+	}
+
+	private static String specializationKey(String specialization) {
+		return specialization.toLowerCase(Locale.ROOT);
+	}
+}
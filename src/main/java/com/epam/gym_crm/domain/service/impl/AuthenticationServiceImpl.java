@@ -1,6 +1,7 @@
 package com.epam.gym_crm.domain.service.impl;
 
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.epam.gym_crm.api.dto.UserCreationResult;
 import com.epam.gym_crm.api.dto.request.ChangePasswordRequest;
@@ -26,8 +28,13 @@ import com.epam.gym_crm.domain.exception.ErrorMessage;
 import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.domain.service.IAuthenticationService;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.monitoring.metric.LoginFailureReason;
+import com.epam.gym_crm.monitoring.metric.LoginHeavyHitterTracker;
 import com.epam.gym_crm.security.JwtTokenProvider;
 import com.epam.gym_crm.security.JwtUserDetails;
+import com.epam.gym_crm.security.ParsedJwtToken;
+import com.epam.gym_crm.security.PrincipalCache;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
 
 import io.micrometer.core.annotation.Timed;
 
@@ -44,6 +51,7 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 	private final AuthenticationInfoService authenticationInfoService;
 	private final LoginAttemptService loginAttemptService;
 	private final JwtTokenBlacklistService jwtTokenBlacklistService;
+	private final RevocationWatermarkService revocationWatermarkService;
 
 	private final AuthenticationManager authenticationManager;
 
@@ -51,19 +59,31 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 	private final BCryptPasswordEncoder passwordEncoder;
 
 	private final AppMetrics appMetrics;
+	private final PrincipalCache principalCache;
+	private final SecurityVersionRegistry securityVersionRegistry;
+	private final LoginHeavyHitterTracker loginHeavyHitterTracker;
+	private final UsernameAllocator usernameAllocator;
 
 	public AuthenticationServiceImpl(UserRepository userRepository, AuthenticationInfoService authenticationInfoService,
 			LoginAttemptService loginAttemptService, JwtTokenBlacklistService jwtTokenBlacklistService,
+			RevocationWatermarkService revocationWatermarkService,
 			AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider,
-			BCryptPasswordEncoder passwordEncoder, AppMetrics appMetrics) {
+			BCryptPasswordEncoder passwordEncoder, AppMetrics appMetrics, PrincipalCache principalCache,
+			SecurityVersionRegistry securityVersionRegistry, LoginHeavyHitterTracker loginHeavyHitterTracker,
+			UsernameAllocator usernameAllocator) {
 		this.userRepository = userRepository;
 		this.authenticationInfoService = authenticationInfoService;
 		this.loginAttemptService = loginAttemptService;
 		this.authenticationManager = authenticationManager;
 		this.jwtTokenProvider = jwtTokenProvider;
 		this.jwtTokenBlacklistService = jwtTokenBlacklistService;
+		this.revocationWatermarkService = revocationWatermarkService;
 		this.passwordEncoder = passwordEncoder;
 		this.appMetrics = appMetrics;
+		this.principalCache = principalCache;
+		this.securityVersionRegistry = securityVersionRegistry;
+		this.loginHeavyHitterTracker = loginHeavyHitterTracker;
+		this.usernameAllocator = usernameAllocator;
 	}
 
 	@Override
@@ -78,6 +98,8 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 		String username = request.getUsername();
 
 		if (loginAttemptService.isBlocked(username)) {
+			appMetrics.incrementLoginFailure(LoginFailureReason.LOCKED);
+			loginHeavyHitterTracker.recordFailure(username);
 			logger.warn("Login failed for user '{}': Account is temporarily locked.", username);
 			throw new BaseException(new ErrorMessage(MessageType.UNAUTHORIZED,
 					"User account is temporarily locked due to too many failed login attempts."));
@@ -90,11 +112,12 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 
 			loginAttemptService.loginSucceeded(username);
 
-			appMetrics.incrementLoginSuccess(username);
+			appMetrics.incrementLoginSuccess();
 
 			SecurityContextHolder.getContext().setAuthentication(authentication);
 
 			JwtUserDetails userDetails = (JwtUserDetails) authentication.getPrincipal();
+			rehashPasswordIfNeeded(userDetails, request.getPassword());
 			String accessToken = jwtTokenProvider.generateJwtToken(userDetails);
 
 			logger.info("User logged in successfully: {}", username);
@@ -103,10 +126,14 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 		} catch (AuthenticationException e) {
 			logger.warn("Login failed for user '{}' with AuthenticationException: {}", username, e.getMessage());
 
-			loginAttemptService.loginFailed(username);
-			appMetrics.incrementLoginFailure(username);
-
 			Throwable cause = e.getCause();
+			// UserDetailsServiceImpl reports a missing account as USER_NOT_FOUND.
+			boolean accountExists = !(cause instanceof BaseException baseException
+					&& baseException.getErrorMessage().getMessageType() == MessageType.USER_NOT_FOUND);
+
+			loginAttemptService.loginFailed(username, accountExists);
+			appMetrics.incrementLoginFailure(failureReason(e));
+			loginHeavyHitterTracker.recordFailure(username);
 
 			if (cause instanceof BaseException) {
 				throw (BaseException) cause;
@@ -121,22 +148,71 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 				throw new BaseException(
 						new ErrorMessage(MessageType.GENERAL_EXCEPTION, "An unexpected error occurred during login."));
 			}
+		} catch (BaseException e) {
+			// e.g. SERVICE_UNAVAILABLE when the password hashing queue is full; not a failed attempt.
+			throw e;
 		} catch (Exception e) {
 			logger.error("An unexpected error occurred during login for user '{}'.", username, e);
 			throw new BaseException(new ErrorMessage(MessageType.GENERAL_EXCEPTION, "An unexpected error occurred."));
 		}
 	}
 
+	private static LoginFailureReason failureReason(AuthenticationException e) {
+		if (e instanceof BadCredentialsException) {
+			return LoginFailureReason.BAD_CREDENTIALS;
+		}
+		if (e instanceof DisabledException) {
+			return LoginFailureReason.DISABLED;
+		}
+		return LoginFailureReason.OTHER;
+	}
+
+	// The raw password is only available here, so a hash weaker than the
+	// configured cost is re-encoded now. A failure must not fail the login.
+	private void rehashPasswordIfNeeded(JwtUserDetails userDetails, String rawPassword) {
+		if (!passwordEncoder.upgradeEncoding(userDetails.getPassword())) {
+			return;
+		}
+		try {
+			userRepository.findByUsername(userDetails.getUsername()).ifPresent(user -> {
+				user.setPassword(passwordEncoder.encode(rawPassword));
+				userRepository.save(user);
+				principalCache.invalidate(user.getUsername());
+				logger.info("Password hash re-encoded with the current cost for user: {}", user.getUsername());
+			});
+		} catch (RuntimeException e) {
+			logger.warn("Could not re-encode password hash for user '{}': {}", userDetails.getUsername(),
+					e.getMessage());
+		}
+	}
+
 	@Override
 	public void logout(String token) {
 		String username = authenticationInfoService.getCurrentUsername();
 		if (token != null) {
-			jwtTokenBlacklistService.blacklistToken(token); // Add to blackList.
+			Optional<ParsedJwtToken> parsedToken = jwtTokenProvider.parseAndValidate(token);
+
+			if (revocationWatermarkService.isWatermarkLogout()
+					&& parsedToken.map(ParsedJwtToken::issuedAt).isPresent()) {
+				revocationWatermarkService.revokeIssuedUpTo(parsedToken.get().username(), parsedToken.get().issuedAt());
+			} else {
+				// Keep the digest only until the token's own exp.
+				Instant expiresAt = parsedToken.map(ParsedJwtToken::expiresAt).orElse(null);
+				jwtTokenBlacklistService.blacklistToken(token, expiresAt); // Add to blackList.
+			}
 		}
 		SecurityContextHolder.clearContext();
 		logger.info("User logged out: {}. Security context cleared and token processed by blacklist service.", username);
 	}
 
+	@Override
+	public void logoutAllDevices() {
+		String username = authenticationInfoService.getCurrentUsername();
+		revocationWatermarkService.revokeAllIssued(username);
+		SecurityContextHolder.clearContext();
+		logger.info("User logged out from all devices: {}. Every previously issued token is revoked.", username);
+	}
+
 	@Override
 	public UserCreationResult prepareUserWithCredentials(String firstName, String lastName) {
 		String baseUsername = firstName.trim() + "." + lastName.trim();
@@ -161,13 +237,7 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 	}
 
 	private String generateUniqueUsername(String baseUsername) {
-		String username = baseUsername;
-		int counter = 1;
-
-		while (userRepository.findByUsername(username).isPresent()) {
-			username = baseUsername + counter;
-			counter++;
-		}
+		String username = usernameAllocator.allocate(baseUsername);
 		logger.debug("Generated unique username: {}", username);
 		return username;
 	}
@@ -182,6 +252,7 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 	}
 
 	@Override
+	@Transactional
 	public void changePassword(ChangePasswordRequest request) {
 		String currentUsername = authenticationInfoService.getCurrentUsername();
 
@@ -227,6 +298,10 @@ public class AuthenticationServiceImpl implements IAuthenticationService {
 
 		userRepository.save(user);
 
+		principalCache.invalidate(username);
+		securityVersionRegistry.bump(username);
+		revocationWatermarkService.revokeAllIssued(username);
+
 		logger.info("Password changed successfully for user: {}", username);
 
 	}
@@ -1,35 +1,94 @@
 package com.epam.gym_crm.domain.service.impl;
 
 import com.epam.gym_crm.config.JwtConfig;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.epam.gym_crm.security.VerifiedTokenCache;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hashing;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Keeps SHA-256 digests of logged-out tokens until each token's own expiry.
+ * Two Bloom filter generations sit in front of the map so that the common
+ * "not blacklisted" answer never touches it; each generation lives for one
+ * token lifetime, so a digest is dropped from the filters only after the
+ * token it belongs to can no longer be valid.
+ */
 @Service
 public class JwtTokenBlacklistService {
 
 	private static final Logger logger = LoggerFactory.getLogger(JwtTokenBlacklistService.class);
-	
-	private final Cache<String, Boolean> tokenBlacklist;
 
-	public JwtTokenBlacklistService(JwtConfig jwtConfig) {
+	private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+	private static final long PURGE_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
+	private final Map<TokenDigest, Long> tokenBlacklist = new ConcurrentHashMap<>();
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final SharedSecurityState sharedSecurityState;
+	private final long retentionMs;
+	private final long generationMs;
+	private final int bloomExpectedInsertions;
+
+	private volatile BloomFilter<byte[]> currentGeneration;
+	private volatile BloomFilter<byte[]> previousGeneration;
+	private volatile long generationStartedAt;
+	private volatile long nextPurgeAt;
+
+	public JwtTokenBlacklistService(JwtConfig jwtConfig, VerifiedTokenCache verifiedTokenCache,
+			SharedSecurityState sharedSecurityState) {
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.sharedSecurityState = sharedSecurityState;
 		 long retentionHours = jwtConfig.getBlacklistRetentionHours();
-		this.tokenBlacklist = CacheBuilder.newBuilder()
-				.expireAfterWrite(retentionHours, TimeUnit.HOURS)
+		this.retentionMs = TimeUnit.HOURS.toMillis(retentionHours);
+		this.generationMs = Math.max(jwtConfig.getExpirationMs(), retentionMs);
+		this.bloomExpectedInsertions = jwtConfig.getBlacklistBloomExpectedInsertions();
+
+		this.currentGeneration = newGeneration();
+		this.previousGeneration = newGeneration();
+		this.generationStartedAt = System.currentTimeMillis();
+		this.nextPurgeAt = generationStartedAt + PURGE_INTERVAL_MS;
 
-				.build();
-		
 		logger.info("JwtTokenBlacklistService initialized. Blacklisted tokens will be retained for {} hours.", retentionHours);
+
+		sharedSecurityState.subscribe(this::onSharedEvent);
 	}
 
 	public void blacklistToken(String token) {
+		blacklistToken(token, null);
+	}
+
+	/**
+	 * @param expiresAt the token's {@code exp}; when unknown the configured
+	 *                  retention period is used instead
+	 */
+	public void blacklistToken(String token, Instant expiresAt) {
 		if (token != null && !token.isEmpty()) {
-			tokenBlacklist.put(token, true);
-			
+			long now = System.currentTimeMillis();
+			long expiresAtMs = expiresAt != null ? expiresAt.toEpochMilli() : now + retentionMs;
+			verifiedTokenCache.invalidate(token);
+
+			if (expiresAtMs <= now) {
+				return;
+			}
+
+			byte[] digest = digest(token);
+			storeDigest(digest, expiresAtMs, now);
+			sharedSecurityState.publish(new SecurityStateEvent(SecurityStateEvent.Type.TOKEN_BLACKLISTED,
+					HashCode.fromBytes(digest).toString(), expiresAtMs));
+
 			String partialToken = token.length() > 10 ? token.substring(0, 10) + "..." : token;
             logger.info("Token starting with '{}' has been added to the blacklist.", partialToken);
 		}
@@ -39,6 +98,68 @@ public class JwtTokenBlacklistService {
         if (token == null) {
             return false;
         }
-		return tokenBlacklist.getIfPresent(token) != null;
+		byte[] digest = digest(token);
+		if (!currentGeneration.mightContain(digest) && !previousGeneration.mightContain(digest)) {
+			return false;
+		}
+		return tokenBlacklist.containsKey(TokenDigest.of(digest));
+	}
+
+	private void onSharedEvent(SecurityStateEvent event) {
+		if (event.type() != SecurityStateEvent.Type.TOKEN_BLACKLISTED) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (event.value() > now) {
+			HashCode digest = HashCode.fromString(event.subject());
+			verifiedTokenCache.invalidate(digest);
+			storeDigest(digest.asBytes(), event.value(), now);
+		}
+	}
+
+	private void storeDigest(byte[] digest, long expiresAtMs, long now) {
+		rotateIfNeeded(now);
+		// Filter first, so a concurrent isBlacklisted() never misses a stored digest.
+		currentGeneration.put(digest);
+		tokenBlacklist.put(TokenDigest.of(digest), expiresAtMs);
+		purgeExpiredIfNeeded(now);
+	}
+
+	private void rotateIfNeeded(long now) {
+		if (now - generationStartedAt < generationMs) {
+			return;
+		}
+		synchronized (this) {
+			if (now - generationStartedAt >= generationMs) {
+				previousGeneration = currentGeneration;
+				currentGeneration = newGeneration();
+				generationStartedAt = now;
+			}
+		}
+	}
+
+	private void purgeExpiredIfNeeded(long now) {
+		if (now < nextPurgeAt) {
+			return;
+		}
+		nextPurgeAt = now + PURGE_INTERVAL_MS;
+		tokenBlacklist.values().removeIf(expiresAtMs -> expiresAtMs <= now);
+	}
+
+	private BloomFilter<byte[]> newGeneration() {
+		return BloomFilter.create(Funnels.byteArrayFunnel(), bloomExpectedInsertions, BLOOM_FALSE_POSITIVE_RATE);
+	}
+
+	private static byte[] digest(String token) {
+		return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).asBytes();
+	}
+
+	// 32-byte digest held in four longs, avoiding a separate byte[] per entry.
+	private record TokenDigest(long a, long b, long c, long d) {
+
+		static TokenDigest of(byte[] digest) {
+			ByteBuffer buffer = ByteBuffer.wrap(digest);
+			return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+		}
 	}
 }
@@ -1,60 +1,106 @@
 package com.epam.gym_crm.domain.service.impl;
 
 import com.epam.gym_crm.config.LoginSecurityConfig;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
+import com.epam.gym_crm.security.throttle.SlidingWindowCountMinSketch;
+import com.epam.gym_crm.security.throttle.SlidingWindowCounter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Counts failed logins per user over a sliding window of the lockout duration.
+ * Existing accounts always get an exact lock-free counter, so their number is
+ * bounded by the user table and not by what an attacker sends. Usernames with no
+ * account share the remaining room up to {@code maxTrackedUsers}; once that is
+ * full they are counted in a fixed-size count-min sketch, so filling the tier
+ * with junk names can't push a real account out of the {@code maxAttempts}
+ * lock. Lookups never create entries.
+ *
+ * Only exact counters lock an account at {@code maxAttempts}. The sketch
+ * over-counts on hash collisions and cannot be reset by a successful login, so
+ * it merely throttles a user once the estimate reaches the much higher
+ * {@code sketchThrottleAttempts}; the throttle lifts as the window slides.
+ */
 @Service
 public class LoginAttemptService {
 
 	private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
 
-	private final LoadingCache<String, Integer> attemptsCache;
+	private final Map<String, SlidingWindowCounter> trackedUsers = new ConcurrentHashMap<>();
+	private final SlidingWindowCountMinSketch overflowSketch;
 	private final LoginSecurityConfig loginSecurityConfig;
+	private final SharedSecurityState sharedSecurityState;
+	private final int windowBuckets;
+	private final long bucketMillis;
 
-	public LoginAttemptService(LoginSecurityConfig loginSecurityConfig) {
+	private volatile long nextSweepAt;
+
+	public LoginAttemptService(LoginSecurityConfig loginSecurityConfig, SharedSecurityState sharedSecurityState) {
 		this.loginSecurityConfig = loginSecurityConfig;
+		this.sharedSecurityState = sharedSecurityState;
+
+		// Sayaç kayan pencere üzerinde tutulur; pencere kaydıkça eski hatalar
+		// düşer ve kilit otomatik olarak kalkar.
+		this.windowBuckets = loginSecurityConfig.getWindowBuckets();
+		this.bucketMillis = Math.max(1,
+				TimeUnit.MINUTES.toMillis(loginSecurityConfig.getLockoutDurationMinutes()) / windowBuckets);
+		this.overflowSketch = new SlidingWindowCountMinSketch(windowBuckets, bucketMillis,
+				loginSecurityConfig.getSketchDepth(), loginSecurityConfig.getSketchWidth());
 
-		// Kilitlenme süresi dolduğunda, Guava Cache kaydı otomatik olarak
-		// sileceği için kilit de otomatik olarak kalkar.
-		this.attemptsCache = CacheBuilder.newBuilder()
-				.expireAfterWrite(loginSecurityConfig.getLockoutDurationMinutes(), TimeUnit.MINUTES)
-				.build(new CacheLoader<String, Integer>() {
-					public Integer load(String key) {
-						return 0; // İlk denemede counter 0
-					}
-				});
 		logger.info("LoginAttemptService initialized. Users will be locked for {} minutes after {} failed attempts.",
 				loginSecurityConfig.getLockoutDurationMinutes(), loginSecurityConfig.getMaxAttempts());
 
+		sharedSecurityState.subscribe(this::onSharedEvent);
 	}
 
 	public void loginSucceeded(String username) {
-		if (attemptsCache.getIfPresent(username) != null) {
+		if (trackedUsers.remove(username) != null) {
 			logger.info("Successful login for user '{}'. Resetting failed login attempt counter.", username);
-			attemptsCache.invalidate(username);
+			sharedSecurityState.publish(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_SUCCEEDED, username));
+		}
+	}
+
+	/**
+	 * @param accountExists false when the username belongs to no account
+	 */
+	public void loginFailed(String username, boolean accountExists) {
+		recordFailure(username, accountExists);
+		sharedSecurityState.publish(new SecurityStateEvent(SecurityStateEvent.Type.LOGIN_FAILED, username,
+				accountExists ? 0L : SecurityStateEvent.UNKNOWN_ACCOUNT));
+	}
+
+	private void onSharedEvent(SecurityStateEvent event) {
+		if (event.type() == SecurityStateEvent.Type.LOGIN_FAILED) {
+			recordFailure(event.subject(), event.value() != SecurityStateEvent.UNKNOWN_ACCOUNT);
+		} else if (event.type() == SecurityStateEvent.Type.LOGIN_SUCCEEDED) {
+			trackedUsers.remove(event.subject());
 		}
 	}
 
-	public void loginFailed(String username) {
-		int attempts = 0;
-		try {
-			attempts = attemptsCache.get(username);
-		} catch (ExecutionException e) {
-			logger.error("Error retrieving attempts for user '{}' from cache.", username, e);
-			attempts = 0;
+	private void recordFailure(String username, boolean accountExists) {
+		long now = System.currentTimeMillis();
+		SlidingWindowCounter counter = trackedUsers.get(username);
+		if (counter == null && (accountExists || hasTrackingCapacity(now))) {
+			counter = trackedUsers.computeIfAbsent(username, key -> new SlidingWindowCounter(windowBuckets, bucketMillis));
+		}
+
+		int attempts;
+		if (counter != null) {
+			counter.increment(now);
+			attempts = counter.sum(now);
+		} else {
+			overflowSketch.increment(username, now);
+			attempts = overflowSketch.estimate(username, now);
 		}
-		attempts++;
-		attemptsCache.put(username, attempts);
 
-		int maxAttempts = loginSecurityConfig.getMaxAttempts();
+		int maxAttempts = counter != null ? loginSecurityConfig.getMaxAttempts()
+				: loginSecurityConfig.getSketchThrottleAttempts();
 		if (attempts >= maxAttempts) {
 			logger.warn("User '{}' has been locked out. Failed attempts: {}/{}.", username, attempts, maxAttempts);
 		} else {
@@ -63,17 +109,35 @@ public class LoginAttemptService {
 	}
 
 	public boolean isBlocked(String username) {
-		try {
-			boolean isUserBlocked = attemptsCache.get(username) >= loginSecurityConfig.getMaxAttempts();
-
-			if (isUserBlocked) {
-				logger.warn("Access attempt rejected for user '{}' because the account is currently locked.", username);
+		long now = System.currentTimeMillis();
+		SlidingWindowCounter counter = trackedUsers.get(username);
+		if (counter == null) {
+			boolean isUserThrottled = overflowSketch.estimate(username, now) >= loginSecurityConfig
+					.getSketchThrottleAttempts();
+			if (isUserThrottled) {
+				logger.warn("Access attempt rejected for user '{}' because of too many recent failed logins.",
+						username);
 			}
+			return isUserThrottled;
+		}
 
-			return isUserBlocked;
-		} catch (ExecutionException e) {
-			logger.error("Error checking block status for user '{}' from cache.", username, e);
-			return false;
+		boolean isUserBlocked = counter.sum(now) >= loginSecurityConfig.getMaxAttempts();
+		if (isUserBlocked) {
+			logger.warn("Access attempt rejected for user '{}' because the account is currently locked.", username);
+		}
+		return isUserBlocked;
+	}
+
+	// When the exact tier is full, drops users whose window has emptied; at most
+	// once per bucket so a flood of new names can't turn every failure into a scan.
+	private boolean hasTrackingCapacity(long now) {
+		if (trackedUsers.size() < loginSecurityConfig.getMaxTrackedUsers()) {
+			return true;
+		}
+		if (now >= nextSweepAt) {
+			nextSweepAt = now + bucketMillis;
+			trackedUsers.values().removeIf(counter -> counter.sum(now) == 0);
 		}
+		return trackedUsers.size() < loginSecurityConfig.getMaxTrackedUsers();
 	}
 }
@@ -0,0 +1,109 @@
+package com.epam.gym_crm.domain.service.impl;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.config.JwtConfig.RevocationStrategy;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Per-user "tokens issued before T are invalid" watermark. Memory grows with
+ * the number of users that revoked something, not with the number of logouts,
+ * and an entry can be dropped once every token it covers has expired.
+ *
+ * Watermarks are kept in epoch milliseconds and compared with the token's
+ * millisecond issued-at claim, so a revocation also covers tokens issued earlier
+ * in the same second. Tokens carrying only the standard second-precision iat
+ * count as issued at the start of that second.
+ */
+@Service
+public class RevocationWatermarkService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RevocationWatermarkService.class);
+
+	private final Cache<String, Long> watermarks;
+	private final boolean watermarkLogout;
+	private final SharedSecurityState sharedSecurityState;
+
+	public RevocationWatermarkService(JwtConfig jwtConfig, SharedSecurityState sharedSecurityState) {
+		this.sharedSecurityState = sharedSecurityState;
+		this.watermarks = CacheBuilder.newBuilder()
+				.expireAfterWrite(jwtConfig.getExpirationMs(), TimeUnit.MILLISECONDS).build();
+		this.watermarkLogout = jwtConfig.getRevocationStrategy() == RevocationStrategy.WATERMARK;
+
+		logger.info("RevocationWatermarkService initialized. Logout strategy: {}", jwtConfig.getRevocationStrategy());
+
+		sharedSecurityState.subscribe(event -> {
+			if (event.type() == SecurityStateEvent.Type.REVOCATION_WATERMARK) {
+				watermarks.asMap().merge(event.subject(), event.value(), Math::max);
+			}
+		});
+	}
+
+	public boolean isWatermarkLogout() {
+		return watermarkLogout;
+	}
+
+	/**
+	 * Revokes every token of the user issued before the given instant. Inside a
+	 * transaction the revocation takes effect once it commits.
+	 */
+	public void revokeIssuedBefore(String username, Instant instant) {
+		if (username == null || instant == null) {
+			return;
+		}
+		long watermark = instant.toEpochMilli();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					watermarks.asMap().merge(username, watermark, Math::max);
+				}
+			});
+		} else {
+			watermarks.asMap().merge(username, watermark, Math::max);
+		}
+		sharedSecurityState.publish(
+				new SecurityStateEvent(SecurityStateEvent.Type.REVOCATION_WATERMARK, username, watermark));
+		logger.debug("Tokens of user '{}' issued before {} are revoked.", username, instant);
+	}
+
+	/**
+	 * Revokes the token issued at the given instant together with every older
+	 * token of the user.
+	 */
+	public void revokeIssuedUpTo(String username, Instant issuedAt) {
+		if (issuedAt != null) {
+			revokeIssuedBefore(username, issuedAt.plusMillis(1));
+		}
+	}
+
+	/**
+	 * Revokes every token issued to the user so far, including ones issued in
+	 * the current millisecond.
+	 */
+	public void revokeAllIssued(String username) {
+		revokeIssuedUpTo(username, Instant.now());
+	}
+
+	public boolean isRevoked(String username, Instant issuedAt) {
+		if (username == null) {
+			return false;
+		}
+		Long watermark = watermarks.getIfPresent(username);
+		if (watermark == null) {
+			return false;
+		}
+		return issuedAt == null || issuedAt.toEpochMilli() < watermark;
+	}
+}
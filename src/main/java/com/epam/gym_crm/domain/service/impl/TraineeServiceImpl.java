@@ -2,16 +2,21 @@ package com.epam.gym_crm.domain.service.impl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.epam.gym_crm.api.dto.UserCreationResult;
 import com.epam.gym_crm.api.dto.request.UserActivationRequest;
@@ -36,6 +41,8 @@ import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.domain.service.IAuthenticationService;
 import com.epam.gym_crm.domain.service.ITraineeService;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.PrincipalCache;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
 
 import io.micrometer.core.annotation.Timed;
 
@@ -51,10 +58,16 @@ public class TraineeServiceImpl implements ITraineeService {
 	private final AuthenticationInfoService authenticationInfoService;
 	private final UserRepository userRepository;
 	private final AppMetrics appMetrics;
+	private final PrincipalCache principalCache;
+	private final SecurityVersionRegistry securityVersionRegistry;
+	private final ActiveTrainerDirectory activeTrainerDirectory;
+	private final TransactionTemplate transactionTemplate;
 
 	public TraineeServiceImpl(TraineeRepository traineeRepository, IAuthenticationService authenticationService,
 			AuthenticationInfoService authenticationInfoService, UserRepository userRepository,
-			TrainerRepository trainerRepository, TrainingRepository trainingRepository, AppMetrics appMetrics) {
+			TrainerRepository trainerRepository, TrainingRepository trainingRepository, AppMetrics appMetrics,
+			PrincipalCache principalCache, SecurityVersionRegistry securityVersionRegistry,
+			ActiveTrainerDirectory activeTrainerDirectory, PlatformTransactionManager transactionManager) {
 		this.traineeRepository = traineeRepository;
 		this.trainerRepository = trainerRepository;
 		this.trainingRepository = trainingRepository;
@@ -62,6 +75,10 @@ public class TraineeServiceImpl implements ITraineeService {
 		this.authenticationService = authenticationService;
 		this.userRepository = userRepository;
 		this.appMetrics = appMetrics;
+		this.principalCache = principalCache;
+		this.securityVersionRegistry = securityVersionRegistry;
+		this.activeTrainerDirectory = activeTrainerDirectory;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
 	@Override
@@ -106,7 +123,7 @@ public class TraineeServiceImpl implements ITraineeService {
 					"Trainee username for lookup must not be null or empty."));
 		}
 
-		Optional<Trainee> optTrainee = traineeRepository.findByUserUsername(username);
+		Optional<Trainee> optTrainee = traineeRepository.findProfileByUserUsername(username);
 
 		Trainee foundTrainee = optTrainee.orElseThrow(() -> {
 			logger.warn("Trainee not found with username:{}", username);
@@ -136,8 +153,8 @@ public class TraineeServiceImpl implements ITraineeService {
 		return returnList;
 	}
 
+	// Not @Transactional: the username is allocated before the insert transaction opens.
 	@Override
-	@Transactional()
 	@Timed(value = "gym_crm_api_duration_seconds", extraTags = { "endpoint", "create_trainee" })
 	public UserRegistrationResponse createTrainee(TraineeCreateRequest request) {
 		if (request == null) {
@@ -158,7 +175,14 @@ public class TraineeServiceImpl implements ITraineeService {
 		trainee.setAddress(request.getAddress());
 		trainee.setUser(newUser);
 
-		Trainee createdTrainee = traineeRepository.save(trainee);
+		Trainee createdTrainee;
+		try {
+			createdTrainee = transactionTemplate.execute(status -> traineeRepository.save(trainee));
+		} catch (DataIntegrityViolationException e) {
+			logger.warn("Username '{}' was taken by another sign-up; the client may retry.", newUser.getUsername());
+			throw new BaseException(new ErrorMessage(MessageType.DUPLICATE_USERNAME,
+					"Username '" + newUser.getUsername() + "' was just taken. Please retry."));
+		}
 
 		if (createdTrainee == null || createdTrainee.getId() == null) {
 			logger.error("Failed to save Trainee entity to the database for user: {}", newUser.getUsername());
@@ -262,16 +286,29 @@ public class TraineeServiceImpl implements ITraineeService {
 
 		Set<Trainer> newTrainers = new HashSet<>();
 		if (request.getTrainerUsernames() != null && !request.getTrainerUsernames().isEmpty()) {
+			Map<Long, String> directoryHits = new HashMap<>();
 			for (String trainerUsername : request.getTrainerUsernames()) {
-				Trainer trainer = trainerRepository.findByUserUsername(trainerUsername).orElseThrow(() -> {
-					return new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND,
-							"Trainer with username " + trainerUsername + " not found."));
-				});
-				if (!trainer.getUser().isActive()) {
-					throw new BaseException(new ErrorMessage(MessageType.INVALID_STATE,
-							"Trainer " + trainerUsername + " is not active. Cannot assign."));
+				Optional<ActiveTrainerDirectory.Entry> entry = activeTrainerDirectory.isReady()
+						? activeTrainerDirectory.find(trainerUsername)
+						: Optional.empty();
+				if (entry.isPresent()) {
+					directoryHits.put(entry.get().id(), trainerUsername);
+					continue;
+				}
+				newTrainers.add(findAssignableTrainer(trainerUsername));
+			}
+			// Trainers known to the directory are loaded together; the snapshot may lag, so state is checked again.
+			if (!directoryHits.isEmpty()) {
+				List<Trainer> loaded = trainerRepository.findByIdIn(directoryHits.keySet());
+				for (Trainer trainer : loaded) {
+					checkAssignable(trainer, directoryHits.get(trainer.getId()));
+					newTrainers.add(trainer);
+				}
+				if (loaded.size() < directoryHits.size()) {
+					Set<Long> loadedIds = loaded.stream().map(Trainer::getId).collect(Collectors.toSet());
+					directoryHits.keySet().removeAll(loadedIds);
+					throw trainerNotFound(directoryHits.values().iterator().next());
 				}
-				newTrainers.add(trainer);
 			}
 		}
 
@@ -313,6 +350,25 @@ public class TraineeServiceImpl implements ITraineeService {
 		return new ArrayList<>(newTrainers).stream().map(TrainerInfoResponse::new).collect(Collectors.toList());
 	}
 
+	private Trainer findAssignableTrainer(String trainerUsername) {
+		Trainer trainer = trainerRepository.findByUserUsername(trainerUsername)
+				.orElseThrow(() -> trainerNotFound(trainerUsername));
+		checkAssignable(trainer, trainerUsername);
+		return trainer;
+	}
+
+	private void checkAssignable(Trainer trainer, String trainerUsername) {
+		if (!trainer.getUser().isActive()) {
+			throw new BaseException(new ErrorMessage(MessageType.INVALID_STATE,
+					"Trainer " + trainerUsername + " is not active. Cannot assign."));
+		}
+	}
+
+	private BaseException trainerNotFound(String trainerUsername) {
+		return new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND,
+				"Trainer with username " + trainerUsername + " not found."));
+	}
+
 	@Override
 	@Transactional()
 	public void activateDeactivateTrainee(UserActivationRequest request) {
@@ -355,6 +411,9 @@ public class TraineeServiceImpl implements ITraineeService {
 
 		traineeRepository.save(traineeToUpdate);
 
+		principalCache.invalidate(userToUpdate.getUsername());
+		securityVersionRegistry.bump(userToUpdate.getUsername());
+
 		logger.info("Trainee '{}' activation status changed to {} by user '{}'.", userToUpdate.getUsername(),
 				userToUpdate.isActive(), currentUsername);
 
@@ -392,6 +451,9 @@ public class TraineeServiceImpl implements ITraineeService {
 
 		traineeRepository.delete(traineeToDelete);
 
+		principalCache.invalidate(traineeToDelete.getUser().getUsername());
+		securityVersionRegistry.bump(traineeToDelete.getUser().getUsername());
+
 		logger.info(
 				"Complete deletion of Trainee profile for ID '{}' (username: '{}') and all associated data (User, Trainings) performed successfully by user '{}'.",
 				id, traineeToDelete.getUser().getUsername(), currentUsername);
@@ -429,6 +491,9 @@ public class TraineeServiceImpl implements ITraineeService {
 
 		traineeRepository.delete(traineeToDelete);
 
+		principalCache.invalidate(username);
+		securityVersionRegistry.bump(username);
+
 		logger.info(
 				"Complete deletion of Trainee profile for username '{}' and all associated data (User, Trainings) performed successfully by user '{}'.",
 				username, currentUsername);
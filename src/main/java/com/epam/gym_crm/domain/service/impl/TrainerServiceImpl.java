@@ -1,5 +1,7 @@
 package com.epam.gym_crm.domain.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -7,13 +9,17 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.epam.gym_crm.api.dto.UserCreationResult;
 import com.epam.gym_crm.api.dto.request.UserActivationRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerCreateRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerUpdateRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TrainerInfoResponse;
 import com.epam.gym_crm.api.dto.response.TrainerProfileResponse;
 import com.epam.gym_crm.api.dto.response.UserRegistrationResponse;
@@ -25,7 +31,6 @@ import com.epam.gym_crm.db.entity.User;
 import com.epam.gym_crm.db.repository.TraineeRepository;
 import com.epam.gym_crm.db.repository.TrainerRepository;
 import com.epam.gym_crm.db.repository.TrainingRepository;
-import com.epam.gym_crm.db.repository.TrainingTypeRepository;
 import com.epam.gym_crm.db.repository.UserRepository;
 import com.epam.gym_crm.domain.exception.BaseException;
 import com.epam.gym_crm.domain.exception.ErrorMessage;
@@ -33,6 +38,8 @@ import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.domain.service.IAuthenticationService;
 import com.epam.gym_crm.domain.service.ITrainerService;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.PrincipalCache;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
 
 import io.micrometer.core.annotation.Timed;
 
@@ -43,25 +50,35 @@ public class TrainerServiceImpl implements ITrainerService {
 
 	private final IAuthenticationService authenticationService;
 	private final TrainerRepository trainerRepository;
-	private final TrainingTypeRepository trainingTypeRepository;
+	private final TrainingTypeRegistry trainingTypeRegistry;
 	private final TrainingRepository trainingRepository;
 	private final TraineeRepository traineeRepository;
 	private final UserRepository userRepository;
 	private final AuthenticationInfoService authenticationInfoService;
 	private final AppMetrics appMetrics;
+	private final PrincipalCache principalCache;
+	private final SecurityVersionRegistry securityVersionRegistry;
+	private final ActiveTrainerDirectory activeTrainerDirectory;
+	private final TransactionTemplate transactionTemplate;
 
 	
 	public TrainerServiceImpl(IAuthenticationService authenticationService, TrainerRepository trainerRepository,
-			TrainingTypeRepository trainingTypeRepository,  UserRepository userRepository,AuthenticationInfoService authenticationInfoService,
-			TrainingRepository trainingRepository, TraineeRepository traineeRepository,AppMetrics appMetrics) {
+			TrainingTypeRegistry trainingTypeRegistry,  UserRepository userRepository,AuthenticationInfoService authenticationInfoService,
+			TrainingRepository trainingRepository, TraineeRepository traineeRepository,AppMetrics appMetrics,
+			PrincipalCache principalCache, SecurityVersionRegistry securityVersionRegistry,
+			ActiveTrainerDirectory activeTrainerDirectory, PlatformTransactionManager transactionManager) {
 		this.authenticationService = authenticationService;
 		this.trainerRepository = trainerRepository;
-		this.trainingTypeRepository = trainingTypeRepository;
+		this.trainingTypeRegistry = trainingTypeRegistry;
 		this.userRepository = userRepository;
 		this.authenticationInfoService=authenticationInfoService;
 		this.trainingRepository = trainingRepository;
 		this.traineeRepository = traineeRepository;
 		this.appMetrics=appMetrics;
+		this.principalCache = principalCache;
+		this.securityVersionRegistry = securityVersionRegistry;
+		this.activeTrainerDirectory = activeTrainerDirectory;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
 	@Override
@@ -102,7 +119,7 @@ public class TrainerServiceImpl implements ITrainerService {
 					new ErrorMessage(MessageType.INVALID_ARGUMENT, "Trainer username must not be null or empty."));
 		}
 
-		Optional<Trainer> optTrainer = trainerRepository.findByUserUsername(username);
+		Optional<Trainer> optTrainer = trainerRepository.findProfileByUserUsername(username);
 
 		Trainer foundTrainer = optTrainer.orElseThrow(() -> {
 			logger.warn("Trainer not found with username:{}", username);
@@ -132,7 +149,8 @@ public class TrainerServiceImpl implements ITrainerService {
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<TrainerInfoResponse> getUnassignedTrainersForTrainee(String traineeUsername) {
+	public CursorPage<TrainerInfoResponse> getUnassignedTrainersForTrainee(String traineeUsername, String cursor,
+			Integer limit) {
 		String currentUsername =authenticationInfoService.getCurrentUsername();
 		logger.info("User '{}' attempting to retrieve unassigned and active trainers for trainee '{}'.",
 				currentUsername, traineeUsername);
@@ -157,24 +175,48 @@ public class TrainerServiceImpl implements ITrainerService {
 					"Trainee " + traineeUsername + " is not active. Cannot retrieve unassigned trainers."));
 		}
 
-		List<Trainer> allActiveTrainers = trainerRepository.findByUserIsActive(true);
-
-		Set<Trainer> assignedTrainers = foundTrainee.getTrainers();
-
-		List<Trainer> unassignedTrainers = allActiveTrainers.stream()
-				.filter(trainer -> !assignedTrainers.contains(trainer)).collect(Collectors.toList());
+		Integer pageSize = CursorPage.pageSizeOrUnpaged(limit, cursor);
+		// Unpaged requests read every row; paged ones one extra to see whether another page follows.
+		int fetchSize = pageSize != null ? pageSize + 1 : Integer.MAX_VALUE;
+		String afterUsername = cursor != null ? decodeUsernameCursor(cursor) : "";
+		List<TrainerInfoResponse> rows;
+		if (activeTrainerDirectory.isReady()) {
+			// Only the trainee's own assignments are read; active trainers come from the in-memory snapshot.
+			Set<Long> assignedTrainerIds = trainerRepository.findAssignedTrainerIds(foundTrainee.getId());
+			rows = activeTrainerDirectory.page(afterUsername, assignedTrainerIds, fetchSize).stream()
+					.map(ActiveTrainerDirectory.Entry::toInfoResponse).collect(Collectors.toList());
+		} else {
+			// Filtering happens in SQL (NOT EXISTS on trainee_trainer); only one page of rows is read.
+			rows = trainerRepository.findUnassignedActiveTrainers(foundTrainee.getId(), afterUsername, fetchSize)
+					.stream().map(row -> new TrainerInfoResponse(row.getUsername(), row.getFirstName(),
+							row.getLastName(), row.getSpecialization()))
+					.collect(Collectors.toList());
+		}
+		boolean hasMore = pageSize != null && rows.size() > pageSize;
+		String nextCursor = hasMore ? encodeUsernameCursor(rows.get(pageSize - 1).getUsername()) : null;
 
-		List<TrainerInfoResponse> unassignedTrainerList = unassignedTrainers.stream().map(TrainerInfoResponse::new)
-				.collect(Collectors.toList());
+		List<TrainerInfoResponse> unassignedTrainerList = hasMore ? rows.subList(0, pageSize) : rows;
 
 		logger.info("Successfully retrieved {} unassigned and active trainers for trainee '{}' for user '{}'.",
 				unassignedTrainerList.size(), traineeUsername, currentUsername);
 
-		return unassignedTrainerList;
+		return new CursorPage<>(unassignedTrainerList, nextCursor);
+	}
+
+	private static String encodeUsernameCursor(String username) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(username.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decodeUsernameCursor(String cursor) {
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new BaseException(new ErrorMessage(MessageType.INVALID_ARGUMENT, "Invalid pagination cursor."));
+		}
 	}
 
+	// Not @Transactional: the username is allocated before the insert transaction opens.
 	@Override
-	@Transactional()
 	@Timed(value = "gym_crm_api_duration_seconds", extraTags = { "endpoint", "create_trainer" })
 	public UserRegistrationResponse createTrainer(TrainerCreateRequest request) {
 		if (request == null) {
@@ -188,11 +230,31 @@ public class TrainerServiceImpl implements ITrainerService {
 		
 		String rawPassword =creationResult.rawPassword();
 		
-		TrainingType specialization = trainingTypeRepository
-				.findByTrainingTypeNameIgnoreCase(request.getSpecialization()).orElseThrow(() -> {
-					logger.error("Training type not found: {}", request.getSpecialization());
+		try {
+			transactionTemplate.executeWithoutResult(status -> saveTrainer(newUser, request.getSpecialization()));
+		} catch (DataIntegrityViolationException e) {
+			logger.warn("Username '{}' was taken by another sign-up; the client may retry.", newUser.getUsername());
+			throw new BaseException(new ErrorMessage(MessageType.DUPLICATE_USERNAME,
+					"Username '" + newUser.getUsername() + "' was just taken. Please retry."));
+		}
+		
+		String accessToken =authenticationService.createAccessToken(newUser);
+		
+
+		logger.info("Trainer profile created successfully for user: {}", newUser.getUsername());
+		
+		appMetrics.incrementTrainerCreation();
+
+		return new UserRegistrationResponse(newUser.getUsername(), rawPassword,accessToken);
+
+	}
+
+	private void saveTrainer(User newUser, String specializationName) {
+		TrainingType specialization = trainingTypeRegistry
+				.findReference(specializationName).orElseThrow(() -> {
+					logger.error("Training type not found: {}", specializationName);
 					return new BaseException(new ErrorMessage(MessageType.ENTITY_NOT_FOUND,
-							"Training type not found: " + request.getSpecialization()));
+							"Training type not found: " + specializationName));
 				});
 
 		Trainer trainer = new Trainer();
@@ -206,16 +268,7 @@ public class TrainerServiceImpl implements ITrainerService {
 			throw new BaseException(
 					new ErrorMessage(MessageType.GENERAL_EXCEPTION, "Failed to create trainer profile."));
 		}
-		
-		String accessToken =authenticationService.createAccessToken(newUser);
-		
-
-		logger.info("Trainer profile created successfully for user: {}", newUser.getUsername());
-		
-		appMetrics.incrementTrainerCreation();
-
-		return new UserRegistrationResponse(newUser.getUsername(), rawPassword,accessToken);
-
+		activeTrainerDirectory.trainerChanged(savedTrainer);
 	}
 
 	@Override
@@ -255,8 +308,8 @@ public class TrainerServiceImpl implements ITrainerService {
 		}
 
 		if (request.getSpecialization() != null && !request.getSpecialization().isBlank()) {
-			TrainingType newSpecialization = trainingTypeRepository
-					.findByTrainingTypeNameIgnoreCase(request.getSpecialization()).orElseThrow(() -> {
+			TrainingType newSpecialization = trainingTypeRegistry
+					.findReference(request.getSpecialization()).orElseThrow(() -> {
 						logger.warn("Invalid training type for update: {}", request.getSpecialization());
 						return new BaseException(new ErrorMessage(MessageType.ENTITY_NOT_FOUND,
 								"Training type not found: " + request.getSpecialization()));
@@ -264,6 +317,7 @@ public class TrainerServiceImpl implements ITrainerService {
 			trainerToUpdate.setSpecialization(newSpecialization);
 		}
 		Trainer updatedTrainer = trainerRepository.save(trainerToUpdate);
+		activeTrainerDirectory.trainerChanged(updatedTrainer);
 
 		logger.info("Trainer profile updated successfully for user: {}", userToUpdate.getUsername());
 
@@ -306,6 +360,10 @@ public class TrainerServiceImpl implements ITrainerService {
 		User savedUser = userRepository.save(userToUpdate);
 		trainerToUpdate.setUser(savedUser);
 		trainerRepository.save(trainerToUpdate);
+		activeTrainerDirectory.trainerChanged(trainerToUpdate);
+
+		principalCache.invalidate(userToUpdate.getUsername());
+		securityVersionRegistry.bump(userToUpdate.getUsername());
 
 		logger.info("Trainer '{}' activation status changed to {} by user '{}'.", userToUpdate.getUsername(),
 				userToUpdate.isActive(), currentUsername);
@@ -350,6 +408,9 @@ public class TrainerServiceImpl implements ITrainerService {
 		}
 
 		trainerRepository.delete(trainerToDelete);
+		activeTrainerDirectory.trainerRemoved(trainerToDelete.getUser().getUsername());
+		principalCache.invalidate(trainerToDelete.getUser().getUsername());
+		securityVersionRegistry.bump(trainerToDelete.getUser().getUsername());
 		logger.info(
 				"Complete deletion of Trainer profile for ID '{}' (username: '{}') and associated User data performed successfully by user '{}'. Trainings disassociated.",
 				id, trainerToDelete.getUser().getUsername(), currentUsername);
@@ -396,6 +457,9 @@ public class TrainerServiceImpl implements ITrainerService {
 		}
 
 		trainerRepository.delete(trainerToDelete);
+		activeTrainerDirectory.trainerRemoved(username);
+		principalCache.invalidate(username);
+		securityVersionRegistry.bump(username);
 		logger.info(
 				"Complete deletion of Trainer profile for username '{}' and associated User data performed successfully by user '{}'. Trainings disassociated.",
 				username, currentUsername);
@@ -0,0 +1,36 @@
+package com.epam.gym_crm.domain.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.ErrorMessage;
+import com.epam.gym_crm.domain.exception.MessageType;
+
+/**
+ * Position of the last row of a training history page, i.e. the
+ * {@code (training_date, id)} pair the next page seeks past. Clients only see
+ * it as an opaque URL-safe token.
+ */
+public record TrainingCursor(LocalDate trainingDate, long trainingId) {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	public String encode() {
+		String raw = trainingDate.toEpochDay() + ":" + trainingId;
+		return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	public static TrainingCursor decode(String token) {
+		try {
+			String raw = new String(DECODER.decode(token), StandardCharsets.US_ASCII);
+			int separator = raw.indexOf(':');
+			return new TrainingCursor(LocalDate.ofEpochDay(Long.parseLong(raw.substring(0, separator))),
+					Long.parseLong(raw.substring(separator + 1)));
+		} catch (RuntimeException e) {
+			throw new BaseException(new ErrorMessage(MessageType.INVALID_ARGUMENT, "Invalid pagination cursor."));
+		}
+	}
+}
@@ -1,24 +1,36 @@
 package com.epam.gym_crm.domain.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.epam.gym_crm.api.dto.request.trainee.TraineeTrainingListRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerTrainingListRequest;
+import com.epam.gym_crm.api.dto.request.training.TrainingBatchCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingUpdateRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoProjection;
 import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoResponse;
 import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoProjection;
 import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoResponse;
+import com.epam.gym_crm.api.dto.response.TrainingBatchItemResult;
+import com.epam.gym_crm.api.dto.response.TrainingBatchResponse;
 import com.epam.gym_crm.api.dto.response.TrainingResponse;
+import com.epam.gym_crm.config.TrainingBatchConfig;
 import com.epam.gym_crm.db.entity.Trainee;
 import com.epam.gym_crm.db.entity.Trainer;
 import com.epam.gym_crm.db.entity.Training;
@@ -26,17 +38,22 @@ import com.epam.gym_crm.db.entity.TrainingType;
 import com.epam.gym_crm.db.repository.TraineeRepository;
 import com.epam.gym_crm.db.repository.TrainerRepository;
 import com.epam.gym_crm.db.repository.TrainingRepository;
-import com.epam.gym_crm.db.repository.TrainingTypeRepository;
+import com.epam.gym_crm.db.repository.TrainingRepositoryCustom.NewTrainingRow;
+import com.epam.gym_crm.db.repository.TrainingRepositoryCustom.TraineeTrainerPair;
+import com.epam.gym_crm.db.repository.TrainingRepositoryCustom.UserRow;
 import com.epam.gym_crm.domain.exception.BaseException;
 import com.epam.gym_crm.domain.exception.ErrorMessage;
 import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.domain.service.ITrainingService;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.monitoring.tracing.TraceIdGenerator;
 import com.epam.gym_crm.mq.TrainingProducer;
 import com.epam.trainingcommons.dto.TrainerWorkloadRequest;
 import com.epam.trainingcommons.utils.ActionType;
 
 import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
 public class TrainingServiceImpl implements ITrainingService {
@@ -46,22 +63,28 @@ public class TrainingServiceImpl implements ITrainingService {
 	private final TrainingRepository trainingRepository;
 	private final TraineeRepository traineeRepository;
 	private final TrainerRepository trainerRepository;
-	private final TrainingTypeRepository trainingTypeRepository;
+	private final TrainingTypeRegistry trainingTypeRegistry;
 	private final AuthenticationInfoService authenticationInfoService;
 	private final AppMetrics appMetrics;
 	private final TrainingProducer trainingProducer;
+	private final TraceIdGenerator traceIdGenerator;
+	private final Validator validator;
+	private final TrainingBatchConfig trainingBatchConfig;
 	
 	public TrainingServiceImpl(TrainingRepository trainingRepository, TraineeRepository traineeRepository,
-			TrainerRepository trainerRepository, TrainingTypeRepository trainingTypeRepository,
-			AuthenticationInfoService authenticationInfoService, AppMetrics appMetrics,TrainingProducer trainingProducer
-			) {
+			TrainerRepository trainerRepository, TrainingTypeRegistry trainingTypeRegistry,
+			AuthenticationInfoService authenticationInfoService, AppMetrics appMetrics,TrainingProducer trainingProducer,
+			TraceIdGenerator traceIdGenerator, Validator validator, TrainingBatchConfig trainingBatchConfig) {
 		this.trainingRepository = trainingRepository;
 		this.traineeRepository = traineeRepository;
 		this.trainerRepository = trainerRepository;
-		this.trainingTypeRepository = trainingTypeRepository;
+		this.trainingTypeRegistry = trainingTypeRegistry;
 		this.authenticationInfoService = authenticationInfoService;
 		this.appMetrics = appMetrics;
 		this.trainingProducer=trainingProducer;
+		this.traceIdGenerator = traceIdGenerator;
+		this.validator = validator;
+		this.trainingBatchConfig = trainingBatchConfig;
 	}
 
 	@Override
@@ -119,7 +142,7 @@ public class TrainingServiceImpl implements ITrainingService {
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<TraineeTrainingInfoResponse> getTraineeTrainingsList(String username,
+	public CursorPage<TraineeTrainingInfoResponse> getTraineeTrainingsList(String username,
 			TraineeTrainingListRequest request) {
 		String currentUsername = authenticationInfoService.getCurrentUsername();
 		logger.info("User '{}' attempting to retrieve trainings list for trainee '{}' with criteria: {}",
@@ -144,10 +167,19 @@ public class TrainingServiceImpl implements ITrainingService {
 					"Trainee " + username + " is not active. Cannot retrieve their trainings."));
 		}
 
+		Integer pageSize = CursorPage.pageSizeOrUnpaged(request.getLimit(), request.getCursor());
+		TrainingCursor cursor = request.getCursor() != null ? TrainingCursor.decode(request.getCursor()) : null;
 		List<TraineeTrainingInfoProjection> responseList = trainingRepository.findTraineeTrainingsByCriteria(username,
-				request.getFromDate(), request.getToDate(), request.getTrainerName(), request.getTrainingTypeName());
+				request.getFromDate(), request.getToDate(), request.getTrainerName(), request.getTrainingTypeName(),
+				cursor != null ? cursor.trainingDate() : null, cursor != null ? cursor.trainingId() : null,
+				pageSize != null ? pageSize + 1 : null);
+		String nextCursor = pageSize != null && responseList.size() > pageSize
+				? new TrainingCursor(responseList.get(pageSize - 1).getTrainingDate(),
+						responseList.get(pageSize - 1).getTrainingId()).encode()
+				: null;
 
 		List<TraineeTrainingInfoResponse> filteredTraineeTrainingList = responseList.stream()
+				.limit(pageSize != null ? pageSize : responseList.size())
 				.map(projection -> new TraineeTrainingInfoResponse(projection.getTrainingName(),
 						projection.getTrainingDate(), projection.getTrainingType(), projection.getTrainingDuration(),
 						projection.getTrainerName()))
@@ -160,12 +192,12 @@ public class TrainingServiceImpl implements ITrainingService {
 					username);
 		}
 
-		return filteredTraineeTrainingList;
+		return new CursorPage<>(filteredTraineeTrainingList, nextCursor);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<TrainerTrainingInfoResponse> getTrainerTrainingsList(String username,
+	public CursorPage<TrainerTrainingInfoResponse> getTrainerTrainingsList(String username,
 			TrainerTrainingListRequest request) {
 		String currentUsername = authenticationInfoService.getCurrentUsername();
 		logger.info("User '{}' attempting to retrieve trainings list for trainer '{}' with criteria: {}",
@@ -190,10 +222,19 @@ public class TrainingServiceImpl implements ITrainingService {
 					"Trainer " + username + " is not active. Cannot retrieve their trainings."));
 		}
 
+		Integer pageSize = CursorPage.pageSizeOrUnpaged(request.getLimit(), request.getCursor());
+		TrainingCursor cursor = request.getCursor() != null ? TrainingCursor.decode(request.getCursor()) : null;
 		List<TrainerTrainingInfoProjection> responseList = trainingRepository.findTrainerTrainingsByCriteria(username,
-				request.getFromDate(), request.getToDate(), request.getTraineeName());
+				request.getFromDate(), request.getToDate(), request.getTraineeName(),
+				cursor != null ? cursor.trainingDate() : null, cursor != null ? cursor.trainingId() : null,
+				pageSize != null ? pageSize + 1 : null);
+		String nextCursor = pageSize != null && responseList.size() > pageSize
+				? new TrainingCursor(responseList.get(pageSize - 1).getTrainingDate(),
+						responseList.get(pageSize - 1).getTrainingId()).encode()
+				: null;
 
 		List<TrainerTrainingInfoResponse> filteredTrainerTrainingList = responseList.stream()
+				.limit(pageSize != null ? pageSize : responseList.size())
 				.map(projection -> new TrainerTrainingInfoResponse(projection.getTrainingName(),
 						projection.getTrainingDate(), projection.getTrainingType(), projection.getTrainingDuration(),
 						projection.getTraineeName()))
@@ -206,7 +247,7 @@ public class TrainingServiceImpl implements ITrainingService {
 					username);
 		}
 
-		return filteredTrainerTrainingList;
+		return new CursorPage<>(filteredTrainerTrainingList, nextCursor);
 	}
 
 	@Override
@@ -243,7 +284,7 @@ public class TrainingServiceImpl implements ITrainingService {
 					"Trainee " + request.getTraineeUsername() + " is not active. Cannot create training."));
 		}
 
-		TrainingType trainingType = trainingTypeRepository.findByTrainingTypeNameIgnoreCase(request.getTrainingName())
+		TrainingType trainingType = trainingTypeRegistry.findReference(request.getTrainingName())
 				.orElseThrow(() -> {
 					logger.warn("Training  with name '{}' not found for training creation by user '{}'.",
 							request.getTrainingName(), currentUsername);
@@ -275,7 +316,7 @@ public class TrainingServiceImpl implements ITrainingService {
 			TrainerWorkloadRequest workloadRequest = new TrainerWorkloadRequest(foundTrainer.getUser().getUsername(),
 					foundTrainer.getUser().getFirstName(), foundTrainer.getUser().getLastName(),
 					foundTrainer.getUser().isActive(), savedTraining.getTrainingDate(),
-					savedTraining.getTrainingDuration(), ActionType.ADD,UUID.randomUUID().toString());
+					savedTraining.getTrainingDuration(), ActionType.ADD, traceIdGenerator.currentOrNextId());
 			logger.info("Sending workload update request for trainer '{}'", foundTrainer.getUser().getUsername());
 			
 			trainingProducer.sendWorkloadUpdate(workloadRequest);
@@ -293,6 +334,169 @@ public class TrainingServiceImpl implements ITrainingService {
 
 	}
 
+	private record PendingTraining(int index, TrainingCreateRequest item, UserRow trainee, UserRow trainer,
+			Long trainingTypeId) {
+	}
+
+	/**
+	 * Creates many trainings in one transaction. Every item is checked on its
+	 * own and a failing item is only reported as rejected; trainees and
+	 * trainers are looked up with one IN query each and training types come
+	 * from the registry. Accepted rows get ids from the pooled training
+	 * sequence and are written with JDBC batch inserts, and their workload
+	 * events go to Kafka together once the transaction has committed.
+	 */
+	@Override
+	@Transactional
+	@Timed(value = "gym_crm_api_duration_seconds", extraTags = { "endpoint", "create_trainings_batch" })
+	public TrainingBatchResponse createTrainings(TrainingBatchCreateRequest request, String token) {
+		String currentUsername = authenticationInfoService.getCurrentUsername();
+		List<TrainingCreateRequest> items = request.getTrainings();
+		logger.info("User '{}' attempting to create {} trainings in one batch.", currentUsername, items.size());
+
+		if (items.size() > trainingBatchConfig.getMaxItems()) {
+			logger.warn("Training batch of {} items from user '{}' exceeds the limit of {}.", items.size(),
+					currentUsername, trainingBatchConfig.getMaxItems());
+			throw new BaseException(new ErrorMessage(MessageType.INVALID_ARGUMENT, "A batch may contain at most "
+					+ trainingBatchConfig.getMaxItems() + " trainings. Provided: " + items.size()));
+		}
+
+		Set<String> traineeUsernames = new HashSet<>();
+		Set<String> trainerUsernames = new HashSet<>();
+		for (TrainingCreateRequest item : items) {
+			if (item != null) {
+				if (item.getTraineeUsername() != null) {
+					traineeUsernames.add(item.getTraineeUsername());
+				}
+				if (item.getTrainerUsername() != null) {
+					trainerUsernames.add(item.getTrainerUsername());
+				}
+			}
+		}
+		Map<String, UserRow> trainees = byUsername(trainingRepository.findTraineesByUsernames(traineeUsernames));
+		Map<String, UserRow> trainers = byUsername(trainingRepository.findTrainersByUsernames(trainerUsernames));
+
+		TrainingBatchItemResult[] results = new TrainingBatchItemResult[items.size()];
+		List<PendingTraining> accepted = new ArrayList<>(items.size());
+		for (int index = 0; index < items.size(); index++) {
+			TrainingCreateRequest item = items.get(index);
+			String error = rejectionReason(item, trainees, trainers);
+			if (error != null) {
+				results[index] = TrainingBatchItemResult.rejected(index, error);
+				continue;
+			}
+			accepted.add(new PendingTraining(index, item, trainees.get(item.getTraineeUsername()),
+					trainers.get(item.getTrainerUsername()),
+					trainingTypeRegistry.find(item.getTrainingName()).orElseThrow().id()));
+		}
+
+		if (!accepted.isEmpty()) {
+			List<Long> ids = trainingRepository.allocateTrainingIds(accepted.size());
+			List<NewTrainingRow> rows = new ArrayList<>(accepted.size());
+			Set<Long> traineeIds = new HashSet<>();
+			for (int i = 0; i < accepted.size(); i++) {
+				PendingTraining pending = accepted.get(i);
+				rows.add(new NewTrainingRow(ids.get(i), pending.trainee().id(), pending.trainer().id(),
+						pending.trainingTypeId(), pending.item().getTrainingName(), pending.item().getTrainingDate(),
+						pending.item().getTrainingDuration()));
+				traineeIds.add(pending.trainee().id());
+				results[pending.index()] = TrainingBatchItemResult.created(pending.index(), ids.get(i));
+			}
+			trainingRepository.insertTrainings(rows, trainingBatchConfig.getJdbcBatchSize());
+
+			// Tekli oluşturmadaki gibi: antrenör henüz atanmamışsa kursiyere atanır.
+			Set<TraineeTrainerPair> existingPairs = trainingRepository.findTraineeTrainerPairs(traineeIds);
+			Set<TraineeTrainerPair> newPairs = new LinkedHashSet<>();
+			for (PendingTraining pending : accepted) {
+				TraineeTrainerPair pair = new TraineeTrainerPair(pending.trainee().id(), pending.trainer().id());
+				if (!existingPairs.contains(pair)) {
+					newPairs.add(pair);
+				}
+			}
+			if (!newPairs.isEmpty()) {
+				trainingRepository.insertTraineeTrainerPairs(newPairs, trainingBatchConfig.getJdbcBatchSize());
+				logger.info("Assigned {} new trainer-trainee pairs as part of batch training creation.",
+						newPairs.size());
+			}
+
+			sendWorkloadUpdatesAfterCommit(accepted);
+			appMetrics.incrementTrainingCreations(accepted.size());
+		}
+
+		int rejected = items.size() - accepted.size();
+		logger.info("Training batch by user '{}' finished: {} created, {} rejected.", currentUsername,
+				accepted.size(), rejected);
+		return new TrainingBatchResponse(accepted.size(), rejected, List.of(results));
+	}
+
+	private String rejectionReason(TrainingCreateRequest item, Map<String, UserRow> trainees,
+			Map<String, UserRow> trainers) {
+		if (item == null) {
+			return "Training cannot be null.";
+		}
+		Set<ConstraintViolation<TrainingCreateRequest>> violations = validator.validate(item);
+		if (!violations.isEmpty()) {
+			return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+		}
+		UserRow trainer = trainers.get(item.getTrainerUsername());
+		if (trainer == null) {
+			return "Trainer with username " + item.getTrainerUsername() + " not found.";
+		}
+		if (!trainer.active()) {
+			return "Trainer " + item.getTrainerUsername() + " is not active. Cannot create training.";
+		}
+		UserRow trainee = trainees.get(item.getTraineeUsername());
+		if (trainee == null) {
+			return "Trainee with username " + item.getTraineeUsername() + " not found.";
+		}
+		if (!trainee.active()) {
+			return "Trainee " + item.getTraineeUsername() + " is not active. Cannot create training.";
+		}
+		if (trainingTypeRegistry.find(item.getTrainingName()).isEmpty()) {
+			return "Training Type " + item.getTrainingName() + " not found.";
+		}
+		return null;
+	}
+
+	private static Map<String, UserRow> byUsername(List<UserRow> rows) {
+		Map<String, UserRow> map = new HashMap<>();
+		for (UserRow row : rows) {
+			map.put(row.username(), row);
+		}
+		return map;
+	}
+
+	// Rolled-back rows must not reach trainer-hours-service, so the events wait for the commit.
+	private void sendWorkloadUpdatesAfterCommit(List<PendingTraining> accepted) {
+		String transactionId = traceIdGenerator.currentOrNextId();
+		List<TrainerWorkloadRequest> workloadRequests = new ArrayList<>(accepted.size());
+		for (PendingTraining pending : accepted) {
+			workloadRequests.add(new TrainerWorkloadRequest(pending.trainer().username(),
+					pending.trainer().firstName(), pending.trainer().lastName(), pending.trainer().active(),
+					pending.item().getTrainingDate(), pending.item().getTrainingDuration(), ActionType.ADD,
+					transactionId + "-" + (pending.index() + 1)));
+		}
+
+		Runnable send = () -> {
+			try {
+				trainingProducer.sendWorkloadUpdates(workloadRequests);
+			} catch (Exception e) {
+				logger.error("Failed to send {} workload updates for training batch. Error: {}",
+						workloadRequests.size(), e.getMessage());
+			}
+		};
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					send.run();
+				}
+			});
+		} else {
+			send.run();
+		}
+	}
+
 	@Override
 	@Transactional
 	public TrainingResponse updateTraining(TrainingUpdateRequest request, String token) {
@@ -362,8 +566,8 @@ public class TrainingServiceImpl implements ITrainingService {
 		}
 
 		if (request.getTrainingTypeName() != null && !request.getTrainingTypeName().isEmpty()) {
-			TrainingType updatedTrainingType = trainingTypeRepository
-					.findByTrainingTypeNameIgnoreCase(request.getTrainingTypeName()).orElseThrow(() -> {
+			TrainingType updatedTrainingType = trainingTypeRegistry
+					.findReference(request.getTrainingTypeName()).orElseThrow(() -> {
 						logger.warn(
 								"New Training Type with name '{}' not found for updating training ID {} by user '{}'.",
 								request.getTrainingTypeName(), request.getId(), currentUsername);
@@ -390,17 +594,19 @@ public class TrainingServiceImpl implements ITrainingService {
 			if (updatedTraining.getTrainingDuration() != originalDuration || !updatedTraining.getTrainer().getUser()
 					.getUsername().equals(originalTrainer.getUser().getUsername())) {
 
+				// İki mesaj aynı isteğin izini taşır ama her biri kendi transactionId'sini alır.
+				String transactionId = traceIdGenerator.currentOrNextId();
 				TrainerWorkloadRequest deleteRequest = new TrainerWorkloadRequest(
 						originalTrainer.getUser().getUsername(), originalTrainer.getUser().getFirstName(),
 						originalTrainer.getUser().getLastName(), originalTrainer.getUser().isActive(),
-						existingTraining.getTrainingDate(), originalDuration, ActionType.DELETE,UUID.randomUUID().toString());
+						existingTraining.getTrainingDate(), originalDuration, ActionType.DELETE, transactionId + "-1");
 				trainingProducer.sendWorkloadUpdate(deleteRequest);
 				TrainerWorkloadRequest addRequest = new TrainerWorkloadRequest(
 						updatedTraining.getTrainer().getUser().getUsername(),
 						updatedTraining.getTrainer().getUser().getFirstName(),
 						updatedTraining.getTrainer().getUser().getLastName(),
 						updatedTraining.getTrainer().getUser().isActive(), updatedTraining.getTrainingDate(),
-						updatedTraining.getTrainingDuration(), ActionType.ADD,UUID.randomUUID().toString());
+						updatedTraining.getTrainingDuration(), ActionType.ADD, transactionId + "-2");
 				trainingProducer.sendWorkloadUpdate(addRequest);
 				logger.info(
 						"Successfully updated workload for trainer '{}' from duration {} to {}. Trainer updated from {} to {}.",
@@ -456,7 +662,7 @@ public class TrainingServiceImpl implements ITrainingService {
 					trainingToDelete.getTrainer().getUser().getFirstName(),
 					trainingToDelete.getTrainer().getUser().getLastName(),
 					trainingToDelete.getTrainer().getUser().isActive(), trainingToDelete.getTrainingDate(),
-					trainingToDelete.getTrainingDuration(), ActionType.DELETE,UUID.randomUUID().toString());
+					trainingToDelete.getTrainingDuration(), ActionType.DELETE, traceIdGenerator.currentOrNextId());
 			logger.info("Sending workload delete request for trainer '{}'",
 					trainingToDelete.getTrainer().getUser().getUsername());
 			trainingProducer.sendWorkloadUpdate(workloadRequest);
@@ -0,0 +1,116 @@
+package com.epam.gym_crm.domain.service.impl;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.db.entity.TrainingType;
+import com.epam.gym_crm.db.repository.TrainingTypeRepository;
+import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.ErrorMessage;
+import com.epam.gym_crm.domain.exception.MessageType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+
+/**
+ * All training types, read once and kept as an immutable catalog: a
+ * case-insensitive name index, the list, and the GET /api/training-types body
+ * already serialized with its ETag. The set is seeded at startup and never
+ * edited through the API, so the catalog is only replaced by {@link #reload()}
+ * (TrainingTypeDataLoader after seeding, or POST /actuator/trainingtypes).
+ */
+@Component
+public class TrainingTypeRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(TrainingTypeRegistry.class);
+
+	public record Type(Long id, String trainingTypeName) {
+	}
+
+	// json is shared by every response; callers must not modify it.
+	public record Catalog(List<Type> types, byte[] json, String etag) {
+	}
+
+	private record Snapshot(Catalog catalog, ImmutableMap<String, Type> byName) {
+	}
+
+	private final TrainingTypeRepository trainingTypeRepository;
+	private final ObjectMapper objectMapper;
+
+	private volatile Snapshot snapshot;
+
+	public TrainingTypeRegistry(TrainingTypeRepository trainingTypeRepository, ObjectMapper objectMapper) {
+		this.trainingTypeRepository = trainingTypeRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	public Catalog getCatalog() {
+		return snapshot().catalog();
+	}
+
+	public Optional<Type> find(String trainingTypeName) {
+		if (trainingTypeName == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(snapshot().byName().get(nameKey(trainingTypeName)));
+	}
+
+	/**
+	 * The type with this name (case-insensitive) as a JPA reference, for use as
+	 * an association value; no query is issued until one of its fields is read.
+	 */
+	public Optional<TrainingType> findReference(String trainingTypeName) {
+		return find(trainingTypeName).map(type -> trainingTypeRepository.getReferenceById(type.id()));
+	}
+
+	public synchronized Catalog reload() {
+		List<Type> types = trainingTypeRepository.findAll().stream()
+				.map(trainingType -> new Type(trainingType.getId(), trainingType.getTrainingTypeName()))
+				.sorted(Comparator.comparing(Type::id)).collect(ImmutableList.toImmutableList());
+
+		ImmutableMap.Builder<String, Type> byName = ImmutableMap.builder();
+		for (Type type : types) {
+			byName.put(nameKey(type.trainingTypeName()), type);
+		}
+
+		byte[] json;
+		try {
+			json = objectMapper.writeValueAsBytes(types);
+		} catch (JsonProcessingException e) {
+			throw new BaseException(
+					new ErrorMessage(MessageType.GENERAL_EXCEPTION, "Training types could not be serialized."));
+		}
+		String etag = "\"" + Hashing.sha256().hashBytes(json).toString().substring(0, 32) + "\"";
+
+		Snapshot loaded = new Snapshot(new Catalog(types, json, etag), byName.buildOrThrow());
+		snapshot = loaded;
+		logger.info("Training type registry loaded {} types, ETag {}.", types.size(), etag);
+		return loaded.catalog();
+	}
+
+	private Snapshot snapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			// İlk erişim TrainingTypeDataLoader'dan önce gelirse katalog burada yüklenir.
+			synchronized (this) {
+				if (snapshot == null) {
+					reload();
+				}
+				current = snapshot;
+			}
+		}
+		return current;
+	}
+
+	private static String nameKey(String trainingTypeName) {
+		return trainingTypeName.toLowerCase(Locale.ROOT);
+	}
+}
@@ -10,20 +10,33 @@ import com.epam.gym_crm.domain.exception.BaseException;
 import com.epam.gym_crm.domain.exception.ErrorMessage;
 import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.security.JwtUserDetails;
+import com.epam.gym_crm.security.PrincipalCache;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
 	private final UserRepository userRepository;
 	private final LoginAttemptService loginAttemptService;
+	private final PrincipalCache principalCache;
 
-	public UserDetailsServiceImpl(UserRepository userRepository,LoginAttemptService loginAttemptService) {
+	public UserDetailsServiceImpl(UserRepository userRepository,LoginAttemptService loginAttemptService,
+			PrincipalCache principalCache) {
 		this.userRepository = userRepository;
 		this.loginAttemptService=loginAttemptService;
+		this.principalCache = principalCache;
 	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) {
+		return loadJwtUserByUsername(username);
+	}
+
+	// Per-request lookup used by JwtAuthenticationFilter; login keeps using the uncached path.
+	public UserDetails loadCachedUserByUsername(String username) {
+		return principalCache.get(username, this::loadJwtUserByUsername);
+	}
+
+	private JwtUserDetails loadJwtUserByUsername(String username) {
 		User user = userRepository.findByUsername(username).orElseThrow(
 				() -> new BaseException(new ErrorMessage(MessageType.USER_NOT_FOUND, "Username : " + username)));
 		
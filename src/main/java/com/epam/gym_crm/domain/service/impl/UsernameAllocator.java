@@ -0,0 +1,101 @@
+package com.epam.gym_crm.domain.service.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out "First.Last", "First.Last1", "First.Last2", ... from a per-base
+ * counter row in {@code username_sequence}. Steady state is one {@code UPDATE}
+ * and one {@code SELECT} of the counter; the row lock serializes concurrent
+ * sign-ups for the same base, so there is no check-then-insert race.
+ * <p>
+ * The counter commits in its own transaction, like a database sequence, so it
+ * must be called before the sign-up transaction opens: nested inside it, every
+ * sign-up would hold one pooled connection while waiting for a second. A
+ * registration that later fails leaves a gap.
+ * <p>
+ * Different bases can still produce the same name ("John.Smith" + "1" and a
+ * base of "John.Smith1"); the unique constraint on {@code "user".username}
+ * rejects the second insert, and a retry gets the next suffix. Only portable SQL
+ * is used.
+ */
+@Service
+public class UsernameAllocator {
+
+	private static final Logger logger = LoggerFactory.getLogger(UsernameAllocator.class);
+
+	private static final String INCREMENT = "UPDATE username_sequence SET last_suffix = last_suffix + 1 WHERE base_username = ?";
+	private static final String SELECT_SUFFIX = "SELECT last_suffix FROM username_sequence WHERE base_username = ?";
+	private static final String INSERT = "INSERT INTO username_sequence (base_username, last_suffix) VALUES (?, ?)";
+	private static final String SELECT_EXISTING = "SELECT username FROM \"user\" WHERE username LIKE ? ESCAPE '\\'";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	public UsernameAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public String allocate(String baseUsername) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new IllegalStateException("Usernames must be allocated before the sign-up transaction opens.");
+		}
+		long suffix = nextSuffix(baseUsername);
+		return suffix == 0 ? baseUsername : baseUsername + suffix;
+	}
+
+	private long nextSuffix(String baseUsername) {
+		Long incremented = transactionTemplate.execute(status -> incrementExisting(baseUsername));
+		if (incremented != null) {
+			return incremented;
+		}
+
+		// First allocation for this base: start after whatever users already exist.
+		long seed = highestSuffixInUse(baseUsername) + 1;
+		logger.debug("Seeding username sequence for '{}' at suffix {}.", baseUsername, seed);
+		try {
+			transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT, baseUsername, seed));
+			return seed;
+		} catch (DuplicateKeyException e) {
+			// A concurrent first sign-up seeded the row first; take the next value in a fresh transaction.
+			return transactionTemplate.execute(status -> incrementExisting(baseUsername));
+		}
+	}
+
+	private Long incrementExisting(String baseUsername) {
+		if (jdbcTemplate.update(INCREMENT, baseUsername) == 0) {
+			return null;
+		}
+		return jdbcTemplate.queryForObject(SELECT_SUFFIX, Long.class, baseUsername);
+	}
+
+	// -1 when the base name itself is free, 0 when only the bare base is taken.
+	private long highestSuffixInUse(String baseUsername) {
+		List<String> existing = jdbcTemplate.queryForList(SELECT_EXISTING, String.class,
+				escapeLike(baseUsername) + "%");
+
+		long highest = -1;
+		for (String username : existing) {
+			String rest = username.substring(baseUsername.length());
+			if (rest.isEmpty()) {
+				highest = Math.max(highest, 0);
+			} else if (rest.length() <= 18 && rest.chars().allMatch(Character::isDigit)) {
+				highest = Math.max(highest, Long.parseLong(rest));
+			}
+		}
+		return highest;
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
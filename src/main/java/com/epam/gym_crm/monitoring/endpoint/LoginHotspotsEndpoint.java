@@ -0,0 +1,39 @@
+package com.epam.gym_crm.monitoring.endpoint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.monitoring.metric.LoginHeavyHitterTracker;
+
+/**
+ * /actuator/loginhotspots: usernames with the most failed logins. Counts are
+ * estimates that may be too high by at most {@code error}.
+ */
+@Component
+@Endpoint(id = "loginhotspots")
+public class LoginHotspotsEndpoint {
+
+	private static final int DEFAULT_LIMIT = 10;
+
+	private final LoginHeavyHitterTracker loginHeavyHitterTracker;
+
+	public LoginHotspotsEndpoint(LoginHeavyHitterTracker loginHeavyHitterTracker) {
+		this.loginHeavyHitterTracker = loginHeavyHitterTracker;
+	}
+
+	@ReadOperation
+	public Map<String, Object> hotspots(@Nullable Integer limit) {
+		int effectiveLimit = limit == null || limit <= 0 ? DEFAULT_LIMIT : limit;
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("totalFailures", loginHeavyHitterTracker.totalFailures());
+		result.put("trackedCapacity", loginHeavyHitterTracker.capacity());
+		result.put("topFailures", loginHeavyHitterTracker.topFailures(effectiveLimit));
+		return result;
+	}
+}
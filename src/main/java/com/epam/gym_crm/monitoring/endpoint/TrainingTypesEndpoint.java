@@ -0,0 +1,43 @@
+package com.epam.gym_crm.monitoring.endpoint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
+
+/**
+ * /actuator/trainingtypes: the catalog served by GET /api/training-types. A
+ * POST reloads it from the database after training types were changed there.
+ */
+@Component
+@Endpoint(id = "trainingtypes")
+public class TrainingTypesEndpoint {
+
+	private final TrainingTypeRegistry trainingTypeRegistry;
+
+	public TrainingTypesEndpoint(TrainingTypeRegistry trainingTypeRegistry) {
+		this.trainingTypeRegistry = trainingTypeRegistry;
+	}
+
+	@ReadOperation
+	public Map<String, Object> catalog() {
+		return describe(trainingTypeRegistry.getCatalog());
+	}
+
+	@WriteOperation
+	public Map<String, Object> reload() {
+		return describe(trainingTypeRegistry.reload());
+	}
+
+	private Map<String, Object> describe(TrainingTypeRegistry.Catalog catalog) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("etag", catalog.etag());
+		result.put("types", catalog.types());
+		return result;
+	}
+}
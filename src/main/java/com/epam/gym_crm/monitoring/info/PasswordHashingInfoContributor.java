@@ -0,0 +1,30 @@
+package com.epam.gym_crm.monitoring.info;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.security.BCryptCostCalibrator;
+
+@Component
+public class PasswordHashingInfoContributor implements InfoContributor {
+
+	private final BCryptCostCalibrator calibrator;
+
+	public PasswordHashingInfoContributor(BCryptCostCalibrator calibrator) {
+		this.calibrator = calibrator;
+	}
+
+	@Override
+	public void contribute(Info.Builder builder) {
+		Map<String, Object> details = new LinkedHashMap<>();
+		details.put("algorithm", "bcrypt");
+		details.put("cost", calibrator.getStrength());
+		details.put("hashMillis", Math.round(calibrator.getMeasuredMillis() * 10) / 10.0);
+		details.put("calibrated", calibrator.isCalibrated());
+		builder.withDetail("passwordHashing", details);
+	}
+}
@@ -0,0 +1,37 @@
+package com.epam.gym_crm.monitoring.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Logback builds its appenders before the Spring context exists; this picks
+ * up every {@link RingBufferAsyncAppender} afterwards and exports its counters.
+ */
+@Component
+public class AsyncLoggingMetricsBinder {
+
+	public AsyncLoggingMetricsBinder(AppMetrics appMetrics) {
+		ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+		if (!(loggerFactory instanceof LoggerContext loggerContext)) {
+			return;
+		}
+		for (Logger logger : loggerContext.getLoggerList()) {
+			Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+			while (appenders.hasNext()) {
+				if (appenders.next() instanceof RingBufferAsyncAppender asyncAppender) {
+					appMetrics.registerAsyncLogAppender(asyncAppender);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.epam.gym_crm.monitoring.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * One JSON object per line: timestamp, level, thread, logger, message, MDC and
+ * stack trace. Meant to run behind {@link RingBufferAsyncAppender}, i.e. off
+ * the request thread.
+ */
+public class JsonLineEncoder extends EncoderBase<ILoggingEvent> {
+
+	@Override
+	public byte[] headerBytes() {
+		return null;
+	}
+
+	@Override
+	public byte[] encode(ILoggingEvent event) {
+		StringBuilder json = new StringBuilder(256);
+		json.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(event.getTimeStamp())).append('"');
+		field(json, "level", event.getLevel().toString());
+		field(json, "thread", event.getThreadName());
+		field(json, "logger", event.getLoggerName());
+		field(json, "message", event.getFormattedMessage());
+
+		Map<String, String> mdc = event.getMDCPropertyMap();
+		if (mdc != null && !mdc.isEmpty()) {
+			json.append(",\"mdc\":{");
+			boolean first = true;
+			for (Map.Entry<String, String> entry : mdc.entrySet()) {
+				if (!first) {
+					json.append(',');
+				}
+				first = false;
+				appendString(json, entry.getKey());
+				json.append(':');
+				appendString(json, entry.getValue());
+			}
+			json.append('}');
+		}
+
+		IThrowableProxy throwable = event.getThrowableProxy();
+		if (throwable != null) {
+			field(json, "exception", ThrowableProxyUtil.asString(throwable));
+		}
+		json.append("}\n");
+		return json.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public byte[] footerBytes() {
+		return null;
+	}
+
+	private static void field(StringBuilder json, String name, String value) {
+		json.append(",\"").append(name).append("\":");
+		appendString(json, value);
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		if (value == null) {
+			json.append("null");
+			return;
+		}
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"' -> json.append("\\\"");
+			case '\\' -> json.append("\\\\");
+			case '\n' -> json.append("\\n");
+			case '\r' -> json.append("\\r");
+			case '\t' -> json.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					json.append(String.format("\\u%04x", (int) c));
+				} else {
+					json.append(c);
+				}
+			}
+			}
+		}
+		json.append('"');
+	}
+}
@@ -0,0 +1,73 @@
+package com.epam.gym_crm.monitoring.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer, after
+ * Vyukov's bounded MPMC design: each slot carries a sequence number telling
+ * producers whether it is free and the consumer whether it is filled.
+ * {@link #offer} never blocks; it returns false when the buffer is full.
+ */
+class MpscRingBuffer<E> {
+
+	private final int mask;
+	private final AtomicReferenceArray<E> items;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	// Written only by the consumer.
+	private volatile long head;
+
+	MpscRingBuffer(int requestedCapacity) {
+		int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+		this.mask = capacity - 1;
+		this.items = new AtomicReferenceArray<>(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	boolean offer(E item) {
+		long position = tail.get();
+		while (true) {
+			int index = (int) (position & mask);
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					items.lazySet(index, item);
+					sequences.set(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+	}
+
+	// Single consumer only.
+	E poll() {
+		long position = head;
+		int index = (int) (position & mask);
+		if (sequences.get(index) != position + 1) {
+			return null;
+		}
+		E item = items.get(index);
+		items.lazySet(index, null);
+		sequences.set(index, position + mask + 1);
+		head = position + 1;
+		return item;
+	}
+
+	int size() {
+		return (int) Math.max(0, tail.get() - head);
+	}
+
+	int capacity() {
+		return mask + 1;
+	}
+}
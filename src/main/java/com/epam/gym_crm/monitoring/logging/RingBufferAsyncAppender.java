@@ -0,0 +1,227 @@
+package com.epam.gym_crm.monitoring.logging;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Hands events to the attached appenders on a single worker thread through a
+ * lock-free ring buffer, so encoding and I/O never run on request threads.
+ * <p>
+ * With {@code dropOnFull} (the default) a full buffer drops the event rather
+ * than making the caller wait; once fewer than {@code discardingThreshold}
+ * slots remain, events below WARN are dropped first.
+ * <p>
+ * Like Logback's AsyncAppender, the message is formatted on the calling thread,
+ * so arguments are rendered with the values they had at the call and lazy JPA
+ * associations are read inside their session. {@code deferFormatting} moves
+ * formatting to the worker as an opt-in for callers whose arguments are
+ * immutable.
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+		implements AppenderAttachable<ILoggingEvent> {
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+	private final LongAdder enqueued = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder flushed = new LongAdder();
+
+	private int bufferSize = 8192;
+	private int discardingThreshold = -1;
+	private boolean dropOnFull = true;
+	private boolean deferFormatting = false;
+	private long maxFlushTimeMs = 1000;
+
+	private MpscRingBuffer<ILoggingEvent> ringBuffer;
+	private Thread worker;
+	private volatile boolean workerParked;
+
+	@Override
+	public void start() {
+		if (isStarted()) {
+			return;
+		}
+		if (!appenders.iteratorForAppenders().hasNext()) {
+			addError("No appender attached to [" + getName() + "].");
+			return;
+		}
+		ringBuffer = new MpscRingBuffer<>(bufferSize);
+		if (discardingThreshold < 0) {
+			discardingThreshold = ringBuffer.capacity() / 5;
+		}
+		worker = new Thread(this::drain, "async-log-" + getName());
+		worker.setDaemon(true);
+		super.start();
+		worker.start();
+	}
+
+	@Override
+	public void stop() {
+		if (!isStarted()) {
+			return;
+		}
+		super.stop();
+		LockSupport.unpark(worker);
+		try {
+			worker.join(maxFlushTimeMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (ringBuffer.size() > 0) {
+			addWarn(ringBuffer.size() + " events were not flushed within " + maxFlushTimeMs + " ms.");
+		}
+		appenders.detachAndStopAllAppenders();
+	}
+
+	@Override
+	protected void append(ILoggingEvent event) {
+		if (isDiscardable(event)) {
+			dropped.increment();
+			return;
+		}
+		prepare(event);
+
+		while (!ringBuffer.offer(event)) {
+			if (dropOnFull || !isStarted()) {
+				dropped.increment();
+				return;
+			}
+			LockSupport.unpark(worker);
+			Thread.onSpinWait();
+		}
+		enqueued.increment();
+		if (workerParked) {
+			LockSupport.unpark(worker);
+		}
+	}
+
+	private boolean isDiscardable(ILoggingEvent event) {
+		return discardingThreshold > 0 && event.getLevel().toInt() < Level.WARN_INT
+				&& ringBuffer.capacity() - ringBuffer.size() < discardingThreshold;
+	}
+
+	// Thread name and MDC are tied to the calling thread and must be captured now.
+	private void prepare(ILoggingEvent event) {
+		if (deferFormatting) {
+			event.getThreadName();
+			event.getMDCPropertyMap();
+		} else {
+			event.prepareForDeferredProcessing();
+		}
+	}
+
+	private void drain() {
+		while (isStarted() || ringBuffer.size() > 0) {
+			ILoggingEvent event = ringBuffer.poll();
+			if (event == null) {
+				if (!isStarted()) {
+					break;
+				}
+				workerParked = true;
+				if (ringBuffer.size() == 0) {
+					// Timed, so a wake-up lost between the check and park costs at most 1 ms.
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				}
+				workerParked = false;
+				continue;
+			}
+			try {
+				appenders.appendLoopOnAppenders(event);
+			} catch (RuntimeException e) {
+				addError("Attached appender failed.", e);
+			}
+			flushed.increment();
+		}
+	}
+
+	// ------ Counters ------
+
+	public long getEnqueuedCount() {
+		return enqueued.sum();
+	}
+
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	public long getFlushedCount() {
+		return flushed.sum();
+	}
+
+	public int getQueueDepth() {
+		return ringBuffer != null ? ringBuffer.size() : 0;
+	}
+
+	// ------ Configuration (set from logback.xml) ------
+
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public void setDiscardingThreshold(int discardingThreshold) {
+		this.discardingThreshold = discardingThreshold;
+	}
+
+	public void setDropOnFull(boolean dropOnFull) {
+		this.dropOnFull = dropOnFull;
+	}
+
+	public void setDeferFormatting(boolean deferFormatting) {
+		this.deferFormatting = deferFormatting;
+	}
+
+	public void setMaxFlushTimeMs(long maxFlushTimeMs) {
+		this.maxFlushTimeMs = maxFlushTimeMs;
+	}
+
+	// ------ AppenderAttachable ------
+
+	@Override
+	public void addAppender(Appender<ILoggingEvent> newAppender) {
+		appenders.addAppender(newAppender);
+	}
+
+	@Override
+	public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+		return appenders.iteratorForAppenders();
+	}
+
+	@Override
+	public Appender<ILoggingEvent> getAppender(String name) {
+		return appenders.getAppender(name);
+	}
+
+	@Override
+	public boolean isAttached(Appender<ILoggingEvent> appender) {
+		return appenders.isAttached(appender);
+	}
+
+	@Override
+	public void detachAndStopAllAppenders() {
+		appenders.detachAndStopAllAppenders();
+	}
+
+	@Override
+	public boolean detachAppender(Appender<ILoggingEvent> appender) {
+		return appenders.detachAppender(appender);
+	}
+
+	@Override
+	public boolean detachAppender(String name) {
+		return appenders.detachAppender(name);
+	}
+}
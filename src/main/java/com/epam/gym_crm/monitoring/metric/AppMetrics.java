@@ -1,8 +1,18 @@
 package com.epam.gym_crm.monitoring.metric;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.stereotype.Component;
 
+import com.epam.gym_crm.domain.service.impl.ActiveTrainerDirectory;
+import com.epam.gym_crm.monitoring.logging.RingBufferAsyncAppender;
+import com.google.common.cache.Cache;
+
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 
@@ -12,6 +22,8 @@ public class AppMetrics {
 	private final Counter traineeCreationCounter;
 	private final Counter trainerCreationCounter;
 	private final Counter trainingCreationCounter;
+	private final Counter loginSuccessCounter;
+	private final Map<LoginFailureReason, Counter> loginFailureCounters = new EnumMap<>(LoginFailureReason.class);
 	private final MeterRegistry meterRegistry;
 
 	public AppMetrics(MeterRegistry meterRegistry) {
@@ -21,6 +33,14 @@ public class AppMetrics {
 		this.trainerCreationCounter = meterRegistry.counter("gym_crm_creations_total", "type", "trainer");
 		this.trainingCreationCounter = meterRegistry.counter("gym_crm_creations_total", "type", "training");
 
+		// Sabit etiket kümesi: kullanıcı adı etiket olarak kullanılmaz.
+		this.loginSuccessCounter = meterRegistry.counter("gym_crm_login_attempts_total", "status", "success", "reason",
+				"none");
+		for (LoginFailureReason reason : LoginFailureReason.values()) {
+			loginFailureCounters.put(reason, meterRegistry.counter("gym_crm_login_attempts_total", "status", "failure",
+					"reason", reason.getTagValue()));
+		}
+
 	}
 
 	// ------ Counter Increment Methods ------
@@ -37,14 +57,80 @@ public class AppMetrics {
 		trainingCreationCounter.increment();
 	}
 
-	public void incrementLoginSuccess(String username) {
-		meterRegistry.counter("gym_crm_login_attempts_total", Tags.of("status", "success", "username", username))
-				.increment();
+	public void incrementTrainingCreations(int count) {
+		trainingCreationCounter.increment(count);
+	}
+
+	public void incrementLoginSuccess() {
+		loginSuccessCounter.increment();
+	}
+
+	public void incrementLoginFailure(LoginFailureReason reason) {
+		loginFailureCounters.get(reason).increment();
+	}
+
+	public void incrementCacheHit(String cacheName) {
+		meterRegistry.counter("gym_crm_cache_requests_total", Tags.of("cache", cacheName, "result", "hit")).increment();
+	}
+
+	public void incrementCacheMiss(String cacheName) {
+		meterRegistry.counter("gym_crm_cache_requests_total", Tags.of("cache", cacheName, "result", "miss")).increment();
+	}
+
+	public void incrementPasswordHashRejected(String operation) {
+		meterRegistry.counter("gym_crm_password_hash_rejected_total", Tags.of("operation", operation)).increment();
+	}
+
+	public void incrementRateLimited(String routeGroup) {
+		meterRegistry.counter("gym_crm_rate_limited_total", Tags.of("group", routeGroup)).increment();
+	}
+
+	// ------ Timer Recording Methods ------
+
+	public void recordPasswordHashWait(long nanos) {
+		meterRegistry.timer("gym_crm_password_hash_wait_seconds").record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordPasswordHashLatency(String operation, long nanos) {
+		meterRegistry.timer("gym_crm_password_hash_seconds", Tags.of("operation", operation)).record(nanos,
+				TimeUnit.NANOSECONDS);
+	}
+
+	// ------ Distribution Summary Recording Methods ------
+
+	public void recordRequestQueries(String method, String route, int statements) {
+		meterRegistry.summary("gym_crm_http_request_queries", Tags.of("method", method, "uri", route))
+				.record(statements);
+	}
+
+	// ------ Gauge Registration Methods ------
+
+	public void registerCacheHitRatio(String cacheName, Cache<?, ?> cache) {
+		meterRegistry.gauge("gym_crm_cache_hit_ratio", Tags.of("cache", cacheName), cache, c -> c.stats().hitRate());
+	}
+
+	public void registerAsyncLogAppender(RingBufferAsyncAppender appender) {
+		Tags tags = Tags.of("appender", appender.getName());
+		FunctionCounter.builder("gym_crm_log_events_total", appender, RingBufferAsyncAppender::getEnqueuedCount)
+				.tags(tags).tag("outcome", "enqueued").register(meterRegistry);
+		FunctionCounter.builder("gym_crm_log_events_total", appender, RingBufferAsyncAppender::getDroppedCount)
+				.tags(tags).tag("outcome", "dropped").register(meterRegistry);
+		FunctionCounter.builder("gym_crm_log_events_total", appender, RingBufferAsyncAppender::getFlushedCount)
+				.tags(tags).tag("outcome", "flushed").register(meterRegistry);
+		meterRegistry.gauge("gym_crm_log_queue_depth", tags, appender, RingBufferAsyncAppender::getQueueDepth);
+	}
+
+	public void registerTrainerDirectory(ActiveTrainerDirectory directory) {
+		meterRegistry.gauge("gym_crm_trainer_directory_version", Tags.empty(), directory,
+				ActiveTrainerDirectory::getVersion);
+		meterRegistry.gauge("gym_crm_trainer_directory_entries", Tags.empty(), directory, ActiveTrainerDirectory::size);
+		meterRegistry.gauge("gym_crm_trainer_directory_age_seconds", Tags.empty(), directory,
+				ActiveTrainerDirectory::getAgeSeconds);
 	}
 
-	public void incrementLoginFailure(String username) {
-		meterRegistry.counter("gym_crm_login_attempts_total", Tags.of("status", "failure", "username", username))
-				.increment();
+	public void registerPasswordHashQueueDepth(ThreadPoolExecutor executor) {
+		meterRegistry.gauge("gym_crm_password_hash_queue_depth", Tags.empty(), executor, e -> e.getQueue().size());
+		meterRegistry.gauge("gym_crm_password_hash_active_threads", Tags.empty(), executor, e -> e.getActiveCount());
 	}
 
 }
@@ -0,0 +1,23 @@
+package com.epam.gym_crm.monitoring.metric;
+
+/**
+ * Fixed set of values for the {@code reason} tag of failed logins, keeping
+ * the login metrics' cardinality independent of the user base.
+ */
+public enum LoginFailureReason {
+
+	BAD_CREDENTIALS("bad_credentials"),
+	DISABLED("disabled"),
+	LOCKED("locked"),
+	OTHER("other");
+
+	private final String tagValue;
+
+	LoginFailureReason(String tagValue) {
+		this.tagValue = tagValue;
+	}
+
+	public String getTagValue() {
+		return tagValue;
+	}
+}
@@ -0,0 +1,39 @@
+package com.epam.gym_crm.monitoring.metric;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.config.LoginSecurityConfig;
+
+/**
+ * Keeps the usernames with the most failed logins in a fixed-size summary,
+ * so targeted accounts can be spotted without a per-user metric.
+ */
+@Component
+public class LoginHeavyHitterTracker {
+
+	private final SpaceSavingTopK<String> failures;
+
+	public LoginHeavyHitterTracker(LoginSecurityConfig loginSecurityConfig) {
+		this.failures = new SpaceSavingTopK<>(loginSecurityConfig.getHeavyHitterCapacity());
+	}
+
+	public void recordFailure(String username) {
+		if (username != null) {
+			failures.offer(username);
+		}
+	}
+
+	public List<SpaceSavingTopK.Estimate<String>> topFailures(int limit) {
+		return failures.top(limit);
+	}
+
+	public long totalFailures() {
+		return failures.total();
+	}
+
+	public int capacity() {
+		return failures.capacity();
+	}
+}
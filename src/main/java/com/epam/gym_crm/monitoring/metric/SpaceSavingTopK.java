@@ -0,0 +1,88 @@
+package com.epam.gym_crm.monitoring.metric;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-saving heavy-hitter summary: monitors at most {@code capacity} keys.
+ * A new key replaces the least frequent one and inherits its count, so each
+ * count is an overestimate by at most {@code error}; any key seen more than
+ * N / capacity times is guaranteed to be present.
+ */
+public class SpaceSavingTopK<K> {
+
+	public record Estimate<K>(K key, long count, long error) {
+	}
+
+	private static final class Slot<K> {
+		private final K key;
+		private final long id;
+		private long count;
+		private final long error;
+
+		private Slot(K key, long id, long count, long error) {
+			this.key = key;
+			this.id = id;
+			this.count = count;
+			this.error = error;
+		}
+	}
+
+	private final int capacity;
+	private final Map<K, Slot<K>> slots = new HashMap<>();
+	private final TreeSet<Slot<K>> byCount = new TreeSet<>(
+			Comparator.<Slot<K>>comparingLong(slot -> slot.count).thenComparingLong(slot -> slot.id));
+	private long nextId;
+	private long total;
+
+	public SpaceSavingTopK(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		this.capacity = capacity;
+	}
+
+	public synchronized void offer(K key) {
+		total++;
+		Slot<K> slot = slots.get(key);
+		if (slot != null) {
+			byCount.remove(slot);
+			slot.count++;
+			byCount.add(slot);
+			return;
+		}
+
+		if (slots.size() < capacity) {
+			slot = new Slot<>(key, nextId++, 1, 0);
+		} else {
+			Slot<K> evicted = byCount.pollFirst();
+			slots.remove(evicted.key);
+			slot = new Slot<>(key, nextId++, evicted.count + 1, evicted.count);
+		}
+		slots.put(key, slot);
+		byCount.add(slot);
+	}
+
+	public synchronized List<Estimate<K>> top(int limit) {
+		List<Estimate<K>> result = new ArrayList<>(Math.min(limit, slots.size()));
+		Iterator<Slot<K>> iterator = byCount.descendingIterator();
+		while (iterator.hasNext() && result.size() < limit) {
+			Slot<K> slot = iterator.next();
+			result.add(new Estimate<>(slot.key, slot.count, slot.error));
+		}
+		return result;
+	}
+
+	public synchronized long total() {
+		return total;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+}
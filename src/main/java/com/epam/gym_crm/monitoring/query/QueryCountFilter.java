@@ -0,0 +1,76 @@
+package com.epam.gym_crm.monitoring.query;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.epam.gym_crm.config.QueryCountConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link QueryCountScope} around the whole request, security filters
+ * included, and records how many SQL statements it took per route. Bodies are
+ * usually committed before the chain returns, so the header is normally set
+ * by {@link QueryCountHeaderAdvice}; here it only covers body-less responses.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+	public static final String HEADER_NAME = "X-Query-Count";
+
+	private final QueryCountConfig config;
+	private final AppMetrics appMetrics;
+
+	public QueryCountFilter(QueryCountConfig config, AppMetrics appMetrics) {
+		this.config = config;
+		this.appMetrics = appMetrics;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !config.isEnabled();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		try (QueryCountScope scope = QueryCountScope.open(false)) {
+			try {
+				filterChain.doFilter(request, response);
+			} finally {
+				int count = scope.getCount();
+				String route = routeOf(request);
+				appMetrics.recordRequestQueries(request.getMethod(), route, count);
+
+				if (config.isExposeHeader() && !response.isCommitted()) {
+					response.setHeader(HEADER_NAME, String.valueOf(count));
+				}
+				if (count > config.getWarnThreshold()) {
+					logger.warn("{} {} issued {} SQL statements (threshold {}); likely an N+1 query.",
+							request.getMethod(), route, count, config.getWarnThreshold());
+				}
+			}
+		}
+	}
+
+	// The matched pattern (/api/trainees/{username}) keeps the metric's tag cardinality fixed.
+	private static String routeOf(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern != null ? pattern.toString() : "UNMATCHED";
+	}
+}
@@ -0,0 +1,38 @@
+package com.epam.gym_crm.monitoring.query;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.epam.gym_crm.config.QueryCountConfig;
+
+// Sets X-Query-Count just before the body is written, while headers can still change.
+@ControllerAdvice
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+	private final QueryCountConfig config;
+
+	public QueryCountHeaderAdvice(QueryCountConfig config) {
+		this.config = config;
+	}
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return config.isEnabled() && config.isExposeHeader();
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+			Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+			ServerHttpResponse response) {
+		QueryCountScope scope = QueryCountScope.current();
+		if (scope != null) {
+			response.getHeaders().set(QueryCountFilter.HEADER_NAME, String.valueOf(scope.getCount()));
+		}
+		return body;
+	}
+}
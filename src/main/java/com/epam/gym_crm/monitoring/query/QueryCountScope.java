@@ -0,0 +1,65 @@
+package com.epam.gym_crm.monitoring.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the SQL statements executed on the current thread between
+ * {@link #open} and {@link #close}, as reported by {@link QueryCountingDataSource}. Scopes nest: a statement counts towards
+ * every open scope, so a test can measure one call inside a request that is
+ * itself being measured.
+ */
+public final class QueryCountScope implements AutoCloseable {
+
+	private static final ThreadLocal<QueryCountScope> CURRENT = new ThreadLocal<>();
+
+	private final QueryCountScope previous;
+	private final List<String> statements;
+	private int count;
+
+	private QueryCountScope(QueryCountScope previous, boolean captureStatements) {
+		this.previous = previous;
+		this.statements = captureStatements ? new ArrayList<>() : null;
+	}
+
+	/**
+	 * @param captureStatements keep the SQL text as well, for diagnostics; only
+	 *                          tests should need this
+	 */
+	public static QueryCountScope open(boolean captureStatements) {
+		QueryCountScope scope = new QueryCountScope(CURRENT.get(), captureStatements);
+		CURRENT.set(scope);
+		return scope;
+	}
+
+	public static QueryCountScope current() {
+		return CURRENT.get();
+	}
+
+	static void onStatement(String sql) {
+		for (QueryCountScope scope = CURRENT.get(); scope != null; scope = scope.previous) {
+			scope.count++;
+			if (scope.statements != null) {
+				scope.statements.add(sql);
+			}
+		}
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public List<String> getStatements() {
+		return statements != null ? Collections.unmodifiableList(statements) : List.of();
+	}
+
+	@Override
+	public void close() {
+		if (previous != null) {
+			CURRENT.set(previous);
+		} else {
+			CURRENT.remove();
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.epam.gym_crm.monitoring.query;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts every statement executed through this DataSource towards the open
+ * {@link QueryCountScope}s, whichever API issued it: Hibernate, JdbcTemplate
+ * or plain JDBC. A JDBC batch counts once, since it is sent as one round trip.
+ * Outside a scope the proxies only delegate.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+	public QueryCountingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return countingConnection(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return countingConnection(super.getConnection(username, password));
+	}
+
+	private static Connection countingConnection(Connection connection) {
+		return proxy(Connection.class, connection, (proxy, method, args) -> {
+			Object result = invoke(connection, method, args);
+			// createStatement / prepareStatement / prepareCall; the return type is the interface to proxy.
+			if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+				String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+				return countingStatement(method.getReturnType(), statement, sql);
+			}
+			return result;
+		});
+	}
+
+	private static Object countingStatement(Class<?> type, Statement statement, String preparedSql) {
+		return proxy(type, statement, (proxy, method, args) -> {
+			if (method.getName().startsWith("execute")) {
+				String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+				QueryCountScope.onStatement(sql != null ? sql : "<batch>");
+			}
+			return invoke(statement, method, args);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+				handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
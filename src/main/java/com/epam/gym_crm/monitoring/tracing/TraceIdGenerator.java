@@ -0,0 +1,75 @@
+package com.epam.gym_crm.monitoring.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues 20-character hex trace ids laid out as
+ * {@code <11 hex epoch millis><4 hex node id><5 hex sequence>}. Generation is
+ * a clock read plus one atomic increment, so it never touches SecureRandom.
+ * Ids are unique per node unless more than 2^20 are issued in one
+ * millisecond; across nodes they are unique as long as node ids differ.
+ */
+@Component
+public class TraceIdGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(TraceIdGenerator.class);
+
+	public static final String MDC_KEY = "transactionId";
+	public static final String HEADER_NAME = "X-Transaction-Id";
+
+	static final int ID_LENGTH = 20;
+
+	private static final int NODE_BITS = 16;
+	private static final long SEQUENCE_MASK = (1L << 20) - 1;
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final int nodeId;
+	private final AtomicLong sequence;
+
+	public TraceIdGenerator(@Value("${app.tracing.node-id:-1}") int configuredNodeId) {
+		// Node id verilmemişse açılışta rastgele seçilir; sayaç da rastgele başlar
+		// ki aynı anda kalkan iki düğüm aynı diziyi üretmesin.
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		this.nodeId = configuredNodeId >= 0 ? configuredNodeId & ((1 << NODE_BITS) - 1) : random.nextInt(1 << NODE_BITS);
+		this.sequence = new AtomicLong(random.nextLong(SEQUENCE_MASK + 1));
+		logger.info("TraceIdGenerator initialized with node id {}.", nodeId);
+	}
+
+	public String nextId() {
+		long millis = System.currentTimeMillis();
+		long seq = sequence.getAndIncrement() & SEQUENCE_MASK;
+
+		char[] id = new char[ID_LENGTH];
+		writeHex(id, 0, 11, millis);
+		writeHex(id, 11, 4, nodeId);
+		writeHex(id, 15, 5, seq);
+		return new String(id);
+	}
+
+	/**
+	 * The id of the request being handled on this thread, or a fresh one when
+	 * there is none (scheduled jobs, tests).
+	 */
+	public String currentOrNextId() {
+		String current = MDC.get(MDC_KEY);
+		return current != null ? current : nextId();
+	}
+
+	public int getNodeId() {
+		return nodeId;
+	}
+
+	private static void writeHex(char[] target, int offset, int digits, long value) {
+		for (int i = offset + digits - 1; i >= offset; i--) {
+			target[i] = HEX[(int) (value & 0xF)];
+			value >>>= 4;
+		}
+	}
+}
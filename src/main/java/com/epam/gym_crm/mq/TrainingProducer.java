@@ -1,11 +1,16 @@
 package com.epam.gym_crm.mq;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import com.epam.gym_crm.monitoring.tracing.TraceIdGenerator;
 import com.epam.trainingcommons.dto.TrainerWorkloadRequest;
 
 import lombok.RequiredArgsConstructor;
@@ -25,9 +30,35 @@ public class TrainingProducer {
 		logger.info("Sending message to Kafka topic '{}' for trainer '{}' with transactionId '{}'",
                 topicName, request.trainerUsername(), request.transactionId());
 		
-		kafkaTemplate.send(topicName, request);
+		kafkaTemplate.send(toRecord(request));
 		
 		logger.info("Message sent successfully.");
 	}
 
+	/**
+	 * Hands every request to the producer without waiting in between, so they
+	 * leave in as few Kafka batches as the producer can form, then flushes once.
+	 */
+	public void sendWorkloadUpdates(List<TrainerWorkloadRequest> requests) {
+		if (requests.isEmpty()) {
+			return;
+		}
+		logger.info("Sending {} messages to Kafka topic '{}'.", requests.size(), topicName);
+		for (TrainerWorkloadRequest request : requests) {
+			kafkaTemplate.send(toRecord(request));
+		}
+		kafkaTemplate.flush();
+		logger.info("{} messages sent successfully.", requests.size());
+	}
+
+	private ProducerRecord<String, TrainerWorkloadRequest> toRecord(TrainerWorkloadRequest request) {
+		// transactionId header olarak da gider; tüketici payload'ı açmadan izi loglayabilir.
+		ProducerRecord<String, TrainerWorkloadRequest> record = new ProducerRecord<>(topicName, request);
+		if (request.transactionId() != null) {
+			record.headers().add(TraceIdGenerator.HEADER_NAME,
+					request.transactionId().getBytes(StandardCharsets.UTF_8));
+		}
+		return record;
+	}
+
 }
@@ -0,0 +1,96 @@
+package com.epam.gym_crm.security;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.config.PasswordHashingConfig;
+
+/**
+ * Resolves the BCrypt cost, never below {@link #MIN_STRENGTH}. By default the
+ * configured {@code strength} is used, so every node hashes with the same cost.
+ * With calibration enabled it measures BCrypt on this machine once at startup
+ * and picks the cost whose hash time is closest to the configured target
+ * latency; that is meant for sizing a new deployment, and the logged result
+ * should then be pinned as {@code strength}.
+ */
+@Component
+public class BCryptCostCalibrator {
+
+	private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+	public static final int MIN_STRENGTH = 10;
+
+	private static final int SAMPLES_PER_COST = 3;
+	private static final String PROBE_PASSWORD = "calibration-probe";
+
+	private final int strength;
+	private final double measuredMillis;
+	private final boolean calibrated;
+
+	public BCryptCostCalibrator(PasswordHashingConfig config) {
+		if (!config.isCalibrationEnabled()) {
+			this.strength = Math.max(MIN_STRENGTH, config.getStrength());
+			this.measuredMillis = measureMillis(strength);
+			this.calibrated = false;
+			logger.info("BCrypt calibration disabled. Using configured cost {} ({} ms per hash).", strength,
+					String.format("%.1f", measuredMillis));
+			return;
+		}
+
+		int minStrength = Math.max(MIN_STRENGTH, config.getMinStrength());
+		int maxStrength = Math.min(31, Math.max(minStrength, config.getMaxStrength()));
+		long target = config.getTargetLatencyMs();
+
+		// JIT ısınması; ilk ölçüm yanıltıcı olmasın.
+		measureMillis(minStrength);
+
+		int bestStrength = minStrength;
+		double bestMillis = Double.MAX_VALUE;
+		for (int cost = minStrength; cost <= maxStrength; cost++) {
+			double millis = measureMillis(cost);
+			if (Math.abs(millis - target) < Math.abs(bestMillis - target)) {
+				bestStrength = cost;
+				bestMillis = millis;
+			}
+			// Each step doubles the work; once past the target the rest only get further away.
+			if (millis >= target) {
+				break;
+			}
+		}
+
+		this.strength = bestStrength;
+		this.measuredMillis = bestMillis;
+		this.calibrated = true;
+		logger.info("BCrypt calibrated to cost {} ({} ms per hash, target {} ms). Pin it with "
+				+ "app.security.password-hashing.strength so all nodes agree.", strength,
+				String.format("%.1f", measuredMillis), target);
+	}
+
+	public int getStrength() {
+		return strength;
+	}
+
+	public double getMeasuredMillis() {
+		return measuredMillis;
+	}
+
+	public boolean isCalibrated() {
+		return calibrated;
+	}
+
+	// Median of a few runs, so one GC pause does not skew the pick.
+	private static double measureMillis(int cost) {
+		double[] samples = new double[SAMPLES_PER_COST];
+		for (int i = 0; i < SAMPLES_PER_COST; i++) {
+			long start = System.nanoTime();
+			BCrypt.hashpw(PROBE_PASSWORD, BCrypt.gensalt(cost));
+			samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+		}
+		Arrays.sort(samples);
+		return samples[SAMPLES_PER_COST / 2];
+	}
+}
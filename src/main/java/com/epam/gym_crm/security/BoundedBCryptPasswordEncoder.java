@@ -0,0 +1,144 @@
+package com.epam.gym_crm.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.epam.gym_crm.config.PasswordHashingConfig;
+import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.ErrorMessage;
+import com.epam.gym_crm.domain.exception.MessageType;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+/**
+ * Runs BCrypt hashing and verification on a fixed-size pool with a bounded
+ * queue, so a login burst cannot occupy every request thread with CPU-bound
+ * work. When the queue is full the call fails fast with
+ * {@link MessageType#SERVICE_UNAVAILABLE}.
+ */
+public class BoundedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+	private static final Logger logger = LoggerFactory.getLogger(BoundedBCryptPasswordEncoder.class);
+
+	static final String OPERATION_ENCODE = "encode";
+	static final String OPERATION_MATCHES = "matches";
+
+	private final int strength;
+	private final ThreadPoolExecutor executor;
+	private final AppMetrics appMetrics;
+
+	public BoundedBCryptPasswordEncoder(int strength, PasswordHashingConfig config, AppMetrics appMetrics) {
+		this(strength, newExecutor(config), appMetrics);
+		logger.info("BCrypt hashing runs on {} threads with a queue of {}.", config.getPoolSize(),
+				config.getQueueCapacity());
+	}
+
+	BoundedBCryptPasswordEncoder(int strength, ThreadPoolExecutor executor, AppMetrics appMetrics) {
+		super(strength);
+		this.strength = strength;
+		this.executor = executor;
+		this.appMetrics = appMetrics;
+		appMetrics.registerPasswordHashQueueDepth(executor);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return runBounded(OPERATION_ENCODE, () -> super.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return runBounded(OPERATION_MATCHES, () -> super.matches(rawPassword, encodedPassword));
+	}
+
+	/**
+	 * Hashes weaker than the configured cost are re-encoded on the next login;
+	 * stronger ones are kept, so nodes never downgrade each other's hashes.
+	 */
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		Integer encodedStrength = parseStrength(encodedPassword);
+		return encodedStrength != null && encodedStrength < strength;
+	}
+
+	public int getStrength() {
+		return strength;
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private <T> T runBounded(String operation, Callable<T> hashing) {
+		long submittedAt = System.nanoTime();
+		Future<T> result;
+		try {
+			result = executor.submit(() -> {
+				long startedAt = System.nanoTime();
+				appMetrics.recordPasswordHashWait(startedAt - submittedAt);
+				try {
+					return hashing.call();
+				} finally {
+					appMetrics.recordPasswordHashLatency(operation, System.nanoTime() - startedAt);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			appMetrics.incrementPasswordHashRejected(operation);
+			logger.warn("Password hashing queue is full; rejecting {} request.", operation);
+			throw new BaseException(new ErrorMessage(MessageType.SERVICE_UNAVAILABLE,
+					"Too many concurrent authentication requests. Please retry shortly."));
+		}
+
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result.cancel(true);
+			throw new BaseException(new ErrorMessage(MessageType.GENERAL_EXCEPTION, "Password hashing was interrupted."));
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Password hashing failed.", e.getCause());
+		}
+	}
+
+	// "$2a$10$..." -> 10
+	private static Integer parseStrength(String encodedPassword) {
+		if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+				|| encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+			return null;
+		}
+		try {
+			return Integer.parseInt(encodedPassword.substring(4, 6));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static ThreadPoolExecutor newExecutor(PasswordHashingConfig config) {
+		BlockingQueue<Runnable> queue = config.getQueueCapacity() > 0
+				? new ArrayBlockingQueue<>(config.getQueueCapacity())
+				: new SynchronousQueue<>();
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		return new ThreadPoolExecutor(config.getPoolSize(), config.getPoolSize(), 0L, TimeUnit.MILLISECONDS, queue,
+				threadFactory, new ThreadPoolExecutor.AbortPolicy());
+	}
+}
@@ -1,6 +1,7 @@
 package com.epam.gym_crm.security;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,6 +12,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.epam.gym_crm.domain.service.impl.JwtTokenBlacklistService;
+import com.epam.gym_crm.domain.service.impl.RevocationWatermarkService;
 import com.epam.gym_crm.domain.service.impl.UserDetailsServiceImpl;
 
 import jakarta.servlet.FilterChain;
@@ -29,12 +31,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	private final JwtTokenExtractor jwtTokenExtractor;
 
+	private final SecurityVersionRegistry securityVersionRegistry;
+
+	private final RevocationWatermarkService revocationWatermarkService;
+
 	public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsServiceImpl userDetailsService,
-			JwtTokenBlacklistService tokenBlacklistService, JwtTokenExtractor jwtTokenExtractor) {
+			JwtTokenBlacklistService tokenBlacklistService, JwtTokenExtractor jwtTokenExtractor,
+			SecurityVersionRegistry securityVersionRegistry, RevocationWatermarkService revocationWatermarkService) {
 		this.jwtTokenProvider = jwtTokenProvider;
 		this.userDetailsService = userDetailsService;
 		this.jwtTokenBlacklistService = tokenBlacklistService;
 		this.jwtTokenExtractor = jwtTokenExtractor;
+		this.securityVersionRegistry = securityVersionRegistry;
+		this.revocationWatermarkService = revocationWatermarkService;
 	}
 
 	@Override
@@ -53,14 +62,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		String username = jwtTokenProvider.getUsernameFromToken(jwtToken);
+		if (SecurityContextHolder.getContext().getAuthentication() != null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		// Signature and expiry are verified once; the parsed claims are reused below.
+		Optional<ParsedJwtToken> parsedToken = jwtTokenProvider.parseAndValidate(jwtToken);
+		String username = parsedToken.map(ParsedJwtToken::username).orElse(null);
+
+		if (username != null && revocationWatermarkService.isRevoked(username, parsedToken.get().issuedAt())) {
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been invalidated by logout.");
+			return;
+		}
 
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if (username != null) {
 
-			UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+			UserDetails userDetails = resolveUserDetails(parsedToken.get());
 
-			// Validate token and account status
-			if (jwtTokenProvider.validateToken(jwtToken) && userDetails.isEnabled()) {
+			// Validate account status
+			if (userDetails != null && userDetails.isEnabled()) {
 				UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null,
 						userDetails.getAuthorities());
 
@@ -73,4 +94,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	}
 
+	/**
+	 * In stateless mode a token whose security version matches the registry is
+	 * trusted as-is; an older version means status or password changed since it
+	 * was issued. Anything the registry can't vouch for goes to the database.
+	 *
+	 * @return the principal, or null if the token is stale
+	 */
+	private UserDetails resolveUserDetails(ParsedJwtToken token) {
+		if (jwtTokenProvider.isStatelessAuthorizationEnabled() && token.hasStatusClaims()) {
+			Long currentVersion = securityVersionRegistry.findVersion(token.username());
+
+			if (currentVersion != null) {
+				if (token.securityVersion() < currentVersion) {
+					return null;
+				}
+				if (token.securityVersion().equals(currentVersion)) {
+					return JwtUserDetails.fromToken(token);
+				}
+			}
+		}
+		return userDetailsService.loadCachedUserByUsername(token.username());
+	}
+
 }
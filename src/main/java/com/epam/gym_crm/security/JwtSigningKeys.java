@@ -0,0 +1,176 @@
+package com.epam.gym_crm.security;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.epam.gym_crm.config.JwtConfig;
+
+/**
+ * ES256 key material for token signing. Tokens are signed with the active key
+ * and carry its id in the {@code kid} header; every configured public key stays
+ * valid for verification, so a key can be rotated by adding a new one, making
+ * it active and removing the old one once its tokens have expired.
+ */
+@Component
+public class JwtSigningKeys {
+
+	private static final Logger logger = LoggerFactory.getLogger(JwtSigningKeys.class);
+
+	private static final String EC_CURVE = "secp256r1";
+	private static final int P256_COORDINATE_BYTES = 32;
+
+	private final boolean asymmetric;
+	private final boolean acceptHmacTokens;
+	private final String activeKeyId;
+	private final PrivateKey activePrivateKey;
+	private final Map<String, ECPublicKey> verificationKeys;
+
+	public JwtSigningKeys(JwtConfig jwtConfig) {
+		this.asymmetric = jwtConfig.getSigningAlgorithm() == JwtConfig.SigningAlgorithm.ES256;
+		this.acceptHmacTokens = !asymmetric || jwtConfig.isAcceptHmacTokens();
+
+		if (!asymmetric) {
+			this.activeKeyId = null;
+			this.activePrivateKey = null;
+			this.verificationKeys = Collections.emptyMap();
+			return;
+		}
+
+		Map<String, ECPublicKey> keys = new LinkedHashMap<>();
+		String keyId = null;
+		PrivateKey privateKey = null;
+		for (JwtConfig.SigningKey signingKey : jwtConfig.getSigningKeys()) {
+			keys.put(signingKey.getId(), (ECPublicKey) decodePublicKey(signingKey.getPublicKey()));
+			if (signingKey.getId().equals(jwtConfig.getActiveKeyId())) {
+				if (!StringUtils.hasText(signingKey.getPrivateKey())) {
+					throw new IllegalStateException("Active JWT signing key '" + signingKey.getId() + "' has no private key.");
+				}
+				keyId = signingKey.getId();
+				privateKey = decodePrivateKey(signingKey.getPrivateKey());
+			}
+		}
+
+		if (keys.isEmpty()) {
+			// Yerel geliştirme için; her yeniden başlatmada tokenlar geçersiz olur.
+			KeyPair keyPair = generateKeyPair();
+			keyId = "ephemeral-" + UUID.randomUUID();
+			privateKey = keyPair.getPrivate();
+			keys.put(keyId, (ECPublicKey) keyPair.getPublic());
+			logger.warn("No JWT signing keys configured; generated ephemeral ES256 key '{}'. "
+					+ "Tokens will not survive a restart or verify on other nodes.", keyId);
+		} else if (privateKey == null) {
+			throw new IllegalStateException("app.jwt.active-key-id must name one of app.jwt.signing-keys.");
+		}
+
+		this.activeKeyId = keyId;
+		this.activePrivateKey = privateKey;
+		this.verificationKeys = Collections.unmodifiableMap(keys);
+		logger.info("JWT signing with ES256. Active key: '{}', verification keys: {}, accepting HS256 tokens: {}",
+				activeKeyId, verificationKeys.keySet(), acceptHmacTokens);
+	}
+
+	public boolean isAsymmetric() {
+		return asymmetric;
+	}
+
+	public boolean isAcceptHmacTokens() {
+		return acceptHmacTokens;
+	}
+
+	public String getActiveKeyId() {
+		return activeKeyId;
+	}
+
+	public PrivateKey getActivePrivateKey() {
+		return activePrivateKey;
+	}
+
+	public PublicKey findVerificationKey(String keyId) {
+		return keyId != null ? verificationKeys.get(keyId) : null;
+	}
+
+	/**
+	 * Public keys as an RFC 7517 JWK Set.
+	 */
+	public Map<String, Object> toJwks() {
+		List<Map<String, Object>> keys = new ArrayList<>(verificationKeys.size());
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		verificationKeys.forEach((keyId, publicKey) -> {
+			Map<String, Object> jwk = new LinkedHashMap<>();
+			jwk.put("kty", "EC");
+			jwk.put("crv", "P-256");
+			jwk.put("kid", keyId);
+			jwk.put("use", "sig");
+			jwk.put("alg", "ES256");
+			jwk.put("x", encoder.encodeToString(toCoordinateBytes(publicKey.getW().getAffineX())));
+			jwk.put("y", encoder.encodeToString(toCoordinateBytes(publicKey.getW().getAffineY())));
+			keys.add(jwk);
+		});
+		return Map.of("keys", keys);
+	}
+
+	// Fixed-length unsigned big-endian, as JWK requires.
+	private static byte[] toCoordinateBytes(BigInteger coordinate) {
+		byte[] bytes = coordinate.toByteArray();
+		byte[] result = new byte[P256_COORDINATE_BYTES];
+		int length = Math.min(bytes.length, P256_COORDINATE_BYTES);
+		System.arraycopy(bytes, bytes.length - length, result, P256_COORDINATE_BYTES - length, length);
+		return result;
+	}
+
+	private static PublicKey decodePublicKey(String encoded) {
+		try {
+			return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(decodePem(encoded)));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new IllegalStateException("Invalid JWT public key; expected an X.509 (SPKI) EC key.", e);
+		}
+	}
+
+	private static PrivateKey decodePrivateKey(String encoded) {
+		try {
+			return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decodePem(encoded)));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new IllegalStateException("Invalid JWT private key; expected a PKCS#8 EC key.", e);
+		}
+	}
+
+	// Accepts PEM or bare base64 DER.
+	private static byte[] decodePem(String encoded) {
+		if (!StringUtils.hasText(encoded)) {
+			throw new IllegalArgumentException("Key is empty.");
+		}
+		String base64 = encoded.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+		return Base64.getDecoder().decode(base64);
+	}
+
+	private static KeyPair generateKeyPair() {
+		try {
+			KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+			generator.initialize(new ECGenParameterSpec(EC_CURVE));
+			return generator.generateKeyPair();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Could not generate ES256 key pair.", e);
+		}
+	}
+}
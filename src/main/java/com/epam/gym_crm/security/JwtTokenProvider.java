@@ -2,7 +2,9 @@ package com.epam.gym_crm.security;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.springframework.stereotype.Component;
@@ -10,29 +12,90 @@ import org.springframework.stereotype.Component;
 import com.epam.gym_crm.config.JwtConfig;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtTokenProvider {
 
+	private static final String USERNAME_CLAIM = "username";
+	private static final String ACTIVE_CLAIM = "active";
+	private static final String SECURITY_VERSION_CLAIM = "sv";
+	// Standard iat has second precision; revocation watermarks compare against this instead.
+	private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
 	private final JwtConfig jwtConfig;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final SecurityVersionRegistry securityVersionRegistry;
+	private final JwtSigningKeys jwtSigningKeys;
+
+	// Built once on first use; JwtParser instances are immutable and thread-safe.
+	private volatile Key signingKey;
+	private volatile JwtParser jwtParser;
 
-	public JwtTokenProvider(JwtConfig jwtConfig) {
+	public JwtTokenProvider(JwtConfig jwtConfig, VerifiedTokenCache verifiedTokenCache,
+			SecurityVersionRegistry securityVersionRegistry, JwtSigningKeys jwtSigningKeys) {
 		this.jwtConfig = jwtConfig;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.securityVersionRegistry = securityVersionRegistry;
+		this.jwtSigningKeys = jwtSigningKeys;
 	}
 
 	public String generateJwtToken(JwtUserDetails userDetails) {
-		Date expireDate = new Date(new Date().getTime() + jwtConfig.getExpirationMs());
-		return Jwts.builder().setSubject(Long.toString(userDetails.getId()))
-				.claim("username", userDetails.getUsername()).setIssuedAt(new Date()).setExpiration(expireDate)
-				.signWith(getKey(), SignatureAlgorithm.HS256).compact();
+		Date issuedAt = new Date();
+		Date expireDate = new Date(issuedAt.getTime() + jwtConfig.getExpirationMs());
+		JwtBuilder builder = Jwts.builder().setSubject(Long.toString(userDetails.getId()))
+				.claim(USERNAME_CLAIM, userDetails.getUsername()).setIssuedAt(issuedAt)
+				.claim(ISSUED_AT_MILLIS_CLAIM, issuedAt.getTime()).setExpiration(expireDate);
+
+		if (jwtConfig.isStatelessAuthorization()) {
+			builder.claim(ACTIVE_CLAIM, userDetails.isEnabled()).claim(SECURITY_VERSION_CLAIM,
+					securityVersionRegistry.currentVersion(userDetails.getUsername()));
+		}
+		if (jwtSigningKeys.isAsymmetric()) {
+			return builder.setHeaderParam(JwsHeader.KEY_ID, jwtSigningKeys.getActiveKeyId())
+					.signWith(jwtSigningKeys.getActivePrivateKey(), SignatureAlgorithm.ES256).compact();
+		}
+		return builder.signWith(getKey(), SignatureAlgorithm.HS256).compact();
+	}
+
+	public boolean isStatelessAuthorizationEnabled() {
+		return jwtConfig.isStatelessAuthorization();
+	}
+
+	/**
+	 * Verifies the signature and expiry of the token exactly once.
+	 *
+	 * @return the parsed token, or empty if the token is malformed, forged or expired
+	 */
+	public Optional<ParsedJwtToken> parseAndValidate(String token) {
+		if (verifiedTokenCache.isEnabled()) {
+			ParsedJwtToken cachedToken = verifiedTokenCache.getIfPresent(token);
+			if (cachedToken != null) {
+				return Optional.of(cachedToken);
+			}
+		}
+		try {
+			Claims claims = getClaims(token);
+			ParsedJwtToken parsedToken = toParsedToken(claims);
+			if (parsedToken.isExpired(Instant.now())) {
+				return Optional.empty();
+			}
+			verifiedTokenCache.put(token, parsedToken);
+			return Optional.of(parsedToken);
+		} catch (JwtException | IllegalArgumentException e) {
+			return Optional.empty();
+		}
 	}
 
 	public Claims getClaims(String token) {
-		return Jwts.parserBuilder().setSigningKey(getKey()).build().parseClaimsJws(token).getBody();
+		return getParser().parseClaimsJws(token).getBody();
 	}
 
 	public <T> T exportToken(String token, Function<Claims, T> claimsFunc) {
@@ -45,25 +108,70 @@ public class JwtTokenProvider {
 	}
 
 	public String getUsernameFromToken(String token) {
-		return exportToken(token, claims -> claims.get("username", String.class));
+		return exportToken(token, claims -> claims.get(USERNAME_CLAIM, String.class));
 	}
 
 	public boolean validateToken(String token) {
-		try {
-			Claims claims = getClaims(token);
-			return !isTokenExpired(claims);
-		} catch (JwtException | IllegalArgumentException e) {
-			return false;
+		return parseAndValidate(token).isPresent();
+	}
+
+	public Key getKey() {
+		Key key = signingKey;
+		if (key == null) {
+			synchronized (this) {
+				key = signingKey;
+				if (key == null) {
+					key = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+					signingKey = key;
+				}
+			}
 		}
+		return key;
 	}
 
-	private boolean isTokenExpired(Claims claims) {
-		Date expiration = claims.getExpiration();
-		return expiration.before(new Date());
+	private JwtParser getParser() {
+		JwtParser parser = jwtParser;
+		if (parser == null) {
+			synchronized (this) {
+				parser = jwtParser;
+				if (parser == null) {
+					parser = jwtSigningKeys.isAsymmetric()
+							? Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+								@Override
+								public Key resolveSigningKey(JwsHeader header, Claims claims) {
+									return resolveVerificationKey(header);
+								}
+							}).build()
+							: Jwts.parserBuilder().setSigningKey(getKey()).build();
+					jwtParser = parser;
+				}
+			}
+		}
+		return parser;
 	}
 
-	public Key getKey() {
-		return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+	// Picks the key by the token's own alg and kid; jjwt still checks that they agree.
+	private Key resolveVerificationKey(JwsHeader header) {
+		if (SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+			Key key = jwtSigningKeys.findVerificationKey(header.getKeyId());
+			if (key == null) {
+				throw new JwtException("Unknown signing key id: " + header.getKeyId());
+			}
+			return key;
+		}
+		if (SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm()) && jwtSigningKeys.isAcceptHmacTokens()) {
+			return getKey();
+		}
+		throw new JwtException("Unsupported signing algorithm: " + header.getAlgorithm());
+	}
+
+	private ParsedJwtToken toParsedToken(Claims claims) {
+		Date expiration = claims.getExpiration();
+		Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+		Date issuedAt = issuedAtMillis != null ? new Date(issuedAtMillis) : claims.getIssuedAt();
+		return new ParsedJwtToken(claims.getSubject(), claims.get(USERNAME_CLAIM, String.class),
+				expiration != null ? expiration.toInstant() : null, issuedAt != null ? issuedAt.toInstant() : null,
+				claims.get(ACTIVE_CLAIM, Boolean.class), claims.get(SECURITY_VERSION_CLAIM, Long.class));
 	}
 
 }
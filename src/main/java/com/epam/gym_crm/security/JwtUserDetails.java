@@ -38,6 +38,14 @@ public class JwtUserDetails implements UserDetails {
 		
 		return new JwtUserDetails(user.getId(), user.getUsername(), user.getPassword(), user.isActive(), isAccountNonLocked, authoritiesList);
 	}
+
+	// Principal rebuilt from signed token claims; carries no password.
+	public static JwtUserDetails fromToken(ParsedJwtToken token) {
+		List<GrantedAuthority> authoritiesList = List.of(new SimpleGrantedAuthority("ROLE_AUTH"));
+
+		return new JwtUserDetails(token.getUserId(), token.username(), null, Boolean.TRUE.equals(token.active()), true,
+				authoritiesList);
+	}
 	
 
 	@Override
@@ -0,0 +1,28 @@
+package com.epam.gym_crm.security;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a token that already passed signature verification.
+ * {@code active} and {@code securityVersion} are only present on tokens issued
+ * in stateless authorization mode.
+ */
+public record ParsedJwtToken(String subject, String username, Instant expiresAt, Instant issuedAt, Boolean active,
+		Long securityVersion) {
+
+	public ParsedJwtToken(String subject, String username, Instant expiresAt, Instant issuedAt) {
+		this(subject, username, expiresAt, issuedAt, null, null);
+	}
+
+	public Long getUserId() {
+		return subject != null ? Long.parseLong(subject) : null;
+	}
+
+	public boolean isExpired(Instant now) {
+		return expiresAt == null || expiresAt.isBefore(now);
+	}
+
+	public boolean hasStatusClaims() {
+		return active != null && securityVersion != null;
+	}
+}
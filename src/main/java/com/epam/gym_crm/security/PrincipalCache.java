@@ -0,0 +1,78 @@
+package com.epam.gym_crm.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.gym_crm.config.PrincipalCacheConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+@Component
+public class PrincipalCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+	static final String CACHE_NAME = "principal";
+
+	private final Cache<String, JwtUserDetails> principals;
+	private final AppMetrics appMetrics;
+
+	public PrincipalCache(PrincipalCacheConfig principalCacheConfig, AppMetrics appMetrics) {
+		this.appMetrics = appMetrics;
+
+		if (principalCacheConfig.isEnabled()) {
+			this.principals = CacheBuilder.newBuilder().maximumSize(principalCacheConfig.getMaxSize())
+					.expireAfterWrite(principalCacheConfig.getTtlSeconds(), TimeUnit.SECONDS).recordStats().build();
+			appMetrics.registerCacheHitRatio(CACHE_NAME, principals);
+			logger.info("PrincipalCache enabled. Entries live for {} seconds, max size: {}",
+					principalCacheConfig.getTtlSeconds(), principalCacheConfig.getMaxSize());
+		} else {
+			this.principals = null;
+		}
+	}
+
+	public JwtUserDetails get(String username, Function<String, JwtUserDetails> loader) {
+		if (principals == null) {
+			return loader.apply(username);
+		}
+
+		JwtUserDetails cached = principals.getIfPresent(username);
+		if (cached != null) {
+			appMetrics.incrementCacheHit(CACHE_NAME);
+			return cached;
+		}
+
+		appMetrics.incrementCacheMiss(CACHE_NAME);
+		JwtUserDetails loaded = loader.apply(username);
+		principals.put(username, loaded);
+		return loaded;
+	}
+
+	/**
+	 * Drops the cached principal now and, when called inside a transaction, once
+	 * more after commit so a concurrent request cannot re-cache the old state.
+	 */
+	public void invalidate(String username) {
+		if (principals == null || username == null) {
+			return;
+		}
+		principals.invalidate(username);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					principals.invalidate(username);
+				}
+			});
+		}
+		logger.debug("Principal cache entry invalidated for user '{}'.", username);
+	}
+}
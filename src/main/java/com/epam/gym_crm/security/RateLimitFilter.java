@@ -0,0 +1,123 @@
+package com.epam.gym_crm.security;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.epam.gym_crm.config.RateLimitConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.throttle.TokenBucket;
+import com.google.common.cache.CacheBuilder;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-client token buckets for each configured route group. Runs after
+ * {@link JwtAuthenticationFilter}: authenticated callers are limited by
+ * username, anonymous ones (login, registration) by client IP.
+ *
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}, which behind a
+ * proxy is resolved by {@code server.forward-headers-strategy=native}: Tomcat
+ * takes the X-Forwarded-For client only from proxies matching
+ * {@code server.tomcat.remoteip.internal-proxies}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final List<Map.Entry<String, RateLimitConfig.RouteGroup>> groups;
+	private final ConcurrentMap<String, TokenBucket> buckets;
+	private final boolean enabled;
+	private final AppMetrics appMetrics;
+
+	public RateLimitFilter(RateLimitConfig rateLimitConfig, AppMetrics appMetrics) {
+		this.appMetrics = appMetrics;
+		this.enabled = rateLimitConfig.isEnabled();
+		this.groups = new ArrayList<>(rateLimitConfig.getGroups().entrySet());
+		this.buckets = CacheBuilder.newBuilder().maximumSize(rateLimitConfig.getMaxClients())
+				.expireAfterAccess(rateLimitConfig.getIdleEvictionMinutes(), TimeUnit.MINUTES)
+				.<String, TokenBucket>build().asMap();
+
+		logger.info("RateLimitFilter initialized. Enabled: {}, route groups: {}", enabled,
+				rateLimitConfig.getGroups().keySet());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		Map.Entry<String, RateLimitConfig.RouteGroup> group = enabled ? findGroup(request) : null;
+		if (group == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		String groupName = group.getKey();
+		RateLimitConfig.RouteGroup limits = group.getValue();
+		long now = System.nanoTime();
+		TokenBucket bucket = buckets.computeIfAbsent(groupName + "|" + clientKey(request),
+				key -> new TokenBucket(limits.getCapacity(), limits.getRefillPerSecond(), now));
+
+		long waitNanos = bucket.tryConsume(now);
+		if (waitNanos > 0) {
+			long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+			appMetrics.incrementRateLimited(groupName);
+			logger.debug("Rate limit exceeded for route group '{}' ({} {}).", groupName, request.getMethod(),
+					request.getRequestURI());
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+			response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests. Please retry later.");
+			return;
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	private Map.Entry<String, RateLimitConfig.RouteGroup> findGroup(HttpServletRequest request) {
+		String path = request.getServletPath() != null && !request.getServletPath().isEmpty()
+				? request.getServletPath()
+				: request.getRequestURI();
+		for (Map.Entry<String, RateLimitConfig.RouteGroup> group : groups) {
+			RateLimitConfig.RouteGroup limits = group.getValue();
+			if (!limits.getMethods().isEmpty()
+					&& limits.getMethods().stream().noneMatch(method -> method.equalsIgnoreCase(request.getMethod()))) {
+				continue;
+			}
+			for (String pattern : limits.getPaths()) {
+				if (pathMatcher.match(pattern, path)) {
+					return group;
+				}
+			}
+		}
+		return null;
+	}
+
+	// Never read X-Forwarded-For here: the remote address is already resolved for trusted proxies only,
+	// so a client cannot pick its own key.
+	private static String clientKey(HttpServletRequest request) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated()
+				&& !(authentication instanceof AnonymousAuthenticationToken)) {
+			return "user:" + authentication.getName();
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+}
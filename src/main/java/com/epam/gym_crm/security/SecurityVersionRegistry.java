@@ -0,0 +1,122 @@
+package com.epam.gym_crm.security;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Per-user security version used by stateless authorization. The version is
+ * embedded in every token at login and bumped whenever the user's status or
+ * password changes, so older tokens stop matching.
+ *
+ * Versions live in {@code user_security_version} (0 for users without a row),
+ * so every node and every restart agrees on them. Each node caches them, loading
+ * a user's version on first use and re-reading it after
+ * {@code security-version-cache-seconds}; users idle for a whole token lifetime
+ * are evicted. A bump is written in the caller's transaction and reaches the
+ * cache, and the other nodes through the shared security state, only after
+ * commit.
+ */
+@Component
+public class SecurityVersionRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(SecurityVersionRegistry.class);
+
+	private static final String SELECT_VERSION = "SELECT version FROM user_security_version WHERE username = ?";
+	private static final String INCREMENT_VERSION = "INSERT INTO user_security_version (username, version) VALUES (?, 1) "
+			+ "ON CONFLICT (username) DO UPDATE SET version = user_security_version.version + 1 RETURNING version";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final SharedSecurityState sharedSecurityState;
+	private final LoadingCache<String, Long> versions;
+
+	public SecurityVersionRegistry(JdbcTemplate jdbcTemplate, JwtConfig jwtConfig,
+			SharedSecurityState sharedSecurityState) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.sharedSecurityState = sharedSecurityState;
+		long refreshSeconds = jwtConfig.getSecurityVersionCacheSeconds();
+		this.versions = CacheBuilder.newBuilder().refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+				.expireAfterAccess(Math.max(TimeUnit.MILLISECONDS.toSeconds(jwtConfig.getExpirationMs()),
+						refreshSeconds), TimeUnit.SECONDS)
+				.build(CacheLoader.from(this::loadVersion));
+
+		sharedSecurityState.subscribe(event -> {
+			if (event.type() == SecurityStateEvent.Type.SECURITY_VERSION) {
+				versions.asMap().merge(event.subject(), event.value(), Math::max);
+			}
+		});
+	}
+
+	public long currentVersion(String username) {
+		try {
+			return versions.get(username);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Security version of user '" + username + "' could not be read.",
+					e.getCause());
+		}
+	}
+
+	/**
+	 * Same as {@link #currentVersion(String)}, but reports the version as unknown
+	 * instead of failing when it can't be read, so the caller can fall back to
+	 * the database path.
+	 */
+	public Long findVersion(String username) {
+		if (username == null) {
+			return null;
+		}
+		try {
+			return versions.get(username);
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			logger.warn("Security version of user '{}' could not be read.", username, e.getCause());
+			return null;
+		}
+	}
+
+	/**
+	 * Increments the stored version within the current transaction. The cache
+	 * and the other nodes see the new version once the transaction commits.
+	 */
+	public void bump(String username) {
+		if (username == null) {
+			return;
+		}
+		// Tek bir upsert: eşzamanlı ilk bump'lar duplicate key hatasıyla çağıranın transaction'ını bozmaz.
+		long newVersion = jdbcTemplate.queryForObject(INCREMENT_VERSION, Long.class, username);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					versions.asMap().merge(username, newVersion, Math::max);
+				}
+			});
+		} else {
+			versions.asMap().merge(username, newVersion, Math::max);
+		}
+		// The shared state itself waits for the commit before the event leaves this node.
+		sharedSecurityState.publish(
+				new SecurityStateEvent(SecurityStateEvent.Type.SECURITY_VERSION, username, newVersion));
+		logger.debug("Security version for user '{}' bumped to {}.", username, newVersion);
+	}
+
+	private long loadVersion(String username) {
+		List<Long> stored = jdbcTemplate.queryForList(SELECT_VERSION, Long.class, username);
+		return stored.isEmpty() ? 0L : stored.get(0);
+	}
+}
@@ -0,0 +1,87 @@
+package com.epam.gym_crm.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+@Component
+public class VerifiedTokenCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+	static final String CACHE_NAME = "verified_jwt";
+
+	private final Cache<HashCode, ParsedJwtToken> verifiedTokens;
+	private final AppMetrics appMetrics;
+
+	public VerifiedTokenCache(JwtConfig jwtConfig, AppMetrics appMetrics) {
+		this.appMetrics = appMetrics;
+
+		if (jwtConfig.isVerifiedCacheEnabled()) {
+			// Guava evicts by size (LRU per segment); expireAfterWrite is only an upper
+			// bound, the token's own exp is checked on every hit.
+			this.verifiedTokens = CacheBuilder.newBuilder().maximumSize(jwtConfig.getVerifiedCacheMaxSize())
+					.expireAfterWrite(jwtConfig.getExpirationMs(), TimeUnit.MILLISECONDS).build();
+			logger.info("VerifiedTokenCache enabled. Max size: {}", jwtConfig.getVerifiedCacheMaxSize());
+		} else {
+			this.verifiedTokens = null;
+		}
+	}
+
+	public boolean isEnabled() {
+		return verifiedTokens != null;
+	}
+
+	public ParsedJwtToken getIfPresent(String token) {
+		if (verifiedTokens == null || token == null) {
+			return null;
+		}
+		HashCode key = digest(token);
+		ParsedJwtToken parsedToken = verifiedTokens.getIfPresent(key);
+
+		if (parsedToken != null && parsedToken.isExpired(Instant.now())) {
+			verifiedTokens.invalidate(key);
+			parsedToken = null;
+		}
+
+		if (parsedToken != null) {
+			appMetrics.incrementCacheHit(CACHE_NAME);
+		} else {
+			appMetrics.incrementCacheMiss(CACHE_NAME);
+		}
+		return parsedToken;
+	}
+
+	public void put(String token, ParsedJwtToken parsedToken) {
+		if (verifiedTokens != null && token != null && parsedToken != null) {
+			verifiedTokens.put(digest(token), parsedToken);
+		}
+	}
+
+	public void invalidate(String token) {
+		if (verifiedTokens != null && token != null) {
+			verifiedTokens.invalidate(digest(token));
+		}
+	}
+
+	public void invalidate(HashCode tokenDigest) {
+		if (verifiedTokens != null && tokenDigest != null) {
+			verifiedTokens.invalidate(tokenDigest);
+		}
+	}
+
+	private HashCode digest(String token) {
+		return Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,213 @@
+package com.epam.gym_crm.security.shared;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.gym_crm.config.SharedSecurityStateConfig;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Shares security state through the {@code security_state_event} table of the
+ * application DataSource. Every node appends its changes and polls for rows
+ * written by the others. On startup the node replays the retention window so
+ * that lockouts and revocations made before it joined still apply.
+ *
+ * An event published inside a transaction is written only after that
+ * transaction commits, in a short transaction of its own, so a rollback never
+ * leaves an event behind. Identity values are handed out before commit, so a
+ * lower id can become visible after a higher one; the poller therefore keeps a
+ * floor below which everything has been handled plus the ids it has already
+ * seen above it, and only gives up on a missing id after gap-timeout-ms
+ * (a rolled-back or purged insert never shows up).
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.security.shared-state", name = "backend", havingValue = "jdbc")
+public class JdbcSecurityState implements SharedSecurityState {
+
+	private static final Logger logger = LoggerFactory.getLogger(JdbcSecurityState.class);
+
+	private static final String INSERT_EVENT = "INSERT INTO security_state_event (event_type, subject, event_value, origin_node, created_at) VALUES (?, ?, ?, ?, ?)";
+	private static final String SELECT_AFTER_ID = "SELECT id, event_type, subject, event_value, origin_node FROM security_state_event WHERE id > ? ORDER BY id LIMIT ?";
+	private static final String SELECT_REPLAY_START = "SELECT COALESCE(MIN(id) - 1, (SELECT COALESCE(MAX(id), 0) FROM security_state_event)) FROM security_state_event WHERE created_at >= ?";
+	private static final String DELETE_BEFORE = "DELETE FROM security_state_event WHERE created_at < ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate ownTransaction;
+	private final SharedSecurityStateConfig config;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final List<Consumer<SecurityStateEvent>> listeners = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "security-state-poller");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Guarded by this: every id <= floorId is handled (or given up on); seenIds are handled ids above it.
+	private long floorId;
+	private final NavigableSet<Long> seenIds = new TreeSet<>();
+	private long gapSinceMillis;
+
+	public JdbcSecurityState(JdbcTemplate jdbcTemplate, SharedSecurityStateConfig config,
+			PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.config = config;
+		this.ownTransaction = new TransactionTemplate(transactionManager);
+		this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@Override
+	public void publish(SecurityStateEvent event) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					insert(event);
+				}
+			});
+		} else {
+			insert(event);
+		}
+	}
+
+	private void insert(SecurityStateEvent event) {
+		try {
+			// REQUIRES_NEW: after commit the caller's connection is still bound but no longer commits.
+			ownTransaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT_EVENT, event.type().name(),
+					event.subject(), event.value(), nodeId, Timestamp.from(Instant.now())));
+		} catch (DataAccessException | TransactionException e) {
+			// The local cache already holds the change; other nodes just won't see it.
+			logger.error("Could not publish security state event {} for '{}'.", event.type(), event.subject(), e);
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<SecurityStateEvent> listener) {
+		listeners.add(listener);
+	}
+
+	// Started once every service has subscribed, so the replay reaches all of them.
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		Long replayStart = jdbcTemplate.queryForObject(SELECT_REPLAY_START, Long.class, retentionCutoff());
+		long startId;
+		synchronized (this) {
+			floorId = replayStart != null ? replayStart : 0L;
+			startId = floorId;
+		}
+		poller.scheduleWithFixedDelay(this::pollSafely, 0, config.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+		poller.scheduleWithFixedDelay(this::purgeSafely, config.getRetentionMinutes(), config.getRetentionMinutes(),
+				TimeUnit.MINUTES);
+		logger.info("JdbcSecurityState started on node {}. Replaying events after id {}.", nodeId, startId);
+	}
+
+	@PreDestroy
+	public void stop() {
+		poller.shutdownNow();
+	}
+
+	synchronized void poll() {
+		long cursor = floorId;
+		int fetched;
+		do {
+			List<Long> ids = jdbcTemplate.query(SELECT_AFTER_ID, (rs, rowNum) -> {
+				long id = rs.getLong("id");
+				if (seenIds.add(id) && !nodeId.equals(rs.getString("origin_node"))) {
+					dispatch(new SecurityStateEvent(SecurityStateEvent.Type.valueOf(rs.getString("event_type")),
+							rs.getString("subject"), rs.getLong("event_value")));
+				}
+				return id;
+			}, cursor, config.getPollBatchSize());
+
+			fetched = ids.size();
+			if (fetched > 0) {
+				cursor = ids.get(fetched - 1);
+			}
+		} while (fetched == config.getPollBatchSize());
+
+		advanceFloor();
+	}
+
+	private void advanceFloor() {
+		while (!seenIds.isEmpty()) {
+			if (seenIds.first() == floorId + 1) {
+				floorId = seenIds.pollFirst();
+				gapSinceMillis = 0;
+				continue;
+			}
+			// floorId + 1 is not visible yet: still being committed, rolled back, or already purged.
+			long now = System.currentTimeMillis();
+			if (gapSinceMillis == 0) {
+				gapSinceMillis = now;
+				return;
+			}
+			if (now - gapSinceMillis < config.getGapTimeoutMs()) {
+				return;
+			}
+			logger.debug("Security state event ids {}..{} never appeared; skipping them.", floorId + 1,
+					seenIds.first() - 1);
+			floorId = seenIds.first() - 1;
+			gapSinceMillis = 0;
+		}
+	}
+
+	private void dispatch(SecurityStateEvent event) {
+		for (Consumer<SecurityStateEvent> listener : listeners) {
+			try {
+				listener.accept(event);
+			} catch (RuntimeException e) {
+				logger.error("Applying security state event {} for '{}' failed.", event.type(), event.subject(), e);
+			}
+		}
+	}
+
+	private void pollSafely() {
+		try {
+			poll();
+		} catch (RuntimeException e) {
+			logger.error("Polling security state events failed; will retry.", e);
+		}
+	}
+
+	private void purgeSafely() {
+		try {
+			int deleted = jdbcTemplate.update(DELETE_BEFORE, retentionCutoff());
+			logger.debug("Purged {} expired security state events.", deleted);
+		} catch (DataAccessException e) {
+			logger.error("Purging security state events failed.", e);
+		}
+	}
+
+	private Timestamp retentionCutoff() {
+		return Timestamp.from(Instant.now().minus(config.getRetentionMinutes(), ChronoUnit.MINUTES));
+	}
+
+	String getNodeId() {
+		return nodeId;
+	}
+}
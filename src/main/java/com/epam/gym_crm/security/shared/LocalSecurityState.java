@@ -0,0 +1,24 @@
+package com.epam.gym_crm.security.shared;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-instance backend: state lives only in the local caches.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.security.shared-state", name = "backend", havingValue = "local", matchIfMissing = true)
+public class LocalSecurityState implements SharedSecurityState {
+
+	@Override
+	public void publish(SecurityStateEvent event) {
+		// Nothing to share with.
+	}
+
+	@Override
+	public void subscribe(Consumer<SecurityStateEvent> listener) {
+		// No other node ever publishes.
+	}
+}
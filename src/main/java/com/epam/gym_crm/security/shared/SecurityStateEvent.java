@@ -0,0 +1,28 @@
+package com.epam.gym_crm.security.shared;
+
+/**
+ * A change to security state made on one node that the other nodes apply to
+ * their local caches. {@code subject} is a username, or the hex SHA-256 digest
+ * of a token; raw tokens never leave the node.
+ */
+public record SecurityStateEvent(Type type, String subject, long value) {
+
+	public static final long UNKNOWN_ACCOUNT = 1L;
+
+	public enum Type {
+		/** A failed login for {@code subject}; {@code value} is {@link #UNKNOWN_ACCOUNT} if no account has that name. */
+		LOGIN_FAILED,
+		/** A successful login for {@code subject}, resetting its failure counter. */
+		LOGIN_SUCCEEDED,
+		/** Token digest {@code subject} is blacklisted until epoch millis {@code value}. */
+		TOKEN_BLACKLISTED,
+		/** Tokens of {@code subject} issued before epoch millisecond {@code value} are revoked. */
+		REVOCATION_WATERMARK,
+		/** The security version of {@code subject} is now {@code value}. */
+		SECURITY_VERSION
+	}
+
+	public static SecurityStateEvent of(Type type, String subject) {
+		return new SecurityStateEvent(type, subject, 0L);
+	}
+}
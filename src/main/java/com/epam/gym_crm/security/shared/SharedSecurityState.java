@@ -0,0 +1,17 @@
+package com.epam.gym_crm.security.shared;
+
+import java.util.function.Consumer;
+
+/**
+ * Backend that spreads login-attempt, blacklist and watermark changes across
+ * instances. Services keep their own Guava caches as the near-cache and only
+ * publish changes; events from other nodes are delivered asynchronously to the
+ * subscribed listeners, never back to the node that published them.
+ * Events published inside a transaction are shared only once it commits.
+ */
+public interface SharedSecurityState {
+
+	void publish(SecurityStateEvent event);
+
+	void subscribe(Consumer<SecurityStateEvent> listener);
+}
@@ -0,0 +1,86 @@
+package com.epam.gym_crm.security.throttle;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Count-min sketch over the same bucketed sliding window as
+ * {@link SlidingWindowCounter}. Memory is fixed at
+ * {@code buckets * depth * width} ints no matter how many distinct keys are
+ * counted; estimates never undercount, they can only overcount on collisions.
+ */
+public class SlidingWindowCountMinSketch {
+
+	private final AtomicIntegerArray[] buckets;
+	private final AtomicLongArray bucketEpochs;
+	private final int depth;
+	private final int width;
+	private final long bucketMillis;
+
+	public SlidingWindowCountMinSketch(int bucketCount, long bucketMillis, int depth, int width) {
+		this.buckets = new AtomicIntegerArray[bucketCount];
+		for (int i = 0; i < bucketCount; i++) {
+			buckets[i] = new AtomicIntegerArray(depth * width);
+		}
+		this.bucketEpochs = new AtomicLongArray(bucketCount);
+		this.depth = depth;
+		this.width = width;
+		this.bucketMillis = bucketMillis;
+	}
+
+	public void increment(String key, long nowMillis) {
+		long epoch = nowMillis / bucketMillis;
+		AtomicIntegerArray cells = currentBucket(epoch);
+		long[] hash = hash(key);
+		for (int row = 0; row < depth; row++) {
+			cells.incrementAndGet(cell(hash, row));
+		}
+	}
+
+	public int estimate(String key, long nowMillis) {
+		long epoch = nowMillis / bucketMillis;
+		long[] hash = hash(key);
+		int estimate = Integer.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			int cell = cell(hash, row);
+			int rowTotal = 0;
+			for (int b = 0; b < buckets.length; b++) {
+				if (epoch - bucketEpochs.get(b) < buckets.length) {
+					rowTotal += buckets[b].get(cell);
+				}
+			}
+			estimate = Math.min(estimate, rowTotal);
+		}
+		return estimate;
+	}
+
+	// Claims the slot for the new epoch and clears it; the thread that wins the
+	// CAS does the reset, increments racing with it may be lost, which only
+	// lowers an approximate count for a bucket that just started.
+	private AtomicIntegerArray currentBucket(long epoch) {
+		int index = (int) (epoch % buckets.length);
+		long slotEpoch = bucketEpochs.get(index);
+		if (slotEpoch != epoch && bucketEpochs.compareAndSet(index, slotEpoch, epoch)) {
+			AtomicIntegerArray cells = buckets[index];
+			for (int i = 0; i < cells.length(); i++) {
+				cells.set(i, 0);
+			}
+		}
+		return buckets[index];
+	}
+
+	// Row indexes derived from the two halves of one 128-bit hash (double hashing).
+	private int cell(long[] hash, int row) {
+		long combined = hash[0] + (row + 1) * hash[1];
+		return row * width + (int) Math.floorMod(combined, (long) width);
+	}
+
+	private static long[] hash(String key) {
+		ByteBuffer buffer = ByteBuffer.wrap(Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asBytes());
+		return new long[] { buffer.getLong(), buffer.getLong() };
+	}
+}
@@ -0,0 +1,58 @@
+package com.epam.gym_crm.security.throttle;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a sliding window split into equal buckets. Each
+ * slot packs the bucket's epoch (upper 40 bits) and its count (lower 24 bits)
+ * into one long, so a stale slot is reset and incremented in a single CAS.
+ */
+public class SlidingWindowCounter {
+
+	private static final int COUNT_BITS = 24;
+	private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+	private final AtomicLongArray slots;
+	private final long bucketMillis;
+
+	public SlidingWindowCounter(int buckets, long bucketMillis) {
+		this.slots = new AtomicLongArray(buckets);
+		this.bucketMillis = bucketMillis;
+	}
+
+	public void increment(long nowMillis) {
+		long epoch = nowMillis / bucketMillis;
+		int index = (int) (epoch % slots.length());
+		while (true) {
+			long current = slots.get(index);
+			long next = epochOf(current) == epoch ? current + (countOf(current) < COUNT_MASK ? 1 : 0) : pack(epoch, 1);
+			if (slots.compareAndSet(index, current, next)) {
+				return;
+			}
+		}
+	}
+
+	public int sum(long nowMillis) {
+		long epoch = nowMillis / bucketMillis;
+		int total = 0;
+		for (int i = 0; i < slots.length(); i++) {
+			long slot = slots.get(i);
+			if (epoch - epochOf(slot) < slots.length()) {
+				total += (int) countOf(slot);
+			}
+		}
+		return total;
+	}
+
+	private static long pack(long epoch, long count) {
+		return (epoch << COUNT_BITS) | count;
+	}
+
+	private static long epochOf(long slot) {
+		return slot >>> COUNT_BITS;
+	}
+
+	private static long countOf(long slot) {
+		return slot & COUNT_MASK;
+	}
+}
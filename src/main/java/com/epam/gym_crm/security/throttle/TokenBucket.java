@@ -0,0 +1,44 @@
+package com.epam.gym_crm.security.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single timestamp (the GCRA form): the
+ * instant at which the bucket would be full again. Taking a token pushes that
+ * instant forward by one refill interval; a request is refused while it lies
+ * more than {@code capacity} intervals ahead of now.
+ */
+public class TokenBucket {
+
+	private final long refillIntervalNanos;
+	private final long burstNanos;
+	private final AtomicLong fullAt;
+
+	public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+		if (capacity <= 0 || refillPerSecond <= 0) {
+			throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+		}
+		this.refillIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+		this.burstNanos = refillIntervalNanos * capacity;
+		this.fullAt = new AtomicLong(nowNanos);
+	}
+
+	/**
+	 * @return 0 when a token was taken, otherwise how long to wait in nanos
+	 *         before one becomes available
+	 */
+	public long tryConsume(long nowNanos) {
+		while (true) {
+			long current = fullAt.get();
+			long base = current - nowNanos > 0 ? current : nowNanos;
+			long next = base + refillIntervalNanos;
+			long ahead = next - nowNanos;
+			if (ahead > burstNanos) {
+				return ahead - burstNanos;
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+}
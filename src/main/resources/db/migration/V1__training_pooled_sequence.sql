@@ -0,0 +1,15 @@
+-- Training ids move from the identity column to training_seq (pooled, 50 ids per nextval), so Hibernate can
+-- batch inserts and TrainingRepositoryImpl can reserve ids for JDBC batches. Hibernate creates the sequence on
+-- update; it is created here too in case it has not.
+CREATE SEQUENCE IF NOT EXISTS training_seq START WITH 1 INCREMENT BY 50;
+
+-- The identity is replaced by a training_seq default in this same migration, so no second id source remains.
+-- Rolling deploy: the first new instance applies this before it serves traffic. Older instances still insert
+-- without an id; they now get nextval('training_seq') as their id, which claims that whole block for one row,
+-- so their ids never fall into a block a new instance is using. The ALTER locks the table until commit, so
+-- no row is inserted between it and the setval below.
+ALTER TABLE training ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE training ALTER COLUMN id SET DEFAULT nextval('training_seq');
+
+-- The next nextval returns MAX(id) + 100, i.e. ids MAX(id) + 51 .. MAX(id) + 100; nothing overlaps existing rows.
+SELECT setval('training_seq', COALESCE((SELECT MAX(id) FROM training), 0) + 50);
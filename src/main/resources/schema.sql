@@ -1 +1,32 @@
 CREATE SCHEMA IF NOT EXISTS gym;
+
+
+-- Cross-instance security state (app.security.shared-state.backend=jdbc)
+CREATE TABLE IF NOT EXISTS gym.security_state_event (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    subject VARCHAR(128) NOT NULL,
+    event_value BIGINT NOT NULL,
+    origin_node VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_security_state_event_created_at ON gym.security_state_event (created_at);
+
+-- Per-user security version embedded in stateless tokens (SecurityVersionRegistry)
+CREATE TABLE IF NOT EXISTS gym.user_security_version (
+    username VARCHAR(255) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- Last suffix handed out per base username (UsernameAllocator)
+CREATE TABLE IF NOT EXISTS gym.username_sequence (
+    base_username VARCHAR(255) PRIMARY KEY,
+    last_suffix BIGINT NOT NULL
+);
+
+-- Versioned scripts applied by SchemaMigrator (db/migration/V*__*.sql)
+CREATE TABLE IF NOT EXISTS gym.schema_migration (
+    version INT PRIMARY KEY,
+    description VARCHAR(200) NOT NULL,
+    applied_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,159 @@
+package com.epam.gym_crm.api.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.epam.gym_crm.config.RequestLoggingConfig;
+import com.epam.gym_crm.monitoring.tracing.TraceIdGenerator;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+
+class RequestLoggingFilterTest {
+
+	private RequestLoggingConfig config;
+	private RequestLoggingFilter filter;
+	private Logger filterLogger;
+	private ListAppender<ILoggingEvent> appender;
+
+	@BeforeEach
+	void setUp() {
+		config = new RequestLoggingConfig();
+		config.setMaxBodyBytes(16);
+		filter = new RequestLoggingFilter(config, new TraceIdGenerator(1));
+
+		filterLogger = (Logger) LoggerFactory.getLogger(RequestLoggingFilter.class);
+		filterLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+		appender = new ListAppender<>();
+		appender.start();
+		filterLogger.addAppender(appender);
+	}
+
+	@AfterEach
+	void tearDown() {
+		filterLogger.detachAppender(appender);
+	}
+
+	@Test
+	void shouldStreamWholeResponseButLogOnlyCappedPrefix() throws Exception {
+		String body = "[" + "{\"trainingName\":\"Morning\\nRun\"},".repeat(200) + "]";
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> {
+			res.setContentType("application/json");
+			res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+		};
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/trainings"), response, chain);
+
+		assertEquals(body, response.getContentAsString(), "The client must receive the full body.");
+		String responseLog = formattedMessages().get(1);
+		assertTrue(responseLog.contains("[truncated, " + body.length() + " bytes]"));
+		assertFalse(responseLog.contains("Morning\nRun"));
+	}
+
+	@Test
+	void shouldLogRequestBodyAfterApplicationReadsIt() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+		request.setContentType("application/json");
+		request.setContent("{\"username\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+		FilterChain chain = (req, res) -> req.getInputStream().readAllBytes();
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertTrue(formattedMessages().get(0).endsWith("Body: {\"username\":\"a\"}"));
+	}
+
+	@Test
+	void shouldFlushWriterOutputAndCaptureIt() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> {
+			res.setContentType("text/plain");
+			res.getWriter().write("ok");
+		};
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/trainers"), response, chain);
+
+		assertEquals("ok", response.getContentAsString());
+		assertTrue(formattedMessages().get(1).endsWith("Body: ok"));
+	}
+
+	@Test
+	void shouldSkipBodiesForConfiguredPathsAndContentTypes() throws Exception {
+		MockHttpServletResponse imageResponse = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/files/1"), imageResponse, (req, res) -> {
+			res.setContentType("image/png");
+			res.getOutputStream().write(new byte[64]);
+		});
+		filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+				(req, res) -> res.getWriter().write("{\"status\":\"UP\"}"));
+
+		assertEquals(64, imageResponse.getContentAsByteArray().length);
+		List<String> messages = formattedMessages();
+		assertTrue(messages.get(1).endsWith("Body: [Skipped]"));
+		assertTrue(messages.get(2).contains("/actuator/health"));
+		assertTrue(messages.get(2).endsWith("Body: [Skipped]"));
+	}
+
+	@Test
+	void shouldKeepBufferingWholeBodiesInFullMode() throws Exception {
+		config.setMode(RequestLoggingConfig.Mode.FULL);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		String body = "x".repeat(100);
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/trainings"), response,
+				(req, res) -> res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(body, response.getContentAsString());
+		assertTrue(formattedMessages().get(1).endsWith("Body: " + body));
+	}
+
+	@Test
+	void shouldExposeGeneratedTransactionIdInMdcAndResponseHeader() throws Exception {
+		AtomicReference<String> seenInChain = new AtomicReference<>();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/trainings"), response,
+				(req, res) -> seenInChain.set(MDC.get(TraceIdGenerator.MDC_KEY)));
+
+		assertEquals(20, seenInChain.get().length());
+		assertEquals(seenInChain.get(), response.getHeader(TraceIdGenerator.HEADER_NAME));
+		assertNull(MDC.get(TraceIdGenerator.MDC_KEY));
+	}
+
+	@Test
+	void shouldContinueValidInboundTransactionIdAndReplaceInvalidOne() throws Exception {
+		AtomicReference<String> seenInChain = new AtomicReference<>();
+		FilterChain chain = (req, res) -> seenInChain.set(MDC.get(TraceIdGenerator.MDC_KEY));
+
+		MockHttpServletRequest traced = new MockHttpServletRequest("GET", "/api/trainings");
+		traced.addHeader(TraceIdGenerator.HEADER_NAME, "upstream-42");
+		filter.doFilter(traced, new MockHttpServletResponse(), chain);
+		assertEquals("upstream-42", seenInChain.get());
+
+		MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/trainings");
+		forged.addHeader(TraceIdGenerator.HEADER_NAME, "bad\nid");
+		filter.doFilter(forged, new MockHttpServletResponse(), chain);
+		assertNotEquals("bad\nid", seenInChain.get());
+	}
+
+	private List<String> formattedMessages() {
+		return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+	}
+}
@@ -0,0 +1,131 @@
+package com.epam.gym_crm.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.domain.service.impl.JwtTokenBlacklistService;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.VerifiedTokenCache;
+import com.epam.gym_crm.security.shared.LocalSecurityState;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Retained heap after a storm of 1M logouts: the old Cache<String, Boolean>
+ * keyed by the full JWT versus the digest map behind Bloom filters. The
+ * single-shot time is the cost of the storm itself; the footprint is printed
+ * after each iteration.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.gym_crm.benchmark.JwtTokenBlacklistFootprintBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JwtTokenBlacklistFootprintBenchmark {
+
+	private static final int LOGOUTS = 1_000_000;
+	private static final String JWT_HEADER = "eyJhbGciOiJIUzI1NiJ9.";
+
+	@Param({ "legacy", "digest" })
+	public String implementation;
+
+	private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+	private long baselineBytes;
+	private Object blacklist;
+
+	@Setup(Level.Trial)
+	public void silenceBlacklistLogging() {
+		((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(JwtTokenBlacklistService.class))
+				.setLevel(ch.qos.logback.classic.Level.WARN);
+	}
+
+	@Setup(Level.Iteration)
+	public void measureBaseline() {
+		blacklist = null;
+		baselineBytes = usedHeapAfterGc();
+	}
+
+	@Benchmark
+	public Object logoutStorm() {
+		if ("legacy".equals(implementation)) {
+			Cache<String, Boolean> legacy = CacheBuilder.newBuilder().expireAfterWrite(2, TimeUnit.HOURS).build();
+			for (int i = 0; i < LOGOUTS; i++) {
+				legacy.put(token(i), true);
+			}
+			blacklist = legacy;
+		} else {
+			JwtTokenBlacklistService service = newDigestBlacklist();
+			for (int i = 0; i < LOGOUTS; i++) {
+				service.blacklistToken(token(i));
+			}
+			blacklist = service;
+		}
+		return blacklist;
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportFootprint() {
+		long retainedBytes = usedHeapAfterGc() - baselineBytes;
+		System.out.printf("%n[%s] retained heap for %,d logouts: %,d KB (%d bytes/token)%n", implementation, LOGOUTS,
+				retainedBytes / 1024, retainedBytes / LOGOUTS);
+		blacklist = null;
+	}
+
+	private JwtTokenBlacklistService newDigestBlacklist() {
+		JwtConfig jwtConfig = new JwtConfig();
+		jwtConfig.setExpirationMs(7200000);
+		jwtConfig.setBlacklistRetentionHours(2);
+		jwtConfig.setBlacklistBloomExpectedInsertions(LOGOUTS);
+		return new JwtTokenBlacklistService(jwtConfig,
+				new VerifiedTokenCache(jwtConfig, new AppMetrics(new SimpleMeterRegistry())), new LocalSecurityState());
+	}
+
+	// A fresh String per logout, shaped like a real HS256 token (~170 chars).
+	private static String token(int i) {
+		byte[] signature = new byte[32];
+		ThreadLocalRandom.current().nextBytes(signature);
+		String payload = "{\"sub\":\"" + i + "\",\"username\":\"user." + i + "\",\"iat\":1700000000,\"exp\":1700007200}";
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		return JWT_HEADER + encoder.encodeToString(payload.getBytes()) + "." + encoder.encodeToString(signature);
+	}
+
+	private long usedHeapAfterGc() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memoryMXBean.getHeapMemoryUsage().getUsed();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JwtTokenBlacklistFootprintBenchmark.class.getSimpleName()).build())
+				.run();
+	}
+}
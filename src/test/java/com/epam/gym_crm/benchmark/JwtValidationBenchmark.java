@@ -0,0 +1,107 @@
+package com.epam.gym_crm.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.JwtSigningKeys;
+import com.epam.gym_crm.security.JwtTokenProvider;
+import com.epam.gym_crm.security.JwtUserDetails;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
+import com.epam.gym_crm.security.VerifiedTokenCache;
+import com.epam.gym_crm.security.shared.LocalSecurityState;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the per-request cost of the old filter path (two parses, each with a
+ * fresh key and parser) against the single-parse path and a verified-cache hit.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.gym_crm.benchmark.JwtValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+	private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+
+	private JwtTokenProvider jwtTokenProvider;
+	private JwtTokenProvider cachingTokenProvider;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		JwtConfig jwtConfig = new JwtConfig();
+		jwtConfig.setSecret(SECRET);
+		jwtConfig.setExpirationMs(7200000);
+		AppMetrics appMetrics = new AppMetrics(new SimpleMeterRegistry());
+		// Stateless authorization is off, so the registry never reaches its (unconfigured) JdbcTemplate.
+		SecurityVersionRegistry securityVersionRegistry = new SecurityVersionRegistry(new JdbcTemplate(), jwtConfig,
+				new LocalSecurityState());
+		jwtTokenProvider = new JwtTokenProvider(jwtConfig, new VerifiedTokenCache(jwtConfig, appMetrics),
+				securityVersionRegistry, new JwtSigningKeys(jwtConfig));
+
+		JwtConfig cachedConfig = new JwtConfig();
+		cachedConfig.setSecret(SECRET);
+		cachedConfig.setExpirationMs(7200000);
+		cachedConfig.setVerifiedCacheEnabled(true);
+		cachingTokenProvider = new JwtTokenProvider(cachedConfig, new VerifiedTokenCache(cachedConfig, appMetrics),
+				securityVersionRegistry, new JwtSigningKeys(cachedConfig));
+
+		token = jwtTokenProvider.generateJwtToken(
+				new JwtUserDetails(1L, "benchmark.user", "password", true, true, Collections.emptyList()));
+	}
+
+	@Benchmark
+	public boolean legacyDoubleParse() {
+		// Mirrors the old filter: getUsernameFromToken() followed by validateToken().
+		String username = legacyClaims(token).get("username", String.class);
+		Claims claims = legacyClaims(token);
+		return username != null && !claims.getExpiration().before(new Date());
+	}
+
+	@Benchmark
+	public boolean singleParse() {
+		return jwtTokenProvider.parseAndValidate(token).isPresent();
+	}
+
+	@Benchmark
+	public boolean verifiedCacheHit() {
+		return cachingTokenProvider.parseAndValidate(token).isPresent();
+	}
+
+	private Claims legacyClaims(String jwt) {
+		return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build().parseClaimsJws(jwt).getBody();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JwtValidationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,127 @@
+package com.epam.gym_crm.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.gym_crm.api.dto.response.TrainerProfileResponse;
+import com.epam.gym_crm.db.repository.TrainerRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * GET /api/trainers/{username} as TrainerServiceImpl serves it, at 10 to 10k
+ * trainees: the previous findByUserUsername followed by lazy loading in
+ * TrainerProfileResponse (1 + 2N statements) against the entity-graph read
+ * path (one statement). Hibernate and the repository are bootstrapped
+ * without the rest of the application.
+ *
+ * Needs a PostgreSQL database; the tables are created in the
+ * gym_bench_profile schema.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.gym_crm.benchmark.ProfileReadBenchmark
+ * -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_profile
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProfileReadBenchmark {
+
+	private static final String TRAINER_USERNAME = "Busy.Trainer";
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int traineeCount;
+
+	@Param({ "lazy", "entity-graph" })
+	public String readPath;
+
+	private EntityManagerFactory entityManagerFactory;
+	private TrainerRepository trainerRepository;
+	private TransactionTemplate readOnlyTransaction;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("bench.jdbc.url",
+						"jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_profile"),
+				System.getProperty("bench.jdbc.user", "postgres"), System.getProperty("bench.jdbc.password", "1"));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS gym_bench_profile");
+
+		Properties jpaProperties = new Properties();
+		jpaProperties.put("hibernate.hbm2ddl.auto", "create");
+		jpaProperties.put("hibernate.default_schema", "gym_bench_profile");
+		LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+		factoryBean.setDataSource(dataSource);
+		factoryBean.setPackagesToScan("com.epam.gym_crm.db.entity");
+		factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factoryBean.setJpaProperties(jpaProperties);
+		factoryBean.afterPropertiesSet();
+		entityManagerFactory = factoryBean.getObject();
+
+		trainerRepository = new JpaRepositoryFactory(
+				SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+				.getRepository(TrainerRepository.class);
+		readOnlyTransaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+		readOnlyTransaction.setReadOnly(true);
+
+		fillTables(jdbcTemplate);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		entityManagerFactory.close();
+	}
+
+	@Benchmark
+	public TrainerProfileResponse trainerProfile() {
+		return readOnlyTransaction.execute(status -> new TrainerProfileResponse("lazy".equals(readPath)
+				? trainerRepository.findByUserUsername(TRAINER_USERNAME).orElseThrow()
+				: trainerRepository.findProfileByUserUsername(TRAINER_USERNAME).orElseThrow()));
+	}
+
+	private void fillTables(JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.execute("INSERT INTO training_type (id, training_type_name) VALUES (1, 'FITNESS')");
+		jdbcTemplate.update("INSERT INTO \"user\" (first_name, last_name, username, password, is_active) "
+				+ "VALUES ('Busy', 'Trainer', ?, 'x', true)", TRAINER_USERNAME);
+		jdbcTemplate.execute("INSERT INTO trainer (training_type_id, user_id) SELECT 1, id FROM \"user\"");
+		jdbcTemplate.update("INSERT INTO \"user\" (first_name, last_name, username, password, is_active) "
+				+ "SELECT 'Trainee', 'No' || g, 'Trainee.No' || g, 'x', true FROM generate_series(1, ?) AS g",
+				traineeCount);
+		jdbcTemplate.execute("INSERT INTO trainee (user_id) SELECT id FROM \"user\" WHERE username LIKE 'Trainee.No%'");
+		jdbcTemplate.execute("INSERT INTO trainee_trainer (trainee_id, trainer_id) SELECT t.id, tr.id FROM trainee t "
+				+ "CROSS JOIN trainer tr");
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ProfileReadBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,200 @@
+package com.epam.gym_crm.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creating 10k trainings: one transaction per item with its own trainer,
+ * trainee and type lookups and an identity INSERT (what a client looping over
+ * POST /api/trainings costs the database) against the batch path of
+ * TrainingServiceImpl.createTrainings: one IN query per entity kind, ids
+ * reserved from the pooled sequence and JDBC batches of 500. Each measurement
+ * is one full run of 10k items, so throughput is 10000 / score items per ms.
+ *
+ * Needs a PostgreSQL database; the tables are created in the
+ * gym_bench_batch schema and the training table is emptied before every run.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.gym_crm.benchmark.TrainingBatchInsertBenchmark
+ * -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_batch&reWriteBatchedInserts=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TrainingBatchInsertBenchmark {
+
+	private static final int ITEMS = 10_000;
+	private static final int TRAINERS = 100;
+	private static final int TRAINEES = 1_000;
+	private static final int ID_BLOCK = 50;
+	private static final int JDBC_BATCH_SIZE = 500;
+
+	private static final String INSERT_TRAINING = "INSERT INTO training (id, training_name, training_date, "
+			+ "training_duration, trainee_id, trainer_id, training_type_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private record Item(String traineeUsername, String trainerUsername, String trainingName, LocalDate date,
+			int duration) {
+	}
+
+	private record Row(long id, long traineeId, long trainerId, long typeId, Item item) {
+	}
+
+	private JdbcTemplate jdbcTemplate;
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private List<Item> items;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("bench.jdbc.url",
+						"jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_batch&reWriteBatchedInserts=true"),
+				System.getProperty("bench.jdbc.user", "postgres"), System.getProperty("bench.jdbc.password", "1"));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		createTables();
+
+		items = new ArrayList<>(ITEMS);
+		LocalDate start = LocalDate.of(2024, 1, 1);
+		for (int i = 0; i < ITEMS; i++) {
+			items.add(new Item("Trainee.No" + (i % TRAINEES + 1), "Trainer.No" + (i % TRAINERS + 1), "Yoga",
+					start.plusDays(i % 365), 60));
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void emptyTrainings() {
+		jdbcTemplate.execute("TRUNCATE training");
+	}
+
+	@Benchmark
+	public int perItemTransactions() {
+		int created = 0;
+		for (Item item : items) {
+			created += transactionTemplate.execute(status -> {
+				Long trainerId = jdbcTemplate.queryForObject("SELECT tr.id FROM trainer tr JOIN \"user\" u "
+						+ "ON u.id = tr.user_id WHERE u.username = ? AND u.is_active", Long.class, item.trainerUsername());
+				Long traineeId = jdbcTemplate.queryForObject("SELECT ts.id FROM trainee ts JOIN \"user\" u "
+						+ "ON u.id = ts.user_id WHERE u.username = ? AND u.is_active", Long.class, item.traineeUsername());
+				Long typeId = jdbcTemplate.queryForObject(
+						"SELECT id FROM training_type WHERE lower(training_type_name) = lower(?)", Long.class,
+						item.trainingName());
+				return jdbcTemplate.update("INSERT INTO training (training_name, training_date, training_duration, "
+						+ "trainee_id, trainer_id, training_type_id) VALUES (?, ?, ?, ?, ?, ?)", item.trainingName(),
+						item.date(), item.duration(), traineeId, trainerId, typeId);
+			});
+		}
+		return created;
+	}
+
+	@Benchmark
+	public int jdbcBatch() {
+		return transactionTemplate.execute(status -> {
+			Set<String> trainerUsernames = new HashSet<>();
+			Set<String> traineeUsernames = new HashSet<>();
+			for (Item item : items) {
+				trainerUsernames.add(item.trainerUsername());
+				traineeUsernames.add(item.traineeUsername());
+			}
+			Map<String, Long> trainers = idsByUsername("trainer", trainerUsernames);
+			Map<String, Long> trainees = idsByUsername("trainee", traineeUsernames);
+			// Tür kaydı uygulamada bellekte tutulur; burada da tek sefer okunur.
+			Long typeId = jdbcTemplate.queryForObject("SELECT id FROM training_type WHERE training_type_name = 'Yoga'",
+					Long.class);
+
+			List<Long> highValues = jdbcTemplate.queryForList(
+					"SELECT nextval('training_seq') FROM generate_series(1, ?)", Long.class,
+					(items.size() + ID_BLOCK - 1) / ID_BLOCK);
+			List<Row> rows = new ArrayList<>(items.size());
+			for (Long high : highValues) {
+				for (long id = high - ID_BLOCK + 1; id <= high && rows.size() < items.size(); id++) {
+					Item item = items.get(rows.size());
+					rows.add(new Row(id, trainees.get(item.traineeUsername()), trainers.get(item.trainerUsername()),
+							typeId, item));
+				}
+			}
+			jdbcTemplate.batchUpdate(INSERT_TRAINING, rows, JDBC_BATCH_SIZE, (ps, row) -> {
+				ps.setLong(1, row.id());
+				ps.setString(2, row.item().trainingName());
+				ps.setObject(3, row.item().date());
+				ps.setInt(4, row.item().duration());
+				ps.setLong(5, row.traineeId());
+				ps.setLong(6, row.trainerId());
+				ps.setLong(7, row.typeId());
+			});
+			return rows.size();
+		});
+	}
+
+	private Map<String, Long> idsByUsername(String table, Set<String> usernames) {
+		Map<String, Long> ids = new HashMap<>();
+		namedJdbcTemplate.query("SELECT x.id, u.username FROM " + table + " x JOIN \"user\" u ON u.id = x.user_id "
+				+ "WHERE u.is_active AND u.username IN (:usernames)", new MapSqlParameterSource("usernames", usernames),
+				rs -> {
+					ids.put(rs.getString("username"), rs.getLong("id"));
+				});
+		return ids;
+	}
+
+	private void createTables() {
+		jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS gym_bench_batch");
+		jdbcTemplate.execute("DROP TABLE IF EXISTS training, trainee, trainer, training_type, \"user\"");
+		jdbcTemplate.execute("DROP SEQUENCE IF EXISTS training_seq");
+		jdbcTemplate.execute("CREATE TABLE \"user\" (id BIGSERIAL PRIMARY KEY, username VARCHAR(255) UNIQUE, "
+				+ "first_name VARCHAR(255), last_name VARCHAR(255), is_active BOOLEAN NOT NULL)");
+		jdbcTemplate.execute("CREATE TABLE training_type (id BIGSERIAL PRIMARY KEY, training_type_name VARCHAR(255))");
+		jdbcTemplate.execute("CREATE TABLE trainer (id BIGSERIAL PRIMARY KEY, training_type_id BIGINT NOT NULL, "
+				+ "user_id BIGINT NOT NULL)");
+		jdbcTemplate.execute("CREATE TABLE trainee (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL)");
+		// Tabloda hem identity varsayılanı hem de havuzlu sekans kullanılır; iki yol aynı şemayla ölçülür.
+		jdbcTemplate.execute("CREATE TABLE training (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+				+ "training_name VARCHAR(255) NOT NULL, training_date DATE NOT NULL, training_duration INT NOT NULL, "
+				+ "trainee_id BIGINT NOT NULL, trainer_id BIGINT, training_type_id BIGINT NOT NULL)");
+		jdbcTemplate.execute("CREATE INDEX ON training (trainee_id, training_date DESC, id DESC)");
+		jdbcTemplate.execute("CREATE INDEX ON training (trainer_id, training_date DESC, id DESC)");
+		jdbcTemplate.execute("CREATE SEQUENCE training_seq START WITH 1000000000 INCREMENT BY " + ID_BLOCK);
+
+		jdbcTemplate.execute("INSERT INTO training_type (training_type_name) VALUES ('Yoga')");
+		jdbcTemplate.update("INSERT INTO \"user\" (username, first_name, last_name, is_active) "
+				+ "SELECT 'Trainer.No' || g, 'Trainer', 'No' || g, true FROM generate_series(1, ?) AS g", TRAINERS);
+		jdbcTemplate.execute("INSERT INTO trainer (training_type_id, user_id) SELECT 1, id FROM \"user\"");
+		jdbcTemplate.update("INSERT INTO \"user\" (username, first_name, last_name, is_active) "
+				+ "SELECT 'Trainee.No' || g, 'Trainee', 'No' || g, true FROM generate_series(1, ?) AS g", TRAINEES);
+		jdbcTemplate.execute("INSERT INTO trainee (user_id) SELECT id FROM \"user\" WHERE username LIKE 'Trainee.%'");
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TrainingBatchInsertBenchmark.class.getSimpleName()).build()).run();
+	}
+}
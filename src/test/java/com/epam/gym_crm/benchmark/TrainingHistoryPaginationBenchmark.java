@@ -0,0 +1,133 @@
+package com.epam.gym_crm.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * One trainer with 1M trainings: fetching a page of 50 at increasing depths
+ * with LIMIT/OFFSET (scans and discards every skipped row) against the
+ * (training_date, id) seek used by TrainingRepository.
+ *
+ * Needs a PostgreSQL database; the tables are created and filled once in the
+ * gym_bench_paging schema.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.gym_crm.benchmark.TrainingHistoryPaginationBenchmark
+ * -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_paging
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrainingHistoryPaginationBenchmark {
+
+	private static final int TRAININGS = 1_000_000;
+	private static final int PAGE_SIZE = 50;
+	private static final String TRAINER_USERNAME = "Busy.Trainer";
+
+	private static final String SELECT = """
+			SELECT t.id AS training_id, t.training_name, t.training_date, tt.training_type_name, t.training_duration,
+			       (u_trainee.first_name || ' ' || u_trainee.last_name) AS trainee_name
+			FROM training t
+			JOIN trainer tr ON tr.id = t.trainer_id
+			JOIN "user" u_trainer ON u_trainer.id = tr.user_id
+			JOIN trainee ts ON ts.id = t.trainee_id
+			JOIN "user" u_trainee ON u_trainee.id = ts.user_id
+			JOIN training_type tt ON tt.id = t.training_type_id
+			WHERE u_trainer.username = ?
+			""";
+	private static final String OFFSET_QUERY = SELECT + " ORDER BY t.training_date DESC, t.id DESC LIMIT ? OFFSET ?";
+	private static final String KEYSET_QUERY = SELECT
+			+ " AND (t.training_date, t.id) < (?, ?) ORDER BY t.training_date DESC, t.id DESC LIMIT ?";
+
+	@Param({ "1000", "100000", "990000" })
+	public int depth;
+
+	private JdbcTemplate jdbcTemplate;
+	private LocalDate cursorDate;
+	private long cursorId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("bench.jdbc.url",
+						"jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_paging"),
+				System.getProperty("bench.jdbc.user", "postgres"), System.getProperty("bench.jdbc.password", "1"));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		createAndFillTables();
+
+		// The cursor a client would hold after paging down to this depth.
+		Map<String, Object> lastSeen = jdbcTemplate.queryForMap(
+				"SELECT training_date, id FROM training ORDER BY training_date DESC, id DESC LIMIT 1 OFFSET ?",
+				depth - 1);
+		cursorDate = ((Date) lastSeen.get("training_date")).toLocalDate();
+		cursorId = ((Number) lastSeen.get("id")).longValue();
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> offsetPage() {
+		return jdbcTemplate.queryForList(OFFSET_QUERY, TRAINER_USERNAME, PAGE_SIZE, depth);
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> keysetPage() {
+		return jdbcTemplate.queryForList(KEYSET_QUERY, TRAINER_USERNAME, cursorDate, cursorId, PAGE_SIZE);
+	}
+
+	private void createAndFillTables() {
+		jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS gym_bench_paging");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS \"user\" (id BIGSERIAL PRIMARY KEY, username VARCHAR(255) UNIQUE, "
+				+ "first_name VARCHAR(255), last_name VARCHAR(255))");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS trainer (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL)");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS trainee (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL)");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS training_type (id BIGSERIAL PRIMARY KEY, training_type_name VARCHAR(255))");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS training (id BIGSERIAL PRIMARY KEY, training_name VARCHAR(100), "
+				+ "training_date DATE NOT NULL, training_duration INT, trainee_id BIGINT NOT NULL, trainer_id BIGINT, "
+				+ "training_type_id BIGINT NOT NULL)");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_training_trainer_date_id "
+				+ "ON training (trainer_id, training_date DESC, id DESC)");
+
+		Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM training", Integer.class);
+		if (existing != null && existing >= TRAININGS) {
+			return;
+		}
+		jdbcTemplate.execute("TRUNCATE TABLE training, trainer, trainee, training_type, \"user\" RESTART IDENTITY");
+		jdbcTemplate.update("INSERT INTO \"user\" (username, first_name, last_name) VALUES (?, 'Busy', 'Trainer'), "
+				+ "('Some.Trainee', 'Some', 'Trainee')", TRAINER_USERNAME);
+		jdbcTemplate.execute("INSERT INTO trainer (user_id) VALUES (1)");
+		jdbcTemplate.execute("INSERT INTO trainee (user_id) VALUES (2)");
+		jdbcTemplate.execute("INSERT INTO training_type (training_type_name) VALUES ('Yoga')");
+		// ~30 years of history, many trainings per day so (training_date, id) ties are exercised.
+		jdbcTemplate.update("INSERT INTO training (training_name, training_date, training_duration, trainee_id, "
+				+ "trainer_id, training_type_id) SELECT 'Session ' || g, DATE '2024-01-01' - (g / 90), 60, 1, 1, 1 "
+				+ "FROM generate_series(1, ?) AS g", TRAININGS);
+		jdbcTemplate.execute("ANALYZE training");
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TrainingHistoryPaginationBenchmark.class.getSimpleName()).build())
+				.run();
+	}
+}
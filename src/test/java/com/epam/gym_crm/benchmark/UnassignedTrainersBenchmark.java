@@ -0,0 +1,124 @@
+package com.epam.gym_crm.benchmark;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Unassigned trainers for one trainee as the roster grows: every active
+ * trainer read and filtered against the trainee's set in Java (the previous
+ * service code) against the NOT EXISTS anti-join with a 50-row page used by
+ * TrainerRepository.findUnassignedActiveTrainers.
+ *
+ * Needs a PostgreSQL database; the tables are created in the
+ * gym_bench_unassigned schema.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.gym_crm.benchmark.UnassignedTrainersBenchmark
+ * -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_unassigned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnassignedTrainersBenchmark {
+
+	private static final long TRAINEE_ID = 1L;
+	private static final int PAGE_SIZE = 50;
+
+	private static final String ALL_ACTIVE = """
+			SELECT tr.id, u.username, u.first_name, u.last_name, tt.training_type_name
+			FROM trainer tr
+			JOIN "user" u ON u.id = tr.user_id
+			JOIN training_type tt ON tt.id = tr.training_type_id
+			WHERE u.is_active = true
+			""";
+	private static final String ANTI_JOIN = """
+			SELECT u.username, u.first_name, u.last_name, tt.training_type_name
+			FROM trainer tr
+			JOIN "user" u ON u.id = tr.user_id
+			JOIN training_type tt ON tt.id = tr.training_type_id
+			WHERE u.is_active = true
+			  AND u.username > ?
+			  AND NOT EXISTS (SELECT 1 FROM trainee_trainer tt2 WHERE tt2.trainer_id = tr.id AND tt2.trainee_id = ?)
+			ORDER BY u.username
+			LIMIT ?
+			""";
+
+	@Param({ "100", "10000", "100000" })
+	public int trainerCount;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("bench.jdbc.url",
+						"jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench_unassigned"),
+				System.getProperty("bench.jdbc.user", "postgres"), System.getProperty("bench.jdbc.password", "1"));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		createAndFillTables();
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> filterInJava() {
+		Set<Long> assigned = new HashSet<>(jdbcTemplate.queryForList(
+				"SELECT trainer_id FROM trainee_trainer WHERE trainee_id = ?", Long.class, TRAINEE_ID));
+		return jdbcTemplate.queryForList(ALL_ACTIVE).stream()
+				.filter(row -> !assigned.contains(((Number) row.get("id")).longValue()))
+				.collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> antiJoinPage() {
+		return jdbcTemplate.queryForList(ANTI_JOIN, "", TRAINEE_ID, PAGE_SIZE + 1);
+	}
+
+	private void createAndFillTables() {
+		jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS gym_bench_unassigned");
+		jdbcTemplate.execute("DROP TABLE IF EXISTS trainee_trainer, trainer, training_type, \"user\"");
+		jdbcTemplate.execute("CREATE TABLE \"user\" (id BIGSERIAL PRIMARY KEY, username VARCHAR(255) UNIQUE, "
+				+ "first_name VARCHAR(255), last_name VARCHAR(255), is_active BOOLEAN NOT NULL)");
+		jdbcTemplate.execute("CREATE TABLE training_type (id BIGSERIAL PRIMARY KEY, training_type_name VARCHAR(255))");
+		jdbcTemplate.execute("CREATE TABLE trainer (id BIGSERIAL PRIMARY KEY, training_type_id BIGINT NOT NULL, "
+				+ "user_id BIGINT NOT NULL)");
+		jdbcTemplate.execute("CREATE TABLE trainee_trainer (trainee_id BIGINT NOT NULL, trainer_id BIGINT NOT NULL, "
+				+ "PRIMARY KEY (trainee_id, trainer_id))");
+
+		jdbcTemplate.execute("INSERT INTO training_type (training_type_name) VALUES ('Yoga')");
+		jdbcTemplate.update("INSERT INTO \"user\" (username, first_name, last_name, is_active) "
+				+ "SELECT 'Trainer.No' || lpad(g::text, 6, '0'), 'Trainer', 'No' || g, true "
+				+ "FROM generate_series(1, ?) AS g", trainerCount);
+		jdbcTemplate.execute("INSERT INTO trainer (training_type_id, user_id) SELECT 1, id FROM \"user\"");
+		// Trainee already works with every tenth trainer.
+		jdbcTemplate.update("INSERT INTO trainee_trainer (trainee_id, trainer_id) SELECT ?, id FROM trainer "
+				+ "WHERE id % 10 = 0", TRAINEE_ID);
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(UnassignedTrainersBenchmark.class.getSimpleName()).build()).run();
+	}
+}
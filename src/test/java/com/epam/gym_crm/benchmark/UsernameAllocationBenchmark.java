@@ -0,0 +1,94 @@
+package com.epam.gym_crm.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.epam.gym_crm.domain.service.impl.UsernameAllocator;
+
+/**
+ * Registers 10k users all named "John.Smith": the old probe loop (one SELECT
+ * per taken candidate, so O(n^2) queries in total) against the counter-table
+ * allocator (one counter UPDATE and SELECT per user).
+ *
+ * Needs a PostgreSQL database; the tables are created in the gym_bench schema.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.epam.gym_crm.benchmark.UsernameAllocationBenchmark
+ * -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UsernameAllocationBenchmark {
+
+	private static final int REGISTRATIONS = 10_000;
+	private static final String BASE_USERNAME = "John.Smith";
+
+	@Param({ "probe-loop", "counter-table" })
+	public String implementation;
+
+	private JdbcTemplate jdbcTemplate;
+	private UsernameAllocator usernameAllocator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_bench"),
+				System.getProperty("bench.jdbc.user", "postgres"), System.getProperty("bench.jdbc.password", "1"));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS gym_bench");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS \"user\" (id BIGSERIAL PRIMARY KEY, username VARCHAR(255) NOT NULL UNIQUE)");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS username_sequence (base_username VARCHAR(255) PRIMARY KEY, last_suffix BIGINT NOT NULL)");
+		usernameAllocator = new UsernameAllocator(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+	}
+
+	@Setup(Level.Iteration)
+	public void clearTables() {
+		jdbcTemplate.execute("TRUNCATE TABLE \"user\", username_sequence");
+	}
+
+	@Benchmark
+	public int registerIdenticalNames() {
+		for (int i = 0; i < REGISTRATIONS; i++) {
+			String username = "probe-loop".equals(implementation) ? probeLoop() : usernameAllocator.allocate(BASE_USERNAME);
+			jdbcTemplate.update("INSERT INTO \"user\" (username) VALUES (?)", username);
+		}
+		return REGISTRATIONS;
+	}
+
+	// The previous AuthenticationServiceImpl.generateUniqueUsername.
+	private String probeLoop() {
+		String username = BASE_USERNAME;
+		int counter = 1;
+		while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"user\" WHERE username = ?", Integer.class,
+				username) > 0) {
+			username = BASE_USERNAME + counter;
+			counter++;
+		}
+		return username;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(UsernameAllocationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,120 @@
+package com.epam.gym_crm.config;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import com.epam.gym_crm.domain.service.impl.JwtTokenBlacklistService;
+import com.epam.gym_crm.domain.service.impl.RevocationWatermarkService;
+import com.epam.gym_crm.domain.service.impl.UserDetailsServiceImpl;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.BCryptCostCalibrator;
+import com.epam.gym_crm.security.JwtAuthenticationEntryPoint;
+import com.epam.gym_crm.security.JwtAuthenticationFilter;
+import com.epam.gym_crm.security.JwtTokenExtractor;
+import com.epam.gym_crm.security.JwtTokenProvider;
+import com.epam.gym_crm.security.RateLimitFilter;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringJUnitWebConfig(SecurityConfigTest.TestConfig.class)
+class SecurityConfigTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+	}
+
+	@Test
+	void shouldRejectAnonymousLoginHotspotsRequest() throws Exception {
+		mockMvc.perform(get("/actuator/loginhotspots")).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	@WithMockUser
+	void shouldServeLoginHotspotsToAuthenticatedCaller() throws Exception {
+		mockMvc.perform(get("/actuator/loginhotspots")).andExpect(status().isOk());
+	}
+
+	@Test
+	void shouldKeepOtherActuatorEndpointsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Configuration
+	@EnableWebMvc
+	@Import({ SecurityConfig.class, StubActuatorController.class })
+	static class TestConfig {
+
+		@Bean
+		JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint() {
+			return new JwtAuthenticationEntryPoint();
+		}
+
+		// No token is sent, so the filter only passes requests on.
+		@Bean
+		JwtAuthenticationFilter jwtAuthenticationFilter() {
+			return new JwtAuthenticationFilter(mock(JwtTokenProvider.class), mock(UserDetailsServiceImpl.class),
+					mock(JwtTokenBlacklistService.class), mock(JwtTokenExtractor.class),
+					mock(SecurityVersionRegistry.class), mock(RevocationWatermarkService.class));
+		}
+
+		@Bean
+		UserDetailsServiceImpl userDetailsService() {
+			return mock(UserDetailsServiceImpl.class);
+		}
+
+		@Bean
+		PasswordHashingConfig passwordHashingConfig() {
+			return new PasswordHashingConfig();
+		}
+
+		@Bean
+		AppMetrics appMetrics() {
+			return new AppMetrics(new SimpleMeterRegistry());
+		}
+
+		@Bean
+		BCryptCostCalibrator bCryptCostCalibrator(PasswordHashingConfig passwordHashingConfig) {
+			return new BCryptCostCalibrator(passwordHashingConfig);
+		}
+
+		@Bean
+		RateLimitFilter rateLimitFilter(AppMetrics appMetrics) {
+			RateLimitConfig rateLimitConfig = new RateLimitConfig();
+			rateLimitConfig.setEnabled(false);
+			return new RateLimitFilter(rateLimitConfig, appMetrics);
+		}
+	}
+
+	@RestController
+	static class StubActuatorController {
+
+		@GetMapping({ "/actuator/loginhotspots", "/actuator/health" })
+		String ok() {
+			return "ok";
+		}
+	}
+}
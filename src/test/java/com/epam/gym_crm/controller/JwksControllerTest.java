@@ -0,0 +1,43 @@
+package com.epam.gym_crm.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.epam.gym_crm.api.controller.JwksController;
+import com.epam.gym_crm.security.JwtSigningKeys;
+
+@ExtendWith(MockitoExtension.class)
+class JwksControllerTest {
+
+	@Mock
+	private JwtSigningKeys jwtSigningKeys;
+
+	@InjectMocks
+	private JwksController jwksController;
+
+	@Test
+	void testGetJwks_ReturnsCacheableKeySet() {
+		Map<String, Object> jwks = Map.of("keys", List.of(Map.of("kid", "k1")));
+		when(jwtSigningKeys.toJwks()).thenReturn(jwks);
+
+		ResponseEntity<Map<String, Object>> response = jwksController.getJwks();
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(jwks, response.getBody());
+		assertNotNull(response.getHeaders().getCacheControl());
+		assertTrue(response.getHeaders().getCacheControl().contains("max-age=300"));
+	}
+}
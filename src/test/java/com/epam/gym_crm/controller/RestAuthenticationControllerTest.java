@@ -124,4 +124,13 @@ class RestAuthenticationControllerTest {
         assertEquals("Logout successful", response.getBody());
         verify(authenticationService, times(1)).logout(eq(mockToken));
     }
+
+    @Test
+    void testLogoutAllDevices_Success() {
+        ResponseEntity<String> response = authController.logoutAllDevices();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Logout from all devices successful", response.getBody());
+        verify(authenticationService, times(1)).logoutAllDevices();
+    }
 }
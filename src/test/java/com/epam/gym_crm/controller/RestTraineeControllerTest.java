@@ -25,6 +25,7 @@ import com.epam.gym_crm.api.controller.RestTraineeController;
 import com.epam.gym_crm.api.dto.request.trainee.TraineeCreateRequest;
 import com.epam.gym_crm.api.dto.request.trainee.TraineeUpdateRequest;
 import com.epam.gym_crm.api.dto.request.trainee.TraineeUpdateTrainersRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TraineeProfileResponse;
 import com.epam.gym_crm.api.dto.response.TrainerInfoResponse;
 import com.epam.gym_crm.api.dto.response.UserRegistrationResponse;
@@ -151,15 +152,17 @@ class RestTraineeControllerTest {
 		
 		String username = "John.Doe";
 		List<TrainerInfoResponse> trainerList = Collections.singletonList(new TrainerInfoResponse());
-		when(trainerService.getUnassignedTrainersForTrainee(username)).thenReturn(trainerList);
+		when(trainerService.getUnassignedTrainersForTrainee(username, null, null))
+				.thenReturn(new CursorPage<>(trainerList, "bmV4dA"));
 
 		ResponseEntity<List<TrainerInfoResponse>> response = traineeController
-				.getUnassignedTrainersForTrainee(username);
+				.getUnassignedTrainersForTrainee(username, null, null);
 
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		
 		assertEquals(trainerList, response.getBody());
-		verify(trainerService, times(1)).getUnassignedTrainersForTrainee(username);
+		assertEquals("bmV4dA", response.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+		verify(trainerService, times(1)).getUnassignedTrainersForTrainee(username, null, null);
 	}
 
 	@Test
@@ -27,6 +27,7 @@ import com.epam.gym_crm.api.dto.request.trainer.TrainerCreateRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerTrainingListRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerUpdateRequest;
 import com.epam.gym_crm.api.dto.response.TrainerProfileResponse;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoResponse;
 import com.epam.gym_crm.api.dto.response.UserRegistrationResponse;
 import com.epam.gym_crm.domain.exception.BaseException;
@@ -171,7 +172,7 @@ class RestTrainerControllerTest {
         TrainerTrainingListRequest request = new TrainerTrainingListRequest(); 
         List<TrainerTrainingInfoResponse> trainingList = Collections.singletonList(new TrainerTrainingInfoResponse());
         
-        when(trainingService.getTrainerTrainingsList(username, request)).thenReturn(trainingList);
+        when(trainingService.getTrainerTrainingsList(username, request)).thenReturn(new CursorPage<>(trainingList, "next-page"));
 
         
         ResponseEntity<List<TrainerTrainingInfoResponse>> response = trainerController.getTrainerTrainingsList(username, request);
@@ -179,6 +180,7 @@ class RestTrainerControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         
         assertEquals(trainingList, response.getBody());
+        assertEquals("next-page", response.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
         verify(trainingService, times(1)).getTrainerTrainingsList(username, request);
     }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,8 +25,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.epam.gym_crm.api.controller.RestTrainingController;
+import com.epam.gym_crm.api.dto.request.training.TrainingBatchCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingUpdateRequest;
+import com.epam.gym_crm.api.dto.response.TrainingBatchItemResult;
+import com.epam.gym_crm.api.dto.response.TrainingBatchResponse;
 import com.epam.gym_crm.api.dto.response.TrainingResponse;
 import com.epam.gym_crm.db.entity.Training;
 import com.epam.gym_crm.domain.exception.BaseException;
@@ -67,6 +71,23 @@ class RestTrainingControllerTest {
 	    verify(trainingService, times(1)).createTraining(request, MOCK_TOKEN);
 	}
 
+	@Test
+	void testCreateTrainings_ReturnsPerItemResults() {
+		TrainingBatchCreateRequest request = new TrainingBatchCreateRequest(
+				List.of(new TrainingCreateRequest("Trainee.User", "Trainer.User", "Cardio", LocalDate.now(), 60),
+						new TrainingCreateRequest("Trainee.User", "Missing.Trainer", "Cardio", LocalDate.now(), 60)));
+		TrainingBatchResponse batchResponse = new TrainingBatchResponse(1, 1,
+				List.of(TrainingBatchItemResult.created(0, 101L),
+						TrainingBatchItemResult.rejected(1, "Trainer with username Missing.Trainer not found.")));
+		when(trainingService.createTrainings(request, MOCK_TOKEN)).thenReturn(batchResponse);
+
+		ResponseEntity<TrainingBatchResponse> response = trainingController.createTrainings(request, MOCK_TOKEN);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(batchResponse, response.getBody());
+		verify(trainingService, times(1)).createTrainings(request, MOCK_TOKEN);
+	}
+
 	// --- getTrainingById Tests ---
 	// Bu metodda token parametresi olmadığı için aynen kalabilir, sadece eksik olduğu için buraya taşıdım
 	@Test
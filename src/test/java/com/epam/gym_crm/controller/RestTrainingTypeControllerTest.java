@@ -1,13 +1,14 @@
 package com.epam.gym_crm.controller;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 
@@ -17,15 +18,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import com.epam.gym_crm.api.controller.RestTrainingTypeController;
-import com.epam.gym_crm.db.entity.TrainingType;
 import com.epam.gym_crm.domain.service.ITrainingTypeService;
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class RestTrainingTypeControllerTest {
 
+	private static final String ETAG = "\"0123456789abcdef0123456789abcdef\"";
+
 	@Mock
 	private ITrainingTypeService trainingTypeService;
 
@@ -34,22 +38,19 @@ class RestTrainingTypeControllerTest {
 
 	@Test
 	void testGetTrainingTypes_Success() {
-        TrainingType cardio = new TrainingType(1L, "Cardio");
-        List<TrainingType> trainingTypes = Collections.singletonList(cardio);
-        
-        when(trainingTypeService.getTrainingTypes()).thenReturn(trainingTypes);
+        byte[] json = "[{\"id\":1,\"trainingTypeName\":\"Cardio\"}]".getBytes(StandardCharsets.UTF_8);
+        TrainingTypeRegistry.Catalog catalog = new TrainingTypeRegistry.Catalog(
+                List.of(new TrainingTypeRegistry.Type(1L, "Cardio")), json, ETAG);
+
+        when(trainingTypeService.getTrainingTypes()).thenReturn(catalog);
 
-        ResponseEntity<List<TrainingType>> response = trainingTypeController.getTrainingTypes();
+        ResponseEntity<byte[]> response = trainingTypeController.getTrainingTypes(null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        
-        assertEquals(trainingTypes, response.getBody());
-        
-        assertFalse(response.getBody().isEmpty());
-        assertEquals(1, response.getBody().size());
-        assertEquals("Cardio", response.getBody().get(0).getTrainingTypeName());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertArrayEquals(json, response.getBody());
 
         verify(trainingTypeService, times(1)).getTrainingTypes();
     }
@@ -57,18 +58,29 @@ class RestTrainingTypeControllerTest {
 	@Test
 	void testGetTrainingTypes_Success_EmptyList() {
 
-		List<TrainingType> emptyList = Collections.emptyList();
-		when(trainingTypeService.getTrainingTypes()).thenReturn(emptyList);
+		byte[] json = "[]".getBytes(StandardCharsets.UTF_8);
+		when(trainingTypeService.getTrainingTypes())
+				.thenReturn(new TrainingTypeRegistry.Catalog(Collections.emptyList(), json, ETAG));
 
-		ResponseEntity<List<TrainingType>> response = trainingTypeController.getTrainingTypes();
+		ResponseEntity<byte[]> response = trainingTypeController.getTrainingTypes(null);
 
 		// Assert
 		assertNotNull(response);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
-		assertNotNull(response.getBody());
-
-		assertTrue(response.getBody().isEmpty());
+		assertArrayEquals(json, response.getBody());
 
 		verify(trainingTypeService, times(1)).getTrainingTypes();
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testGetTrainingTypes_NotModifiedWhenETagMatches() {
+		when(trainingTypeService.getTrainingTypes()).thenReturn(
+				new TrainingTypeRegistry.Catalog(Collections.emptyList(), "[]".getBytes(StandardCharsets.UTF_8), ETAG));
+
+		ResponseEntity<byte[]> response = trainingTypeController.getTrainingTypes("\"stale\", W/" + ETAG);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertEquals(ETAG, response.getHeaders().getETag());
+		assertNull(response.getBody());
+	}
+}
@@ -0,0 +1,72 @@
+package com.epam.gym_crm.db.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TrainingRepositoryImplTest {
+
+	@Test
+	void shouldOnlyEmitPredicatesForGivenFilters() {
+		TrainingRepositoryImpl.HistoryQuery query = TrainingRepositoryImpl.traineeTrainingsQuery("john.smith", null,
+				null, null, " ", null, null, 51);
+
+		assertFalse(query.sql().contains("IS NULL"));
+		assertFalse(query.sql().contains("LIKE"));
+		assertFalse(query.sql().contains(":fromDate"));
+		assertTrue(query.sql().endsWith("ORDER BY t.training_date DESC, t.id DESC\nLIMIT :limit"));
+		assertEquals(51, query.params().getValue("limit"));
+	}
+
+	@Test
+	void shouldOmitLimitWhenUnpaged() {
+		TrainingRepositoryImpl.HistoryQuery query = TrainingRepositoryImpl.traineeTrainingsQuery("john.smith", null,
+				null, null, null, null, null, null);
+
+		assertTrue(query.sql().endsWith("ORDER BY t.training_date DESC, t.id DESC"));
+		assertFalse(query.params().hasValue("limit"));
+	}
+
+	@Test
+	void shouldAddNameDateAndCursorPredicatesWhenPresent() {
+		TrainingRepositoryImpl.HistoryQuery query = TrainingRepositoryImpl.trainerTrainingsQuery("jane.doe",
+				LocalDate.of(2024, 1, 1), null, "Smi", LocalDate.of(2024, 6, 1), 42L, 11);
+
+		assertTrue(query.sql().contains(TrainingRepositoryImpl.TRAINEE_NAME_FILTER));
+		assertTrue(query.sql().contains("t.training_date >= :fromDate"));
+		assertFalse(query.sql().contains(":toDate"));
+		assertTrue(query.sql().contains("(t.training_date, t.id) < (:cursorDate, :cursorId)"));
+		assertEquals("%Smi%", query.params().getValue("traineeName"));
+	}
+
+	@Test
+	void shouldMatchLikeWildcardsLiterally() {
+		assertEquals("%50\\%\\_off\\\\%", TrainingRepositoryImpl.contains("50%_off\\"));
+	}
+
+	@Test
+	void shouldExpandSequenceValuesIntoPooledIdBlocks() {
+		List<Long> ids = new ArrayList<>();
+		TrainingRepositoryImpl.expandIdBlocks(List.of(150L, 200L), 60, ids);
+
+		assertEquals(60, ids.size());
+		assertEquals(101L, ids.get(0));
+		assertEquals(150L, ids.get(49));
+		assertEquals(151L, ids.get(50));
+		assertEquals(160L, ids.get(59));
+	}
+
+	@Test
+	void shouldYieldShortFirstBlockOfFreshSequence() {
+		List<Long> ids = new ArrayList<>();
+		TrainingRepositoryImpl.expandIdBlocks(List.of(1L), 3, ids);
+
+		assertEquals(List.of(1L), ids);
+	}
+}
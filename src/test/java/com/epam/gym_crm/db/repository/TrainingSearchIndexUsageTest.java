@@ -0,0 +1,136 @@
+package com.epam.gym_crm.db.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.epam.gym_crm.config.SchemaMigrationConfig;
+import com.epam.gym_crm.db.migration.SchemaMigrator;
+
+/**
+ * Runs the schema migrations against a real PostgreSQL holding 200k trainings
+ * and checks with EXPLAIN, under default planner settings, that the exact SQL
+ * TrainingRepositoryImpl builds is driven by the username btree and the
+ * per-user (training_date, id) indexes instead of scanning the training table.
+ *
+ * Run with: mvn test -Dtest=TrainingSearchIndexUsageTest
+ * -Dit.jdbc.url=jdbc:postgresql://localhost:5432/postgres?currentSchema=gym_it_search
+ */
+@EnabledIfSystemProperty(named = "it.jdbc.url", matches = ".+")
+class TrainingSearchIndexUsageTest {
+
+	// "training" exactly, not "training_type"
+	private static final Pattern TRAINING_SEQ_SCAN = Pattern.compile("Seq Scan on training\\b");
+
+	private static SingleConnectionDataSource dataSource;
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void migrate() {
+		dataSource = new SingleConnectionDataSource(System.getProperty("it.jdbc.url"),
+				System.getProperty("it.jdbc.user", "postgres"), System.getProperty("it.jdbc.password", "1"), true);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("DROP SCHEMA IF EXISTS gym_it_search CASCADE");
+		jdbcTemplate.execute("CREATE SCHEMA gym_it_search");
+		jdbcTemplate.execute("SET search_path TO gym_it_search, public");
+
+		// The tables and indexes Hibernate creates from the entities.
+		jdbcTemplate.execute("CREATE TABLE \"user\" (id BIGSERIAL PRIMARY KEY, username VARCHAR(255) NOT NULL, "
+				+ "first_name VARCHAR(255) NOT NULL, last_name VARCHAR(255) NOT NULL, "
+				+ "CONSTRAINT uk_user_username UNIQUE (username))");
+		jdbcTemplate.execute("CREATE TABLE trainee (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL UNIQUE)");
+		jdbcTemplate.execute("CREATE TABLE trainer (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL UNIQUE)");
+		jdbcTemplate.execute("CREATE TABLE training_type (id BIGSERIAL PRIMARY KEY, training_type_name VARCHAR(255))");
+		jdbcTemplate.execute("CREATE TABLE training (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+				+ "training_name VARCHAR(255) NOT NULL, training_date DATE NOT NULL, training_duration INT NOT NULL, "
+				+ "trainee_id BIGINT NOT NULL, trainer_id BIGINT NOT NULL, training_type_id BIGINT NOT NULL)");
+		jdbcTemplate.execute("CREATE INDEX idx_training_trainee_date_id ON training "
+				+ "(trainee_id, training_date DESC, id DESC)");
+		jdbcTemplate.execute("CREATE INDEX idx_training_trainer_date_id ON training "
+				+ "(trainer_id, training_date DESC, id DESC)");
+		jdbcTemplate.execute("CREATE TABLE schema_migration (version INT PRIMARY KEY, "
+				+ "description VARCHAR(200) NOT NULL, applied_at TIMESTAMP NOT NULL)");
+
+		// Users 1..1000 are trainees, 1001..2000 trainers; 200 trainings per trainee and per trainer.
+		jdbcTemplate.execute("INSERT INTO \"user\" (username, first_name, last_name) "
+				+ "SELECT 'user.' || g, 'First' || g, 'Last' || g FROM generate_series(1, 2000) AS g");
+		jdbcTemplate.execute("INSERT INTO trainee (user_id) SELECT g FROM generate_series(1, 1000) AS g");
+		jdbcTemplate.execute("INSERT INTO trainer (user_id) SELECT g FROM generate_series(1001, 2000) AS g");
+		jdbcTemplate.execute("INSERT INTO training_type (training_type_name) VALUES ('FITNESS'), ('YOGA'), ('ZUMBA')");
+		jdbcTemplate.execute("INSERT INTO training (training_name, training_date, training_duration, trainee_id, "
+				+ "trainer_id, training_type_id) SELECT 'Training ' || g, DATE '2020-01-01' + g % 1500, 60, "
+				+ "1 + g % 1000, 1 + (g * 7) % 1000, 1 + g % 3 FROM generate_series(1, 200000) AS g");
+
+		new SchemaMigrator(jdbcTemplate, new DataSourceTransactionManager(dataSource), new SchemaMigrationConfig())
+				.migrate();
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@AfterAll
+	static void dropSchema() {
+		jdbcTemplate.execute("DROP SCHEMA IF EXISTS gym_it_search CASCADE");
+		dataSource.destroy();
+	}
+
+	@Test
+	void traineeHistoryPageShouldSeekThroughUsernameAndTraineeIndexes() {
+		String plan = explain(TrainingRepositoryImpl.traineeTrainingsQuery("user.42", null, null, null, null,
+				null, null, 51));
+
+		assertTrue(plan.contains("uk_user_username"), plan);
+		assertTrue(plan.contains("idx_training_trainee_date_id"), plan);
+		assertFalse(TRAINING_SEQ_SCAN.matcher(plan).find(), plan);
+	}
+
+	@Test
+	void filteredTraineeHistoryShouldStillSeekThroughTraineeIndex() {
+		String plan = explain(TrainingRepositoryImpl.traineeTrainingsQuery("user.42", LocalDate.of(2021, 1, 1),
+				LocalDate.of(2022, 12, 31), "irst10", "yog", LocalDate.of(2022, 6, 1), 100_000L, 51));
+
+		assertTrue(plan.contains("uk_user_username"), plan);
+		assertTrue(plan.contains("idx_training_trainee_date_id"), plan);
+		assertFalse(TRAINING_SEQ_SCAN.matcher(plan).find(), plan);
+	}
+
+	@Test
+	void unpagedTrainerHistoryShouldSeekThroughUsernameAndTrainerIndexes() {
+		String plan = explain(TrainingRepositoryImpl.trainerTrainingsQuery("user.1042", null, null, "ast4", null,
+				null, null));
+
+		assertTrue(plan.contains("uk_user_username"), plan);
+		assertTrue(plan.contains("idx_training_trainer_date_id"), plan);
+		assertFalse(TRAINING_SEQ_SCAN.matcher(plan).find(), plan);
+	}
+
+	@Test
+	void trainingIdShouldComeOnlyFromPooledSequence() {
+		Map<String, Object> column = jdbcTemplate.queryForMap("SELECT is_identity, column_default "
+				+ "FROM information_schema.columns WHERE table_schema = 'gym_it_search' AND table_name = 'training' "
+				+ "AND column_name = 'id'");
+
+		assertEquals("NO", column.get("is_identity"));
+		assertTrue(String.valueOf(column.get("column_default")).contains("training_seq"), column.toString());
+	}
+
+	private String explain(TrainingRepositoryImpl.HistoryQuery query) {
+		List<Map<String, Object>> rows = new NamedParameterJdbcTemplate(jdbcTemplate)
+				.queryForList("EXPLAIN " + query.sql(), query.params());
+		StringBuilder plan = new StringBuilder();
+		rows.forEach(row -> plan.append(row.values().iterator().next()).append('\n'));
+		return plan.toString();
+	}
+}
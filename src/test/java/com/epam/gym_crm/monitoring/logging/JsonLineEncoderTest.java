@@ -0,0 +1,37 @@
+package com.epam.gym_crm.monitoring.logging;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonLineEncoderTest {
+
+	@Test
+	void shouldEncodeEventAsSingleJsonLine() throws Exception {
+		Logger logger = new LoggerContext().getLogger("com.epam.gym_crm.Test");
+		LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.WARN,
+				"Training \"{}\" failed", new IllegalStateException("boom"), new Object[] { "Morning\nRun" });
+		event.setMDCPropertyMap(Map.of("transactionId", "ab12cd34"));
+
+		String line = new String(new JsonLineEncoder().encode(event), StandardCharsets.UTF_8);
+
+		assertTrue(line.endsWith("}\n"));
+		assertTrue(line.indexOf('\n') == line.length() - 1, "Embedded newlines must be escaped.");
+		JsonNode json = new ObjectMapper().readTree(line);
+		assertTrue(json.get("level").asText().equals("WARN"));
+		assertTrue(json.get("message").asText().equals("Training \"Morning\nRun\" failed"));
+		assertTrue(json.get("mdc").get("transactionId").asText().equals("ab12cd34"));
+		assertTrue(json.get("exception").asText().contains("IllegalStateException: boom"));
+	}
+}
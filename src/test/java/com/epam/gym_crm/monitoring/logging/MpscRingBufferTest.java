@@ -0,0 +1,83 @@
+package com.epam.gym_crm.monitoring.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+	@Test
+	void shouldRoundCapacityUpToPowerOfTwoAndRejectWhenFull() {
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+		assertEquals(4, buffer.capacity());
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(4));
+		assertEquals(4, buffer.size());
+	}
+
+	@Test
+	void shouldPollInFifoOrderAndReuseSlots() {
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(2);
+
+		for (int round = 0; round < 5; round++) {
+			buffer.offer(round * 2);
+			buffer.offer(round * 2 + 1);
+			assertEquals(round * 2, buffer.poll());
+			assertEquals(round * 2 + 1, buffer.poll());
+		}
+		assertNull(buffer.poll());
+	}
+
+	@Test
+	void shouldDeliverEveryItemExactlyOnceWithConcurrentProducers() throws Exception {
+		int producers = 4;
+		int perProducer = 50_000;
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+
+		for (int p = 0; p < producers; p++) {
+			int offset = p * perProducer;
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				for (int i = 0; i < perProducer; i++) {
+					while (!buffer.offer(offset + i)) {
+						Thread.onSpinWait();
+					}
+				}
+			});
+		}
+		start.countDown();
+
+		BitSet seen = new BitSet(producers * perProducer);
+		int received = 0;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (received < producers * perProducer && System.nanoTime() < deadline) {
+			Integer item = buffer.poll();
+			if (item != null) {
+				assertFalse(seen.get(item), "Item delivered twice: " + item);
+				seen.set(item);
+				received++;
+			}
+		}
+		executor.shutdownNow();
+
+		assertEquals(producers * perProducer, received);
+	}
+}
@@ -0,0 +1,181 @@
+package com.epam.gym_crm.monitoring.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+
+class RingBufferAsyncAppenderTest {
+
+	private LoggerContext context;
+	private Logger logger;
+
+	@BeforeEach
+	void setUp() {
+		context = new LoggerContext();
+		// A bare context has no MDC adapter, and events fail when they snapshot the MDC.
+		context.setMDCAdapter(new LogbackMDCAdapter());
+		logger = context.getLogger("test");
+	}
+
+	@Test
+	void shouldDeliverEventsOnWorkerThreadAndFlushOnStop() {
+		RecordingAppender target = new RecordingAppender(null);
+		RingBufferAsyncAppender appender = newAppender(target, 64);
+
+		context.getMDCAdapter().put("transactionId", "tx-1");
+		try {
+			for (int i = 0; i < 10; i++) {
+				appender.doAppend(event(Level.INFO, "event {}", i));
+			}
+		} finally {
+			context.getMDCAdapter().remove("transactionId");
+		}
+		appender.stop();
+
+		assertEquals(10, target.events.size());
+		assertEquals("event 9", target.events.get(9).getFormattedMessage());
+		assertEquals("tx-1", target.events.get(0).getMDCPropertyMap().get("transactionId"));
+		assertEquals(Thread.currentThread().getName(), target.events.get(0).getThreadName());
+		assertTrue(target.threadNames.stream().allMatch(name -> name.startsWith("async-log-")));
+		assertEquals(10, appender.getEnqueuedCount());
+		assertEquals(10, appender.getFlushedCount());
+	}
+
+	@Test
+	void shouldDropInsteadOfBlockingWhenBufferIsFull() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingAppender target = new RecordingAppender(release);
+		RingBufferAsyncAppender appender = newAppender(target, 4);
+		appender.setDiscardingThreshold(0);
+		appender.start();
+
+		// First event parks the worker inside the target; four more fill the buffer.
+		appender.doAppend(event(Level.ERROR, "blocking"));
+		assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+		long start = System.nanoTime();
+		for (int i = 0; i < 10; i++) {
+			appender.doAppend(event(Level.ERROR, "burst"));
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(6, appender.getDroppedCount());
+		assertTrue(elapsedMillis < 1000, "Callers must not wait for the worker.");
+
+		release.countDown();
+		appender.stop();
+		assertEquals(5, appender.getFlushedCount());
+	}
+
+	@Test
+	void shouldDropLowLevelEventsFirstWhenNearlyFull() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingAppender target = new RecordingAppender(release);
+		RingBufferAsyncAppender appender = newAppender(target, 4);
+		appender.setDiscardingThreshold(2);
+		appender.start();
+
+		appender.doAppend(event(Level.ERROR, "blocking"));
+		assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+		appender.doAppend(event(Level.INFO, "a"));
+		appender.doAppend(event(Level.INFO, "b"));
+		appender.doAppend(event(Level.INFO, "c"));
+		// One slot left, below the threshold of two: INFO is dropped, WARN still gets in.
+		appender.doAppend(event(Level.INFO, "d"));
+		appender.doAppend(event(Level.WARN, "e"));
+
+		assertEquals(1, appender.getDroppedCount());
+		release.countDown();
+		appender.stop();
+		assertEquals(List.of("blocking", "a", "b", "c", "e"),
+				target.events.stream().map(ILoggingEvent::getFormattedMessage).toList());
+	}
+
+	@Test
+	void shouldFormatWithArgumentValuesAtCallTimeByDefault() throws InterruptedException {
+		assertEquals(List.of("blocking", "status=ACTIVE"), formattedAfterMutation(false));
+	}
+
+	@Test
+	void shouldFormatOnWorkerWhenDeferFormattingIsEnabled() throws InterruptedException {
+		assertEquals(List.of("blocking", "status=INACTIVE"), formattedAfterMutation(true));
+	}
+
+	// Logs a mutable argument while the worker is busy, then mutates it before the worker reaches the event.
+	private List<String> formattedAfterMutation(boolean deferFormatting) throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingAppender target = new RecordingAppender(release);
+		RingBufferAsyncAppender appender = newAppender(target, 8, deferFormatting);
+
+		appender.doAppend(event(Level.INFO, "blocking"));
+		assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+		StringBuilder status = new StringBuilder("ACTIVE");
+		appender.doAppend(event(Level.INFO, "status={}", status));
+		status.replace(0, status.length(), "INACTIVE");
+
+		release.countDown();
+		appender.stop();
+		return target.events.stream().map(ILoggingEvent::getFormattedMessage).toList();
+	}
+
+	private RingBufferAsyncAppender newAppender(RecordingAppender target, int bufferSize) {
+		return newAppender(target, bufferSize, false);
+	}
+
+	private RingBufferAsyncAppender newAppender(RecordingAppender target, int bufferSize, boolean deferFormatting) {
+		target.setContext(context);
+		target.start();
+		RingBufferAsyncAppender appender = new RingBufferAsyncAppender();
+		appender.setContext(context);
+		appender.setName("test");
+		appender.setBufferSize(bufferSize);
+		appender.setDeferFormatting(deferFormatting);
+		appender.addAppender(target);
+		appender.start();
+		return appender;
+	}
+
+	private LoggingEvent event(Level level, String message, Object... args) {
+		return new LoggingEvent(Logger.class.getName(), logger, level, message, null, args);
+	}
+
+	private static class RecordingAppender extends AppenderBase<ILoggingEvent> {
+
+		private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+		private final List<String> threadNames = new CopyOnWriteArrayList<>();
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private final CountDownLatch release;
+
+		private RecordingAppender(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		protected void append(ILoggingEvent event) {
+			entered.countDown();
+			if (release != null) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			threadNames.add(Thread.currentThread().getName());
+			events.add(event);
+		}
+	}
+}
@@ -8,8 +8,6 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertNull;
 
 class AppMetricsTest {
 
@@ -56,78 +54,60 @@ class AppMetricsTest {
 
     @Test
     void testLoginSuccessCounter_incrementsCorrectly() {
-        String username = "testuser_success";
 
-        appMetrics.incrementLoginSuccess(username);
+        appMetrics.incrementLoginSuccess();
 
         Counter counter = meterRegistry.get("gym_crm_login_attempts_total")
                 .tag("status", "success")
-                .tag("username", username)
                 .counter();
         assertNotNull(counter);
-        assertEquals(1.0, counter.count(), "Login success counter for a specific user should be incremented to 1.");
+        assertEquals(1.0, counter.count(), "Login success counter should be incremented to 1.");
     }
 
     @Test
-    void testLoginFailureCounter_incrementsCorrectly() {
-        String username = "testuser_failure";
-        
-        appMetrics.incrementLoginFailure(username);
-        appMetrics.incrementLoginFailure(username);
-        appMetrics.incrementLoginFailure(username);
+    void testLoginFailureCounter_incrementsPerReason() {
 
-        Counter counter = meterRegistry.get("gym_crm_login_attempts_total")
+        appMetrics.incrementLoginFailure(LoginFailureReason.BAD_CREDENTIALS);
+        appMetrics.incrementLoginFailure(LoginFailureReason.BAD_CREDENTIALS);
+        appMetrics.incrementLoginFailure(LoginFailureReason.LOCKED);
+
+        assertEquals(2.0, meterRegistry.get("gym_crm_login_attempts_total")
                 .tag("status", "failure")
-                .tag("username", username)
-                .counter();
-        assertNotNull(counter);
-        assertEquals(3.0, counter.count(), "Login failure counter for a specific user should be incremented to 3.");
+                .tag("reason", "bad_credentials")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("gym_crm_login_attempts_total")
+                .tag("status", "failure")
+                .tag("reason", "locked")
+                .counter().count());
     }
 
     @Test
     void testCounters_areIndependent() {
     	
         appMetrics.incrementTraineeCreation();
-        appMetrics.incrementLoginFailure("user1");
+        appMetrics.incrementLoginFailure(LoginFailureReason.DISABLED);
 
         Counter traineeCounter = meterRegistry.get("gym_crm_creations_total").tag("type", "trainee").counter();
         Counter trainerCounter = meterRegistry.get("gym_crm_creations_total").tag("type", "trainer").counter();
-        Counter loginFailureCounter = meterRegistry.get("gym_crm_login_attempts_total").tag("status", "failure").tag("username", "user1").counter();
-        
-        assertThrows(io.micrometer.core.instrument.search.MeterNotFoundException.class, () -> {
-            meterRegistry.get("gym_crm_login_attempts_total").tag("status", "success").counter();
-        }, "Login success counter should not exist and throw an exception.");
-        
+        Counter loginFailureCounter = meterRegistry.get("gym_crm_login_attempts_total").tag("status", "failure").tag("reason", "disabled").counter();
+        Counter loginSuccessCounter = meterRegistry.get("gym_crm_login_attempts_total").tag("status", "success").counter();
 
         assertEquals(1.0, traineeCounter.count());
         assertEquals(0.0, trainerCounter.count(), "Trainer counter should remain 0.");
         assertEquals(1.0, loginFailureCounter.count());
+        assertEquals(0.0, loginSuccessCounter.count(), "Login success counter should remain 0.");
     }
 
     @Test
-    void testLoginCounters_withDifferentUsers_areIndependent() {
-    	
-        appMetrics.incrementLoginSuccess("userA");
-        appMetrics.incrementLoginFailure("userB");
-
-        Counter userASuccessCounter = meterRegistry.get("gym_crm_login_attempts_total")
-                .tag("status", "success")
-                .tag("username", "userA")
-                .counter();
-        assertNotNull(userASuccessCounter);
-        assertEquals(1.0, userASuccessCounter.count());
+    void testLoginCounters_haveFixedCardinality() {
 
-        Counter userBSuccessCounter = meterRegistry.find("gym_crm_login_attempts_total")
-                .tag("status", "success")
-                .tag("username", "userB")
-                .counter();
-        assertNull(userBSuccessCounter, "User B's success counter should not exist.");
+        for (int i = 0; i < 50; i++) {
+            appMetrics.incrementLoginFailure(LoginFailureReason.BAD_CREDENTIALS);
+            appMetrics.incrementLoginSuccess();
+        }
 
-        Counter userBFailureCounter = meterRegistry.get("gym_crm_login_attempts_total")
-                .tag("status", "failure")
-                .tag("username", "userB")
-                .counter();
-        assertNotNull(userBFailureCounter);
-        assertEquals(1.0, userBFailureCounter.count());
+        int loginSeries = meterRegistry.find("gym_crm_login_attempts_total").counters().size();
+        assertEquals(1 + LoginFailureReason.values().length, loginSeries,
+                "Login counters should not grow with the number of users.");
     }
-}
\ No newline at end of file
+}
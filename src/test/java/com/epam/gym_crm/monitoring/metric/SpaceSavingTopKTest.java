@@ -0,0 +1,56 @@
+package com.epam.gym_crm.monitoring.metric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTopKTest {
+
+	@Test
+	void shouldReturnExactCountsWhileUnderCapacity() {
+		SpaceSavingTopK<String> topK = new SpaceSavingTopK<>(3);
+		offer(topK, "a", 5);
+		offer(topK, "b", 2);
+
+		List<SpaceSavingTopK.Estimate<String>> top = topK.top(10);
+
+		assertEquals(2, top.size());
+		assertEquals(new SpaceSavingTopK.Estimate<>("a", 5, 0), top.get(0));
+		assertEquals(new SpaceSavingTopK.Estimate<>("b", 2, 0), top.get(1));
+		assertEquals(7, topK.total());
+	}
+
+	@Test
+	void shouldKeepHeavyHitterWhenFloodedWithDistinctKeys() {
+		SpaceSavingTopK<String> topK = new SpaceSavingTopK<>(10);
+		for (int i = 0; i < 1000; i++) {
+			topK.offer("victim");
+			topK.offer("random-" + i);
+		}
+
+		SpaceSavingTopK.Estimate<String> first = topK.top(1).get(0);
+
+		assertEquals("victim", first.key());
+		assertTrue(first.count() >= 1000);
+		assertTrue(first.count() - first.error() <= 1000);
+	}
+
+	@Test
+	void shouldInheritEvictedCountAsError() {
+		SpaceSavingTopK<String> topK = new SpaceSavingTopK<>(1);
+		offer(topK, "a", 3);
+
+		topK.offer("b");
+
+		assertEquals(new SpaceSavingTopK.Estimate<>("b", 4, 3), topK.top(1).get(0));
+	}
+
+	private static void offer(SpaceSavingTopK<String> topK, String key, int times) {
+		for (int i = 0; i < times; i++) {
+			topK.offer(key);
+		}
+	}
+}
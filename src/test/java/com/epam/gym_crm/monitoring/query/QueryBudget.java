@@ -0,0 +1,57 @@
+package com.epam.gym_crm.monitoring.query;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Fails a test when code issues more SQL statements than it declares, e.g.
+ * <pre>
+ * TraineeProfileResponse profile = QueryBudget.assertAtMost(3, () -&gt; traineeService.getTraineeByUsername("a.b"));
+ * mockMvc.perform(get("/api/trainees/a.b")).andExpect(QueryBudget.atMost(3));
+ * </pre>
+ * Both need the {@link QueryCountingDataSource} wrapper registered by AppConfig;
+ * the MockMvc form also needs {@code app.query-count.expose-header=true}.
+ */
+public final class QueryBudget {
+
+	private QueryBudget() {
+	}
+
+	public static <T> T assertAtMost(int budget, ThrowingSupplier<T> action) throws Throwable {
+		try (QueryCountScope scope = QueryCountScope.open(true)) {
+			T result = action.get();
+			check(budget, scope);
+			return result;
+		}
+	}
+
+	public static void assertAtMost(int budget, Executable action) throws Throwable {
+		try (QueryCountScope scope = QueryCountScope.open(true)) {
+			action.execute();
+			check(budget, scope);
+		}
+	}
+
+	public static ResultMatcher atMost(int budget) {
+		return result -> {
+			String header = result.getResponse().getHeader(QueryCountFilter.HEADER_NAME);
+			assertNotNull(header, QueryCountFilter.HEADER_NAME + " missing; is app.query-count.expose-header on?");
+			int count = Integer.parseInt(header);
+			if (count > budget) {
+				fail(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI() + " issued " + count
+						+ " SQL statements, budget is " + budget + ".");
+			}
+		};
+	}
+
+	private static void check(int budget, QueryCountScope scope) {
+		if (scope.getCount() > budget) {
+			fail("Issued " + scope.getCount() + " SQL statements, budget is " + budget + ":\n  "
+					+ String.join("\n  ", scope.getStatements()));
+		}
+	}
+}
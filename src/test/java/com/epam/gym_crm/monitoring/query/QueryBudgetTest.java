@@ -0,0 +1,46 @@
+package com.epam.gym_crm.monitoring.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+class QueryBudgetTest {
+
+	@Test
+	void shouldPassAndReturnResultWithinBudget() throws Throwable {
+		String result = QueryBudget.assertAtMost(2, () -> {
+			QueryCountScope.onStatement("select * from trainee");
+			QueryCountScope.onStatement("select * from \"user\"");
+			return "ok";
+		});
+
+		assertEquals("ok", result);
+	}
+
+	@Test
+	void shouldFailListingStatementsWhenBudgetExceeded() {
+		AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> QueryBudget.assertAtMost(1, () -> {
+			QueryCountScope.onStatement("select * from trainee");
+			for (int i = 0; i < 3; i++) {
+				QueryCountScope.onStatement("select * from trainer where id=" + i);
+			}
+		}));
+
+		assertTrue(error.getMessage().startsWith("Issued 4 SQL statements, budget is 1"));
+		assertTrue(error.getMessage().contains("select * from trainer where id=2"));
+	}
+
+	@Test
+	void shouldCountNestedScopesTowardsTheOuterOne() throws Throwable {
+		try (QueryCountScope outer = QueryCountScope.open(false)) {
+			QueryCountScope.onStatement("select 1");
+			QueryBudget.assertAtMost(1, () -> QueryCountScope.onStatement("select 2"));
+
+			assertEquals(2, outer.getCount());
+			assertEquals(outer, QueryCountScope.current());
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.epam.gym_crm.monitoring.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.epam.gym_crm.config.QueryCountConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+class QueryCountFilterTest {
+
+	private MeterRegistry meterRegistry;
+	private QueryCountConfig config;
+	private QueryCountFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		config = new QueryCountConfig();
+		filter = new QueryCountFilter(config, new AppMetrics(meterRegistry));
+	}
+
+	@Test
+	void shouldRecordStatementsPerRouteAndExposeHeaderWhenEnabled() throws Exception {
+		config.setExposeHeader(true);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/trainees/john.smith");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> {
+			req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/trainees/{username}");
+			QueryCountScope.onStatement("select * from trainee");
+			QueryCountScope.onStatement("select * from trainer");
+			QueryCountScope.onStatement("select * from trainer");
+		};
+
+		filter.doFilter(request, response, chain);
+
+		DistributionSummary summary = meterRegistry.get("gym_crm_http_request_queries").tag("method", "GET")
+				.tag("uri", "/api/trainees/{username}").summary();
+		assertEquals(1, summary.count());
+		assertEquals(3.0, summary.totalAmount());
+		assertEquals("3", response.getHeader(QueryCountFilter.HEADER_NAME));
+		assertNull(QueryCountScope.current());
+	}
+
+	@Test
+	void shouldNotExposeHeaderByDefault() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/trainings"), response,
+				(req, res) -> QueryCountScope.onStatement("select 1"));
+
+		assertNull(response.getHeader(QueryCountFilter.HEADER_NAME));
+		assertEquals(1.0, meterRegistry.get("gym_crm_http_request_queries").tag("uri", "UNMATCHED").summary()
+				.totalAmount());
+	}
+}
@@ -0,0 +1,67 @@
+package com.epam.gym_crm.monitoring.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class QueryCountingDataSourceTest {
+
+	private EmbeddedDatabase database;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(database));
+		jdbcTemplate.execute("CREATE TABLE trainee (id BIGINT PRIMARY KEY, name VARCHAR(64))");
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void shouldCountJdbcTemplateStatementsWithTheirSql() {
+		try (QueryCountScope scope = QueryCountScope.open(true)) {
+			jdbcTemplate.update("INSERT INTO trainee (id, name) VALUES (?, ?)", 1L, "a");
+			jdbcTemplate.queryForList("SELECT name FROM trainee", String.class);
+			new NamedParameterJdbcTemplate(jdbcTemplate).queryForList("SELECT name FROM trainee WHERE id = :id",
+					new MapSqlParameterSource("id", 1L), String.class);
+
+			assertEquals(3, scope.getCount());
+			assertEquals(List.of("INSERT INTO trainee (id, name) VALUES (?, ?)", "SELECT name FROM trainee",
+					"SELECT name FROM trainee WHERE id = ?"), scope.getStatements());
+		}
+	}
+
+	@Test
+	void shouldCountJdbcBatchOnce() {
+		try (QueryCountScope scope = QueryCountScope.open(false)) {
+			jdbcTemplate.batchUpdate("INSERT INTO trainee (id, name) VALUES (?, ?)",
+					List.of(new Object[] { 1L, "a" }, new Object[] { 2L, "b" }, new Object[] { 3L, "c" }));
+
+			assertEquals(1, scope.getCount());
+		}
+		assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trainee", Integer.class));
+	}
+
+	@Test
+	void shouldOnlyDelegateOutsideAScope() {
+		jdbcTemplate.update("INSERT INTO trainee (id, name) VALUES (?, ?)", 1L, "a");
+
+		try (QueryCountScope scope = QueryCountScope.open(false)) {
+			assertEquals(0, scope.getCount());
+		}
+	}
+}
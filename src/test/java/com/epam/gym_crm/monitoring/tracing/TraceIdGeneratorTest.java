@@ -0,0 +1,86 @@
+package com.epam.gym_crm.monitoring.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class TraceIdGeneratorTest {
+
+	@AfterEach
+	void tearDown() {
+		MDC.remove(TraceIdGenerator.MDC_KEY);
+	}
+
+	@Test
+	void shouldEncodeTimeNodeAndSequenceAsFixedWidthHex() {
+		TraceIdGenerator generator = new TraceIdGenerator(0xBEEF);
+		long before = System.currentTimeMillis();
+
+		String id = generator.nextId();
+
+		assertEquals(TraceIdGenerator.ID_LENGTH, id.length());
+		assertTrue(id.matches("[0-9a-f]+"));
+		assertTrue(Long.parseLong(id.substring(0, 11), 16) >= before);
+		assertEquals("beef", id.substring(11, 15));
+	}
+
+	@Test
+	void shouldNotRepeatIdsAcrossConcurrentCallers() throws Exception {
+		TraceIdGenerator generator = new TraceIdGenerator(7);
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		int threads = 8;
+		int perThread = 20_000;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int t = 0; t < threads; t++) {
+				executor.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					for (int i = 0; i < perThread; i++) {
+						ids.add(generator.nextId());
+					}
+				});
+			}
+			start.countDown();
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		}
+
+		assertEquals(threads * perThread, ids.size());
+	}
+
+	@Test
+	void shouldReuseRequestIdFromMdcWhenPresent() {
+		TraceIdGenerator generator = new TraceIdGenerator(1);
+
+		MDC.put(TraceIdGenerator.MDC_KEY, "upstream-42");
+		assertEquals("upstream-42", generator.currentOrNextId());
+
+		MDC.remove(TraceIdGenerator.MDC_KEY);
+		assertNotEquals("upstream-42", generator.currentOrNextId());
+	}
+
+	@Test
+	void shouldPickRandomNodeIdWhenNoneConfigured() {
+		TraceIdGenerator generator = new TraceIdGenerator(-1);
+
+		assertTrue(generator.getNodeId() >= 0 && generator.getNodeId() < (1 << 16));
+	}
+}
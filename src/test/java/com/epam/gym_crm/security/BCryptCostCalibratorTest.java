@@ -0,0 +1,59 @@
+package com.epam.gym_crm.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.epam.gym_crm.config.PasswordHashingConfig;
+
+class BCryptCostCalibratorTest {
+
+	@Test
+	void shouldPickCostWithinConfiguredBounds() {
+		PasswordHashingConfig config = new PasswordHashingConfig();
+		config.setCalibrationEnabled(true);
+		config.setMinStrength(10);
+		config.setMaxStrength(11);
+		config.setTargetLatencyMs(10_000);
+
+		BCryptCostCalibrator calibrator = new BCryptCostCalibrator(config);
+
+		// Target is far above what cost 11 takes, so the highest allowed cost wins.
+		assertEquals(11, calibrator.getStrength());
+		assertTrue(calibrator.getMeasuredMillis() > 0);
+		assertTrue(calibrator.isCalibrated());
+	}
+
+	@Test
+	void shouldNeverPickCostBelowFloor() {
+		PasswordHashingConfig config = new PasswordHashingConfig();
+		config.setCalibrationEnabled(true);
+		config.setMinStrength(4);
+		config.setMaxStrength(12);
+		config.setTargetLatencyMs(0);
+
+		assertEquals(BCryptCostCalibrator.MIN_STRENGTH, new BCryptCostCalibrator(config).getStrength());
+	}
+
+	@Test
+	void shouldUseConfiguredStrengthWhenCalibrationDisabled() {
+		PasswordHashingConfig config = new PasswordHashingConfig();
+		config.setCalibrationEnabled(false);
+		config.setStrength(12);
+
+		BCryptCostCalibrator calibrator = new BCryptCostCalibrator(config);
+
+		assertEquals(12, calibrator.getStrength());
+		assertFalse(calibrator.isCalibrated());
+	}
+
+	@Test
+	void shouldRaiseConfiguredStrengthToFloor() {
+		PasswordHashingConfig config = new PasswordHashingConfig();
+		config.setStrength(5);
+
+		assertEquals(BCryptCostCalibrator.MIN_STRENGTH, new BCryptCostCalibrator(config).getStrength());
+	}
+}
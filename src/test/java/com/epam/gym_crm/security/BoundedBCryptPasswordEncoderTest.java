@@ -0,0 +1,102 @@
+package com.epam.gym_crm.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.MessageType;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedBCryptPasswordEncoderTest {
+
+	private MeterRegistry meterRegistry;
+	private ThreadPoolExecutor executor;
+	private BoundedBCryptPasswordEncoder encoder;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		// One thread, no queue: a single in-flight task saturates the pool.
+		executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+		encoder = new BoundedBCryptPasswordEncoder(4, executor, new AppMetrics(meterRegistry));
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldEncodeAndMatchOnExecutor() {
+		// With no queue the next call can race the worker returning to the pool, so queue one task here.
+		executor.shutdownNow();
+		meterRegistry = new SimpleMeterRegistry();
+		executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+		encoder = new BoundedBCryptPasswordEncoder(4, executor, new AppMetrics(meterRegistry));
+
+		String encoded = encoder.encode("secret");
+
+		assertTrue(encoder.matches("secret", encoded));
+		assertFalse(encoder.matches("wrong", encoded));
+		assertEquals(1, meterRegistry.get("gym_crm_password_hash_seconds").tag("operation", "encode").timer().count());
+		assertEquals(2, meterRegistry.get("gym_crm_password_hash_seconds").tag("operation", "matches").timer().count());
+		assertEquals(3, meterRegistry.get("gym_crm_password_hash_wait_seconds").timer().count());
+	}
+
+	@Test
+	void shouldRejectWithServiceUnavailableWhenSaturated() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		started.await();
+
+		try {
+			BaseException exception = assertThrows(BaseException.class, () -> encoder.encode("secret"));
+
+			assertEquals(MessageType.SERVICE_UNAVAILABLE, exception.getErrorMessage().getMessageType());
+			assertEquals(1, meterRegistry.get("gym_crm_password_hash_rejected_total").tag("operation", "encode")
+					.counter().count());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void shouldRequestRehashOnlyWhenStoredCostIsLower() {
+		BoundedBCryptPasswordEncoder cost6 = new BoundedBCryptPasswordEncoder(6, executor,
+				new AppMetrics(new SimpleMeterRegistry()));
+
+		assertTrue(cost6.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+		assertFalse(cost6.upgradeEncoding("$2a$12$abcdefghijklmnopqrstuvwxyz0123456789ABCDEFGHIJKLMNOPQ"));
+		assertFalse(cost6.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+		assertFalse(cost6.upgradeEncoding("not-a-bcrypt-hash"));
+	}
+
+	@Test
+	void shouldExposeQueueDepthGauge() {
+		assertEquals(0.0, meterRegistry.get("gym_crm_password_hash_queue_depth").gauge().value());
+	}
+}
@@ -5,12 +5,17 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -27,8 +33,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.epam.gym_crm.config.JwtConfig;
 import com.epam.gym_crm.domain.service.impl.JwtTokenBlacklistService;
+import com.epam.gym_crm.domain.service.impl.RevocationWatermarkService;
 import com.epam.gym_crm.domain.service.impl.UserDetailsServiceImpl;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletResponse;
@@ -44,6 +53,10 @@ class JwtAuthenticationFilterTest {
 	private JwtTokenBlacklistService jwtTokenBlacklistService;
 	@Mock
 	private JwtTokenExtractor jwtTokenExtractor;
+	@Mock
+	private SecurityVersionRegistry securityVersionRegistry;
+	@Mock
+	private RevocationWatermarkService revocationWatermarkService;
 
 	@InjectMocks
 	private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -72,9 +85,8 @@ class JwtAuthenticationFilterTest {
 
 		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(validToken);
 		when(jwtTokenBlacklistService.isBlacklisted(validToken)).thenReturn(false);
-		when(jwtTokenProvider.getUsernameFromToken(validToken)).thenReturn(username);
-		when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-		when(jwtTokenProvider.validateToken(validToken)).thenReturn(true);
+		when(jwtTokenProvider.parseAndValidate(validToken)).thenReturn(Optional.of(parsedToken(username)));
+		when(userDetailsService.loadCachedUserByUsername(username)).thenReturn(userDetails);
 
 		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -123,17 +135,15 @@ class JwtAuthenticationFilterTest {
 	void shouldNotAuthenticateWhenTokenIsInvalid() throws ServletException, IOException {
 		// Arrange
 		String invalidToken = "invalid.jwt.token";
-		String username = "test.user";
-		UserDetails userDetails = new User(username, "password", Collections.emptyList());
 
 		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(invalidToken);
 		when(jwtTokenBlacklistService.isBlacklisted(invalidToken)).thenReturn(false);
-		when(jwtTokenProvider.getUsernameFromToken(invalidToken)).thenReturn(username);
-		when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-		when(jwtTokenProvider.validateToken(invalidToken)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(invalidToken)).thenReturn(Optional.empty());
 
 		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
+		verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
+
 		assertNull(SecurityContextHolder.getContext().getAuthentication(),
 				"Authentication should not be set for an invalid token.");
 		assertTrue(filterChain.getRequest() != null, "FilterChain should continue even if token is invalid.");
@@ -149,9 +159,8 @@ class JwtAuthenticationFilterTest {
 
 		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(validToken);
 		when(jwtTokenBlacklistService.isBlacklisted(validToken)).thenReturn(false);
-		when(jwtTokenProvider.getUsernameFromToken(validToken)).thenReturn(username);
-		when(userDetailsService.loadUserByUsername(username)).thenReturn(disabledUserDetails);
-		when(jwtTokenProvider.validateToken(validToken)).thenReturn(true);
+		when(jwtTokenProvider.parseAndValidate(validToken)).thenReturn(Optional.of(parsedToken(username)));
+		when(userDetailsService.loadCachedUserByUsername(username)).thenReturn(disabledUserDetails);
 
 		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -170,17 +179,169 @@ class JwtAuthenticationFilterTest {
 		SecurityContextHolder.getContext().setAuthentication(existingAuth);
 
 		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
-		
-		when(jwtTokenProvider.getUsernameFromToken(token)).thenReturn("new.user");
 
 		// Act
 		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
+		// The token must not even be parsed when the context is already populated.
+		verify(jwtTokenProvider, never()).parseAndValidate(anyString());
+
 		// userDetailsService'in hiç çağrılmaması gerekiyor çünkü context'te zaten bir
 		// kullanıcı var.
-		verify(userDetailsService, never()).loadUserByUsername(anyString());
+		verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
 		assertEquals("already.logged.in", SecurityContextHolder.getContext().getAuthentication().getName(),
 				"Existing authentication should not be overridden.");
 		assertTrue(filterChain.getRequest() != null, "FilterChain should continue.");
 	}
-}
\ No newline at end of file
+
+	@Test
+	void shouldRejectTokenIssuedBeforeRevocationWatermark() throws ServletException, IOException {
+		String token = "revoked.token";
+		String username = "test.user";
+		ParsedJwtToken parsed = parsedToken(username);
+
+		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
+		when(jwtTokenBlacklistService.isBlacklisted(token)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(Optional.of(parsed));
+		when(revocationWatermarkService.isRevoked(username, parsed.issuedAt())).thenReturn(true);
+
+		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+		assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+		assertNull(filterChain.getRequest(), "FilterChain's doFilter should NOT have been called.");
+		verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
+	}
+
+	// --- Stateless Authorization ---
+
+	@Test
+	void shouldAuthenticateFromClaimsWithoutLoadingUserWhenVersionMatches() throws ServletException, IOException {
+		String token = "stateless.token";
+		String username = "test.user";
+
+		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
+		when(jwtTokenBlacklistService.isBlacklisted(token)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(Optional.of(statelessToken(username, true, 5L)));
+		when(jwtTokenProvider.isStatelessAuthorizationEnabled()).thenReturn(true);
+		when(securityVersionRegistry.findVersion(username)).thenReturn(5L);
+
+		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+		assertEquals(username, SecurityContextHolder.getContext().getAuthentication().getName());
+		verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
+	}
+
+	@Test
+	void shouldRejectStatelessTokenWithStaleSecurityVersion() throws ServletException, IOException {
+		String token = "stale.token";
+		String username = "test.user";
+
+		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
+		when(jwtTokenBlacklistService.isBlacklisted(token)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(Optional.of(statelessToken(username, true, 4L)));
+		when(jwtTokenProvider.isStatelessAuthorizationEnabled()).thenReturn(true);
+		when(securityVersionRegistry.findVersion(username)).thenReturn(5L);
+
+		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication(),
+				"A token issued before a status or password change must not authenticate.");
+		verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
+	}
+
+	@Test
+	void shouldNotAuthenticateInactiveStatelessToken() throws ServletException, IOException {
+		String token = "inactive.token";
+		String username = "test.user";
+
+		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
+		when(jwtTokenBlacklistService.isBlacklisted(token)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(Optional.of(statelessToken(username, false, 5L)));
+		when(jwtTokenProvider.isStatelessAuthorizationEnabled()).thenReturn(true);
+		when(securityVersionRegistry.findVersion(username)).thenReturn(5L);
+
+		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+	}
+
+	@Test
+	void shouldFallBackToUserLookupWhenVersionIsUnknown() throws ServletException, IOException {
+		String token = "stateless.token";
+		String username = "test.user";
+		UserDetails userDetails = new User(username, "password", Collections.emptyList());
+
+		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
+		when(jwtTokenBlacklistService.isBlacklisted(token)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(Optional.of(statelessToken(username, true, 5L)));
+		when(jwtTokenProvider.isStatelessAuthorizationEnabled()).thenReturn(true);
+		when(securityVersionRegistry.findVersion(username)).thenReturn(null);
+		when(userDetailsService.loadCachedUserByUsername(username)).thenReturn(userDetails);
+
+		jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+		assertEquals(username, SecurityContextHolder.getContext().getAuthentication().getName());
+	}
+
+	@Test
+	void shouldKeepStatelessFastPathForTokensOlderThanVersionCacheWindow() throws Exception {
+		String token = "stateless.token";
+		String username = "test.user";
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(username))).thenReturn(List.of(5L));
+		JwtConfig jwtConfig = new JwtConfig();
+		jwtConfig.setSecurityVersionCacheSeconds(1);
+		jwtConfig.setExpirationMs(3_600_000);
+		SecurityVersionRegistry registry = new SecurityVersionRegistry(jdbcTemplate, jwtConfig,
+				mock(SharedSecurityState.class));
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService,
+				jwtTokenBlacklistService, jwtTokenExtractor, registry, revocationWatermarkService);
+
+		// Token issued on this node; the cache window then passes without any bump.
+		assertEquals(5L, registry.currentVersion(username));
+		Thread.sleep(1_200);
+
+		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
+		when(jwtTokenBlacklistService.isBlacklisted(token)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(Optional.of(statelessToken(username, true, 5L)));
+		when(jwtTokenProvider.isStatelessAuthorizationEnabled()).thenReturn(true);
+
+		filter.doFilterInternal(request, response, filterChain);
+
+		assertEquals(username, SecurityContextHolder.getContext().getAuthentication().getName());
+		verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
+	}
+
+	@Test
+	void shouldUseVersionLoadedOnMissOnAnotherNode() throws ServletException, IOException {
+		String token = "stateless.token";
+		String username = "test.user";
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(username))).thenReturn(List.of(5L));
+		SecurityVersionRegistry registry = new SecurityVersionRegistry(jdbcTemplate, new JwtConfig(),
+				mock(SharedSecurityState.class));
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService,
+				jwtTokenBlacklistService, jwtTokenExtractor, registry, revocationWatermarkService);
+
+		when(jwtTokenExtractor.extractJwtFromRequest(request)).thenReturn(token);
+		when(jwtTokenBlacklistService.isBlacklisted(token)).thenReturn(false);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(Optional.of(statelessToken(username, true, 5L)));
+		when(jwtTokenProvider.isStatelessAuthorizationEnabled()).thenReturn(true);
+
+		filter.doFilterInternal(request, response, filterChain);
+
+		assertEquals(username, SecurityContextHolder.getContext().getAuthentication().getName());
+		verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
+	}
+
+	private ParsedJwtToken statelessToken(String username, boolean active, long securityVersion) {
+		Instant now = Instant.now();
+		return new ParsedJwtToken("1", username, now.plusSeconds(3600), now, active, securityVersion);
+	}
+
+	private ParsedJwtToken parsedToken(String username) {
+		Instant now = Instant.now();
+		return new ParsedJwtToken("1", username, now.plusSeconds(3600), now);
+	}
+}
@@ -3,11 +3,17 @@ package com.epam.gym_crm.security;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +25,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.epam.gym_crm.config.JwtConfig;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 
 @ExtendWith(MockitoExtension.class)
 class JwtTokenProviderTest {
@@ -27,6 +35,15 @@ class JwtTokenProviderTest {
 	@Mock
 	private JwtConfig jwtConfig;
 
+	@Mock
+	private VerifiedTokenCache verifiedTokenCache;
+
+	@Mock
+	private SecurityVersionRegistry securityVersionRegistry;
+
+	@Mock
+	private JwtSigningKeys jwtSigningKeys;
+
 	@InjectMocks
 	private JwtTokenProvider jwtTokenProvider;
 
@@ -107,7 +124,8 @@ class JwtTokenProviderTest {
 
 		JwtConfig wrongConfig = new JwtConfig();
 		wrongConfig.setSecret("this-is-a-completely-different-wrong-secret-key");
-		JwtTokenProvider wrongTokenProvider = new JwtTokenProvider(wrongConfig);
+		JwtTokenProvider wrongTokenProvider = new JwtTokenProvider(wrongConfig, verifiedTokenCache,
+				securityVersionRegistry, new JwtSigningKeys(wrongConfig));
 
 		boolean isValid = wrongTokenProvider.validateToken(token);
 
@@ -131,4 +149,122 @@ class JwtTokenProviderTest {
 		assertFalse(jwtTokenProvider.validateToken(nullToken), "A null token should be invalid.");
 		assertFalse(jwtTokenProvider.validateToken(emptyToken), "An empty token should be invalid.");
 	}
+
+	// --- Single-parse Validation Tests ---
+
+	@Test
+	void shouldParseAndValidateTokenInSinglePass() {
+		String token = jwtTokenProvider.generateJwtToken(testUserDetails);
+
+		Optional<ParsedJwtToken> parsed = jwtTokenProvider.parseAndValidate(token);
+
+		assertTrue(parsed.isPresent(), "A freshly generated token should be parsed.");
+		assertEquals("1", parsed.get().subject());
+		assertEquals(1L, parsed.get().getUserId());
+		assertEquals("test.user", parsed.get().username());
+		assertNotNull(parsed.get().issuedAt());
+		assertTrue(parsed.get().expiresAt().isAfter(parsed.get().issuedAt()));
+	}
+
+	@Test
+	void shouldReturnEmptyWhenParsingExpiredOrMalformedToken() {
+		Date pastDate = new Date(System.currentTimeMillis() - 5000);
+		String expiredToken = Jwts.builder().setSubject("1").setExpiration(pastDate).signWith(jwtTokenProvider.getKey())
+				.compact();
+
+		assertTrue(jwtTokenProvider.parseAndValidate(expiredToken).isEmpty());
+		assertTrue(jwtTokenProvider.parseAndValidate("this.is.not.a.jwt").isEmpty());
+		assertTrue(jwtTokenProvider.parseAndValidate(null).isEmpty());
+	}
+
+	@Test
+	void shouldReuseSigningKeyAcrossCalls() {
+		assertSame(jwtTokenProvider.getKey(), jwtTokenProvider.getKey(), "The signing key should be built only once.");
+	}
+
+	@Test
+	void shouldServeVerifiedTokenFromCacheWhenEnabled() {
+		ParsedJwtToken cached = new ParsedJwtToken("1", "test.user", Instant.now().plusSeconds(60), Instant.now());
+		when(verifiedTokenCache.isEnabled()).thenReturn(true);
+		when(verifiedTokenCache.getIfPresent("cached.token")).thenReturn(cached);
+
+		Optional<ParsedJwtToken> parsed = jwtTokenProvider.parseAndValidate("cached.token");
+
+		assertSame(cached, parsed.get(), "A cached token should be returned without re-verifying the signature.");
+	}
+
+	@Test
+	void shouldPopulateCacheAfterSuccessfulVerification() {
+		String token = jwtTokenProvider.generateJwtToken(testUserDetails);
+		when(verifiedTokenCache.isEnabled()).thenReturn(true);
+
+		Optional<ParsedJwtToken> parsed = jwtTokenProvider.parseAndValidate(token);
+
+		verify(verifiedTokenCache).put(token, parsed.get());
+	}
+
+	// --- Stateless Authorization Claims ---
+
+	@Test
+	void shouldEmbedStatusClaimsWhenStatelessAuthorizationEnabled() {
+		when(jwtConfig.isStatelessAuthorization()).thenReturn(true);
+		when(securityVersionRegistry.currentVersion("test.user")).thenReturn(42L);
+
+		String token = jwtTokenProvider.generateJwtToken(testUserDetails);
+		ParsedJwtToken parsed = jwtTokenProvider.parseAndValidate(token).get();
+
+		assertTrue(parsed.hasStatusClaims());
+		assertEquals(Boolean.TRUE, parsed.active());
+		assertEquals(42L, parsed.securityVersion());
+	}
+
+	@Test
+	void shouldNotEmbedStatusClaimsByDefault() {
+		String token = jwtTokenProvider.generateJwtToken(testUserDetails);
+		ParsedJwtToken parsed = jwtTokenProvider.parseAndValidate(token).get();
+
+		assertFalse(parsed.hasStatusClaims());
+		verifyNoInteractions(securityVersionRegistry);
+	}
+
+	// --- ES256 Signing ---
+
+	@Test
+	void shouldSignWithEs256AndKeyIdAndVerifyWithPublishedKey() {
+		JwtConfig es256Config = new JwtConfig();
+		es256Config.setExpirationMs(FAKE_EXPIRATION_MS);
+		es256Config.setSigningAlgorithm(JwtConfig.SigningAlgorithm.ES256);
+		JwtSigningKeys signingKeys = new JwtSigningKeys(es256Config);
+		JwtTokenProvider es256Provider = new JwtTokenProvider(es256Config, verifiedTokenCache, securityVersionRegistry,
+				signingKeys);
+
+		String token = es256Provider.generateJwtToken(testUserDetails);
+
+		Jws<Claims> jws = Jwts.parserBuilder()
+				.setSigningKey(signingKeys.findVerificationKey(signingKeys.getActiveKeyId())).build()
+				.parseClaimsJws(token);
+		assertEquals("ES256", jws.getHeader().getAlgorithm());
+		assertEquals(signingKeys.getActiveKeyId(), jws.getHeader().getKeyId());
+		assertEquals("test.user", es256Provider.parseAndValidate(token).get().username());
+	}
+
+	@Test
+	void shouldRejectHmacTokensInEs256ModeUnlessAccepted() {
+		String hmacToken = Jwts.builder().setSubject("1").claim("username", "test.user")
+				.setExpiration(new Date(System.currentTimeMillis() + FAKE_EXPIRATION_MS))
+				.signWith(jwtTokenProvider.getKey(), SignatureAlgorithm.HS256).compact();
+
+		JwtConfig es256Config = new JwtConfig();
+		es256Config.setSecret(FAKE_SECRET);
+		es256Config.setSigningAlgorithm(JwtConfig.SigningAlgorithm.ES256);
+		es256Config.setAcceptHmacTokens(false);
+		JwtTokenProvider strictProvider = new JwtTokenProvider(es256Config, verifiedTokenCache,
+				securityVersionRegistry, new JwtSigningKeys(es256Config));
+		es256Config.setAcceptHmacTokens(true);
+		JwtTokenProvider migratingProvider = new JwtTokenProvider(es256Config, verifiedTokenCache,
+				securityVersionRegistry, new JwtSigningKeys(es256Config));
+
+		assertFalse(strictProvider.validateToken(hmacToken));
+		assertTrue(migratingProvider.validateToken(hmacToken));
+	}
 }
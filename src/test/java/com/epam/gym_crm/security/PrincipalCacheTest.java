@@ -0,0 +1,95 @@
+package com.epam.gym_crm.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.epam.gym_crm.config.PrincipalCacheConfig;
+import com.epam.gym_crm.db.entity.User;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PrincipalCacheTest {
+
+	private MeterRegistry meterRegistry;
+	private PrincipalCacheConfig principalCacheConfig;
+	private PrincipalCache principalCache;
+	private AtomicInteger loads;
+	private Function<String, JwtUserDetails> loader;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		principalCacheConfig = new PrincipalCacheConfig();
+		principalCacheConfig.setEnabled(true);
+		principalCacheConfig.setTtlSeconds(30);
+		principalCacheConfig.setMaxSize(100);
+		principalCache = new PrincipalCache(principalCacheConfig, new AppMetrics(meterRegistry));
+
+		loads = new AtomicInteger();
+		loader = username -> {
+			loads.incrementAndGet();
+			User user = new User();
+			user.setId(1L);
+			user.setUsername(username);
+			user.setPassword("encoded");
+			user.setActive(true);
+			return JwtUserDetails.create(user, true);
+		};
+	}
+
+	@Test
+	void shouldLoadOnceAndServeSubsequentLookupsFromCache() {
+		JwtUserDetails first = principalCache.get("test.user", loader);
+		JwtUserDetails second = principalCache.get("test.user", loader);
+
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+		assertEquals(1.0, counter("hit"));
+		assertEquals(1.0, counter("miss"));
+	}
+
+	@Test
+	void shouldReloadAfterInvalidate() {
+		JwtUserDetails first = principalCache.get("test.user", loader);
+
+		principalCache.invalidate("test.user");
+		JwtUserDetails second = principalCache.get("test.user", loader);
+
+		assertNotSame(first, second);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void shouldAlwaysLoadWhenDisabled() {
+		principalCacheConfig.setEnabled(false);
+		PrincipalCache disabledCache = new PrincipalCache(principalCacheConfig, new AppMetrics(meterRegistry));
+
+		disabledCache.get("test.user", loader);
+		disabledCache.get("test.user", loader);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void shouldExposeHitRatioGauge() {
+		principalCache.get("test.user", loader);
+		principalCache.get("test.user", loader);
+
+		assertEquals(0.5, meterRegistry.get("gym_crm_cache_hit_ratio").tag("cache", PrincipalCache.CACHE_NAME)
+				.gauge().value());
+	}
+
+	private double counter(String result) {
+		return meterRegistry.get("gym_crm_cache_requests_total").tag("cache", PrincipalCache.CACHE_NAME)
+				.tag("result", result).counter().count();
+	}
+}
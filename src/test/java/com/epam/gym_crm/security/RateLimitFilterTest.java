@@ -0,0 +1,133 @@
+package com.epam.gym_crm.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.epam.gym_crm.config.RateLimitConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import jakarta.servlet.FilterChain;
+
+class RateLimitFilterTest {
+
+	private RateLimitConfig rateLimitConfig;
+	private AppMetrics appMetrics;
+	private RateLimitFilter rateLimitFilter;
+
+	@BeforeEach
+	void setUp() {
+		rateLimitConfig = new RateLimitConfig();
+		rateLimitConfig.getGroups().put("login", group(List.of("/api/auth/login"), List.of("POST"), 2));
+		rateLimitConfig.getGroups().put("authenticated", group(List.of("/api/**"), List.of(), 1));
+		appMetrics = mock(AppMetrics.class);
+		rateLimitFilter = new RateLimitFilter(rateLimitConfig, appMetrics);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void shouldReturn429WithRetryAfterOnceIpBucketIsEmpty() throws Exception {
+		FilterChain filterChain = mock(FilterChain.class);
+
+		assertEquals(200, call("POST", "/api/auth/login", "10.0.0.1", filterChain).getStatus());
+		assertEquals(200, call("POST", "/api/auth/login", "10.0.0.1", filterChain).getStatus());
+		MockHttpServletResponse limited = call("POST", "/api/auth/login", "10.0.0.1", filterChain);
+
+		assertEquals(429, limited.getStatus());
+		assertNotNull(limited.getHeader("Retry-After"));
+		verify(filterChain, times(2)).doFilter(any(), any());
+		verify(appMetrics).incrementRateLimited("login");
+	}
+
+	@Test
+	void shouldKeepSeparateBucketsPerClientIp() throws Exception {
+		FilterChain filterChain = mock(FilterChain.class);
+
+		call("POST", "/api/auth/login", "10.0.0.1", filterChain);
+		call("POST", "/api/auth/login", "10.0.0.1", filterChain);
+
+		assertEquals(200, call("POST", "/api/auth/login", "10.0.0.2", filterChain).getStatus());
+	}
+
+	@Test
+	void shouldIgnoreForwardedForHeaderSentByClient() throws Exception {
+		FilterChain filterChain = mock(FilterChain.class);
+
+		for (String spoofed : List.of("1.1.1.1", "2.2.2.2", "3.3.3.3")) {
+			MockHttpServletRequest request = request("POST", "/api/auth/login", "10.0.0.1");
+			request.addHeader("X-Forwarded-For", spoofed);
+			rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+		}
+
+		verify(filterChain, times(2)).doFilter(any(), any());
+	}
+
+	@Test
+	void shouldLimitAuthenticatedCallersByUsername() throws Exception {
+		FilterChain filterChain = mock(FilterChain.class);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("test.user",
+				null, List.of(new SimpleGrantedAuthority("ROLE_AUTH"))));
+
+		assertEquals(200, call("GET", "/api/trainees/test.user", "10.0.0.1", filterChain).getStatus());
+		// Same user from another address shares the bucket.
+		assertEquals(429, call("GET", "/api/trainees/test.user", "10.0.0.2", filterChain).getStatus());
+	}
+
+	@Test
+	void shouldPassThroughUnmatchedRoutesAndWhenDisabled() throws Exception {
+		FilterChain filterChain = mock(FilterChain.class);
+		call("GET", "/actuator/health", "10.0.0.1", filterChain);
+
+		rateLimitConfig.setEnabled(false);
+		RateLimitFilter disabledFilter = new RateLimitFilter(rateLimitConfig, appMetrics);
+		for (int i = 0; i < 3; i++) {
+			MockHttpServletRequest request = request("POST", "/api/auth/login", "10.0.0.1");
+			disabledFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+		}
+
+		verify(filterChain, times(4)).doFilter(any(), any());
+		verify(appMetrics, never()).incrementRateLimited(any());
+	}
+
+	private MockHttpServletResponse call(String method, String path, String remoteAddr, FilterChain filterChain)
+			throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		rateLimitFilter.doFilter(request(method, path, remoteAddr), response, filterChain);
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String method, String path, String remoteAddr) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		request.setServletPath(path);
+		request.setRemoteAddr(remoteAddr);
+		return request;
+	}
+
+	private static RateLimitConfig.RouteGroup group(List<String> paths, List<String> methods, int capacity) {
+		RateLimitConfig.RouteGroup group = new RateLimitConfig.RouteGroup();
+		group.setPaths(paths);
+		group.setMethods(methods);
+		group.setCapacity(capacity);
+		group.setRefillPerSecond(0.001);
+		return group;
+	}
+}
@@ -0,0 +1,120 @@
+package com.epam.gym_crm.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
+
+class SecurityVersionRegistryTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private SharedSecurityState sharedSecurityState;
+	private SecurityVersionRegistry securityVersionRegistry;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		sharedSecurityState = mock(SharedSecurityState.class);
+		securityVersionRegistry = new SecurityVersionRegistry(jdbcTemplate, new JwtConfig(), sharedSecurityState);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void shouldLoadVersionOnMissAndReportNullUserAsUnknown() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("known.user"))).thenReturn(List.of(2L));
+
+		assertEquals(2L, securityVersionRegistry.findVersion("known.user"));
+		assertEquals(0L, securityVersionRegistry.findVersion("unknown.user"));
+		assertNull(securityVersionRegistry.findVersion(null));
+	}
+
+	@Test
+	void shouldReportVersionAsUnknownWhenItCannotBeRead() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("test.user")))
+				.thenThrow(new DataAccessResourceFailureException("down"));
+
+		assertNull(securityVersionRegistry.findVersion("test.user"));
+	}
+
+	@Test
+	void shouldReadStoredVersionAndStartAtZeroWithoutRow() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("known.user"))).thenReturn(List.of(7L));
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("new.user"))).thenReturn(List.of());
+
+		assertEquals(7L, securityVersionRegistry.currentVersion("known.user"));
+		assertEquals(0L, securityVersionRegistry.currentVersion("new.user"));
+		assertEquals(7L, securityVersionRegistry.findVersion("known.user"));
+	}
+
+	@Test
+	void shouldPersistBumpButApplyItOnlyAfterCommit() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("test.user"))).thenReturn(List.of(3L));
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("test.user"))).thenReturn(4L);
+		assertEquals(3L, securityVersionRegistry.currentVersion("test.user"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		securityVersionRegistry.bump("test.user");
+
+		assertEquals(3L, securityVersionRegistry.findVersion("test.user"));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+
+		assertEquals(4L, securityVersionRegistry.findVersion("test.user"));
+		verify(sharedSecurityState)
+				.publish(new SecurityStateEvent(SecurityStateEvent.Type.SECURITY_VERSION, "test.user", 4L));
+	}
+
+	@Test
+	void shouldBumpWithSingleUpsertSoConcurrentFirstBumpsCannotCollide() {
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("test.user"))).thenReturn(1L);
+
+		securityVersionRegistry.bump("test.user");
+
+		verify(jdbcTemplate).queryForObject("INSERT INTO user_security_version (username, version) VALUES (?, 1) "
+				+ "ON CONFLICT (username) DO UPDATE SET version = user_security_version.version + 1 RETURNING version",
+				Long.class, "test.user");
+		verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+		assertEquals(1L, securityVersionRegistry.findVersion("test.user"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldApplyVersionsPublishedByOtherNodes() {
+		ArgumentCaptor<Consumer<SecurityStateEvent>> listener = ArgumentCaptor.forClass(Consumer.class);
+		verify(sharedSecurityState).subscribe(listener.capture());
+
+		listener.getValue().accept(new SecurityStateEvent(SecurityStateEvent.Type.SECURITY_VERSION, "test.user", 9L));
+		listener.getValue().accept(new SecurityStateEvent(SecurityStateEvent.Type.SECURITY_VERSION, "test.user", 8L));
+
+		assertEquals(9L, securityVersionRegistry.findVersion("test.user"));
+	}
+}
@@ -0,0 +1,89 @@
+package com.epam.gym_crm.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+	private MeterRegistry meterRegistry;
+	private JwtConfig jwtConfig;
+	private VerifiedTokenCache verifiedTokenCache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		jwtConfig = new JwtConfig();
+		jwtConfig.setExpirationMs(3600000);
+		jwtConfig.setVerifiedCacheEnabled(true);
+		jwtConfig.setVerifiedCacheMaxSize(100);
+		verifiedTokenCache = new VerifiedTokenCache(jwtConfig, new AppMetrics(meterRegistry));
+	}
+
+	@Test
+	void shouldReturnCachedTokenAndRecordHit() {
+		ParsedJwtToken parsedToken = validToken();
+		verifiedTokenCache.put("token", parsedToken);
+
+		assertSame(parsedToken, verifiedTokenCache.getIfPresent("token"));
+		assertEquals(1.0, counter("hit"));
+	}
+
+	@Test
+	void shouldRecordMissForUnknownToken() {
+		assertNull(verifiedTokenCache.getIfPresent("unknown"));
+		assertEquals(1.0, counter("miss"));
+	}
+
+	@Test
+	void shouldNotServeTokenPastItsExpiry() {
+		ParsedJwtToken expired = new ParsedJwtToken("1", "test.user", Instant.now().minusSeconds(1),
+				Instant.now().minusSeconds(60));
+		verifiedTokenCache.put("expired", expired);
+
+		assertNull(verifiedTokenCache.getIfPresent("expired"), "Entries must not outlive the token's own exp.");
+	}
+
+	@Test
+	void shouldDropEntryOnInvalidate() {
+		verifiedTokenCache.put("token", validToken());
+
+		verifiedTokenCache.invalidate("token");
+
+		assertNull(verifiedTokenCache.getIfPresent("token"));
+	}
+
+	@Test
+	void shouldBeNoOpWhenDisabled() {
+		jwtConfig.setVerifiedCacheEnabled(false);
+		VerifiedTokenCache disabledCache = new VerifiedTokenCache(jwtConfig, new AppMetrics(meterRegistry));
+
+		disabledCache.put("token", validToken());
+
+		assertFalse(disabledCache.isEnabled());
+		assertNull(disabledCache.getIfPresent("token"));
+		assertTrue(verifiedTokenCache.isEnabled());
+	}
+
+	private ParsedJwtToken validToken() {
+		return new ParsedJwtToken("1", "test.user", Instant.now().plusSeconds(600), Instant.now());
+	}
+
+	private double counter(String result) {
+		return meterRegistry.get("gym_crm_cache_requests_total").tag("cache", VerifiedTokenCache.CACHE_NAME)
+				.tag("result", result).counter().count();
+	}
+}
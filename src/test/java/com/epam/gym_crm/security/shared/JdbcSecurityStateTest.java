@@ -0,0 +1,132 @@
+package com.epam.gym_crm.security.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.gym_crm.config.SharedSecurityStateConfig;
+
+class JdbcSecurityStateTest {
+
+	private EmbeddedDatabase database;
+	private JdbcTemplate jdbcTemplate;
+	private DataSourceTransactionManager transactionManager;
+	private SharedSecurityStateConfig config;
+	private JdbcSecurityState nodeA;
+	private JdbcSecurityState nodeB;
+	private List<SecurityStateEvent> receivedByA;
+	private List<SecurityStateEvent> receivedByB;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(database);
+		transactionManager = new DataSourceTransactionManager(database);
+		jdbcTemplate.execute("""
+				CREATE TABLE security_state_event (
+				    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+				    event_type VARCHAR(32) NOT NULL,
+				    subject VARCHAR(128) NOT NULL,
+				    event_value BIGINT NOT NULL,
+				    origin_node VARCHAR(64) NOT NULL,
+				    created_at TIMESTAMP NOT NULL
+				)""");
+
+		config = new SharedSecurityStateConfig();
+		config.setPollBatchSize(2);
+		nodeA = new JdbcSecurityState(jdbcTemplate, config, transactionManager);
+		nodeB = new JdbcSecurityState(jdbcTemplate, config, transactionManager);
+
+		receivedByA = new CopyOnWriteArrayList<>();
+		receivedByB = new CopyOnWriteArrayList<>();
+		nodeA.subscribe(receivedByA::add);
+		nodeB.subscribe(receivedByB::add);
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void shouldDeliverEventsToOtherNodesOnly() {
+		SecurityStateEvent event = SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, "test.user");
+
+		nodeA.publish(event);
+		nodeA.poll();
+		nodeB.poll();
+
+		assertTrue(receivedByA.isEmpty(), "A node must not re-apply its own events.");
+		assertEquals(List.of(event), receivedByB);
+	}
+
+	@Test
+	void shouldDeliverEachEventOnceAcrossBatches() {
+		for (int i = 0; i < 5; i++) {
+			nodeA.publish(new SecurityStateEvent(SecurityStateEvent.Type.REVOCATION_WATERMARK, "user." + i, i));
+		}
+
+		nodeB.poll();
+		nodeB.poll();
+
+		assertEquals(5, receivedByB.size());
+		assertEquals("user.4", receivedByB.get(4).subject());
+	}
+
+	@Test
+	void shouldPublishOnlyAfterCommit() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+		transaction.executeWithoutResult(status -> {
+			nodeA.publish(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, "rolled.back"));
+			status.setRollbackOnly();
+		});
+		transaction.executeWithoutResult(
+				status -> nodeA.publish(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, "committed")));
+		nodeB.poll();
+
+		assertEquals(List.of(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, "committed")), receivedByB);
+	}
+
+	@Test
+	void shouldDeliverEventThatCommitsAfterAHigherId() {
+		insertEvent(2, "user.2");
+		nodeB.poll();
+		insertEvent(1, "user.1");
+		insertEvent(3, "user.3");
+		nodeB.poll();
+		nodeB.poll();
+
+		assertEquals(List.of("user.2", "user.1", "user.3"),
+				receivedByB.stream().map(SecurityStateEvent::subject).toList());
+	}
+
+	@Test
+	void shouldMovePastIdThatNeverAppears() {
+		config.setGapTimeoutMs(0);
+		insertEvent(2, "user.2");
+		nodeB.poll();
+		nodeB.poll();
+		insertEvent(3, "user.3");
+		nodeB.poll();
+
+		assertEquals(List.of("user.2", "user.3"), receivedByB.stream().map(SecurityStateEvent::subject).toList());
+	}
+
+	private void insertEvent(long id, String subject) {
+		jdbcTemplate.update("INSERT INTO security_state_event (id, event_type, subject, event_value, origin_node, "
+				+ "created_at) VALUES (?, 'LOGIN_FAILED', ?, 0, 'other-node', CURRENT_TIMESTAMP)", id, subject);
+	}
+}
@@ -0,0 +1,42 @@
+package com.epam.gym_crm.security.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCountMinSketchTest {
+
+	private static final long BUCKET_MILLIS = 1000;
+	private static final long START = 1_700_000_000_000L;
+
+	private final SlidingWindowCountMinSketch sketch = new SlidingWindowCountMinSketch(5, BUCKET_MILLIS, 4, 1024);
+
+	@Test
+	void shouldNeverUndercount() {
+		for (int i = 0; i < 3; i++) {
+			sketch.increment("attacked.user", START + i);
+		}
+		for (int i = 0; i < 2000; i++) {
+			sketch.increment("noise." + i, START);
+		}
+
+		assertTrue(sketch.estimate("attacked.user", START) >= 3);
+	}
+
+	@Test
+	void shouldReturnZeroForUnseenKeyWithoutCollisions() {
+		sketch.increment("seen.user", START);
+
+		assertEquals(0, sketch.estimate("unseen.user", START));
+	}
+
+	@Test
+	void shouldForgetCountsOutsideWindow() {
+		sketch.increment("test.user", START);
+		sketch.increment("test.user", START + 3000);
+
+		assertEquals(1, sketch.estimate("test.user", START + 5000));
+		assertEquals(0, sketch.estimate("test.user", START + 9000));
+	}
+}
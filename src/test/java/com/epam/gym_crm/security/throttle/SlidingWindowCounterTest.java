@@ -0,0 +1,41 @@
+package com.epam.gym_crm.security.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCounterTest {
+
+	private static final long BUCKET_MILLIS = 1000;
+	private static final long START = 1_700_000_000_000L;
+
+	private final SlidingWindowCounter counter = new SlidingWindowCounter(5, BUCKET_MILLIS);
+
+	@Test
+	void shouldCountEventsWithinWindow() {
+		counter.increment(START);
+		counter.increment(START + 1500);
+		counter.increment(START + 3200);
+
+		assertEquals(3, counter.sum(START + 4000));
+	}
+
+	@Test
+	void shouldDropEventsAsWindowSlides() {
+		counter.increment(START);
+		counter.increment(START + 2000);
+
+		assertEquals(1, counter.sum(START + 5000), "The event from the first bucket has left the window.");
+		assertEquals(0, counter.sum(START + 7000));
+	}
+
+	@Test
+	void shouldResetReusedSlotForNewEpoch() {
+		counter.increment(START);
+		counter.increment(START);
+
+		counter.increment(START + 5 * BUCKET_MILLIS);
+
+		assertEquals(1, counter.sum(START + 5 * BUCKET_MILLIS));
+	}
+}
@@ -0,0 +1,48 @@
+package com.epam.gym_crm.security.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void shouldAllowBurstUpToCapacityThenRefuse() {
+		TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+		assertEquals(0, bucket.tryConsume(0));
+		assertEquals(0, bucket.tryConsume(0));
+		assertEquals(0, bucket.tryConsume(0));
+		assertTrue(bucket.tryConsume(0) > 0);
+	}
+
+	@Test
+	void shouldReportWaitUntilNextToken() {
+		TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+		bucket.tryConsume(0);
+
+		assertEquals(SECOND / 2, bucket.tryConsume(0));
+		assertEquals(SECOND / 4, bucket.tryConsume(SECOND / 4));
+	}
+
+	@Test
+	void shouldRefillOverTimeButNotBeyondCapacity() {
+		TokenBucket bucket = new TokenBucket(2, 1, 0);
+		bucket.tryConsume(0);
+		bucket.tryConsume(0);
+
+		assertEquals(0, bucket.tryConsume(SECOND));
+
+		// A long idle period still only refills to capacity.
+		long later = 100 * SECOND;
+		assertEquals(0, bucket.tryConsume(later));
+		assertEquals(0, bucket.tryConsume(later));
+		assertTrue(bucket.tryConsume(later) > 0);
+	}
+}
@@ -0,0 +1,171 @@
+package com.epam.gym_crm.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.epam.gym_crm.config.TrainerDirectoryConfig;
+import com.epam.gym_crm.db.entity.Trainer;
+import com.epam.gym_crm.db.entity.TrainingType;
+import com.epam.gym_crm.db.entity.User;
+import com.epam.gym_crm.db.repository.TrainerRepository;
+import com.epam.gym_crm.domain.service.impl.ActiveTrainerDirectory;
+import com.epam.gym_crm.monitoring.metric.AppMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ActiveTrainerDirectoryTest {
+
+	private TrainerRepository trainerRepository;
+	private MeterRegistry meterRegistry;
+	private ActiveTrainerDirectory directory;
+
+	@BeforeEach
+	void setUp() {
+		trainerRepository = mock(TrainerRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		directory = new ActiveTrainerDirectory(trainerRepository, new TrainerDirectoryConfig(),
+				new AppMetrics(meterRegistry));
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void shouldNotBeReadyBeforeFirstRebuild() {
+		assertFalse(directory.isReady());
+		assertTrue(directory.find("A.Trainer").isEmpty());
+	}
+
+	@Test
+	void shouldIndexActiveTrainersByUsernameAndSpecialization() {
+		when(trainerRepository.findByUserIsActive(true)).thenReturn(
+				List.of(trainer(1L, "B.Trainer", "Yoga", true), trainer(2L, "A.Trainer", "Fitness", true),
+						trainer(3L, "C.Trainer", "yoga", true)));
+
+		directory.rebuild();
+
+		assertTrue(directory.isReady());
+		assertEquals(3, directory.size());
+		assertEquals(2L, directory.find("A.Trainer").orElseThrow().id());
+		assertEquals(List.of("B.Trainer", "C.Trainer"),
+				directory.findBySpecialization("YOGA").stream().map(ActiveTrainerDirectory.Entry::username).toList());
+		assertEquals(1.0, meterRegistry.get("gym_crm_trainer_directory_version").gauge().value());
+	}
+
+	@Test
+	void shouldPageInUsernameOrderSkippingExcludedIds() {
+		when(trainerRepository.findByUserIsActive(true)).thenReturn(
+				List.of(trainer(1L, "A.Trainer", "Yoga", true), trainer(2L, "B.Trainer", "Yoga", true),
+						trainer(3L, "C.Trainer", "Yoga", true), trainer(4L, "D.Trainer", "Yoga", true)));
+		directory.rebuild();
+
+		List<ActiveTrainerDirectory.Entry> firstPage = directory.page("", Set.of(2L), 2);
+		List<ActiveTrainerDirectory.Entry> secondPage = directory.page("C.Trainer", Set.of(2L), 2);
+
+		assertEquals(List.of("A.Trainer", "C.Trainer"),
+				firstPage.stream().map(ActiveTrainerDirectory.Entry::username).toList());
+		assertEquals(List.of("D.Trainer"), secondPage.stream().map(ActiveTrainerDirectory.Entry::username).toList());
+	}
+
+	@Test
+	void shouldApplyChangesOnlyAfterCommit() {
+		when(trainerRepository.findByUserIsActive(true)).thenReturn(List.of(trainer(1L, "A.Trainer", "Yoga", true)));
+		directory.rebuild();
+		long versionBefore = directory.getVersion();
+
+		TransactionSynchronizationManager.initSynchronization();
+		directory.trainerChanged(trainer(2L, "B.Trainer", "Yoga", true));
+		directory.trainerChanged(trainer(1L, "A.Trainer", "Yoga", false));
+
+		assertTrue(directory.find("A.Trainer").isPresent());
+		assertTrue(directory.find("B.Trainer").isEmpty());
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+
+		assertTrue(directory.find("A.Trainer").isEmpty());
+		assertEquals("Yoga", directory.find("B.Trainer").orElseThrow().specialization());
+		assertEquals(versionBefore + 2, directory.getVersion());
+	}
+
+	@Test
+	void shouldRemoveDeletedTrainerImmediatelyOutsideTransaction() {
+		when(trainerRepository.findByUserIsActive(true)).thenReturn(List.of(trainer(1L, "A.Trainer", "Yoga", true)));
+		directory.rebuild();
+
+		directory.trainerRemoved("A.Trainer");
+
+		assertEquals(0, directory.size());
+		assertTrue(directory.findBySpecialization("Yoga").isEmpty());
+	}
+
+	@Test
+	void shouldLoadOnceAtStartupWhenRebuildIntervalIsZero() throws InterruptedException {
+		when(trainerRepository.findByUserIsActive(true)).thenReturn(List.of(trainer(1L, "A.Trainer", "Yoga", true)));
+		TrainerDirectoryConfig config = new TrainerDirectoryConfig();
+		config.setRebuildIntervalSeconds(0);
+		ActiveTrainerDirectory startedDirectory = new ActiveTrainerDirectory(trainerRepository, config,
+				new AppMetrics(new SimpleMeterRegistry()));
+
+		try {
+			startedDirectory.start();
+			for (int i = 0; i < 100 && !startedDirectory.isReady(); i++) {
+				Thread.sleep(20);
+			}
+
+			assertTrue(startedDirectory.isReady());
+			assertEquals(1, startedDirectory.size());
+			verify(trainerRepository, times(1)).findByUserIsActive(true);
+		} finally {
+			startedDirectory.stop();
+		}
+	}
+
+	@Test
+	void shouldRetryFailedStartupLoadWhenRebuildIntervalIsZero() throws InterruptedException {
+		when(trainerRepository.findByUserIsActive(true)).thenThrow(new IllegalStateException("database down"))
+				.thenReturn(List.of(trainer(1L, "A.Trainer", "Yoga", true)));
+		TrainerDirectoryConfig config = new TrainerDirectoryConfig();
+		config.setRebuildIntervalSeconds(0);
+		ActiveTrainerDirectory startedDirectory = new ActiveTrainerDirectory(trainerRepository, config,
+				new AppMetrics(new SimpleMeterRegistry()));
+
+		try {
+			startedDirectory.start();
+			for (int i = 0; i < 250 && !startedDirectory.isReady(); i++) {
+				Thread.sleep(20);
+			}
+
+			assertTrue(startedDirectory.isReady());
+			assertEquals(1, startedDirectory.size());
+			verify(trainerRepository, times(2)).findByUserIsActive(true);
+		} finally {
+			startedDirectory.stop();
+		}
+	}
+
+	private Trainer trainer(Long id, String username, String specialization, boolean active) {
+		User user = new User(id, "First", "Last", username, "p", active, null, null);
+		return new Trainer(id, new TrainingType(id, specialization), user, null, null);
+	}
+}
@@ -13,6 +13,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -31,17 +33,29 @@ import com.epam.gym_crm.api.dto.UserCreationResult;
 import com.epam.gym_crm.api.dto.request.ChangePasswordRequest;
 import com.epam.gym_crm.api.dto.request.LoginRequest;
 import com.epam.gym_crm.api.dto.response.LoginResponse;
+import com.epam.gym_crm.config.JwtConfig;
 import com.epam.gym_crm.db.entity.User;
 import com.epam.gym_crm.db.repository.UserRepository;
 import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.ErrorMessage;
 import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.domain.service.impl.AuthenticationInfoService;
 import com.epam.gym_crm.domain.service.impl.AuthenticationServiceImpl;
 import com.epam.gym_crm.domain.service.impl.JwtTokenBlacklistService;
 import com.epam.gym_crm.domain.service.impl.LoginAttemptService;
+import com.epam.gym_crm.domain.service.impl.RevocationWatermarkService;
+import com.epam.gym_crm.domain.service.impl.UsernameAllocator;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.monitoring.metric.LoginFailureReason;
+import com.epam.gym_crm.monitoring.metric.LoginHeavyHitterTracker;
+import com.epam.gym_crm.security.JwtSigningKeys;
 import com.epam.gym_crm.security.JwtTokenProvider;
 import com.epam.gym_crm.security.JwtUserDetails;
+import com.epam.gym_crm.security.ParsedJwtToken;
+import com.epam.gym_crm.security.PrincipalCache;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
+import com.epam.gym_crm.security.VerifiedTokenCache;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationServiceImplTest {
@@ -59,9 +73,19 @@ class AuthenticationServiceImplTest {
 	@Mock
 	private JwtTokenBlacklistService jwtTokenBlacklistService;
 	@Mock
+	private RevocationWatermarkService revocationWatermarkService;
+	@Mock
 	private AuthenticationInfoService authenticationInfoService;
 	@Mock
 	private AppMetrics appMetrics;
+	@Mock
+	private PrincipalCache principalCache;
+	@Mock
+	private SecurityVersionRegistry securityVersionRegistry;
+	@Mock
+	private LoginHeavyHitterTracker loginHeavyHitterTracker;
+	@Mock
+	private UsernameAllocator usernameAllocator;
 
 	@InjectMocks
 	private AuthenticationServiceImpl authenticationService;
@@ -87,7 +111,31 @@ class AuthenticationServiceImplTest {
 		assertEquals("dummy.jwt.token", response.accessToken());
 
 		verify(loginAttemptService, times(1)).loginSucceeded("test.user");
-		verify(appMetrics, times(1)).incrementLoginSuccess("test.user");
+		verify(appMetrics, times(1)).incrementLoginSuccess();
+	}
+
+	@Test
+	void shouldRehashPasswordOnLoginWhenCostChanged() {
+		LoginRequest request = new LoginRequest("test.user", "correctPass");
+		User user = new User(1L, "Test", "User", "test.user", "$2a$08$oldhash", true, null, null);
+		JwtUserDetails userDetails = JwtUserDetails.create(user, true);
+		Authentication authentication = mock(Authentication.class);
+
+		when(loginAttemptService.isBlocked("test.user")).thenReturn(false);
+		when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+				.thenReturn(authentication);
+		when(authentication.getPrincipal()).thenReturn(userDetails);
+		when(passwordEncoder.upgradeEncoding("$2a$08$oldhash")).thenReturn(true);
+		when(userRepository.findByUsername("test.user")).thenReturn(Optional.of(user));
+		when(passwordEncoder.encode("correctPass")).thenReturn("$2a$11$newhash");
+		when(jwtTokenProvider.generateJwtToken(userDetails)).thenReturn("dummy.jwt.token");
+
+		LoginResponse response = authenticationService.login(request);
+
+		assertEquals("dummy.jwt.token", response.accessToken());
+		assertEquals("$2a$11$newhash", user.getPassword());
+		verify(userRepository).save(user);
+		verify(principalCache).invalidate("test.user");
 	}
 
 	@Test
@@ -99,6 +147,7 @@ class AuthenticationServiceImplTest {
 		assertEquals(MessageType.UNAUTHORIZED, exception.getErrorMessage().getMessageType());
 		assertTrue(exception.getMessage().contains("User account is temporarily locked"));
 		verify(authenticationManager, never()).authenticate(any());
+		verify(appMetrics, times(1)).incrementLoginFailure(LoginFailureReason.LOCKED);
 	}
 
 	@Test
@@ -111,8 +160,9 @@ class AuthenticationServiceImplTest {
 		BaseException exception = assertThrows(BaseException.class, () -> authenticationService.login(request));
 		assertEquals(MessageType.UNAUTHORIZED, exception.getErrorMessage().getMessageType());
 		assertTrue(exception.getMessage().contains("Invalid username or password"));
-		verify(loginAttemptService, times(1)).loginFailed("test.user");
-		verify(appMetrics, times(1)).incrementLoginFailure("test.user");
+		verify(loginAttemptService, times(1)).loginFailed("test.user", true);
+		verify(appMetrics, times(1)).incrementLoginFailure(LoginFailureReason.BAD_CREDENTIALS);
+		verify(loginHeavyHitterTracker, times(1)).recordFailure("test.user");
 	}
 
 	@Test
@@ -125,7 +175,21 @@ class AuthenticationServiceImplTest {
 		BaseException exception = assertThrows(BaseException.class, () -> authenticationService.login(request));
 		assertEquals(MessageType.UNAUTHORIZED, exception.getErrorMessage().getMessageType());
 		assertTrue(exception.getMessage().contains("User account is inactive"));
-		verify(loginAttemptService, times(1)).loginFailed("disabled.user");
+		verify(loginAttemptService, times(1)).loginFailed("disabled.user", true);
+	}
+
+	@Test
+	void shouldReportFailedLoginForMissingAccountAsUnknown() {
+		LoginRequest request = new LoginRequest("no.such.user", "anyPass");
+		when(loginAttemptService.isBlocked("no.such.user")).thenReturn(false);
+		when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+				.thenThrow(new InternalAuthenticationServiceException("not found", new BaseException(
+						new ErrorMessage(MessageType.USER_NOT_FOUND, "Username : no.such.user"))));
+
+		BaseException exception = assertThrows(BaseException.class, () -> authenticationService.login(request));
+
+		assertEquals(MessageType.USER_NOT_FOUND, exception.getErrorMessage().getMessageType());
+		verify(loginAttemptService, times(1)).loginFailed("no.such.user", false);
 	}
 
 	// --- prepareUserWithCredentials Tests ---
@@ -134,13 +198,14 @@ class AuthenticationServiceImplTest {
 
 		String firstName = "New";
 		String lastName = "User";
-		when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+		when(usernameAllocator.allocate("New.User")).thenReturn("New.User2");
 		when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
 
 		UserCreationResult result = authenticationService.prepareUserWithCredentials(firstName, lastName);
 
 		assertNotNull(result);
 		assertNotNull(result.userToPersist());
+		assertEquals("New.User2", result.userToPersist().getUsername());
 		assertNotNull(result.rawPassword());
 		assertEquals("encodedPassword", result.userToPersist().getPassword());
 	}
@@ -160,6 +225,9 @@ class AuthenticationServiceImplTest {
 		assertDoesNotThrow(() -> authenticationService.changePassword(request));
 
 		verify(userRepository, times(1)).save(user);
+		verify(principalCache).invalidate("test.user");
+		verify(revocationWatermarkService).revokeAllIssued("test.user");
+		verify(securityVersionRegistry).bump("test.user");
 		assertEquals("encodedNewPass", user.getPassword());
 	}
 
@@ -204,6 +272,77 @@ class AuthenticationServiceImplTest {
 
 		authenticationService.logout(tokenToBlacklist);
 
-		verify(jwtTokenBlacklistService, times(1)).blacklistToken(tokenToBlacklist);
+		verify(jwtTokenBlacklistService, times(1)).blacklistToken(tokenToBlacklist, null);
+	}
+
+	@Test
+	void shouldBlacklistTokenUntilItsExpiryOnLogout() {
+		String tokenToBlacklist = "valid.token";
+		Instant expiresAt = Instant.now().plusSeconds(600);
+		when(authenticationInfoService.getCurrentUsername()).thenReturn("test.user");
+		when(jwtTokenProvider.parseAndValidate(tokenToBlacklist))
+				.thenReturn(Optional.of(new ParsedJwtToken("1", "test.user", expiresAt, Instant.now())));
+
+		authenticationService.logout(tokenToBlacklist);
+
+		verify(jwtTokenBlacklistService).blacklistToken(tokenToBlacklist, expiresAt);
+	}
+
+	@Test
+	void shouldRecordWatermarkInsteadOfBlacklistingOnLogout() {
+		String token = "valid.token";
+		Instant issuedAt = Instant.now();
+		when(authenticationInfoService.getCurrentUsername()).thenReturn("test.user");
+		when(revocationWatermarkService.isWatermarkLogout()).thenReturn(true);
+		when(jwtTokenProvider.parseAndValidate(token)).thenReturn(
+				Optional.of(new ParsedJwtToken("1", "test.user", issuedAt.plusSeconds(600), issuedAt)));
+
+		authenticationService.logout(token);
+
+		verify(revocationWatermarkService).revokeIssuedUpTo("test.user", issuedAt);
+		verify(jwtTokenBlacklistService, never()).blacklistToken(anyString(), any());
+	}
+
+	@Test
+	void shouldFallBackToBlacklistWhenTokenCannotBeParsedInWatermarkMode() {
+		String token = "unparseable.token";
+		when(authenticationInfoService.getCurrentUsername()).thenReturn("test.user");
+		when(revocationWatermarkService.isWatermarkLogout()).thenReturn(true);
+
+		authenticationService.logout(token);
+
+		verify(jwtTokenBlacklistService).blacklistToken(token, null);
+	}
+
+	@Test
+	void shouldRevokeAllTokensOnLogoutAllDevices() {
+		when(authenticationInfoService.getCurrentUsername()).thenReturn("test.user");
+
+		authenticationService.logoutAllDevices();
+
+		verify(revocationWatermarkService).revokeAllIssued("test.user");
+	}
+
+	@Test
+	void shouldRejectTokenIssuedInTheSameSecondAsLogoutAllDevices() {
+		JwtConfig jwtConfig = new JwtConfig();
+		jwtConfig.setSecret("this-is-a-very-long-and-secure-fake-secret-key-for-testing-purposes");
+		jwtConfig.setExpirationMs(3_600_000);
+		JwtTokenProvider realTokenProvider = new JwtTokenProvider(jwtConfig, mock(VerifiedTokenCache.class),
+				securityVersionRegistry, mock(JwtSigningKeys.class));
+		RevocationWatermarkService realWatermarkService = new RevocationWatermarkService(jwtConfig,
+				mock(SharedSecurityState.class));
+		AuthenticationServiceImpl service = new AuthenticationServiceImpl(userRepository, authenticationInfoService,
+				loginAttemptService, jwtTokenBlacklistService, realWatermarkService, authenticationManager,
+				realTokenProvider, passwordEncoder, appMetrics, principalCache, securityVersionRegistry,
+				loginHeavyHitterTracker, usernameAllocator);
+		User user = new User(1L, "Test", "User", "test.user", "encodedPass", true, null, null);
+		when(authenticationInfoService.getCurrentUsername()).thenReturn("test.user");
+
+		String token = realTokenProvider.generateJwtToken(JwtUserDetails.create(user, true));
+		service.logoutAllDevices();
+		ParsedJwtToken parsedToken = realTokenProvider.parseAndValidate(token).orElseThrow();
+
+		assertTrue(realWatermarkService.isRevoked("test.user", parsedToken.issuedAt()));
 	}
 }
\ No newline at end of file
@@ -1,16 +1,27 @@
 package com.epam.gym_crm.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.epam.gym_crm.config.JwtConfig;
 import com.epam.gym_crm.domain.service.impl.JwtTokenBlacklistService;
+import com.epam.gym_crm.security.VerifiedTokenCache;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 
 @ExtendWith(MockitoExtension.class)
 class JwtTokenBlacklistServiceTest {
@@ -18,13 +29,21 @@ class JwtTokenBlacklistServiceTest {
 	@Mock
 	private JwtConfig jwtConfig;
 
+	@Mock
+	private VerifiedTokenCache verifiedTokenCache;
+
+	@Mock
+	private SharedSecurityState sharedSecurityState;
+
 	private JwtTokenBlacklistService jwtTokenBlacklistService;
 
 	@BeforeEach
 	void setUp() {
 		when(jwtConfig.getBlacklistRetentionHours()).thenReturn(2L);
+		when(jwtConfig.getExpirationMs()).thenReturn(7200000L);
+		when(jwtConfig.getBlacklistBloomExpectedInsertions()).thenReturn(1000);
 
-		jwtTokenBlacklistService = new JwtTokenBlacklistService(jwtConfig);
+		jwtTokenBlacklistService = new JwtTokenBlacklistService(jwtConfig, verifiedTokenCache, sharedSecurityState);
 	}
 
 	// ----- (Success Scenarios) -----
@@ -60,6 +79,74 @@ class JwtTokenBlacklistServiceTest {
 		assertTrue(jwtTokenBlacklistService.isBlacklisted(token));
 	}
 
+	@Test
+	void shouldInvalidateVerifiedTokenCacheWhenBlacklisting() {
+		String token = "cached-token-to-be-blacklisted";
+
+		jwtTokenBlacklistService.blacklistToken(token);
+
+		verify(verifiedTokenCache).invalidate(token);
+	}
+
+	@Test
+	void shouldKeepTokenBlacklistedUntilItsExpiry() {
+		String token = "token-with-known-expiry";
+
+		jwtTokenBlacklistService.blacklistToken(token, Instant.now().plusSeconds(600));
+
+		assertTrue(jwtTokenBlacklistService.isBlacklisted(token));
+	}
+
+	@Test
+	void shouldNotStoreTokenThatHasAlreadyExpired() {
+		String token = "already-expired-token";
+
+		jwtTokenBlacklistService.blacklistToken(token, Instant.now().minusSeconds(1));
+
+		assertFalse(jwtTokenBlacklistService.isBlacklisted(token), "An expired token needs no blacklist entry.");
+		verify(verifiedTokenCache).invalidate(token);
+	}
+
+	@Test
+	void shouldTellManyBlacklistedTokensApartFromCleanOnes() {
+		for (int i = 0; i < 500; i++) {
+			jwtTokenBlacklistService.blacklistToken("blacklisted-" + i);
+		}
+
+		for (int i = 0; i < 500; i++) {
+			assertTrue(jwtTokenBlacklistService.isBlacklisted("blacklisted-" + i));
+			assertFalse(jwtTokenBlacklistService.isBlacklisted("clean-" + i));
+		}
+	}
+
+	@Test
+	void shouldPublishDigestInsteadOfRawToken() {
+		String token = "token-to-share";
+		Instant expiresAt = Instant.now().plusSeconds(600);
+
+		jwtTokenBlacklistService.blacklistToken(token, expiresAt);
+
+		ArgumentCaptor<SecurityStateEvent> captor = ArgumentCaptor.forClass(SecurityStateEvent.class);
+		verify(sharedSecurityState).publish(captor.capture());
+		assertEquals(SecurityStateEvent.Type.TOKEN_BLACKLISTED, captor.getValue().type());
+		assertEquals(digest(token).toString(), captor.getValue().subject());
+		assertEquals(expiresAt.toEpochMilli(), captor.getValue().value());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void shouldBlacklistTokenReportedByOtherNode() {
+		String token = "token-logged-out-elsewhere";
+		ArgumentCaptor<Consumer<SecurityStateEvent>> captor = ArgumentCaptor.forClass(Consumer.class);
+		verify(sharedSecurityState).subscribe(captor.capture());
+
+		captor.getValue().accept(new SecurityStateEvent(SecurityStateEvent.Type.TOKEN_BLACKLISTED,
+				digest(token).toString(), Instant.now().plusSeconds(600).toEpochMilli()));
+
+		assertTrue(jwtTokenBlacklistService.isBlacklisted(token));
+		verify(verifiedTokenCache).invalidate(digest(token));
+	}
+
 	// ----- (Failure Scenarios) -----
 
 	@Test
@@ -99,4 +186,8 @@ class JwtTokenBlacklistServiceTest {
 			jwtTokenBlacklistService.blacklistToken(emptyToken);
 		});
 	}
+
+	private HashCode digest(String token) {
+		return Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+	}
 }
@@ -2,16 +2,23 @@ package com.epam.gym_crm.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.epam.gym_crm.config.LoginSecurityConfig;
 import com.epam.gym_crm.domain.service.impl.LoginAttemptService;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
 
 @ExtendWith(MockitoExtension.class)
 class LoginAttemptServiceTest {
@@ -19,6 +26,9 @@ class LoginAttemptServiceTest {
     @Mock
     private LoginSecurityConfig loginSecurityConfig;
 
+    @Mock
+    private SharedSecurityState sharedSecurityState;
+
     private LoginAttemptService loginAttemptService;
 
     private final String TEST_USERNAME = "test.user";
@@ -28,8 +38,13 @@ class LoginAttemptServiceTest {
         when(loginSecurityConfig.getMaxAttempts()).thenReturn(3);
         
         when(loginSecurityConfig.getLockoutDurationMinutes()).thenReturn(5L);
+        when(loginSecurityConfig.getWindowBuckets()).thenReturn(10);
+        when(loginSecurityConfig.getSketchDepth()).thenReturn(4);
+        when(loginSecurityConfig.getSketchWidth()).thenReturn(1024);
+        lenient().when(loginSecurityConfig.getMaxTrackedUsers()).thenReturn(100);
+        lenient().when(loginSecurityConfig.getSketchThrottleAttempts()).thenReturn(10);
 
-        loginAttemptService = new LoginAttemptService(loginSecurityConfig);
+        loginAttemptService = new LoginAttemptService(loginSecurityConfig, sharedSecurityState);
     }
 
     // -----  (Success Scenarios) -----
@@ -37,8 +52,8 @@ class LoginAttemptServiceTest {
     @Test
     void shouldNotBeBlockedWhenAttemptsAreBelowMax() {
         // Arrange
-        loginAttemptService.loginFailed(TEST_USERNAME); // 1
-        loginAttemptService.loginFailed(TEST_USERNAME); // 2
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 1
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 2
 
         // Act
         boolean isBlocked = loginAttemptService.isBlocked(TEST_USERNAME);
@@ -50,8 +65,8 @@ class LoginAttemptServiceTest {
     @Test
     void shouldResetAttemptsOnSuccessfulLogin() {
         // Arrange
-        loginAttemptService.loginFailed(TEST_USERNAME); // 1
-        loginAttemptService.loginFailed(TEST_USERNAME); // 2
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 1
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 2
 
         // Act
         loginAttemptService.loginSucceeded(TEST_USERNAME);
@@ -77,9 +92,9 @@ class LoginAttemptServiceTest {
     @Test
     void shouldBeBlockedWhenAttemptsReachMax() {
         // Arrange
-        loginAttemptService.loginFailed(TEST_USERNAME); // 1
-        loginAttemptService.loginFailed(TEST_USERNAME); // 2
-        loginAttemptService.loginFailed(TEST_USERNAME); // 3
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 1
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 2
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 3
 
         // Act
         boolean isBlocked = loginAttemptService.isBlocked(TEST_USERNAME);
@@ -91,10 +106,10 @@ class LoginAttemptServiceTest {
     @Test
     void shouldRemainBlockedWhenAttemptsExceedMax() {
         // Arrange
-        loginAttemptService.loginFailed(TEST_USERNAME); // 1
-        loginAttemptService.loginFailed(TEST_USERNAME); // 2
-        loginAttemptService.loginFailed(TEST_USERNAME); // 3 (Kilitlendi)
-        loginAttemptService.loginFailed(TEST_USERNAME); // 4
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 1
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 2
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 3 (Kilitlendi)
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 4
 
         // Act
         boolean isBlocked = loginAttemptService.isBlocked(TEST_USERNAME);
@@ -106,9 +121,9 @@ class LoginAttemptServiceTest {
     @Test
     void shouldResetAttemptsAndUnblockAfterSuccessfulLogin() {
     	
-        loginAttemptService.loginFailed(TEST_USERNAME); // 1
-        loginAttemptService.loginFailed(TEST_USERNAME); // 2
-        loginAttemptService.loginFailed(TEST_USERNAME); // 3 (Kilitlendi)
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 1
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 2
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 3 (Kilitlendi)
         
         assertTrue(loginAttemptService.isBlocked(TEST_USERNAME), "Pre-condition failed: User should be blocked.");
 
@@ -123,10 +138,10 @@ class LoginAttemptServiceTest {
         String user1 = "user.one";
         String user2 = "user.two";
 
-        loginAttemptService.loginFailed(user1); 
-        loginAttemptService.loginFailed(user1); 
+        loginAttemptService.loginFailed(user1, true); 
+        loginAttemptService.loginFailed(user1, true); 
         
-        loginAttemptService.loginFailed(user2); 
+        loginAttemptService.loginFailed(user2, true); 
         // Act
         boolean isUser1Blocked = loginAttemptService.isBlocked(user1);
         boolean isUser2Blocked = loginAttemptService.isBlocked(user2);
@@ -134,7 +149,7 @@ class LoginAttemptServiceTest {
         assertFalse(isUser1Blocked, "User1 should not be blocked yet.");
         assertFalse(isUser2Blocked, "User2's attempts should not affect User1.");
         
-        loginAttemptService.loginFailed(user1); 
+        loginAttemptService.loginFailed(user1, true); 
         
         isUser1Blocked = loginAttemptService.isBlocked(user1);
         isUser2Blocked = loginAttemptService.isBlocked(user2);
@@ -142,4 +157,150 @@ class LoginAttemptServiceTest {
         assertTrue(isUser1Blocked, "User1 should now be blocked.");
         assertFalse(isUser2Blocked, "Blocking User1 should not block User2.");
     }
+
+    // ----- (Bounded Memory) -----
+
+    @Test
+    void shouldThrottleUnknownNamesCountedInOverflowSketchOnlyAtSoftThreshold() {
+        when(loginSecurityConfig.getMaxTrackedUsers()).thenReturn(1);
+        loginAttemptService.loginFailed("tracked.user", true);
+
+        for (int i = 0; i < 9; i++) {
+            loginAttemptService.loginFailed("no.such.user", false);
+        }
+        assertFalse(loginAttemptService.isBlocked("no.such.user"),
+                "Sketch estimates must not hard-lock at maxAttempts.");
+
+        loginAttemptService.loginFailed("no.such.user", false);
+
+        assertTrue(loginAttemptService.isBlocked("no.such.user"), "Overflow names must still be throttled.");
+        assertFalse(loginAttemptService.isBlocked("tracked.user"));
+    }
+
+    @Test
+    void shouldStillLockExistingAccountAtMaxAttemptsWhenJunkNamesFillTheTier() {
+        when(loginSecurityConfig.getMaxTrackedUsers()).thenReturn(100);
+        for (int i = 0; i < 100; i++) {
+            loginAttemptService.loginFailed("junk." + i, false);
+        }
+
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 1
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 2
+        assertFalse(loginAttemptService.isBlocked(TEST_USERNAME));
+
+        loginAttemptService.loginFailed(TEST_USERNAME, true); // 3
+
+        assertTrue(loginAttemptService.isBlocked(TEST_USERNAME),
+                "A real account must lock at maxAttempts however many junk names failed before it.");
+    }
+
+    @Test
+    void shouldNotLockUntrackedUserWhoseSketchCellsCollide() {
+        when(loginSecurityConfig.getSketchDepth()).thenReturn(1);
+        when(loginSecurityConfig.getSketchWidth()).thenReturn(1);
+        loginAttemptService = new LoginAttemptService(loginSecurityConfig, sharedSecurityState);
+        when(loginSecurityConfig.getMaxTrackedUsers()).thenReturn(0);
+
+        loginAttemptService.loginFailed("no.such.user", false);
+        loginAttemptService.loginFailed("no.such.user", false);
+        loginAttemptService.loginFailed("no.such.user", false);
+
+        assertFalse(loginAttemptService.isBlocked("innocent.user"),
+                "A colliding estimate of maxAttempts must not lock an unrelated user.");
+    }
+
+    @Test
+    void shouldNotTrackUnknownUsersOnLookup() {
+        when(loginSecurityConfig.getMaxTrackedUsers()).thenReturn(1);
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(loginAttemptService.isBlocked("probe." + i));
+        }
+
+        loginAttemptService.loginFailed(TEST_USERNAME, false);
+        loginAttemptService.loginFailed(TEST_USERNAME, false);
+        loginAttemptService.loginFailed(TEST_USERNAME, false);
+        loginAttemptService.loginSucceeded(TEST_USERNAME);
+
+        assertFalse(loginAttemptService.isBlocked(TEST_USERNAME),
+                "The exact tier must still have room, so the reset on success applies.");
+    }
+
+    @Test
+    void shouldCountConcurrentFailuresExactly() throws InterruptedException {
+        when(loginSecurityConfig.getMaxAttempts()).thenReturn(4000);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    loginAttemptService.loginFailed(TEST_USERNAME, true);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(loginAttemptService.isBlocked(TEST_USERNAME), "No failure may be lost under contention.");
+    }
+
+    // ----- (Shared State) -----
+
+    @Test
+    void shouldPublishFailedAndSucceededLogins() {
+        loginAttemptService.loginFailed(TEST_USERNAME, true);
+        loginAttemptService.loginSucceeded(TEST_USERNAME);
+
+        verify(sharedSecurityState).publish(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, TEST_USERNAME));
+        verify(sharedSecurityState).publish(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_SUCCEEDED, TEST_USERNAME));
+    }
+
+    @Test
+    void shouldKeepRemoteFailuresOfUnknownNamesOutOfAFullTier() {
+        Consumer<SecurityStateEvent> listener = subscribedListener();
+        when(loginSecurityConfig.getMaxTrackedUsers()).thenReturn(0);
+
+        loginAttemptService.loginFailed("no.such.user", false);
+        verify(sharedSecurityState).publish(new SecurityStateEvent(SecurityStateEvent.Type.LOGIN_FAILED,
+                "no.such.user", SecurityStateEvent.UNKNOWN_ACCOUNT));
+
+        for (int i = 0; i < 3; i++) {
+            listener.accept(new SecurityStateEvent(SecurityStateEvent.Type.LOGIN_FAILED, "other.junk",
+                    SecurityStateEvent.UNKNOWN_ACCOUNT));
+            listener.accept(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, TEST_USERNAME));
+        }
+
+        assertFalse(loginAttemptService.isBlocked("other.junk"), "Unknown names stay in the sketch.");
+        assertTrue(loginAttemptService.isBlocked(TEST_USERNAME), "Existing accounts always lock exactly.");
+    }
+
+    @Test
+    void shouldLockUserFromFailuresReportedByOtherNodes() {
+        Consumer<SecurityStateEvent> listener = subscribedListener();
+
+        listener.accept(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, TEST_USERNAME));
+        listener.accept(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_FAILED, TEST_USERNAME));
+        loginAttemptService.loginFailed(TEST_USERNAME, true);
+
+        assertTrue(loginAttemptService.isBlocked(TEST_USERNAME), "Failures on other nodes must count towards the lockout.");
+    }
+
+    @Test
+    void shouldResetCounterOnRemoteSuccessfulLogin() {
+        Consumer<SecurityStateEvent> listener = subscribedListener();
+        loginAttemptService.loginFailed(TEST_USERNAME, true);
+        loginAttemptService.loginFailed(TEST_USERNAME, true);
+
+        listener.accept(SecurityStateEvent.of(SecurityStateEvent.Type.LOGIN_SUCCEEDED, TEST_USERNAME));
+        loginAttemptService.loginFailed(TEST_USERNAME, true);
+
+        assertFalse(loginAttemptService.isBlocked(TEST_USERNAME));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<SecurityStateEvent> subscribedListener() {
+        ArgumentCaptor<Consumer<SecurityStateEvent>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(sharedSecurityState).subscribe(captor.capture());
+        return captor.getValue();
+    }
 }
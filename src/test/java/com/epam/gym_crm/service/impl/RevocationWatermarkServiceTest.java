@@ -0,0 +1,130 @@
+package com.epam.gym_crm.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.epam.gym_crm.config.JwtConfig;
+import com.epam.gym_crm.config.JwtConfig.RevocationStrategy;
+import com.epam.gym_crm.domain.service.impl.RevocationWatermarkService;
+import com.epam.gym_crm.security.shared.SecurityStateEvent;
+import com.epam.gym_crm.security.shared.SharedSecurityState;
+
+class RevocationWatermarkServiceTest {
+
+	private JwtConfig jwtConfig;
+	private SharedSecurityState sharedSecurityState;
+	private RevocationWatermarkService revocationWatermarkService;
+
+	@BeforeEach
+	void setUp() {
+		jwtConfig = new JwtConfig();
+		jwtConfig.setExpirationMs(3600000);
+		sharedSecurityState = mock(SharedSecurityState.class);
+		revocationWatermarkService = new RevocationWatermarkService(jwtConfig, sharedSecurityState);
+	}
+
+	@Test
+	void shouldNotRevokeAnythingWithoutWatermark() {
+		assertFalse(revocationWatermarkService.isRevoked("test.user", Instant.now()));
+		assertFalse(revocationWatermarkService.isRevoked(null, Instant.now()));
+	}
+
+	@Test
+	void shouldRevokeTokensIssuedBeforeWatermarkOnly() {
+		Instant watermark = Instant.now();
+
+		revocationWatermarkService.revokeIssuedBefore("test.user", watermark);
+
+		assertTrue(revocationWatermarkService.isRevoked("test.user", watermark.minusSeconds(60)));
+		assertFalse(revocationWatermarkService.isRevoked("test.user", watermark.plusSeconds(1)));
+		assertFalse(revocationWatermarkService.isRevoked("other.user", watermark.minusSeconds(60)));
+	}
+
+	@Test
+	void shouldRevokeLoggedOutTokenAndOlderOnes() {
+		Instant issuedAt = Instant.now();
+
+		revocationWatermarkService.revokeIssuedUpTo("test.user", issuedAt);
+
+		assertTrue(revocationWatermarkService.isRevoked("test.user", issuedAt));
+		assertTrue(revocationWatermarkService.isRevoked("test.user", issuedAt.minusSeconds(60)));
+		assertFalse(revocationWatermarkService.isRevoked("test.user", issuedAt.plusSeconds(1)));
+	}
+
+	@Test
+	void shouldRevokeTokenIssuedEarlierInTheSameSecond() {
+		Instant issuedAt = Instant.ofEpochSecond(1_700_000_000L, 100_000_000L);
+
+		revocationWatermarkService.revokeIssuedBefore("test.user", issuedAt.plusMillis(500));
+
+		assertTrue(revocationWatermarkService.isRevoked("test.user", issuedAt));
+		assertFalse(revocationWatermarkService.isRevoked("test.user", issuedAt.plusMillis(600)));
+	}
+
+	@Test
+	void shouldRevokeEverythingIssuedSoFar() {
+		Instant issuedAt = Instant.now();
+
+		revocationWatermarkService.revokeAllIssued("test.user");
+
+		assertTrue(revocationWatermarkService.isRevoked("test.user", issuedAt));
+	}
+
+	@Test
+	void shouldNeverMoveWatermarkBackwards() {
+		Instant now = Instant.now();
+
+		revocationWatermarkService.revokeIssuedBefore("test.user", now);
+		revocationWatermarkService.revokeIssuedBefore("test.user", now.minusSeconds(600));
+
+		assertTrue(revocationWatermarkService.isRevoked("test.user", now.minusSeconds(1)));
+	}
+
+	@Test
+	void shouldTreatTokenWithoutIssuedAtAsRevokedOnceWatermarkExists() {
+		revocationWatermarkService.revokeIssuedBefore("test.user", Instant.now());
+
+		assertTrue(revocationWatermarkService.isRevoked("test.user", null));
+	}
+
+	@Test
+	void shouldReportConfiguredLogoutStrategy() {
+		assertTrue(revocationWatermarkService.isWatermarkLogout());
+
+		jwtConfig.setRevocationStrategy(RevocationStrategy.BLACKLIST);
+
+		assertFalse(new RevocationWatermarkService(jwtConfig, sharedSecurityState).isWatermarkLogout());
+	}
+
+	@Test
+	void shouldPublishWatermarkInEpochMillis() {
+		Instant now = Instant.now();
+
+		revocationWatermarkService.revokeIssuedBefore("test.user", now);
+
+		verify(sharedSecurityState).publish(new SecurityStateEvent(SecurityStateEvent.Type.REVOCATION_WATERMARK,
+				"test.user", now.toEpochMilli()));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void shouldApplyWatermarkReportedByOtherNode() {
+		ArgumentCaptor<Consumer<SecurityStateEvent>> captor = ArgumentCaptor.forClass(Consumer.class);
+		verify(sharedSecurityState).subscribe(captor.capture());
+		Instant now = Instant.now();
+
+		captor.getValue().accept(new SecurityStateEvent(SecurityStateEvent.Type.REVOCATION_WATERMARK, "test.user",
+				now.toEpochMilli()));
+
+		assertTrue(revocationWatermarkService.isRevoked("test.user", now.minusSeconds(60)));
+	}
+}
@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.epam.gym_crm.api.dto.UserCreationResult;
 import com.epam.gym_crm.api.dto.request.UserActivationRequest;
@@ -44,10 +47,14 @@ import com.epam.gym_crm.db.repository.TrainerRepository;
 import com.epam.gym_crm.db.repository.TrainingRepository;
 import com.epam.gym_crm.db.repository.UserRepository;
 import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.domain.service.IAuthenticationService;
+import com.epam.gym_crm.domain.service.impl.ActiveTrainerDirectory;
 import com.epam.gym_crm.domain.service.impl.AuthenticationInfoService;
 import com.epam.gym_crm.domain.service.impl.TraineeServiceImpl;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.PrincipalCache;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class TraineeServiceImplTest {
@@ -66,6 +73,14 @@ class TraineeServiceImplTest {
 	private AuthenticationInfoService authenticationInfoService;
 	@Mock
 	private AppMetrics appMetrics;
+	@Mock
+	private PrincipalCache principalCache;
+	@Mock
+	private SecurityVersionRegistry securityVersionRegistry;
+	@Mock
+	private ActiveTrainerDirectory activeTrainerDirectory;
+	@Mock
+	private PlatformTransactionManager transactionManager;
 
 	@InjectMocks
 	private TraineeServiceImpl traineeService;
@@ -98,6 +113,23 @@ class TraineeServiceImplTest {
 		verify(appMetrics).incrementTraineeCreation();
 	}
 
+	@Test
+	void shouldReportDuplicateUsernameWhenAnotherSignUpTookTheName() {
+		TraineeCreateRequest request = new TraineeCreateRequest("John", "Smith", null, null);
+		User newUser = new User(null, "John", "Smith", "John.Smith1", "encoded", true, null, null);
+
+		when(authenticationService.prepareUserWithCredentials(anyString(), anyString()))
+				.thenReturn(new UserCreationResult(newUser, "rawPassword"));
+		when(traineeRepository.save(any(Trainee.class)))
+				.thenThrow(new DataIntegrityViolationException("uk_user_username"));
+
+		BaseException exception = assertThrows(BaseException.class, () -> traineeService.createTrainee(request));
+
+		assertEquals(MessageType.DUPLICATE_USERNAME, exception.getErrorMessage().getMessageType());
+		verify(transactionManager).rollback(any());
+		verify(appMetrics, never()).incrementTraineeCreation();
+	}
+
 	@Test
 	void shouldThrowExceptionWhenCreateRequestIsNull() {
 		assertThrows(BaseException.class, () -> traineeService.createTrainee(null));
@@ -143,7 +175,7 @@ class TraineeServiceImplTest {
 	@Test
 	void shouldFindTraineeByUsernameSuccessfully() {
 		when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
-		when(traineeRepository.findByUserUsername("Test.Trainee")).thenReturn(Optional.of(testTrainee));
+		when(traineeRepository.findProfileByUserUsername("Test.Trainee")).thenReturn(Optional.of(testTrainee));
 
 		TraineeProfileResponse response = traineeService.findTraineeByUsername("Test.Trainee");
 
@@ -154,7 +186,7 @@ class TraineeServiceImplTest {
 	@Test
 	void shouldThrowExceptionWhenFindByUsernameNotFound() {
 		when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
-		when(traineeRepository.findByUserUsername("non.existent")).thenReturn(Optional.empty());
+		when(traineeRepository.findProfileByUserUsername("non.existent")).thenReturn(Optional.empty());
 		assertThrows(BaseException.class, () -> traineeService.findTraineeByUsername("non.existent"));
 	}
 
@@ -237,6 +269,49 @@ class TraineeServiceImplTest {
 		verify(trainingRepository, times(1)).save(any(Training.class));
 	}
 
+	@Test
+	void shouldLoadDirectoryTrainersWithOneQuery() {
+		TraineeUpdateTrainersRequest request = new TraineeUpdateTrainersRequest(testUser.getUsername(),
+				List.of("Trainer.One", "Trainer.Two"));
+		Trainer first = new Trainer(2L, new TrainingType(1L, "Yoga"),
+				new User(2L, "Trainer", "One", "Trainer.One", "p", true, null, null), new HashSet<>(), new HashSet<>());
+		Trainer second = new Trainer(3L, new TrainingType(1L, "Yoga"),
+				new User(3L, "Trainer", "Two", "Trainer.Two", "p", true, null, null), new HashSet<>(), new HashSet<>());
+
+		when(authenticationInfoService.getCurrentUsername()).thenReturn(testUser.getUsername());
+		when(traineeRepository.findByUserUsername(testUser.getUsername())).thenReturn(Optional.of(testTrainee));
+		when(activeTrainerDirectory.isReady()).thenReturn(true);
+		when(activeTrainerDirectory.find("Trainer.One"))
+				.thenReturn(Optional.of(new ActiveTrainerDirectory.Entry(2L, "Trainer.One", "Trainer", "One", "Yoga")));
+		when(activeTrainerDirectory.find("Trainer.Two"))
+				.thenReturn(Optional.of(new ActiveTrainerDirectory.Entry(3L, "Trainer.Two", "Trainer", "Two", "Yoga")));
+		when(trainerRepository.findByIdIn(Set.of(2L, 3L))).thenReturn(List.of(first, second));
+
+		traineeService.updateTraineeTrainersList(request);
+
+		assertEquals(2, testTrainee.getTrainers().size());
+		verify(trainerRepository, never()).findByUserUsername(anyString());
+		verify(trainingRepository, times(2)).save(any(Training.class));
+	}
+
+	@Test
+	void shouldRecheckDirectoryTrainerStateAfterLoading() {
+		TraineeUpdateTrainersRequest request = new TraineeUpdateTrainersRequest(testUser.getUsername(),
+				List.of("Trainer.One"));
+		Trainer deactivated = new Trainer(2L, new TrainingType(1L, "Yoga"),
+				new User(2L, "Trainer", "One", "Trainer.One", "p", false, null, null), new HashSet<>(), new HashSet<>());
+
+		when(authenticationInfoService.getCurrentUsername()).thenReturn(testUser.getUsername());
+		when(traineeRepository.findByUserUsername(testUser.getUsername())).thenReturn(Optional.of(testTrainee));
+		when(activeTrainerDirectory.isReady()).thenReturn(true);
+		when(activeTrainerDirectory.find("Trainer.One"))
+				.thenReturn(Optional.of(new ActiveTrainerDirectory.Entry(2L, "Trainer.One", "Trainer", "One", "Yoga")));
+		when(trainerRepository.findByIdIn(Set.of(2L))).thenReturn(List.of(deactivated));
+
+		assertThrows(BaseException.class, () -> traineeService.updateTraineeTrainersList(request));
+		verify(trainingRepository, never()).save(any(Training.class));
+	}
+
 	@Test
 	void shouldClearTraineeTrainersListSuccessfully() {
 		TraineeUpdateTrainersRequest request = new TraineeUpdateTrainersRequest(testUser.getUsername(),
@@ -310,6 +385,8 @@ class TraineeServiceImplTest {
 		traineeService.activateDeactivateTrainee(request);
 
 		assertFalse(testUser.isActive());
+		verify(principalCache).invalidate(testUser.getUsername());
+		verify(securityVersionRegistry).bump(testUser.getUsername());
 	}
 
 	@Test
@@ -335,6 +412,7 @@ class TraineeServiceImplTest {
 		traineeService.activateDeactivateTrainee(request);
 
 		verify(userRepository, never()).save(any());
+		verifyNoInteractions(principalCache);
 	}
 
 	@Test
@@ -360,6 +438,8 @@ class TraineeServiceImplTest {
 		traineeService.deleteTraineeById(1L);
 
 		verify(traineeRepository).delete(testTrainee);
+		verify(principalCache).invalidate(testUser.getUsername());
+		verify(securityVersionRegistry).bump(testUser.getUsername());
 	}
 
 	@Test
@@ -391,6 +471,8 @@ class TraineeServiceImplTest {
 		traineeService.deleteTraineeByUsername(testUser.getUsername());
 
 		verify(traineeRepository).delete(testTrainee);
+		verify(principalCache).invalidate(testUser.getUsername());
+		verify(securityVersionRegistry).bump(testUser.getUsername());
 	}
 
 	@Test
@@ -16,11 +16,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.epam.gym_crm.api.dto.UserCreationResult;
 import com.epam.gym_crm.api.dto.request.UserActivationRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerCreateRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerUpdateRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
+import com.epam.gym_crm.api.dto.response.TrainerInfoProjection;
 import com.epam.gym_crm.api.dto.response.TrainerInfoResponse;
 import com.epam.gym_crm.api.dto.response.TrainerProfileResponse;
 import com.epam.gym_crm.api.dto.response.UserRegistrationResponse;
@@ -31,13 +35,17 @@ import com.epam.gym_crm.db.entity.User;
 import com.epam.gym_crm.db.repository.TraineeRepository;
 import com.epam.gym_crm.db.repository.TrainerRepository;
 import com.epam.gym_crm.db.repository.TrainingRepository;
-import com.epam.gym_crm.db.repository.TrainingTypeRepository;
 import com.epam.gym_crm.db.repository.UserRepository;
 import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.MessageType;
 import com.epam.gym_crm.domain.service.IAuthenticationService;
+import com.epam.gym_crm.domain.service.impl.ActiveTrainerDirectory;
 import com.epam.gym_crm.domain.service.impl.AuthenticationInfoService;
 import com.epam.gym_crm.domain.service.impl.TrainerServiceImpl;
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.security.PrincipalCache;
+import com.epam.gym_crm.security.SecurityVersionRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class TrainerServiceImplTest {
@@ -47,7 +55,7 @@ class TrainerServiceImplTest {
     @Mock
     private TrainerRepository trainerRepository;
     @Mock
-    private TrainingTypeRepository trainingTypeRepository;
+    private TrainingTypeRegistry trainingTypeRegistry;
     @Mock
     private TrainingRepository trainingRepository;
     @Mock
@@ -58,6 +66,14 @@ class TrainerServiceImplTest {
     private AuthenticationInfoService authenticationInfoService; 
     @Mock
     private AppMetrics appMetrics;
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private SecurityVersionRegistry securityVersionRegistry;
+    @Mock
+    private ActiveTrainerDirectory activeTrainerDirectory;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private TrainerServiceImpl trainerService;
@@ -103,7 +119,7 @@ class TrainerServiceImplTest {
     @Test
     void shouldFindTrainerByUsernameSuccessfully() {
         when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
-        when(trainerRepository.findByUserUsername("John.Doe")).thenReturn(Optional.of(testTrainer));
+        when(trainerRepository.findProfileByUserUsername("John.Doe")).thenReturn(Optional.of(testTrainer));
         
         TrainerProfileResponse response = trainerService.findTrainerByUsername("John.Doe");
         
@@ -122,7 +138,7 @@ class TrainerServiceImplTest {
     @Test
     void shouldThrowExceptionWhenFindTrainerByUsernameNotFound() {
         when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
-        when(trainerRepository.findByUserUsername("non.existent")).thenReturn(Optional.empty());
+        when(trainerRepository.findProfileByUserUsername("non.existent")).thenReturn(Optional.empty());
         assertThrows(BaseException.class, () -> trainerService.findTrainerByUsername("non.existent"));
     }
 
@@ -152,17 +168,76 @@ class TrainerServiceImplTest {
     void shouldGetUnassignedTrainersForTraineeSuccessfully() {
         User traineeUser = new User(2L, "Test", "Trainee", "Test.Trainee", "p", true, null, null);
         Trainee trainee = new Trainee(2L, null, null, traineeUser, new HashSet<>(Set.of(testTrainer)), null);
-        
-        Trainer unassignedTrainer = new Trainer(3L, testSpecialization, new User(3L,"Unassigned","Trainer","Unassigned.Trainer","p",true,null,null),null,null);
+        TrainerInfoProjection unassigned = trainerRow("Unassigned.Trainer");
 
         when(authenticationInfoService.getCurrentUsername()).thenReturn("Test.Trainee");
         when(traineeRepository.findByUserUsername("Test.Trainee")).thenReturn(Optional.of(trainee));
-        when(trainerRepository.findByUserIsActive(true)).thenReturn(List.of(testTrainer, unassignedTrainer));
-        
-        List<TrainerInfoResponse> result = trainerService.getUnassignedTrainersForTrainee("Test.Trainee");
+        when(trainerRepository.findUnassignedActiveTrainers(2L, "", Integer.MAX_VALUE)).thenReturn(List.of(unassigned));
+
+        CursorPage<TrainerInfoResponse> result = trainerService.getUnassignedTrainersForTrainee("Test.Trainee", null, null);
 
-        assertEquals(1, result.size());
-        assertEquals("Unassigned.Trainer", result.get(0).getUsername());
+        assertEquals(1, result.getItems().size());
+        assertEquals("Unassigned.Trainer", result.getItems().get(0).getUsername());
+        assertEquals("Fitness", result.getItems().get(0).getSpecialization());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void shouldServeUnassignedTrainersFromDirectoryWhenReady() {
+        User traineeUser = new User(2L, "Test", "Trainee", "Test.Trainee", "p", true, null, null);
+        Trainee trainee = new Trainee(2L, null, null, traineeUser, new HashSet<>(), null);
+        ActiveTrainerDirectory.Entry entry = new ActiveTrainerDirectory.Entry(3L, "Unassigned.Trainer", "Unassigned",
+                "Trainer", "Fitness");
+
+        when(authenticationInfoService.getCurrentUsername()).thenReturn("Test.Trainee");
+        when(traineeRepository.findByUserUsername("Test.Trainee")).thenReturn(Optional.of(trainee));
+        when(activeTrainerDirectory.isReady()).thenReturn(true);
+        when(trainerRepository.findAssignedTrainerIds(2L)).thenReturn(Set.of(1L));
+        when(activeTrainerDirectory.page("", Set.of(1L), Integer.MAX_VALUE)).thenReturn(List.of(entry));
+
+        CursorPage<TrainerInfoResponse> result = trainerService.getUnassignedTrainersForTrainee("Test.Trainee", null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("Unassigned.Trainer", result.getItems().get(0).getUsername());
+        assertNull(result.getNextCursor());
+        verify(trainerRepository, never()).findUnassignedActiveTrainers(anyLong(), anyString(), anyInt());
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreUnassignedTrainersExist() {
+        User traineeUser = new User(2L, "Test", "Trainee", "Test.Trainee", "p", true, null, null);
+        Trainee trainee = new Trainee(2L, null, null, traineeUser, new HashSet<>(), null);
+        TrainerInfoProjection first = trainerRow("A.Trainer");
+        TrainerInfoProjection second = trainerRow("B.Trainer");
+
+        when(authenticationInfoService.getCurrentUsername()).thenReturn("Test.Trainee");
+        when(traineeRepository.findByUserUsername("Test.Trainee")).thenReturn(Optional.of(trainee));
+        when(trainerRepository.findUnassignedActiveTrainers(2L, "", 2)).thenReturn(List.of(first, second));
+
+        CursorPage<TrainerInfoResponse> page = trainerService.getUnassignedTrainersForTrainee("Test.Trainee", null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+
+        when(trainerRepository.findUnassignedActiveTrainers(2L, "A.Trainer", 2)).thenReturn(List.of(second));
+
+        CursorPage<TrainerInfoResponse> next = trainerService.getUnassignedTrainersForTrainee("Test.Trainee",
+                page.getNextCursor(), 1);
+
+        assertEquals("B.Trainer", next.getItems().get(0).getUsername());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectMalformedUnassignedTrainerCursor() {
+        User traineeUser = new User(2L, "Test", "Trainee", "Test.Trainee", "p", true, null, null);
+        Trainee trainee = new Trainee(2L, null, null, traineeUser, new HashSet<>(), null);
+        when(authenticationInfoService.getCurrentUsername()).thenReturn("Test.Trainee");
+        when(traineeRepository.findByUserUsername("Test.Trainee")).thenReturn(Optional.of(trainee));
+
+        assertThrows(BaseException.class,
+                () -> trainerService.getUnassignedTrainersForTrainee("Test.Trainee", "not*base64", null));
+        verify(trainerRepository, never()).findUnassignedActiveTrainers(anyLong(), anyString(), anyInt());
     }
 
     @Test
@@ -171,8 +246,18 @@ class TrainerServiceImplTest {
         when(authenticationInfoService.getCurrentUsername()).thenReturn(testUser.getUsername());
         when(traineeRepository.findByUserUsername(testUser.getUsername())).thenReturn(Optional.of(new Trainee(1L,null,null,testUser,null,null)));
 
-        assertThrows(BaseException.class, () -> trainerService.getUnassignedTrainersForTrainee(testUser.getUsername()));
-        verify(trainerRepository, never()).findByUserIsActive(anyBoolean());
+        assertThrows(BaseException.class,
+                () -> trainerService.getUnassignedTrainersForTrainee(testUser.getUsername(), null, null));
+        verify(trainerRepository, never()).findUnassignedActiveTrainers(anyLong(), anyString(), anyInt());
+    }
+
+    private TrainerInfoProjection trainerRow(String username) {
+        TrainerInfoProjection row = mock(TrainerInfoProjection.class);
+        lenient().when(row.getUsername()).thenReturn(username);
+        lenient().when(row.getFirstName()).thenReturn(username.substring(0, username.indexOf('.')));
+        lenient().when(row.getLastName()).thenReturn("Trainer");
+        lenient().when(row.getSpecialization()).thenReturn("Fitness");
+        return row;
     }
 
     // --- createTrainer Tests ---
@@ -183,7 +268,7 @@ class TrainerServiceImplTest {
         UserCreationResult creationResult = new UserCreationResult(newUser, "rawPassword");
         
         when(authenticationService.prepareUserWithCredentials(anyString(), anyString())).thenReturn(creationResult);
-        when(trainingTypeRepository.findByTrainingTypeNameIgnoreCase("Fitness")).thenReturn(Optional.of(testSpecialization));
+        when(trainingTypeRegistry.findReference("Fitness")).thenReturn(Optional.of(testSpecialization));
         when(trainerRepository.save(any(Trainer.class))).thenReturn(new Trainer(2L,testSpecialization, newUser,null,null));
         when(authenticationService.createAccessToken(newUser)).thenReturn("dummy.token");
 
@@ -195,10 +280,28 @@ class TrainerServiceImplTest {
         verify(appMetrics).incrementTrainerCreation();
     }
 
+    @Test
+    void shouldReportDuplicateUsernameWhenAnotherSignUpTookTheName() {
+        TrainerCreateRequest request = new TrainerCreateRequest("John", "Smith", "Fitness");
+        User newUser = new User(null, "John", "Smith", "John.Smith1", "encoded", true, null, null);
+
+        when(authenticationService.prepareUserWithCredentials(anyString(), anyString()))
+                .thenReturn(new UserCreationResult(newUser, "rawPassword"));
+        when(trainingTypeRegistry.findReference("Fitness")).thenReturn(Optional.of(testSpecialization));
+        when(trainerRepository.save(any(Trainer.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_user_username"));
+
+        BaseException exception = assertThrows(BaseException.class, () -> trainerService.createTrainer(request));
+
+        assertEquals(MessageType.DUPLICATE_USERNAME, exception.getErrorMessage().getMessageType());
+        verify(transactionManager).rollback(any());
+        verify(activeTrainerDirectory, never()).trainerChanged(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenCreateTrainerRequestIsNull() {
         assertThrows(BaseException.class, () -> trainerService.createTrainer(null));
-        verifyNoInteractions(authenticationService, trainingTypeRepository, trainerRepository);
+        verifyNoInteractions(authenticationService, trainingTypeRegistry, trainerRepository);
     }
 
     @Test
@@ -208,7 +311,7 @@ class TrainerServiceImplTest {
         UserCreationResult creationResult = new UserCreationResult(newUser, "rawPassword");
         
         when(authenticationService.prepareUserWithCredentials(anyString(), anyString())).thenReturn(creationResult);
-        when(trainingTypeRepository.findByTrainingTypeNameIgnoreCase("NonExistent")).thenReturn(Optional.empty());
+        when(trainingTypeRegistry.findReference("NonExistent")).thenReturn(Optional.empty());
 
         assertThrows(BaseException.class, () -> trainerService.createTrainer(request));
         verify(trainerRepository, never()).save(any());
@@ -237,7 +340,7 @@ class TrainerServiceImplTest {
 
         when(authenticationInfoService.getCurrentUsername()).thenReturn(username);
         when(trainerRepository.findByUserUsername(username)).thenReturn(Optional.of(trainer));
-        when(trainingTypeRepository.findByTrainingTypeNameIgnoreCase(newSpecialization)).thenReturn(Optional.of(specialization));
+        when(trainingTypeRegistry.findReference(newSpecialization)).thenReturn(Optional.of(specialization));
         when(trainerRepository.save(any(Trainer.class))).thenReturn(trainer);
 
         TrainerProfileResponse response = trainerService.updateTrainer(updateRequest);
@@ -249,7 +352,7 @@ class TrainerServiceImplTest {
         assertEquals(newSpecialization, response.getSpecialization());
         
         verify(trainerRepository, times(1)).findByUserUsername(username);
-        verify(trainingTypeRepository, times(1)).findByTrainingTypeNameIgnoreCase(newSpecialization);
+        verify(trainingTypeRegistry, times(1)).findReference(newSpecialization);
         verify(trainerRepository, times(1)).save(any(Trainer.class));
     }
 
@@ -279,7 +382,7 @@ class TrainerServiceImplTest {
         TrainerUpdateRequest request = new TrainerUpdateRequest("John.Doe", null, null, "NonExistent", true);
         when(authenticationInfoService.getCurrentUsername()).thenReturn("John.Doe");
         when(trainerRepository.findByUserUsername("John.Doe")).thenReturn(Optional.of(testTrainer));
-        when(trainingTypeRepository.findByTrainingTypeNameIgnoreCase("NonExistent")).thenReturn(Optional.empty());
+        when(trainingTypeRegistry.findReference("NonExistent")).thenReturn(Optional.empty());
 
         assertThrows(BaseException.class, () -> trainerService.updateTrainer(request));
         verify(trainerRepository, never()).save(any());
@@ -298,6 +401,9 @@ class TrainerServiceImplTest {
         assertFalse(testUser.isActive());
         verify(userRepository).save(testUser);
         verify(trainerRepository).save(testTrainer);
+        verify(principalCache).invalidate("John.Doe");
+        verify(securityVersionRegistry).bump("John.Doe");
+        verify(activeTrainerDirectory).trainerChanged(testTrainer);
     }
     
     @Test
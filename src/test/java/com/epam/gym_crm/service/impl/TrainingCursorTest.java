@@ -0,0 +1,33 @@
+package com.epam.gym_crm.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.epam.gym_crm.domain.exception.BaseException;
+import com.epam.gym_crm.domain.exception.MessageType;
+import com.epam.gym_crm.domain.service.impl.TrainingCursor;
+
+class TrainingCursorTest {
+
+	@Test
+	void shouldRoundTripThroughOpaqueToken() {
+		TrainingCursor cursor = new TrainingCursor(LocalDate.of(2023, 11, 30), 987654321L);
+
+		String token = cursor.encode();
+
+		assertFalse(token.contains("2023"));
+		assertEquals(cursor, TrainingCursor.decode(token));
+	}
+
+	@Test
+	void shouldRejectTamperedTokenAsInvalidArgument() {
+		BaseException exception = assertThrows(BaseException.class, () -> TrainingCursor.decode("not a cursor"));
+
+		assertEquals(MessageType.INVALID_ARGUMENT, exception.getErrorMessage().getMessageType());
+	}
+}
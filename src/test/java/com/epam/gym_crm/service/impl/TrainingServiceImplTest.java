@@ -1,9 +1,14 @@
 package com.epam.gym_crm.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.never;
@@ -13,23 +18,30 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.epam.gym_crm.api.dto.request.trainee.TraineeTrainingListRequest;
 import com.epam.gym_crm.api.dto.request.trainer.TrainerTrainingListRequest;
+import com.epam.gym_crm.api.dto.request.training.TrainingBatchCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingCreateRequest;
 import com.epam.gym_crm.api.dto.request.training.TrainingUpdateRequest;
+import com.epam.gym_crm.api.dto.response.CursorPage;
 import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoProjection;
 import com.epam.gym_crm.api.dto.response.TraineeTrainingInfoResponse;
 import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoProjection;
 import com.epam.gym_crm.api.dto.response.TrainerTrainingInfoResponse;
+import com.epam.gym_crm.api.dto.response.TrainingBatchItemResult;
+import com.epam.gym_crm.api.dto.response.TrainingBatchResponse;
 import com.epam.gym_crm.api.dto.response.TrainingResponse;
+import com.epam.gym_crm.config.TrainingBatchConfig;
 import com.epam.gym_crm.db.entity.Trainee;
 import com.epam.gym_crm.db.entity.Trainer;
 import com.epam.gym_crm.db.entity.Training;
@@ -38,11 +50,21 @@ import com.epam.gym_crm.db.entity.User;
 import com.epam.gym_crm.db.repository.TraineeRepository;
 import com.epam.gym_crm.db.repository.TrainerRepository;
 import com.epam.gym_crm.db.repository.TrainingRepository;
-import com.epam.gym_crm.db.repository.TrainingTypeRepository;
+import com.epam.gym_crm.db.repository.TrainingRepositoryCustom.NewTrainingRow;
+import com.epam.gym_crm.db.repository.TrainingRepositoryCustom.TraineeTrainerPair;
+import com.epam.gym_crm.db.repository.TrainingRepositoryCustom.UserRow;
 import com.epam.gym_crm.domain.exception.BaseException;
 import com.epam.gym_crm.domain.service.impl.AuthenticationInfoService;
+import com.epam.gym_crm.domain.service.impl.TrainingCursor;
 import com.epam.gym_crm.domain.service.impl.TrainingServiceImpl;
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
 import com.epam.gym_crm.monitoring.metric.AppMetrics;
+import com.epam.gym_crm.monitoring.tracing.TraceIdGenerator;
+import com.epam.gym_crm.mq.TrainingProducer;
+import com.epam.trainingcommons.dto.TrainerWorkloadRequest;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @ExtendWith(MockitoExtension.class)
 class TrainingServiceImplTest {
@@ -54,11 +76,19 @@ class TrainingServiceImplTest {
     @Mock
     private TrainerRepository trainerRepository;
     @Mock
-    private TrainingTypeRepository trainingTypeRepository;
+    private TrainingTypeRegistry trainingTypeRegistry;
     @Mock
     private AuthenticationInfoService authenticationInfoService;
     @Mock
     private AppMetrics appMetrics;
+    @Mock
+    private TraceIdGenerator traceIdGenerator;
+    @Mock
+    private TrainingProducer trainingProducer;
+    @Mock
+    private Validator validator;
+    @Mock
+    private TrainingBatchConfig trainingBatchConfig;
 
     @InjectMocks
     private TrainingServiceImpl trainingService;
@@ -141,14 +171,14 @@ class TrainingServiceImplTest {
     @Test
     void shouldGetTraineeTrainingsListSuccessfully() {
         String username = testTraineeUser.getUsername();
-        TraineeTrainingListRequest request = new TraineeTrainingListRequest(null, null, null, null);
+        TraineeTrainingListRequest request = new TraineeTrainingListRequest(null, null, null, null, null, null);
         List<TraineeTrainingInfoProjection> projections = Collections.emptyList();
 
         when(authenticationInfoService.getCurrentUsername()).thenReturn(username);
         when(traineeRepository.findByUserUsername(username)).thenReturn(Optional.of(testTrainee));
-        when(trainingRepository.findTraineeTrainingsByCriteria(any(), any(), any(), any(), any())).thenReturn(projections);
+        when(trainingRepository.findTraineeTrainingsByCriteria(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(projections);
         
-        List<TraineeTrainingInfoResponse> result = trainingService.getTraineeTrainingsList(username, request);
+        CursorPage<TraineeTrainingInfoResponse> result = trainingService.getTraineeTrainingsList(username, request);
         
         assertNotNull(result);
     }
@@ -161,7 +191,9 @@ class TrainingServiceImplTest {
                 LocalDate.of(2023, 1, 1),
                 LocalDate.of(2023, 1, 31),
                 "trainer.user",
-                "TrainingType"
+                "TrainingType",
+                null,
+                null
         );
 
         when(authenticationInfoService.getCurrentUsername()).thenReturn(unauthorizedUsername);
@@ -169,7 +201,7 @@ class TrainingServiceImplTest {
         assertThrows(BaseException.class, () -> trainingService.getTraineeTrainingsList(requestedUsername, request));
 
         verify(traineeRepository, never()).findByUserUsername(anyString());
-        verify(trainingRepository, never()).findTraineeTrainingsByCriteria(anyString(), any(), any(), anyString(), anyString());
+        verify(trainingRepository, never()).findTraineeTrainingsByCriteria(anyString(), any(), any(), anyString(), anyString(), any(), any(), any());
     }
 
     @Test
@@ -191,18 +223,65 @@ class TrainingServiceImplTest {
     @Test
     void shouldGetTrainerTrainingsListSuccessfully() {
         String username = testTrainerUser.getUsername();
-        TrainerTrainingListRequest request = new TrainerTrainingListRequest(null, null, null);
+        TrainerTrainingListRequest request = new TrainerTrainingListRequest(null, null, null, null, null);
         List<TrainerTrainingInfoProjection> projections = Collections.emptyList();
 
         when(authenticationInfoService.getCurrentUsername()).thenReturn(username);
         when(trainerRepository.findByUserUsername(username)).thenReturn(Optional.of(testTrainer));
-        when(trainingRepository.findTrainerTrainingsByCriteria(any(), any(), any(), any())).thenReturn(projections);
+        when(trainingRepository.findTrainerTrainingsByCriteria(any(), any(), any(), any(), any(), any(), any())).thenReturn(projections);
         
-        List<TrainerTrainingInfoResponse> result = trainingService.getTrainerTrainingsList(username, request);
+        CursorPage<TrainerTrainingInfoResponse> result = trainingService.getTrainerTrainingsList(username, request);
         
         assertNotNull(result);
     }
 
+    @Test
+    void shouldReturnWholeListWhenNoPagingParametersAreSent() {
+        String username = testTrainerUser.getUsername();
+        TrainerTrainingListRequest request = new TrainerTrainingListRequest(null, null, null, null, null);
+        List<TrainerTrainingInfoProjection> projections = Collections.nCopies(CursorPage.DEFAULT_PAGE_SIZE + 1,
+                mock(TrainerTrainingInfoProjection.class));
+
+        when(authenticationInfoService.getCurrentUsername()).thenReturn(username);
+        when(trainerRepository.findByUserUsername(username)).thenReturn(Optional.of(testTrainer));
+        when(trainingRepository.findTrainerTrainingsByCriteria(username, null, null, null, null, null, null))
+                .thenReturn(projections);
+
+        CursorPage<TrainerTrainingInfoResponse> result = trainingService.getTrainerTrainingsList(username, request);
+
+        assertEquals(CursorPage.DEFAULT_PAGE_SIZE + 1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void shouldReturnCursorForNextPageWhenMoreTrainingsRemain() {
+        String username = testTrainerUser.getUsername();
+        TrainerTrainingListRequest request = new TrainerTrainingListRequest(null, null, null, null, 1);
+        TrainerTrainingInfoProjection newest = mock(TrainerTrainingInfoProjection.class);
+        when(newest.getTrainingId()).thenReturn(42L);
+        when(newest.getTrainingDate()).thenReturn(LocalDate.of(2024, 5, 1));
+        TrainerTrainingInfoProjection older = mock(TrainerTrainingInfoProjection.class);
+
+        when(authenticationInfoService.getCurrentUsername()).thenReturn(username);
+        when(trainerRepository.findByUserUsername(username)).thenReturn(Optional.of(testTrainer));
+        when(trainingRepository.findTrainerTrainingsByCriteria(username, null, null, null, null, null, 2))
+                .thenReturn(List.of(newest, older));
+
+        CursorPage<TrainerTrainingInfoResponse> firstPage = trainingService.getTrainerTrainingsList(username, request);
+
+        assertEquals(1, firstPage.getItems().size());
+        assertEquals(new TrainingCursor(LocalDate.of(2024, 5, 1), 42L), TrainingCursor.decode(firstPage.getNextCursor()));
+
+        request.setCursor(firstPage.getNextCursor());
+        when(trainingRepository.findTrainerTrainingsByCriteria(username, null, null, null, LocalDate.of(2024, 5, 1), 42L, 2))
+                .thenReturn(List.of(older));
+
+        CursorPage<TrainerTrainingInfoResponse> lastPage = trainingService.getTrainerTrainingsList(username, request);
+
+        assertEquals(1, lastPage.getItems().size());
+        assertNull(lastPage.getNextCursor());
+    }
+
     @Test
     void shouldThrowExceptionWhenGetTrainerTrainingsListUnauthorizedUser() {
         when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
@@ -223,7 +302,7 @@ class TrainingServiceImplTest {
         when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
         when(trainerRepository.findByUserUsername(anyString())).thenReturn(Optional.of(testTrainer));
         when(traineeRepository.findByUserUsername(anyString())).thenReturn(Optional.of(testTrainee));
-        when(trainingTypeRepository.findByTrainingTypeNameIgnoreCase(anyString())).thenReturn(Optional.of(testTrainingType));
+        when(trainingTypeRegistry.findReference(anyString())).thenReturn(Optional.of(testTrainingType));
         when(trainingRepository.save(any(Training.class))).thenReturn(testTraining);
 
         // Updated method call to include the token parameter
@@ -279,11 +358,102 @@ class TrainingServiceImplTest {
         when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
         when(trainerRepository.findByUserUsername(anyString())).thenReturn(Optional.of(testTrainer));
         when(traineeRepository.findByUserUsername(anyString())).thenReturn(Optional.of(testTrainee));
-        when(trainingTypeRepository.findByTrainingTypeNameIgnoreCase("NonExistent")).thenReturn(Optional.empty());
+        when(trainingTypeRegistry.findReference("NonExistent")).thenReturn(Optional.empty());
         // Updated method call to include the token parameter
         assertThrows(BaseException.class, () -> trainingService.createTraining(request, MOCK_TOKEN));
     }
 
+    // --- createTrainings (batch) Tests ---
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCreateValidItemsAndRejectOthersInBatch() {
+        TrainingCreateRequest valid = new TrainingCreateRequest("test.trainee", "test.trainer", "Yoga", LocalDate.now(), 60);
+        TrainingCreateRequest invalid = new TrainingCreateRequest("test.trainee", "test.trainer", "Yoga", LocalDate.now(), -5);
+        TrainingBatchCreateRequest request = new TrainingBatchCreateRequest(List.of(valid,
+                new TrainingCreateRequest("test.trainee", "ghost.trainer", "Yoga", LocalDate.now(), 60),
+                new TrainingCreateRequest("inactive.trainee", "test.trainer", "Yoga", LocalDate.now(), 60),
+                new TrainingCreateRequest("test.trainee", "test.trainer", "Pilates", LocalDate.now(), 60),
+                invalid, valid));
+        ConstraintViolation<TrainingCreateRequest> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Training duration must be a positive number");
+        lenient().when(validator.validate(invalid)).thenReturn(Set.of(violation));
+
+        when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
+        when(trainingBatchConfig.getMaxItems()).thenReturn(10000);
+        when(trainingBatchConfig.getJdbcBatchSize()).thenReturn(500);
+        when(trainingRepository.findTraineesByUsernames(any())).thenReturn(
+                List.of(new UserRow(1L, "test.trainee", "Test", "Trainee", true),
+                        new UserRow(2L, "inactive.trainee", "Idle", "Trainee", false)));
+        when(trainingRepository.findTrainersByUsernames(any()))
+                .thenReturn(List.of(new UserRow(1L, "test.trainer", "Test", "Trainer", true)));
+        when(trainingTypeRegistry.find("Yoga")).thenReturn(Optional.of(new TrainingTypeRegistry.Type(1L, "Yoga")));
+        when(trainingTypeRegistry.find("Pilates")).thenReturn(Optional.empty());
+        when(trainingRepository.allocateTrainingIds(2)).thenReturn(List.of(51L, 52L));
+        when(trainingRepository.findTraineeTrainerPairs(any())).thenReturn(Set.of());
+        when(traceIdGenerator.currentOrNextId()).thenReturn("trace");
+
+        TrainingBatchResponse response = trainingService.createTrainings(request, MOCK_TOKEN);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(4, response.getRejected());
+        assertEquals(List.of(TrainingBatchItemResult.Status.CREATED, TrainingBatchItemResult.Status.REJECTED,
+                TrainingBatchItemResult.Status.REJECTED, TrainingBatchItemResult.Status.REJECTED,
+                TrainingBatchItemResult.Status.REJECTED, TrainingBatchItemResult.Status.CREATED),
+                response.getResults().stream().map(TrainingBatchItemResult::getStatus).toList());
+        assertEquals(52L, response.getResults().get(5).getTrainingId());
+        assertEquals("Trainer with username ghost.trainer not found.", response.getResults().get(1).getError());
+        assertEquals("Trainee inactive.trainee is not active. Cannot create training.",
+                response.getResults().get(2).getError());
+        assertEquals("Training Type Pilates not found.", response.getResults().get(3).getError());
+        assertEquals("Training duration must be a positive number", response.getResults().get(4).getError());
+
+        ArgumentCaptor<List<NewTrainingRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(trainingRepository).insertTrainings(rows.capture(), eq(500));
+        assertEquals(List.of(51L, 52L), rows.getValue().stream().map(NewTrainingRow::id).toList());
+        // Aynı kursiyer-antrenör çifti iki kez eklenmez.
+        verify(trainingRepository).insertTraineeTrainerPairs(Set.of(new TraineeTrainerPair(1L, 1L)), 500);
+
+        ArgumentCaptor<List<TrainerWorkloadRequest>> events = ArgumentCaptor.forClass(List.class);
+        verify(trainingProducer).sendWorkloadUpdates(events.capture());
+        assertEquals(List.of("trace-1", "trace-6"),
+                events.getValue().stream().map(TrainerWorkloadRequest::transactionId).toList());
+        verify(appMetrics).incrementTrainingCreations(2);
+        verify(trainingRepository, never()).save(any(Training.class));
+    }
+
+    @Test
+    void shouldNotInsertExistingPairsInBatch() {
+        TrainingBatchCreateRequest request = new TrainingBatchCreateRequest(
+                List.of(new TrainingCreateRequest("test.trainee", "test.trainer", "Yoga", LocalDate.now(), 60)));
+        when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
+        when(trainingBatchConfig.getMaxItems()).thenReturn(10000);
+        when(trainingBatchConfig.getJdbcBatchSize()).thenReturn(500);
+        when(trainingRepository.findTraineesByUsernames(any()))
+                .thenReturn(List.of(new UserRow(1L, "test.trainee", "Test", "Trainee", true)));
+        when(trainingRepository.findTrainersByUsernames(any()))
+                .thenReturn(List.of(new UserRow(3L, "test.trainer", "Test", "Trainer", true)));
+        when(trainingTypeRegistry.find("Yoga")).thenReturn(Optional.of(new TrainingTypeRegistry.Type(1L, "Yoga")));
+        when(trainingRepository.allocateTrainingIds(1)).thenReturn(List.of(101L));
+        when(trainingRepository.findTraineeTrainerPairs(any())).thenReturn(Set.of(new TraineeTrainerPair(1L, 3L)));
+
+        TrainingBatchResponse response = trainingService.createTrainings(request, MOCK_TOKEN);
+
+        assertEquals(101L, response.getResults().get(0).getTrainingId());
+        verify(trainingRepository, never()).insertTraineeTrainerPairs(any(), anyInt());
+    }
+
+    @Test
+    void shouldRejectWholeBatchOverConfiguredLimit() {
+        TrainingCreateRequest item = new TrainingCreateRequest("test.trainee", "test.trainer", "Yoga", LocalDate.now(), 60);
+        when(authenticationInfoService.getCurrentUsername()).thenReturn("any.user");
+        when(trainingBatchConfig.getMaxItems()).thenReturn(1);
+
+        assertThrows(BaseException.class,
+                () -> trainingService.createTrainings(new TrainingBatchCreateRequest(List.of(item, item)), MOCK_TOKEN));
+        verify(trainingRepository, never()).findTraineesByUsernames(any());
+        verify(trainingRepository, never()).insertTrainings(any(), anyInt());
+    }
+
     // --- updateTraining Tests ---
     @Test
     void shouldUpdateTrainingSuccessfully() {
@@ -368,7 +538,7 @@ class TrainingServiceImplTest {
         TrainingUpdateRequest request = new TrainingUpdateRequest(1L, null, null, 0, null, null, "NonExistent");
         when(authenticationInfoService.getCurrentUsername()).thenReturn(testTraineeUser.getUsername());
         when(trainingRepository.findById(1L)).thenReturn(Optional.of(testTraining));
-        when(trainingTypeRepository.findByTrainingTypeNameIgnoreCase("NonExistent")).thenReturn(Optional.empty());
+        when(trainingTypeRegistry.findReference("NonExistent")).thenReturn(Optional.empty());
         // Updated method call to include the token parameter
         assertThrows(BaseException.class, () -> trainingService.updateTraining(request, MOCK_TOKEN));
     }
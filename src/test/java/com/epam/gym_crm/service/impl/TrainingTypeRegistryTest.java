@@ -0,0 +1,77 @@
+package com.epam.gym_crm.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.epam.gym_crm.db.entity.TrainingType;
+import com.epam.gym_crm.db.repository.TrainingTypeRepository;
+import com.epam.gym_crm.domain.service.impl.TrainingTypeRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TrainingTypeRegistryTest {
+
+	private TrainingTypeRepository trainingTypeRepository;
+	private TrainingTypeRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		trainingTypeRepository = mock(TrainingTypeRepository.class);
+		when(trainingTypeRepository.findAll())
+				.thenReturn(List.of(new TrainingType(2L, "YOGA"), new TrainingType(1L, "FITNESS")));
+		registry = new TrainingTypeRegistry(trainingTypeRepository, new ObjectMapper());
+	}
+
+	@Test
+	void shouldLoadOnceAndFindNamesIgnoringCase() {
+		assertEquals(2L, registry.find("yoga").orElseThrow().id());
+		assertEquals(1L, registry.find("Fitness").orElseThrow().id());
+		assertTrue(registry.find("Pilates").isEmpty());
+		assertTrue(registry.find(null).isEmpty());
+
+		verify(trainingTypeRepository, times(1)).findAll();
+	}
+
+	@Test
+	void shouldServePreSerializedJsonInIdOrder() {
+		TrainingTypeRegistry.Catalog catalog = registry.getCatalog();
+
+		assertEquals("[{\"id\":1,\"trainingTypeName\":\"FITNESS\"},{\"id\":2,\"trainingTypeName\":\"YOGA\"}]",
+				new String(catalog.json(), StandardCharsets.UTF_8));
+		assertTrue(catalog.etag().matches("\"[0-9a-f]{32}\""));
+		assertSame(catalog, registry.getCatalog());
+	}
+
+	@Test
+	void shouldResolveReferencesWithoutNameQuery() {
+		TrainingType reference = new TrainingType(2L, "YOGA");
+		when(trainingTypeRepository.getReferenceById(2L)).thenReturn(reference);
+
+		assertSame(reference, registry.findReference("Yoga").orElseThrow());
+		assertTrue(registry.findReference("Pilates").isEmpty());
+	}
+
+	@Test
+	void shouldChangeETagOnlyWhenReloadedContentChanges() {
+		String before = registry.getCatalog().etag();
+		assertEquals(before, registry.reload().etag());
+
+		when(trainingTypeRepository.findAll()).thenReturn(
+				List.of(new TrainingType(1L, "FITNESS"), new TrainingType(2L, "YOGA"), new TrainingType(3L, "ZUMBA")));
+		TrainingTypeRegistry.Catalog reloaded = registry.reload();
+
+		assertNotEquals(before, reloaded.etag());
+		assertEquals(3L, registry.find("zumba").orElseThrow().id());
+	}
+}
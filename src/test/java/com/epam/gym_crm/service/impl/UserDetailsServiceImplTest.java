@@ -6,9 +6,14 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +28,8 @@ import com.epam.gym_crm.db.repository.UserRepository;
 import com.epam.gym_crm.domain.exception.BaseException;
 import com.epam.gym_crm.domain.service.impl.LoginAttemptService;
 import com.epam.gym_crm.domain.service.impl.UserDetailsServiceImpl;
+import com.epam.gym_crm.security.JwtUserDetails;
+import com.epam.gym_crm.security.PrincipalCache;
 
 @ExtendWith(MockitoExtension.class)
 class UserDetailsServiceImplTest {
@@ -33,6 +40,9 @@ class UserDetailsServiceImplTest {
     @Mock
     private LoginAttemptService loginAttemptService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
@@ -89,6 +99,33 @@ class UserDetailsServiceImplTest {
         });
     }
 
+    // --- loadCachedUserByUsername Tests ---
+
+    @Test
+    void shouldReturnCachedPrincipalWithoutHittingRepository() {
+        JwtUserDetails cached = JwtUserDetails.create(testUser, true);
+        when(principalCache.get(eq(TEST_USERNAME), any())).thenReturn(cached);
+
+        UserDetails userDetails = userDetailsService.loadCachedUserByUsername(TEST_USERNAME);
+
+        assertEquals(cached, userDetails);
+        verify(userRepository, never()).findByUsername(TEST_USERNAME);
+    }
+
+    @Test
+    void shouldLoadFromRepositoryOnPrincipalCacheMiss() {
+        when(principalCache.get(eq(TEST_USERNAME), any())).thenAnswer(i -> {
+            Function<String, JwtUserDetails> loader = i.getArgument(1);
+            return loader.apply(TEST_USERNAME);
+        });
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(loginAttemptService.isBlocked(TEST_USERNAME)).thenReturn(false);
+
+        UserDetails userDetails = userDetailsService.loadCachedUserByUsername(TEST_USERNAME);
+
+        assertEquals(TEST_USERNAME, userDetails.getUsername());
+    }
+
     // --- loadUserById Tests ---
 
     @Test
@@ -0,0 +1,87 @@
+package com.epam.gym_crm.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.epam.gym_crm.domain.service.impl.UsernameAllocator;
+
+class UsernameAllocatorTest {
+
+	private EmbeddedDatabase database;
+	private JdbcTemplate jdbcTemplate;
+	private UsernameAllocator usernameAllocator;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE \"user\" (username VARCHAR(255) PRIMARY KEY)");
+		jdbcTemplate.execute(
+				"CREATE TABLE username_sequence (base_username VARCHAR(255) PRIMARY KEY, last_suffix BIGINT NOT NULL)");
+		usernameAllocator = new UsernameAllocator(jdbcTemplate, new DataSourceTransactionManager(database));
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	@Test
+	void shouldReturnBareBaseNameForFirstUserAndCountUpAfterwards() {
+		assertEquals("Jane.Doe", register("Jane.Doe"));
+		assertEquals("Jane.Doe1", register("Jane.Doe"));
+		assertEquals("Jane.Doe2", register("Jane.Doe"));
+	}
+
+	@Test
+	void shouldSeedCounterAfterHighestExistingSuffix() {
+		// "John.Smithers" shares the prefix but is a different base name.
+		for (String username : new String[] { "John.Smith", "John.Smith1", "John.Smith3", "John.Smithers" }) {
+			jdbcTemplate.update("INSERT INTO \"user\" (username) VALUES (?)", username);
+		}
+
+		assertEquals("John.Smith4", register("John.Smith"));
+	}
+
+	@Test
+	void shouldLeaveCrossBaseCollisionToUniqueConstraintAndMoveOnOnRetry() {
+		assertEquals("John.Smith", register("John.Smith"));
+		// A last name ending in a digit yields the base "John.Smith1".
+		assertEquals("John.Smith1", register("John.Smith1"));
+
+		assertThrows(DuplicateKeyException.class, () -> register("John.Smith"));
+		assertEquals("John.Smith2", register("John.Smith"));
+	}
+
+	@Test
+	void shouldRefuseToRunInsideTheSignUpTransaction() {
+		TransactionTemplate signUp = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+		assertThrows(IllegalStateException.class,
+				() -> signUp.executeWithoutResult(status -> usernameAllocator.allocate("Jane.Doe")));
+	}
+
+	@Test
+	void shouldEscapeLikeWildcardsInBaseName() {
+		jdbcTemplate.update("INSERT INTO \"user\" (username) VALUES (?)", "AxB.CyyD7");
+
+		assertEquals("A_B.C%D", register("A_B.C%D"));
+	}
+
+	private String register(String baseUsername) {
+		String username = usernameAllocator.allocate(baseUsername);
+		jdbcTemplate.update("INSERT INTO \"user\" (username) VALUES (?)", username);
+		return username;
+	}
+}